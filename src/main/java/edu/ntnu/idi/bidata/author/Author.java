@@ -1,5 +1,7 @@
 package edu.ntnu.idi.bidata.author;
 
+import edu.ntnu.idi.bidata.util.SymbolTable;
+
 /**
  * <h1>Author.</h1>
  *
@@ -32,7 +34,7 @@ public record Author(int id, String name) {
     }
 
     this.id = id;
-    this.name = validateName(name);
+    this.name = SymbolTable.global().canonical(validateName(name));
 
   }
 
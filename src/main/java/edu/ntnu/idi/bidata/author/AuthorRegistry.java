@@ -1,8 +1,17 @@
 package edu.ntnu.idi.bidata.author;
 
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * <h1>Author Registry.</h1>
@@ -15,22 +24,39 @@ import java.util.List;
  *   <li>Manage a collection of all authors in the application</li>
  *   <li>Generate unique IDs for new authors</li>
  *   <li>Create and add new authors to the registry</li>
- *   <li>Retrieve authors by name</li>
+ *   <li>Retrieve authors by name, or by exact name with creation on demand</li>
  *   <li>Delete authors by ID</li>
  *   <li>Provide a list of all registered authors</li>
  *   <li>Prevent duplicate author IDs</li>
  * </ul>
+ *
+ * <p>Authors are stored in a primitive int map, and a sorted index of normalised name keys
+ * answers name searches without scanning all authors. Every word of a name starts a key, so a
+ * search matches authors where any word of the name starts with the search text.</p>
+ *
+ * <p>A second index keeps the authors sorted by name with Norwegian collation (æ, ø and å after
+ * z). Collation keys are computed once per author, so sorted listings never call the
+ * collator.</p>
  */
 public class AuthorRegistry {
 
-  private final HashMap<Integer, Author> authors;
+  private final IntObjectMap<Author> authors;
+  private static final Comparator<SortedAuthor> SORT_ORDER =
+      Comparator.comparing(SortedAuthor::key).thenComparingInt(sorted -> sorted.author().id());
+
+  private final TreeMap<String, List<Author>> nameIndex;
+  private final ArrayList<SortedAuthor> sortedAuthors;
+  private final Collator collator;
   private int nextId;
 
   /**
    * Constructs a new empty author registry.
    */
   public AuthorRegistry() {
-    this.authors = new HashMap<>();
+    this.authors = new IntObjectMap<>();
+    this.nameIndex = new TreeMap<>();
+    this.sortedAuthors = new ArrayList<>();
+    this.collator = Collator.getInstance(Locale.forLanguageTag("nb-NO"));
     this.nextId = 1;
   }
 
@@ -49,6 +75,12 @@ public class AuthorRegistry {
       throw new IllegalArgumentException("Author with ID " + author.id() + " already exists");
     }
     authors.put(author.id(), author);
+    for (String key : nameKeys(author.name())) {
+      nameIndex.computeIfAbsent(key, k -> new ArrayList<>(1)).add(author);
+    }
+    SortedAuthor sorted = new SortedAuthor(collator.getCollationKey(author.name()), author);
+    int position = Collections.binarySearch(sortedAuthors, sorted, SORT_ORDER);
+    sortedAuthors.add(-position - 1, sorted);
   }
 
   /**
@@ -74,7 +106,8 @@ public class AuthorRegistry {
   }
 
   /**
-   * Searches for authors by name.
+   * Searches for authors by name. An author matches when a word of the name starts with the
+   * search text, ignoring case.
    *
    * @param name The name to search for.
    * @return A list of matching authors.
@@ -85,17 +118,58 @@ public class AuthorRegistry {
       throw new IllegalArgumentException("Author name cannot be null or empty");
     }
 
-    String searchName = name.trim().toLowerCase();
+    String prefix = normalize(name);
     List<Author> results = new ArrayList<>();
+    Set<Integer> found = new HashSet<>();
 
-    for (Author author : authors.values()) {
-      if (author.name().toLowerCase().contains(searchName)) {
-        results.add(author);
+    for (List<Author> matches : nameIndex.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+      for (Author author : matches) {
+        if (found.add(author.id())) {
+          results.add(author);
+        }
       }
     }
     return results;
   }
 
+  /**
+   * Finds the author with exactly the given name, ignoring case and extra whitespace.
+   *
+   * @param name The name of the author.
+   * @return The author with the lowest ID among those with the name, or null if there is none.
+   * @throws IllegalArgumentException If name is null or empty.
+   */
+  public Author findAuthorByExactName(String name) {
+    if (name == null || name.trim().isEmpty()) {
+      throw new IllegalArgumentException("Author name cannot be null or empty");
+    }
+    String key = normalize(name);
+    List<Author> matches = nameIndex.get(key);
+    if (matches == null) {
+      return null;
+    }
+    Author found = null;
+    for (Author author : matches) {
+      if (normalize(author.name()).equals(key) && (found == null || author.id() < found.id())) {
+        found = author;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Finds the author with exactly the given name, or creates and adds a new author if there is
+   * none, for example when importing entries that refer to authors by name.
+   *
+   * @param name The name of the author.
+   * @return The existing or created author.
+   * @throws IllegalArgumentException If name is null, empty or too long.
+   */
+  public Author findOrCreateAuthor(String name) {
+    Author author = findAuthorByExactName(name);
+    return author != null ? author : createAndAddAuthor(name);
+  }
+
   /**
    * Deletes an author by their ID.
    *
@@ -103,15 +177,107 @@ public class AuthorRegistry {
    * @return True if the author was found and deleted, false otherwise.
    */
   public boolean deleteAuthorById(int id) {
-    return authors.remove(id) != null;
+    Author removed = authors.remove(id);
+    if (removed == null) {
+      return false;
+    }
+    for (String key : nameKeys(removed.name())) {
+      List<Author> matches = nameIndex.get(key);
+      matches.removeIf(author -> author.id() == id);
+      if (matches.isEmpty()) {
+        nameIndex.remove(key);
+      }
+    }
+    SortedAuthor sorted = new SortedAuthor(collator.getCollationKey(removed.name()), removed);
+    sortedAuthors.remove(Collections.binarySearch(sortedAuthors, sorted, SORT_ORDER));
+    return true;
   }
 
   /**
-   * Returns all authors in the registry.
+   * Returns all authors in the registry. The list is a read-only view that is not copied, and
+   * it reflects later changes to the registry.
    *
    * @return A list of all authors.
    */
   public List<Author> getAllAuthors() {
-    return new ArrayList<>(authors.values());
+    return authors.values();
+  }
+
+  /**
+   * Returns all authors sorted by name with Norwegian collation. The list is a read-only view
+   * that is not copied, and it reflects later changes to the registry.
+   *
+   * @return A list of all authors sorted by name.
+   */
+  public List<Author> getAuthorsSortedByName() {
+    return new AbstractList<>() {
+      @Override
+      public Author get(int index) {
+        return sortedAuthors.get(index).author();
+      }
+
+      @Override
+      public int size() {
+        return sortedAuthors.size();
+      }
+    };
+  }
+
+  /**
+   * Returns one page of the authors sorted by name with Norwegian collation.
+   *
+   * @param offset The position of the first author on the page.
+   * @param limit  The maximum number of authors on the page.
+   * @return The authors on the page, empty if offset is past the last author.
+   * @throws IllegalArgumentException If offset is negative or limit is not positive.
+   */
+  public List<Author> getAuthorsSortedByName(int offset, int limit) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Offset cannot be negative");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be a positive number");
+    }
+    int end = (int) Math.min((long) offset + limit, sortedAuthors.size());
+    List<Author> page = new ArrayList<>(Math.max(0, end - offset));
+    for (int i = offset; i < end; i++) {
+      page.add(sortedAuthors.get(i).author());
+    }
+    return page;
+  }
+
+  /**
+   * Normalises a name for searching: lower case, with single spaces between words.
+   *
+   * @param name The name.
+   * @return The normalised name.
+   */
+  private static String normalize(String name) {
+    return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns the search keys of a name: the normalised name starting from each of its words.
+   *
+   * @param name The name.
+   * @return The search keys.
+   */
+  private static List<String> nameKeys(String name) {
+    String normalized = normalize(name);
+    List<String> keys = new ArrayList<>();
+    keys.add(normalized);
+    for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+      keys.add(normalized.substring(i + 1));
+    }
+    return keys;
+  }
+
+  /**
+   * An author together with the collation key of the name.
+   *
+   * @param key    The collation key of the author name.
+   * @param author The author.
+   */
+  private record SortedAuthor(CollationKey key, Author author) {
   }
 }
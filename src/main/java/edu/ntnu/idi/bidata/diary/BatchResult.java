@@ -0,0 +1,65 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>Batch Result.</h1>
+ *
+ * <p>Outcome of creating a batch of entries with {@link DiaryRegistry#createEntries}. Lists the
+ * entries that were created and, for every spec that was rejected, its position in the batch and
+ * the reason.</p>
+ */
+public final class BatchResult {
+
+  private final List<DiaryEntry> createdEntries;
+  private final Map<Integer, String> errors;
+
+  /**
+   * Constructs a batch result.
+   *
+   * @param createdEntries The created entries, in batch order.
+   * @param errors         The error messages by position in the batch.
+   */
+  BatchResult(List<DiaryEntry> createdEntries, Map<Integer, String> errors) {
+    this.createdEntries = Collections.unmodifiableList(createdEntries);
+    this.errors = Collections.unmodifiableMap(errors);
+  }
+
+  /**
+   * Returns the created entries.
+   *
+   * @return The created entries, in batch order.
+   */
+  public List<DiaryEntry> getCreatedEntries() {
+    return createdEntries;
+  }
+
+  /**
+   * Returns the error messages of the rejected specs.
+   *
+   * @return The error messages by position in the batch, in ascending order of position.
+   */
+  public Map<Integer, String> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Returns the number of created entries.
+   *
+   * @return The number of created entries.
+   */
+  public int getCreatedCount() {
+    return createdEntries.size();
+  }
+
+  /**
+   * Checks whether any spec in the batch was rejected.
+   *
+   * @return True if at least one spec was rejected, false otherwise.
+   */
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+}
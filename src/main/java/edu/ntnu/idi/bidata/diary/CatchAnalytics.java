@@ -0,0 +1,332 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>Catch Analytics.</h1>
+ *
+ * <p>Trip and catch counts per bait, weather and location, and per species within them, kept up
+ * to date from every fishing entry in a {@link DiaryRegistry}. Every location and weather also
+ * keeps its baits ordered by catch rate, with the best one remembered after each change, so the
+ * best bait for a spot is read without visiting any entry.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Parse the fish caught on a trip into species and counts</li>
+ *   <li>Add a fishing entry to the counts of its bait, weather and location</li>
+ *   <li>Replace the counts of an entry when it is changed, and take them out when it is
+ *   removed</li>
+ *   <li>Return the counts of a bait, weather and location, optionally for one species</li>
+ *   <li>Return the bait with the highest catch rate at a location in a weather</li>
+ * </ul>
+ *
+ * <p>Bait, weather, location and species are matched ignoring case and surrounding whitespace.
+ * The fish caught are read as a list separated by commas or semicolons, where each item is a
+ * species with an optional count in front or behind, for example {@code 2 Trout, Perch},
+ * {@code Trout (4), Cod (1)} or {@code Trout x 3}. A number alone counts fish without a
+ * species, and {@code none}, {@code nothing}, {@code no fish} or {@code 0} mean nothing was
+ * caught. Baits with the same catch rate are ranked by the number of trips, then by name.</p>
+ */
+final class CatchAnalytics implements EntryIndex {
+
+  private static final Pattern CATCH = Pattern.compile("(?:(\\d{1,6})\\s*x?\\s+)?(.+)",
+      Pattern.CASE_INSENSITIVE);
+  private static final Pattern TRAILING_COUNT = Pattern.compile(
+      "(.+?)\\s*(?:\\(\\s*(\\d{1,6})\\s*\\)|\\s+x\\s*(\\d{1,6}))", Pattern.CASE_INSENSITIVE);
+  private static final Pattern COUNT_ONLY = Pattern.compile("\\d{1,6}");
+  private static final Set<String> NO_CATCH = Set.of("none", "nothing", "no fish", "no catch",
+      "-");
+  private static final Comparator<Rank> BEST_FIRST = Comparator
+      .comparingDouble(Rank::catchRate).reversed()
+      .thenComparing(Comparator.comparingInt(Rank::trips).reversed())
+      .thenComparing(Rank::bait, String.CASE_INSENSITIVE_ORDER)
+      .thenComparing(Rank::baitKey);
+
+  private final IntObjectMap<Contribution> contributions;
+  private final Map<Conditions, Tally> tallies;
+  private final Map<Spot, Ranking> rankings;
+
+  /**
+   * Constructs an empty index.
+   */
+  CatchAnalytics() {
+    this.contributions = new IntObjectMap<>();
+    this.tallies = new HashMap<>();
+    this.rankings = new HashMap<>();
+  }
+
+  @Override
+  public synchronized void put(DiaryEntry entry) {
+    remove(entry);
+    if (!(entry instanceof FishingEntry fishingEntry)) {
+      return;
+    }
+
+    Conditions conditions = conditions(fishingEntry.getBaitUsed(), fishingEntry.getWeather(),
+        fishingEntry.getLocation());
+    Map<String, Integer> species = new HashMap<>();
+    int fish = parseCatch(fishingEntry.getFishCaught(), species);
+    String[] speciesKeys = new String[species.size()];
+    int[] speciesCounts = new int[species.size()];
+    int i = 0;
+    for (Map.Entry<String, Integer> caught : species.entrySet()) {
+      speciesKeys[i] = caught.getKey();
+      speciesCounts[i] = caught.getValue();
+      i++;
+    }
+
+    Contribution contribution = new Contribution(conditions, fishingEntry.getBaitUsed(), fish,
+        speciesKeys, speciesCounts);
+    contributions.put(entry.getId(), contribution);
+    apply(contribution, 1);
+  }
+
+  @Override
+  public synchronized void remove(DiaryEntry entry) {
+    Contribution contribution = contributions.remove(entry.getId());
+    if (contribution != null) {
+      apply(contribution, -1);
+    }
+  }
+
+  /**
+   * Returns the counts of all trips with a bait, weather and location.
+   *
+   * @param bait     The bait.
+   * @param weather  The weather.
+   * @param location The location.
+   * @return The counts, or {@link CatchStats#NONE} if there are no such trips.
+   */
+  synchronized CatchStats stats(String bait, String weather, String location) {
+    Tally tally = tallies.get(conditions(bait, weather, location));
+    return tally == null
+        ? CatchStats.NONE
+        : new CatchStats(tally.trips, tally.successfulTrips, tally.fish);
+  }
+
+  /**
+   * Returns the counts of one species on the trips with a bait, weather and location.
+   *
+   * @param bait     The bait.
+   * @param weather  The weather.
+   * @param location The location.
+   * @param species  The species.
+   * @return The counts, or {@link CatchStats#NONE} if there are no such trips.
+   */
+  synchronized CatchStats stats(String bait, String weather, String location, String species) {
+    Tally tally = tallies.get(conditions(bait, weather, location));
+    if (tally == null) {
+      return CatchStats.NONE;
+    }
+    int[] caught = tally.species.get(key(species));
+    return caught == null
+        ? new CatchStats(tally.trips, 0, 0)
+        : new CatchStats(tally.trips, caught[0], caught[1]);
+  }
+
+  /**
+   * Returns the bait with the highest catch rate at a location in a weather.
+   *
+   * @param location The location.
+   * @param weather  The weather.
+   * @return The bait as it was last written in an entry, or null if there are no trips.
+   */
+  synchronized String bestBait(String location, String weather) {
+    Ranking ranking = rankings.get(new Spot(key(location), key(weather)));
+    return ranking == null ? null : ranking.best.bait();
+  }
+
+  /**
+   * Reads the fish caught on a trip.
+   *
+   * @param fishCaught The fish caught, as written in the entry.
+   * @param species    The map to add the count of each species to, by species key.
+   * @return The total number of fish, including fish without a species.
+   */
+  private static int parseCatch(String fishCaught, Map<String, Integer> species) {
+    int total = 0;
+    for (String part : fishCaught.split("[,;]")) {
+      String item = part.trim();
+      if (item.isEmpty() || NO_CATCH.contains(item.toLowerCase(Locale.ROOT))) {
+        continue;
+      }
+      if (COUNT_ONLY.matcher(item).matches()) {
+        total += Integer.parseInt(item);
+        continue;
+      }
+      String name;
+      int count;
+      Matcher trailing = TRAILING_COUNT.matcher(item);
+      Matcher leading = CATCH.matcher(item);
+      if (trailing.matches()) {
+        name = trailing.group(1);
+        count = Integer.parseInt(trailing.group(2) != null ? trailing.group(2) : trailing.group(3));
+      } else if (leading.matches()) {
+        name = leading.group(2);
+        count = leading.group(1) == null ? 1 : Integer.parseInt(leading.group(1));
+      } else {
+        continue;
+      }
+      if (count > 0) {
+        total += count;
+        species.merge(key(name), count, Integer::sum);
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Adds or subtracts a contribution to the counts of its conditions, and ranks the bait again
+   * at its location and weather.
+   *
+   * @param contribution The contribution.
+   * @param sign         1 to add, -1 to subtract.
+   */
+  private void apply(Contribution contribution, int sign) {
+    Conditions conditions = contribution.conditions();
+    Tally tally = tallies.computeIfAbsent(conditions, unused -> new Tally());
+    tally.trips += sign;
+    if (contribution.fish() > 0) {
+      tally.successfulTrips += sign;
+    }
+    tally.fish += sign * contribution.fish();
+    for (int i = 0; i < contribution.species().length; i++) {
+      int[] caught = tally.species.computeIfAbsent(contribution.species()[i],
+          unused -> new int[2]);
+      caught[0] += sign;
+      caught[1] += sign * contribution.speciesCounts()[i];
+      if (caught[0] == 0) {
+        tally.species.remove(contribution.species()[i]);
+      }
+    }
+    if (sign > 0) {
+      tally.bait = contribution.bait();
+    }
+    if (tally.trips == 0) {
+      tallies.remove(conditions);
+      tally = null;
+    }
+    rank(conditions, tally);
+  }
+
+  /**
+   * Replaces the rank of a bait at its location and weather, and remembers the best bait there.
+   *
+   * @param conditions The bait, weather and location.
+   * @param tally      The counts of the conditions, or null if they have no trips left.
+   */
+  private void rank(Conditions conditions, Tally tally) {
+    Spot spot = new Spot(conditions.location(), conditions.weather());
+    Ranking ranking = rankings.computeIfAbsent(spot, unused -> new Ranking());
+    Rank old = ranking.byBait.remove(conditions.bait());
+    if (old != null) {
+      ranking.ranks.remove(old);
+    }
+    if (tally != null) {
+      Rank rank = new Rank((double) tally.fish / tally.trips, tally.trips, tally.bait,
+          conditions.bait());
+      ranking.byBait.put(conditions.bait(), rank);
+      ranking.ranks.add(rank);
+    }
+    if (ranking.ranks.isEmpty()) {
+      rankings.remove(spot);
+    } else {
+      ranking.best = ranking.ranks.first();
+    }
+  }
+
+  /**
+   * Returns the conditions of a trip or query.
+   *
+   * @param bait     The bait.
+   * @param weather  The weather.
+   * @param location The location.
+   * @return The conditions.
+   */
+  private static Conditions conditions(String bait, String weather, String location) {
+    return new Conditions(key(bait), key(weather), key(location));
+  }
+
+  /**
+   * Returns the key a value is counted under: the value trimmed and in lower case. The keys are
+   * plain strings rather than symbols, since locations and species are free text, so they are
+   * freed with the last entry that uses them.
+   *
+   * @param value The value.
+   * @return The key.
+   */
+  private static String key(String value) {
+    return value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * A bait, weather and location, as keys.
+   *
+   * @param bait     The bait key.
+   * @param weather  The weather key.
+   * @param location The location key.
+   */
+  private record Conditions(String bait, String weather, String location) {
+  }
+
+  /**
+   * A location and weather, as keys.
+   *
+   * @param location The location key.
+   * @param weather  The weather key.
+   */
+  private record Spot(String location, String weather) {
+  }
+
+  /**
+   * What a fishing entry added to the index, kept for taking it back out.
+   *
+   * @param conditions    The bait, weather and location of the trip.
+   * @param bait          The bait as written in the entry.
+   * @param fish          The number of fish caught.
+   * @param species       The keys of the species caught.
+   * @param speciesCounts The number of fish caught of each species.
+   */
+  private record Contribution(Conditions conditions, String bait, int fish, String[] species,
+      int[] speciesCounts) {
+  }
+
+  /**
+   * The catch rate of a bait at a location and weather when it was last changed.
+   *
+   * @param catchRate The fish per trip.
+   * @param trips     The number of trips.
+   * @param bait      The bait as last written in an entry.
+   * @param baitKey   The bait key.
+   */
+  private record Rank(double catchRate, int trips, String bait, String baitKey) {
+  }
+
+  /**
+   * Counts of the trips with one bait, weather and location.
+   */
+  private static final class Tally {
+    private final Map<String, int[]> species = new HashMap<>();
+    private int trips;
+    private int successfulTrips;
+    private int fish;
+    private String bait;
+  }
+
+  /**
+   * The baits at one location and weather, best first.
+   */
+  private static final class Ranking {
+    private final TreeSet<Rank> ranks = new TreeSet<>(BEST_FIRST);
+    private final Map<String, Rank> byBait = new HashMap<>();
+    private Rank best;
+  }
+}
@@ -0,0 +1,38 @@
+package edu.ntnu.idi.bidata.diary;
+
+/**
+ * <h1>Catch Stats.</h1>
+ *
+ * <p>Catches of fishing trips with the same bait, weather and location, optionally narrowed to
+ * one species, as returned by {@link DiaryRegistry#getCatchStats}. Every fishing entry is one
+ * trip.</p>
+ *
+ * @param trips           The number of trips.
+ * @param successfulTrips The number of trips where fish, or fish of the species, were caught.
+ * @param fish            The number of fish, or fish of the species, caught.
+ */
+public record CatchStats(int trips, int successfulTrips, int fish) {
+
+  /**
+   * Stats of conditions without any trips.
+   */
+  public static final CatchStats NONE = new CatchStats(0, 0, 0);
+
+  /**
+   * Returns the catch rate, the average number of fish per trip.
+   *
+   * @return The fish per trip, or 0 if there are no trips.
+   */
+  public double catchRate() {
+    return trips == 0 ? 0 : (double) fish / trips;
+  }
+
+  /**
+   * Returns the share of trips where fish were caught.
+   *
+   * @return The share from 0 to 1, or 0 if there are no trips.
+   */
+  public double successRate() {
+    return trips == 0 ? 0 : (double) successfulTrips / trips;
+  }
+}
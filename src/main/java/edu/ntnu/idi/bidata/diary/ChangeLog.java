@@ -0,0 +1,164 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntIntMap;
+import java.util.Arrays;
+
+/**
+ * <h1>Change Log.</h1>
+ *
+ * <p>Sequence-numbered log of the changes to the entries of a {@link DiaryRegistry}. Every
+ * creation, update and deletion gets the next sequence number and one record of an entry ID
+ * and a deletion flag, kept in primitive arrays in sequence order.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Assign monotonically increasing sequence numbers to changes</li>
+ *   <li>List the entries changed and deleted since a sequence number, in time proportional to
+ *   the number of changes since then</li>
+ *   <li>Discard old records once they are no longer needed</li>
+ * </ul>
+ *
+ * <p>Entries report changes from their setters on any thread, so the log has its own lock
+ * instead of the lock of the registry.</p>
+ */
+final class ChangeLog {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private long[] sequences;
+  private int[] ids;
+  private boolean[] deletions;
+  private int size;
+  private long lastSequence;
+  private long discardedThrough;
+
+  /**
+   * Constructs an empty change log.
+   */
+  ChangeLog() {
+    this.sequences = new long[INITIAL_CAPACITY];
+    this.ids = new int[INITIAL_CAPACITY];
+    this.deletions = new boolean[INITIAL_CAPACITY];
+    this.size = 0;
+    this.lastSequence = 0;
+    this.discardedThrough = 0;
+  }
+
+  /**
+   * Records a change to an entry.
+   *
+   * @param id       The ID of the entry.
+   * @param deletion Whether the entry was deleted, rather than created or updated.
+   * @return The sequence number of the change.
+   */
+  synchronized long record(int id, boolean deletion) {
+    if (size == sequences.length) {
+      sequences = Arrays.copyOf(sequences, size * 2);
+      ids = Arrays.copyOf(ids, size * 2);
+      deletions = Arrays.copyOf(deletions, size * 2);
+    }
+    sequences[size] = ++lastSequence;
+    ids[size] = id;
+    deletions[size] = deletion;
+    size++;
+    return lastSequence;
+  }
+
+  /**
+   * Returns the sequence number of the latest change.
+   *
+   * @return The latest sequence number, or 0 if nothing has changed.
+   */
+  synchronized long lastSequence() {
+    return lastSequence;
+  }
+
+  /**
+   * Lists the entries changed after a sequence number. Each entry is listed once, with its
+   * latest state: changed or deleted.
+   *
+   * @param sequence The last sequence number already seen.
+   * @return The changes, in the order of the latest change to each entry.
+   * @throws IllegalArgumentException If sequence is negative, or if records after it have been
+   *                                  discarded.
+   */
+  synchronized Changes changesSince(long sequence) {
+    if (sequence < 0) {
+      throw new IllegalArgumentException("Sequence cannot be negative");
+    }
+    if (sequence < discardedThrough) {
+      throw new IllegalArgumentException(
+          "Changes up to sequence " + discardedThrough + " have been discarded");
+    }
+    int first = firstAfter(sequence);
+    IntIntMap latest = new IntIntMap(size - first);
+    for (int position = first; position < size; position++) {
+      latest.put(ids[position], position);
+    }
+
+    int[] changedIds = new int[latest.size()];
+    int[] deletedIds = new int[latest.size()];
+    int changedCount = 0;
+    int deletedCount = 0;
+    for (int position = first; position < size; position++) {
+      if (latest.get(ids[position]) == position) {
+        if (deletions[position]) {
+          deletedIds[deletedCount++] = ids[position];
+        } else {
+          changedIds[changedCount++] = ids[position];
+        }
+      }
+    }
+    return new Changes(Arrays.copyOf(changedIds, changedCount),
+        Arrays.copyOf(deletedIds, deletedCount), lastSequence);
+  }
+
+  /**
+   * Discards the records up to and including a sequence number, for example once a backup up
+   * to that sequence is safely stored.
+   *
+   * @param sequence The last sequence number to discard.
+   */
+  synchronized void discardThrough(long sequence) {
+    int first = firstAfter(sequence);
+    if (first == 0) {
+      return;
+    }
+    int capacity = Math.max(INITIAL_CAPACITY, sequences.length - first);
+    sequences = Arrays.copyOfRange(sequences, first, first + capacity);
+    ids = Arrays.copyOfRange(ids, first, first + capacity);
+    deletions = Arrays.copyOfRange(deletions, first, first + capacity);
+    size -= first;
+    discardedThrough = Math.max(discardedThrough, Math.min(sequence, lastSequence));
+  }
+
+  /**
+   * Finds the first record with a sequence number after the given one.
+   *
+   * @param sequence The sequence number.
+   * @return The position of the record, or the size of the log if there is none.
+   */
+  private int firstAfter(long sequence) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sequences[middle] <= sequence) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The entries changed since a sequence number.
+   *
+   * @param changedIds   The IDs of the entries created or updated.
+   * @param deletedIds   The IDs of the entries deleted.
+   * @param lastSequence The sequence number of the latest change included.
+   */
+  record Changes(int[] changedIds, int[] deletedIds, long lastSequence) {
+  }
+}
@@ -0,0 +1,68 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>Change Set.</h1>
+ *
+ * <p>The changes to a {@link DiaryRegistry} since a sequence number, as returned by
+ * {@link DiaryRegistry#exportChangesSince}. Holds the entries that were created or updated, the
+ * IDs of the entries that were deleted, and the sequence number to pass to the next call.</p>
+ */
+public final class ChangeSet {
+
+  private final List<DiaryEntry> changedEntries;
+  private final int[] deletedIds;
+  private final long sequence;
+
+  /**
+   * Constructs a change set.
+   *
+   * @param changedEntries The created or updated entries.
+   * @param deletedIds     The IDs of the deleted entries.
+   * @param sequence       The sequence number of the latest change included.
+   */
+  ChangeSet(List<DiaryEntry> changedEntries, int[] deletedIds, long sequence) {
+    this.changedEntries = Collections.unmodifiableList(changedEntries);
+    this.deletedIds = deletedIds;
+    this.sequence = sequence;
+  }
+
+  /**
+   * Returns the entries that were created or updated, in the order of their latest change.
+   *
+   * @return The changed entries.
+   */
+  public List<DiaryEntry> getChangedEntries() {
+    return changedEntries;
+  }
+
+  /**
+   * Returns the IDs of the entries that were deleted, in the order they were deleted.
+   *
+   * @return A copy of the deleted IDs.
+   */
+  public int[] getDeletedIds() {
+    return deletedIds.clone();
+  }
+
+  /**
+   * Returns the sequence number of the latest change in this set. Pass it to the next call of
+   * {@link DiaryRegistry#exportChangesSince} to get only the changes after this set.
+   *
+   * @return The sequence number.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Checks whether the set contains no changes.
+   *
+   * @return True if nothing changed, false otherwise.
+   */
+  public boolean isEmpty() {
+    return changedEntries.isEmpty() && deletedIds.length == 0;
+  }
+}
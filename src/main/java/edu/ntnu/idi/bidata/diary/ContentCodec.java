@@ -0,0 +1,122 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <h1>Content Codec.</h1>
+ *
+ * <p>Compresses and decompresses the content body of diary entries. Uses {@link Deflater} with a
+ * shared preset dictionary of words and phrases that are common in diary text, so that even
+ * medium-sized entries compress well.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Decide whether a content body is large enough to be worth compressing</li>
+ *   <li>Compress content into a compact byte representation</li>
+ *   <li>Decompress the byte representation back into the original content</li>
+ * </ul>
+ *
+ * <p>The compressed form is a plain raw deflate stream and can be stored as-is, both in memory
+ * and in a persistent store.</p>
+ */
+public final class ContentCodec {
+
+  /**
+   * Content shorter than this number of characters is never compressed.
+   */
+  public static final int COMPRESSION_THRESHOLD = 256;
+
+  /**
+   * Shared dictionary. Deflate prefers matches close to the data, so the most common words are
+   * placed at the end.
+   */
+  private static final byte[] DICTIONARY = (
+      "exercise workout session weather morning evening afternoon yesterday tomorrow "
+          + "week weekend family friends work office meeting project school dinner lunch "
+          + "breakfast coffee walk trip lake river fishing caught weight sets reps bench squat "
+          + "really very little much more than about after before because would could should "
+          + "felt feeling tired happy good great nice better today with from this that have "
+          + "were there their which when what some time into over went just also then them "
+          + "og det er i på som en til av for med har ikke jeg var de den å så men om et "
+          + "the and was for with that this have had not but were you are they "
+          + "I was. I had. I felt. It was. We went. today. the day. ")
+      .getBytes(StandardCharsets.UTF_8);
+
+  private static final ThreadLocal<Deflater> DEFLATERS =
+      ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_COMPRESSION, true));
+  private static final ThreadLocal<Inflater> INFLATERS =
+      ThreadLocal.withInitial(() -> new Inflater(true));
+
+  private ContentCodec() {
+  }
+
+  /**
+   * Compresses the content if it is long enough and the compressed form is smaller than the
+   * UTF-8 encoded content.
+   *
+   * @param content The content to compress.
+   * @return The compressed content, or null if the content should be stored uncompressed.
+   */
+  public static byte[] compress(String content) {
+    if (content == null || content.length() < COMPRESSION_THRESHOLD) {
+      return null;
+    }
+
+    byte[] input = content.getBytes(StandardCharsets.UTF_8);
+    Deflater deflater = DEFLATERS.get();
+    deflater.reset();
+    deflater.setDictionary(DICTIONARY);
+    deflater.setInput(input);
+    deflater.finish();
+
+    byte[] buffer = new byte[input.length];
+    int length = 0;
+    while (!deflater.finished() && length < buffer.length) {
+      length += deflater.deflate(buffer, length, buffer.length - length);
+    }
+    if (!deflater.finished()) {
+      return null;
+    }
+
+    byte[] compressed = new byte[length];
+    System.arraycopy(buffer, 0, compressed, 0, length);
+    return compressed;
+  }
+
+  /**
+   * Decompresses content created by {@link #compress(String)}.
+   *
+   * @param compressed The compressed content.
+   * @return The original content.
+   * @throws IllegalArgumentException If the data is not valid compressed content.
+   */
+  public static String decompress(byte[] compressed) {
+    if (compressed == null) {
+      throw new IllegalArgumentException("Compressed content cannot be null");
+    }
+
+    Inflater inflater = INFLATERS.get();
+    inflater.reset();
+    inflater.setDictionary(DICTIONARY);
+    inflater.setInput(compressed);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream(compressed.length * 3);
+    byte[] buffer = new byte[1024];
+    try {
+      while (!inflater.finished()) {
+        int read = inflater.inflate(buffer);
+        if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalArgumentException("Compressed content is truncated");
+        }
+        output.write(buffer, 0, read);
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Compressed content is corrupt", e);
+    }
+    return output.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -1,9 +1,8 @@
 package edu.ntnu.idi.bidata.diary;
 
 import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.util.SymbolTable;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -21,7 +20,12 @@ import java.util.Map;
  *   <li>Define the contract for entry type identification</li>
  * </ul>
  *
- * <p>Subclasses can use the templateFields map to store and display specialized fields.</p>
+ * <p>Subclasses describe their specialized fields with a shared {@link TemplateSchema}, and each
+ * entry stores the field values in a flat array in schema order.</p>
+ *
+ * <p>The setters of an entry in a {@link DiaryRegistry} throw an {@link IllegalStateException},
+ * without changing the entry, when they are called by a thread that is reading the registry,
+ * for example from a {@link DiaryRegistry#forEachEntry} action.</p>
  */
 public abstract class DiaryEntry {
 
@@ -30,13 +34,19 @@ public abstract class DiaryEntry {
   private static final int MIN_CONTENT_LENGTH = 1;
   private static final int MAX_CONTENT_LENGTH = 5000;
 
-  protected final Map<String, String> templateFields;
+  private final TemplateSchema templateSchema;
+  private final String[] templateValues;
   private final int id;
-  private final Author author;
-  private final LocalDateTime timestamp;
+  private Author author;
+  private final long epochSecond;
   private final String title;
-  private final String category;
+  private String category;
   private String content;
+  private byte[] compressedContent;
+  private EntryChangeListener changeListener;
+  private volatile int version;
+  private long syncId;
+  private volatile int revision;
 
   /**
    * Constructs a new diary entry.
@@ -52,6 +62,25 @@ public abstract class DiaryEntry {
    */
   public DiaryEntry(int id, Author author, LocalDateTime timestamp,
       String title, String content, String category) {
+    this(id, author, timestamp, title, content, category, TemplateSchema.EMPTY);
+  }
+
+  /**
+   * Constructs a new diary entry with template fields. The subclass must set every field with
+   * {@link #setTemplateField(int, String)} in its constructor.
+   *
+   * @param id             The ID of the entry.
+   * @param author         The author of the entry.
+   * @param timestamp      The date and time when the entry was created.
+   * @param title          The title of the entry.
+   * @param content        The content of the entry.
+   * @param category       The category of the entry.
+   * @param templateSchema The template schema of the entry type.
+   * @throws IllegalArgumentException If ID is a negative number, and if timestamp or author is
+   *                                  null.
+   */
+  protected DiaryEntry(int id, Author author, LocalDateTime timestamp,
+      String title, String content, String category, TemplateSchema templateSchema) {
     if (id <= 0) {
       throw new IllegalArgumentException("ID must be a positive number");
     }
@@ -64,11 +93,12 @@ public abstract class DiaryEntry {
 
     this.id = id;
     this.author = author;
-    this.timestamp = timestamp;
+    this.epochSecond = Timestamps.toEpochSecond(timestamp);
     this.title = validateTitle(title);
-    this.content = validateContent(content);
-    this.category = validateCategory(category);
-    this.templateFields = new HashMap<>();
+    storeContent(validateContent(content));
+    this.category = SymbolTable.global().canonical(validateCategory(category));
+    this.templateSchema = templateSchema;
+    this.templateValues = new String[templateSchema.size()];
   }
 
   /**
@@ -80,12 +110,52 @@ public abstract class DiaryEntry {
 
   /**
    * Gets the template-specific fields for this entry. Returns an empty map for StandardEntry, but
-   * contains specialized fields.
+   * contains specialized fields. The map is a read-only view in schema order and is not copied.
    *
    * @return A map of field names to field values.
    */
   public Map<String, String> getTemplateFields() {
-    return new HashMap<>(templateFields);
+    return new TemplateFieldMap(templateSchema, templateValues);
+  }
+
+  /**
+   * Gets the template schema of this entry.
+   *
+   * @return The template schema.
+   */
+  public TemplateSchema getTemplateSchema() {
+    return templateSchema;
+  }
+
+  /**
+   * Gets the value of a template field by its position in the schema.
+   *
+   * @param index The position of the field.
+   * @return The field value.
+   */
+  public String getTemplateFieldValue(int index) {
+    return templateValues[index];
+  }
+
+  /**
+   * Validates and sets the value of a template field. Values of symbol fields are stored as the
+   * canonical instance from the symbol table.
+   *
+   * @param index The position of the field in the schema.
+   * @param value The value to set.
+   * @throws IllegalArgumentException If value is null or empty.
+   */
+  protected final void setTemplateField(int index, String value) {
+    checkChangeAllowed();
+    String fieldName = templateSchema.getFieldName(index);
+    if (value == null || value.trim().isEmpty()) {
+      throw new IllegalArgumentException(fieldName + " cannot be null or empty");
+    }
+    String trimmedValue = value.trim();
+    templateValues[index] = templateSchema.isSymbolField(index)
+        ? SymbolTable.global().canonical(trimmedValue)
+        : trimmedValue;
+    notifyChanged();
   }
 
   /**
@@ -158,12 +228,142 @@ public abstract class DiaryEntry {
   }
 
   /**
-   * Gets the timestamp of this diary entry.
+   * Sets the author of an entry that has not been added to a registry yet, without counting it
+   * as a change.
+   *
+   * @param author The author.
+   * @throws IllegalArgumentException If author is null.
+   */
+  void setInitialAuthor(Author author) {
+    if (author == null) {
+      throw new IllegalArgumentException("Author must not be null");
+    }
+    this.author = author;
+  }
+
+  /**
+   * Moves this entry to another author. Only the registry may do this, since it indexes entries
+   * by author.
+   *
+   * @param author The new author.
+   */
+  void reassignAuthor(Author author) {
+    this.author = author;
+    version++;
+    revision++;
+  }
+
+  /**
+   * Sets the listener that is notified when a setter changes this entry. Only the registry may
+   * do this, when the entry is added or deleted.
+   *
+   * @param changeListener The listener, or null to stop notifying.
+   */
+  void setChangeListener(EntryChangeListener changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  /**
+   * Gets the modification version of this entry. The version increases every time a setter
+   * changes the entry or the entry moves to another author, so anything derived from the entry
+   * at one version can be recognised as stale later.
+   *
+   * @return The modification version.
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the sync ID of this entry. Unlike the ID, which each replica assigns itself, the sync
+   * ID identifies the entry on every replica of the diary, so a change or deletion can be
+   * matched with the entry on another replica.
+   *
+   * @return The sync ID, or 0 if the entry has not been added to a registry.
+   */
+  public long getSyncId() {
+    return syncId;
+  }
+
+  /**
+   * Gets the revision of this entry: the number of changes made to it since it was added to a
+   * registry, counted across all replicas. When two replicas hold different versions of the
+   * entry, the one with the higher revision wins.
+   *
+   * @return The revision.
+   */
+  public int getRevision() {
+    return revision;
+  }
+
+  /**
+   * Sets the sync ID and revision of this entry. Only the registry may do this, since it
+   * indexes entries by sync ID.
+   *
+   * @param syncId   The sync ID.
+   * @param revision The revision.
+   */
+  void setSyncIdentity(long syncId, int revision) {
+    this.syncId = syncId;
+    this.revision = revision;
+  }
+
+  /**
+   * Sets a template field through the setter of the entry type, so state derived from the
+   * field is updated as well. Used to apply a change made on another replica.
+   *
+   * @param index The position of the field in the schema.
+   * @param value The value to set.
+   * @throws IllegalArgumentException If value is invalid.
+   */
+  void applyTemplateField(int index, String value) {
+    setTemplateField(index, value);
+  }
+
+  /**
+   * Asks the change listener, if any, whether this entry may be changed. Setters call this
+   * before they change any state, so a refused change leaves the entry as it was.
+   *
+   * @throws IllegalStateException If the registry holding the entry cannot record a change now.
+   */
+  protected final void checkChangeAllowed() {
+    EntryChangeListener listener = changeListener;
+    if (listener != null) {
+      listener.beforeChange(this);
+    }
+  }
+
+  /**
+   * Increases the modification version and notifies the change listener, if any, that this
+   * entry has changed. While the entry is in a registry, the revision is increased as well.
+   * Subclasses call this when they change state that is not a template field.
+   */
+  protected final void notifyChanged() {
+    version++;
+    EntryChangeListener listener = changeListener;
+    if (listener != null) {
+      revision++;
+      listener.entryChanged(this);
+    }
+  }
+
+  /**
+   * Gets the timestamp of this diary entry. Timestamps are stored with second precision.
    *
    * @return The timestamp.
    */
   public LocalDateTime getTimestamp() {
-    return timestamp;
+    return Timestamps.toLocalDateTime(epochSecond);
+  }
+
+  /**
+   * Gets the timestamp of this diary entry as epoch seconds, see {@link Timestamps}. Cheaper than
+   * {@link #getTimestamp()} for comparing and filtering.
+   *
+   * @return The timestamp in epoch seconds.
+   */
+  public long getEpochSecond() {
+    return epochSecond;
   }
 
   /**
@@ -172,8 +372,7 @@ public abstract class DiaryEntry {
    * @return The formatted timestamp.
    */
   public String getFormattedTimestamp() {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-    return timestamp.format(formatter);
+    return Timestamps.format(epochSecond);
   }
 
   /**
@@ -186,11 +385,14 @@ public abstract class DiaryEntry {
   }
 
   /**
-   * Gets the content of this diary entry.
+   * Gets the content of this diary entry. Compressed content is decompressed on access.
    *
    * @return The content.
    */
   public String getContent() {
+    if (compressedContent != null) {
+      return ContentCodec.decompress(compressedContent);
+    }
     return content;
   }
 
@@ -200,15 +402,61 @@ public abstract class DiaryEntry {
    * @param content The content to set.
    */
   public void setContent(String content) {
-    this.content = validateContent(content);
+    checkChangeAllowed();
+    storeContent(validateContent(content));
+    notifyChanged();
+  }
+
+  /**
+   * Checks whether the content of this entry is stored in compressed form.
+   *
+   * @return True if the content is compressed, false otherwise.
+   */
+  public boolean isContentCompressed() {
+    return compressedContent != null;
+  }
+
+  /**
+   * Gets the compressed content of this entry, for storing it without decompressing.
+   *
+   * @return A copy of the compressed content, or null if the content is not compressed.
+   */
+  public byte[] getCompressedContent() {
+    return compressedContent == null ? null : compressedContent.clone();
   }
 
   /**
-   * Gets the category of this diary entry.
+   * Stores validated content, compressed if it is large enough to benefit from it.
+   *
+   * @param validContent The validated content.
+   */
+  private void storeContent(String validContent) {
+    byte[] compressed = ContentCodec.compress(validContent);
+    this.compressedContent = compressed;
+    this.content = compressed == null ? validContent : null;
+  }
+
+  /**
+   * Gets the category of this diary entry. Entries with the same category share the canonical
+   * instance from the symbol table.
    *
    * @return The category.
    */
   public String getCategory() {
     return category;
   }
+
+  /**
+   * Sets the category of this diary entry. For an entry in a {@link DiaryRegistry}, change the
+   * category through {@link DiaryRegistry#updateWhere}, so the category lookups of the registry
+   * see the change.
+   *
+   * @param category The category to set.
+   * @throws IllegalArgumentException If category is null or empty.
+   */
+  public void setCategory(String category) {
+    checkChangeAllowed();
+    this.category = SymbolTable.global().canonical(validateCategory(category));
+    notifyChanged();
+  }
 }
\ No newline at end of file
@@ -1,12 +1,30 @@
 package edu.ntnu.idi.bidata.diary;
 
 import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import edu.ntnu.idi.bidata.util.SymbolTable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * <h1>Diary Registry.</h1>
@@ -19,24 +37,127 @@ import java.util.stream.Collectors;
  * <ul>
  *   <li>Manage a collection of all diary entries in the application</li>
  *   <li>Generate unique IDs for new entries</li>
- *   <li>Create entries of different types (Standard, Fishing, Gym)</li>
+ *   <li>Create entries of different types (Standard, Fishing, Gym), one at a time or in
+ *   batches</li>
  *   <li>Search for entries by date, date range, keyword, category or type</li>
  *   <li>Retrieve entries sorted by timestamp (newest/oldest first)</li>
- *   <li>Delete entries by ID</li>
+ *   <li>Delete entries by ID, and compact the storage of deleted entries</li>
+ *   <li>Delete or reassign all entries of an author</li>
+ *   <li>Find, stream, delete or update all entries that match a query in one pass</li>
+ *   <li>Find entries by the value or prefix of an indexed template field</li>
+ *   <li>Number every change with a sequence number and export the changes since one</li>
+ *   <li>Keep a hash tree over the entries for finding differences between replicas</li>
+ *   <li>Merge the entries and tombstones of another replica by sync ID and revision</li>
+ *   <li>Keep weekly and monthly training volume per author and exercise</li>
+ *   <li>Keep the personal record and estimated one-rep max per author and exercise</li>
+ *   <li>Keep catch counts and rates per bait, weather, location and species</li>
+ *   <li>Find fishing spots by coordinates, in a box, within a radius or nearest to a point</li>
  *   <li>Provide statistics about the entry collection</li>
  * </ul>
+ *
+ * <p>The entries are stored in columns (see {@link EntryColumns}) that ID, date, category and
+ * type lookups scan instead of the entry objects, next to an index from author ID to the entries
+ * of the author.</p>
+ *
+ * <p>Deleting an entry only marks its row as dead, so deletes do not shift the storage. Once more
+ * than a quarter of the rows are dead, the registry compacts the columns on a background thread.
+ * The compacted copy is built under the read lock, so readers are not blocked while it is built;
+ * only the final swap takes the write lock.</p>
+ *
+ * <p>Every creation, update and deletion of an entry is recorded in a {@link ChangeLog} with a
+ * monotonically increasing sequence number. Entries report changes made through their setters
+ * themselves, so a backup can ask for the changes since its last run instead of exporting every
+ * entry again.</p>
+ *
+ * <p>The same changes keep a {@link MerkleTree} of content hashes up to date, so two replicas
+ * can find the time buckets where they differ by comparing hashes from the root down. The tree
+ * and the other data derived from the entries, such as the {@link TrainingVolumeIndex}, the
+ * {@link PersonalRecordIndex}, the {@link CatchAnalytics}, the {@link FishingSpotIndex} and the
+ * {@link TemplateFieldIndex}, are
+ * {@link EntryIndex entry indexes} that are updated one entry at a time on every change.</p>
+ *
+ * <p>Every entry also has a sync ID that identifies it on all replicas, and a revision that
+ * counts its changes. A deleted entry leaves a {@link EntryTombstone} with its sync ID behind,
+ * so the deletion reaches the other replicas. Tombstones are kept for the life of the
+ * registry.</p>
  */
 public class DiaryRegistry {
 
-  private final ArrayList<DiaryEntry> entries;
-  private int nextId;
+  private static final double COMPACTION_THRESHOLD = 0.25;
+  private static final int MIN_ROWS_FOR_COMPACTION = 64;
+  private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(task -> {
+    Thread thread = new Thread(task, "diary-compactor");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final ReentrantReadWriteLock lock;
+  private final AtomicBoolean compactionScheduled;
+  private final IntObjectMap<Map<Integer, DiaryEntry>> entriesByAuthor;
+  private final Map<Long, DiaryEntry> entriesBySyncId;
+  private final IntObjectMap<Map<Long, EntryTombstone>> tombstonesByBucket;
+  private final ChangeLog changeLog;
+  private final MerkleTree merkleTree;
+  private final TrainingVolumeIndex trainingVolume;
+  private final PersonalRecordIndex personalRecords;
+  private final CatchAnalytics catchAnalytics;
+  private final FishingSpotIndex fishingSpots;
+  private final TemplateFieldIndex fieldIndex;
+  private final EntryIndex[] indexes;
+  private final EntryChangeListener changeListener;
+  private final AtomicInteger nextId;
+  private EntryColumns columns;
+  private long modCount;
+  private long compactionCount;
 
   /**
    * Constructs a new empty diary registry.
    */
   public DiaryRegistry() {
-    this.entries = new ArrayList<>();
-    this.nextId = 1;
+    this.lock = new ReentrantReadWriteLock();
+    this.compactionScheduled = new AtomicBoolean(false);
+    this.entriesByAuthor = new IntObjectMap<>();
+    this.entriesBySyncId = new HashMap<>();
+    this.tombstonesByBucket = new IntObjectMap<>();
+    this.changeLog = new ChangeLog();
+    this.merkleTree = new MerkleTree();
+    this.trainingVolume = new TrainingVolumeIndex();
+    this.personalRecords = new PersonalRecordIndex();
+    this.catchAnalytics = new CatchAnalytics();
+    this.fishingSpots = new FishingSpotIndex();
+    this.fieldIndex = new TemplateFieldIndex(List.of(FishingEntry.SCHEMA, GymEntry.SCHEMA));
+    this.indexes = new EntryIndex[] {merkleTree, trainingVolume, personalRecords,
+        catchAnalytics, fishingSpots, fieldIndex};
+    this.nextId = new AtomicInteger(1);
+    this.changeListener = new EntryChangeListener() {
+      @Override
+      public void beforeChange(DiaryEntry entry) {
+        if (lock.getReadHoldCount() > 0 && !lock.isWriteLockedByCurrentThread()) {
+          throw new IllegalStateException(
+              "Entries cannot be changed while the same thread is reading the registry");
+        }
+      }
+
+      @Override
+      public void entryChanged(DiaryEntry entry) {
+        lock.writeLock().lock();
+        try {
+          int row = columns.findRow(entry.getId());
+          if (row < 0) {
+            return;
+          }
+          columns.refresh(row);
+          changeLog.record(entry.getId(), false);
+          putInIndexes(entry);
+          modCount++;
+        } finally {
+          lock.writeLock().unlock();
+        }
+      }
+    };
+    this.columns = new EntryColumns();
+    this.modCount = 0;
+    this.compactionCount = 0;
   }
 
   /**
@@ -49,7 +170,15 @@ public class DiaryRegistry {
     if (entry == null) {
       throw new IllegalArgumentException("Diary entry cannot be null");
     }
-    entries.add(entry);
+    lock.writeLock().lock();
+    try {
+      columns.append(entry);
+      indexByAuthor(entry);
+      trackChanges(entry);
+      modCount++;
+    } finally {
+      lock.writeLock().unlock();
+    }
   }
 
   /**
@@ -64,7 +193,8 @@ public class DiaryRegistry {
    */
   public StandardEntry createStandardEntry(Author author, LocalDateTime timestamp,
       String title, String content, String category) {
-    StandardEntry entry = new StandardEntry(nextId++, author, timestamp, title, content, category);
+    StandardEntry entry = new StandardEntry(nextId.getAndIncrement(), author, timestamp, title,
+        content, category);
     addEntry(entry);
     return entry;
   }
@@ -87,7 +217,7 @@ public class DiaryRegistry {
       String title, String content, String category,
       String weather, String fishCaught,
       String location, String baitUsed) {
-    FishingEntry entry = new FishingEntry(nextId++, author, timestamp,
+    FishingEntry entry = new FishingEntry(nextId.getAndIncrement(), author, timestamp,
         title, content, category, weather, fishCaught, location, baitUsed);
     addEntry(entry);
     return entry;
@@ -110,12 +240,95 @@ public class DiaryRegistry {
       String title, String content, String category,
       String exercises, String sets,
       String reps) {
-    GymEntry entry = new GymEntry(nextId++, author, timestamp,
+    GymEntry entry = new GymEntry(nextId.getAndIncrement(), author, timestamp,
         title, content, category, exercises, sets, reps);
     addEntry(entry);
     return entry;
   }
 
+  /**
+   * Creates and adds a batch of entries, for example when importing historic data. The specs
+   * are validated in parallel and the valid entries are added under a single lock, with the
+   * storage grown once. Invalid specs are reported in the result and do not stop the batch.
+   *
+   * <p>The batch gets a contiguous block of IDs, one per spec in batch order. The IDs of
+   * rejected specs are not reused.</p>
+   *
+   * @param specs The entries to create.
+   * @return The created entries and the errors of the rejected specs.
+   * @throws IllegalArgumentException If specs is null.
+   */
+  public BatchResult createEntries(Collection<EntrySpec> specs) {
+    return createEntries(specs, UnaryOperator.identity());
+  }
+
+  /**
+   * Creates and adds a batch of entries like {@link #createEntries(Collection)}, and replaces
+   * the author of each valid spec with the author returned by a resolver before the entry is
+   * added. The resolver is only called for specs that passed validation, one at a time on the
+   * calling thread, so an importer can create authors by name without leaving authors behind
+   * for rejected records.
+   *
+   * @param specs          The entries to create.
+   * @param authorResolver Returns the author to use in place of the author of a valid spec. If
+   *                       it throws an {@link IllegalArgumentException}, the spec is rejected.
+   * @return The created entries and the errors of the rejected specs.
+   * @throws IllegalArgumentException If specs or authorResolver is null.
+   */
+  public BatchResult createEntries(Collection<EntrySpec> specs,
+      UnaryOperator<Author> authorResolver) {
+    if (specs == null) {
+      throw new IllegalArgumentException("Entry specs cannot be null");
+    }
+    if (authorResolver == null) {
+      throw new IllegalArgumentException("Author resolver cannot be null");
+    }
+    EntrySpec[] batch = specs.toArray(new EntrySpec[0]);
+    int firstId = nextId.getAndAdd(batch.length);
+
+    DiaryEntry[] created = new DiaryEntry[batch.length];
+    String[] errors = new String[batch.length];
+    IntStream.range(0, batch.length).parallel().forEach(i -> {
+      try {
+        if (batch[i] == null) {
+          throw new IllegalArgumentException("Entry spec cannot be null");
+        }
+        created[i] = batch[i].toEntry(firstId + i);
+      } catch (IllegalArgumentException e) {
+        errors[i] = e.getMessage();
+      }
+    });
+
+    List<DiaryEntry> createdEntries = new ArrayList<>(batch.length);
+    TreeMap<Integer, String> errorsByPosition = new TreeMap<>();
+    for (int i = 0; i < batch.length; i++) {
+      if (created[i] != null) {
+        try {
+          created[i].setInitialAuthor(authorResolver.apply(created[i].getAuthor()));
+          createdEntries.add(created[i]);
+        } catch (IllegalArgumentException e) {
+          errorsByPosition.put(i, e.getMessage());
+        }
+      } else {
+        errorsByPosition.put(i, errors[i]);
+      }
+    }
+
+    lock.writeLock().lock();
+    try {
+      columns.ensureCapacity(createdEntries.size());
+      for (DiaryEntry entry : createdEntries) {
+        columns.append(entry);
+        indexByAuthor(entry);
+        trackChanges(entry);
+      }
+      modCount++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    return new BatchResult(createdEntries, errorsByPosition);
+  }
+
   /**
    * Method for creating and adding a generic entry (StandardEntry).
    *
@@ -140,10 +353,13 @@ public class DiaryRegistry {
    * @return The diary entry with the specified ID, or null if not found.
    */
   public DiaryEntry findEntryById(int id) {
-    return entries.stream()
-        .filter(entry -> entry.getId() == id)
-        .findFirst()
-        .orElse(null);
+    lock.readLock().lock();
+    try {
+      int row = columns.findRow(id);
+      return row < 0 ? null : columns.entryAt(row);
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
@@ -157,9 +373,13 @@ public class DiaryRegistry {
     if (date == null) {
       throw new IllegalArgumentException("Date cannot be null");
     }
-    return entries.stream()
-        .filter(entry -> entry.getTimestamp().toLocalDate().equals(date))
-        .collect(Collectors.toList());
+    long start = Timestamps.startOfDay(date);
+    lock.readLock().lock();
+    try {
+      return columns.findByTimestampRange(start, start + Timestamps.SECONDS_PER_DAY);
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
@@ -173,10 +393,16 @@ public class DiaryRegistry {
     if (category == null || category.trim().isEmpty()) {
       throw new IllegalArgumentException("Category cannot be null or empty");
     }
-    String searchCategory = category.trim();
-    return entries.stream()
-        .filter(entry -> entry.getCategory().equalsIgnoreCase(searchCategory))
-        .collect(Collectors.toList());
+    String folded = SymbolTable.global().find(category.trim().toLowerCase(Locale.ROOT));
+    if (folded == null) {
+      return new ArrayList<>();
+    }
+    lock.readLock().lock();
+    try {
+      return columns.findByCategory(folded);
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
@@ -190,10 +416,73 @@ public class DiaryRegistry {
     if (entryType == null || entryType.trim().isEmpty()) {
       throw new IllegalArgumentException("Entry type cannot be null or empty");
     }
-    String searchType = entryType.trim();
-    return entries.stream()
-        .filter(entry -> entry.getEntryType().equalsIgnoreCase(searchType))
-        .collect(Collectors.toList());
+    String searchType = entryType.trim().toLowerCase(Locale.ROOT);
+    lock.readLock().lock();
+    try {
+      return columns.findByType(searchType);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches for entries written by an author.
+   *
+   * @param author The author to search for.
+   * @return A list of entries by the author.
+   * @throws IllegalArgumentException If author is null.
+   */
+  public List<DiaryEntry> findEntriesByAuthor(Author author) {
+    if (author == null) {
+      throw new IllegalArgumentException("Author cannot be null");
+    }
+    lock.readLock().lock();
+    try {
+      Map<Integer, DiaryEntry> authorEntries = entriesByAuthor.get(author.id());
+      return authorEntries == null ? new ArrayList<>() : new ArrayList<>(authorEntries.values());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Counts the entries written by an author.
+   *
+   * @param author The author.
+   * @return The number of entries by the author.
+   * @throws IllegalArgumentException If author is null.
+   */
+  public int countEntriesByAuthor(Author author) {
+    if (author == null) {
+      throw new IllegalArgumentException("Author cannot be null");
+    }
+    lock.readLock().lock();
+    try {
+      Map<Integer, DiaryEntry> authorEntries = entriesByAuthor.get(author.id());
+      return authorEntries == null ? 0 : authorEntries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Counts the entries of an entry type.
+   *
+   * @param entryType The entry type to count.
+   * @return The number of entries of the type.
+   * @throws IllegalArgumentException If entryType is null or empty.
+   */
+  public int countEntriesByType(String entryType) {
+    if (entryType == null || entryType.trim().isEmpty()) {
+      throw new IllegalArgumentException("Entry type cannot be null or empty");
+    }
+    String searchType = entryType.trim().toLowerCase(Locale.ROOT);
+    lock.readLock().lock();
+    try {
+      return columns.countByType(searchType);
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
@@ -216,12 +505,14 @@ public class DiaryRegistry {
       throw new IllegalArgumentException("End date cannot be before start date");
     }
 
-    return entries.stream()
-        .filter(entry -> {
-          LocalDate entryDate = entry.getTimestamp().toLocalDate();
-          return !entryDate.isBefore(startDate) && !entryDate.isAfter(endDate);
-        })
-        .collect(Collectors.toList());
+    long start = Timestamps.startOfDay(startDate);
+    long end = Timestamps.startOfDay(endDate) + Timestamps.SECONDS_PER_DAY;
+    lock.readLock().lock();
+    try {
+      return columns.findByTimestampRange(start, end);
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
@@ -236,7 +527,7 @@ public class DiaryRegistry {
       throw new IllegalArgumentException("Keyword cannot be null or empty");
     }
     String searchKeyword = keyword.trim().toLowerCase();
-    return entries.stream().filter(entry ->
+    return liveEntries().stream().filter(entry ->
             entry.getTitle().toLowerCase().contains(searchKeyword)
                 || entry.getContent().toLowerCase().contains(searchKeyword))
         .collect(Collectors.toList());
@@ -249,11 +540,1019 @@ public class DiaryRegistry {
    * @return True if the entry was found and deleted, false otherwise.
    */
   public boolean deleteEntryById(int id) {
-    DiaryEntry entry = findEntryById(id);
-    if (entry != null) {
-      return entries.remove(entry);
+    lock.writeLock().lock();
+    try {
+      int row = columns.findRow(id);
+      if (row < 0) {
+        return false;
+      }
+      DiaryEntry entry = columns.entryAt(row);
+      columns.delete(row);
+      untrackChanges(entry);
+      unindexByAuthor(entry);
+      modCount++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    scheduleCompactionIfNeeded();
+    return true;
+  }
+
+  /**
+   * Finds all entries that match a query.
+   *
+   * @param query The query.
+   * @return The matching entries in insertion order.
+   * @throws IllegalArgumentException If query is null.
+   */
+  public List<DiaryEntry> findEntries(EntryQuery query) {
+    if (query == null) {
+      throw new IllegalArgumentException("Query cannot be null");
+    }
+    lock.readLock().lock();
+    try {
+      int[] rows = selectRows(query);
+      List<DiaryEntry> result = new ArrayList<>(rows.length);
+      for (int row : rows) {
+        result.add(columns.entryAt(row));
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Passes all entries that match a query to an action, in insertion order, without collecting
+   * them in a list first. Used to stream large result sets, for example to an exporter.
+   *
+   * <p>The read lock is held while the action runs, so changes to the registry wait until the
+   * iteration is done. The action must not change the registry itself, nor call the setters of
+   * the entries, since a changed entry refreshes its row under the write lock; a setter called
+   * from the action throws an {@link IllegalStateException} instead of waiting forever.</p>
+   *
+   * @param query  The query.
+   * @param action The action to run for each matching entry.
+   * @throws IllegalArgumentException If query or action is null.
+   */
+  public void forEachEntry(EntryQuery query, Consumer<DiaryEntry> action) {
+    if (query == null) {
+      throw new IllegalArgumentException("Query cannot be null");
+    }
+    if (action == null) {
+      throw new IllegalArgumentException("Action cannot be null");
+    }
+    lock.readLock().lock();
+    try {
+      if (query.getIndexedFieldName() == null) {
+        columns.forEachMatching(query, action);
+      } else {
+        for (int row : selectRows(query)) {
+          action.accept(columns.entryAt(row));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds all entries where an indexed template field has a value, for example all fishing
+   * entries where the bait used is worm, or all gym entries with deadlift among the exercises.
+   * See {@link EntryQuery#withIndexedField}.
+   *
+   * @param fieldName The name of an indexed template field.
+   * @param value     The value, compared ignoring case and extra whitespace.
+   * @return The matching entries in insertion order.
+   * @throws IllegalArgumentException If fieldName or value is null or empty, or if the field is
+   *                                  not indexed.
+   */
+  public List<DiaryEntry> findEntriesByTemplateField(String fieldName, String value) {
+    return findEntries(new EntryQuery().withIndexedField(fieldName, value));
+  }
+
+  /**
+   * Finds all entries where an indexed template field has a value that starts with a prefix.
+   * See {@link EntryQuery#withIndexedFieldPrefix}.
+   *
+   * @param fieldName The name of an indexed template field.
+   * @param prefix    The prefix, compared ignoring case and extra whitespace.
+   * @return The matching entries in insertion order.
+   * @throws IllegalArgumentException If fieldName or prefix is null or empty, or if the field is
+   *                                  not indexed.
+   */
+  public List<DiaryEntry> findEntriesByTemplateFieldPrefix(String fieldName, String prefix) {
+    return findEntries(new EntryQuery().withIndexedFieldPrefix(fieldName, prefix));
+  }
+
+  /**
+   * Finds the rows that match a query. For a query with an indexed field condition, only the
+   * rows of the entries found in the template field index are checked.
+   *
+   * @param query The query.
+   * @return The matching rows in insertion order.
+   * @throws IllegalArgumentException If the query has a condition on a field that is not
+   *                                  indexed.
+   */
+  private int[] selectRows(EntryQuery query) {
+    String fieldName = query.getIndexedFieldName();
+    if (fieldName == null) {
+      return columns.selectRows(query);
+    }
+    if (!fieldIndex.isIndexed(fieldName)) {
+      throw new IllegalArgumentException("Template field " + fieldName + " is not indexed");
+    }
+
+    int[] ids = query.isIndexedFieldPrefix()
+        ? fieldIndex.withPrefix(fieldName, query.getIndexedFieldTerm())
+        : fieldIndex.withTerm(fieldName, query.getIndexedFieldTerm());
+    int[] candidates = new int[ids.length];
+    int count = 0;
+    for (int id : ids) {
+      int row = columns.findRow(id);
+      if (row >= 0) {
+        candidates[count++] = row;
+      }
+    }
+    candidates = Arrays.copyOf(candidates, count);
+    Arrays.sort(candidates);
+    return columns.selectRows(query, candidates);
+  }
+
+  /**
+   * Deletes all entries that match a query, for example all entries in a category before a
+   * date. The query is evaluated once, and the rows are marked as dead and taken out of the
+   * author index in a single pass.
+   *
+   * @param query The query.
+   * @return The number of entries deleted.
+   * @throws IllegalArgumentException If query is null.
+   */
+  public int deleteWhere(EntryQuery query) {
+    if (query == null) {
+      throw new IllegalArgumentException("Query cannot be null");
+    }
+    int count;
+    lock.writeLock().lock();
+    try {
+      int[] rows = selectRows(query);
+      if (rows.length == 0) {
+        return 0;
+      }
+      for (int row : rows) {
+        DiaryEntry entry = columns.entryAt(row);
+        columns.delete(row);
+        untrackChanges(entry);
+        unindexByAuthor(entry);
+      }
+      modCount++;
+      count = rows.length;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    scheduleCompactionIfNeeded();
+    return count;
+  }
+
+  /**
+   * Applies a change to all entries that match a query, for example setting a new category or
+   * fishing location. The query is evaluated once, before any entry is changed, and the columns
+   * are refreshed for each changed entry in the same pass.
+   *
+   * <p>The setters called by the mutation are not recorded one by one. Instead, each entry that
+   * the mutation changed has its row refreshed, one change recorded, its entry indexes updated
+   * and its revision increased once, however many of its fields were set.</p>
+   *
+   * <p>The mutation may change the content, category and template fields of an entry. If it
+   * throws an exception, the entries changed before the failing one keep their changes, and so
+   * does the part of the failing one that was already changed.</p>
+   *
+   * @param query    The query.
+   * @param mutation The change to apply to each matching entry.
+   * @return The number of entries updated.
+   * @throws IllegalArgumentException If query or mutation is null.
+   */
+  public int updateWhere(EntryQuery query, Consumer<DiaryEntry> mutation) {
+    if (query == null) {
+      throw new IllegalArgumentException("Query cannot be null");
+    }
+    if (mutation == null) {
+      throw new IllegalArgumentException("Mutation cannot be null");
+    }
+    lock.writeLock().lock();
+    try {
+      int[] rows = selectRows(query);
+      try {
+        for (int row : rows) {
+          DiaryEntry entry = columns.entryAt(row);
+          int version = entry.getVersion();
+          entry.setChangeListener(null);
+          try {
+            mutation.accept(entry);
+          } finally {
+            entry.setChangeListener(changeListener);
+            if (entry.getVersion() != version) {
+              entry.setSyncIdentity(entry.getSyncId(), entry.getRevision() + 1);
+              columns.refresh(row);
+              changeLog.record(entry.getId(), false);
+              putInIndexes(entry);
+            }
+          }
+        }
+      } finally {
+        modCount++;
+      }
+      return rows.length;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Deletes all entries written by an author, for example before the author is deleted. The
+   * entries are found through the author index and their rows by ID, so the cost depends on the
+   * number of entries by the author, not on the number of entries.
+   *
+   * @param author The author whose entries to delete.
+   * @return The number of entries deleted.
+   * @throws IllegalArgumentException If author is null.
+   */
+  public int deleteEntriesByAuthor(Author author) {
+    if (author == null) {
+      throw new IllegalArgumentException("Author cannot be null");
+    }
+    int count;
+    lock.writeLock().lock();
+    try {
+      Map<Integer, DiaryEntry> authorEntries = entriesByAuthor.remove(author.id());
+      if (authorEntries == null) {
+        return 0;
+      }
+      for (DiaryEntry entry : authorEntries.values()) {
+        columns.delete(columns.findRow(entry.getId()));
+        untrackChanges(entry);
+      }
+      modCount++;
+      count = authorEntries.size();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    scheduleCompactionIfNeeded();
+    return count;
+  }
+
+  /**
+   * Moves all entries written by one author to another author, for example before the first
+   * author is deleted. The entries are found through the author index and their rows by ID.
+   *
+   * @param fromAuthor The current author of the entries.
+   * @param toAuthor   The new author of the entries.
+   * @return The number of entries moved.
+   * @throws IllegalArgumentException If an author is null, or if both are the same author.
+   */
+  public int reassignEntriesByAuthor(Author fromAuthor, Author toAuthor) {
+    if (fromAuthor == null || toAuthor == null) {
+      throw new IllegalArgumentException("Author cannot be null");
+    }
+    if (fromAuthor.id() == toAuthor.id()) {
+      throw new IllegalArgumentException("Cannot reassign entries to the same author");
+    }
+    lock.writeLock().lock();
+    try {
+      Map<Integer, DiaryEntry> authorEntries = entriesByAuthor.remove(fromAuthor.id());
+      if (authorEntries == null) {
+        return 0;
+      }
+      for (DiaryEntry entry : authorEntries.values()) {
+        entry.reassignAuthor(toAuthor);
+        indexByAuthor(entry);
+        columns.refresh(columns.findRow(entry.getId()));
+        changeLog.record(entry.getId(), false);
+        putInIndexes(entry);
+      }
+      modCount++;
+      return authorEntries.size();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the sequence number of the latest change to the registry.
+   *
+   * @return The latest sequence number, or 0 if nothing has changed yet.
+   */
+  public long getCurrentSequence() {
+    return changeLog.lastSequence();
+  }
+
+  /**
+   * Returns the changes since a sequence number: the entries created or updated since then, and
+   * the IDs of the entries deleted since then as tombstones. An entry that changed several times
+   * is listed once, in its current state. The cost depends on the number of changes, not on the
+   * number of entries.
+   *
+   * <p>Pass 0 to get every entry that exists, and the sequence number of the returned set to get
+   * only the changes after it the next time.</p>
+   *
+   * @param sequence The sequence number of the last change already exported.
+   * @return The changes.
+   * @throws IllegalArgumentException If sequence is negative, or if the changes after it have
+   *                                  been discarded.
+   */
+  public ChangeSet exportChangesSince(long sequence) {
+    ChangeLog.Changes changes = changeLog.changesSince(sequence);
+    List<DiaryEntry> changedEntries = new ArrayList<>(changes.changedIds().length);
+    lock.readLock().lock();
+    try {
+      for (int id : changes.changedIds()) {
+        int row = columns.findRow(id);
+        if (row >= 0) {
+          changedEntries.add(columns.entryAt(row));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return new ChangeSet(changedEntries, changes.deletedIds(), changes.lastSequence());
+  }
+
+  /**
+   * Discards the change records up to and including a sequence number, for example once a
+   * backup up to that sequence is stored. Later calls to {@link #exportChangesSince} must pass
+   * this sequence number or a later one.
+   *
+   * @param sequence The last sequence number to discard.
+   */
+  public void discardChangesThrough(long sequence) {
+    changeLog.discardThrough(sequence);
+  }
+
+  /**
+   * Returns the number of time buckets in the sync hash tree. Entries are placed in a bucket by
+   * the day of their timestamp.
+   *
+   * @return The number of buckets.
+   */
+  public int getSyncBucketCount() {
+    return MerkleTree.BUCKET_COUNT;
+  }
+
+  /**
+   * Returns the hashes of nodes in the sync hash tree. Node 1 is the root, the children of node
+   * n are 2n and 2n + 1, and node {@link #getSyncBucketCount()} + b is bucket b. Two replicas
+   * with the same entries have the same hashes.
+   *
+   * @param nodes The nodes.
+   * @return The hashes, in the same order as the nodes.
+   * @throws IllegalArgumentException If nodes is null or contains a node that does not exist.
+   */
+  public long[] getSyncHashes(int[] nodes) {
+    if (nodes == null) {
+      throw new IllegalArgumentException("Nodes cannot be null");
+    }
+    long[] hashes = new long[nodes.length];
+    for (int i = 0; i < nodes.length; i++) {
+      hashes[i] = merkleTree.nodeHash(nodes[i]);
+    }
+    return hashes;
+  }
+
+  /**
+   * Finds all entries in the given sync buckets, for sending them to another replica.
+   *
+   * @param buckets The buckets.
+   * @return The entries in the buckets, in insertion order.
+   * @throws IllegalArgumentException If buckets is null or contains a bucket that does not
+   *                                  exist.
+   */
+  public List<DiaryEntry> findEntriesInSyncBuckets(int[] buckets) {
+    if (buckets == null) {
+      throw new IllegalArgumentException("Buckets cannot be null");
+    }
+    boolean[] wanted = new boolean[MerkleTree.BUCKET_COUNT];
+    for (int bucket : buckets) {
+      if (bucket < 0 || bucket >= wanted.length) {
+        throw new IllegalArgumentException("Bucket " + bucket + " does not exist");
+      }
+      wanted[bucket] = true;
+    }
+    List<DiaryEntry> result = new ArrayList<>();
+    forEachEntry(new EntryQuery(), entry -> {
+      if (wanted[MerkleTree.bucketOf(entry.getEpochSecond())]) {
+        result.add(entry);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Finds the tombstones of the entries deleted in the given sync buckets, for sending them to
+   * another replica.
+   *
+   * @param buckets The buckets.
+   * @return The tombstones in the buckets, in no particular order.
+   * @throws IllegalArgumentException If buckets is null or contains a bucket that does not
+   *                                  exist.
+   */
+  public List<EntryTombstone> findTombstonesInSyncBuckets(int[] buckets) {
+    if (buckets == null) {
+      throw new IllegalArgumentException("Buckets cannot be null");
+    }
+    for (int bucket : buckets) {
+      if (bucket < 0 || bucket >= MerkleTree.BUCKET_COUNT) {
+        throw new IllegalArgumentException("Bucket " + bucket + " does not exist");
+      }
+    }
+    List<EntryTombstone> result = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      for (int bucket : IntStream.of(buckets).distinct().toArray()) {
+        Map<Long, EntryTombstone> tombstones = tombstonesByBucket.get(bucket);
+        if (tombstones != null) {
+          result.addAll(tombstones.values());
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
     }
-    return false;
+    return result;
+  }
+
+  /**
+   * Merges the entries and tombstones of another replica into this registry. Entries are
+   * matched by sync ID, and of two versions of an entry the one with the higher revision wins:
+   *
+   * <ul>
+   *   <li>An entry that is missing here is added, unless it was deleted here at the same or a
+   *   higher revision</li>
+   *   <li>An entry that is here with other content and a lower revision is updated in place, so
+   *   it keeps its ID. At the same revision, the version with the higher content hash wins, so
+   *   both replicas pick the same one</li>
+   *   <li>An entry that is here with a lower revision than a tombstone is deleted</li>
+   * </ul>
+   *
+   * <p>Received entries are validated before they are compared, and invalid ones, entries
+   * without a sync ID and entries whose type, title or timestamp differ from the local entry
+   * with the same sync ID are rejected. Authors must already be authors of this replica.</p>
+   *
+   * @param entries    The entries of the other replica, with their sync IDs and revisions.
+   * @param tombstones The tombstones of the other replica.
+   * @return The numbers of entries added, updated, deleted and rejected.
+   * @throws IllegalArgumentException If entries or tombstones is null.
+   */
+  public MergeResult mergeReplica(List<EntrySpec> entries, List<EntryTombstone> tombstones) {
+    if (entries == null) {
+      throw new IllegalArgumentException("Entry specs cannot be null");
+    }
+    if (tombstones == null) {
+      throw new IllegalArgumentException("Tombstones cannot be null");
+    }
+    int added = 0;
+    int updated = 0;
+    int deleted = 0;
+    int rejected = 0;
+    lock.writeLock().lock();
+    try {
+      for (EntrySpec spec : entries) {
+        DiaryEntry received;
+        try {
+          if (spec == null) {
+            throw new IllegalArgumentException("Entry spec cannot be null");
+          }
+          if (spec.syncId() == 0) {
+            throw new IllegalArgumentException("Sync ID cannot be 0");
+          }
+          received = spec.toEntry(1);
+        } catch (IllegalArgumentException e) {
+          rejected++;
+          continue;
+        }
+        DiaryEntry local = entriesBySyncId.get(spec.syncId());
+        if (local == null) {
+          EntryTombstone tombstone = findTombstone(spec.syncId(), received.getEpochSecond());
+          if (tombstone == null || tombstone.revision() < spec.revision()) {
+            DiaryEntry entry = spec.toEntry(nextId.getAndIncrement());
+            columns.append(entry);
+            indexByAuthor(entry);
+            trackChanges(entry);
+            added++;
+          }
+        } else if (!local.getEntryType().equals(received.getEntryType())
+            || !local.getTitle().equals(received.getTitle())
+            || local.getEpochSecond() != received.getEpochSecond()) {
+          rejected++;
+        } else if (applyNewerRevision(local, received)) {
+          updated++;
+        }
+      }
+
+      for (EntryTombstone tombstone : tombstones) {
+        if (tombstone == null || tombstone.syncId() == 0) {
+          continue;
+        }
+        DiaryEntry local = entriesBySyncId.get(tombstone.syncId());
+        if (local != null && local.getRevision() < tombstone.revision()) {
+          columns.delete(columns.findRow(local.getId()));
+          untrackChanges(local);
+          unindexByAuthor(local);
+          deleted++;
+        }
+        if (entriesBySyncId.get(tombstone.syncId()) == null) {
+          storeTombstone(tombstone);
+        }
+      }
+      modCount++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    if (deleted > 0) {
+      scheduleCompactionIfNeeded();
+    }
+    return new MergeResult(added, updated, deleted, rejected);
+  }
+
+  /**
+   * Returns the training volume of an exercise by an author per week, for progress charts. The
+   * series is kept up to date as gym entries are created, edited and deleted, so no entries are
+   * scanned.
+   *
+   * @param author   The author.
+   * @param exercise The exercise name, matched ignoring case.
+   * @return One point per week with training, oldest first. Weeks start on Monday.
+   * @throws IllegalArgumentException If author is null, or if exercise is null or empty.
+   */
+  public List<VolumePoint> getWeeklyVolume(Author author, String exercise) {
+    validateVolumeQuery(author, exercise);
+    return trainingVolume.weekly(author.id(), exercise);
+  }
+
+  /**
+   * Returns the training volume of an exercise by an author per calendar month, see
+   * {@link #getWeeklyVolume}.
+   *
+   * @param author   The author.
+   * @param exercise The exercise name, matched ignoring case.
+   * @return One point per month with training, oldest first.
+   * @throws IllegalArgumentException If author is null, or if exercise is null or empty.
+   */
+  public List<VolumePoint> getMonthlyVolume(Author author, String exercise) {
+    validateVolumeQuery(author, exercise);
+    return trainingVolume.monthly(author.id(), exercise);
+  }
+
+  /**
+   * Returns the personal record of an author in an exercise: the weighted set with the highest
+   * one-rep max estimated by the Epley formula. The record is kept up to date as gym entries are
+   * created, edited and deleted, so an edit that lowers the best set falls back to the next best
+   * one without scanning entries.
+   *
+   * @param author   The author.
+   * @param exercise The exercise name, matched ignoring case.
+   * @return The record, or null if the author has no sets of the exercise with a weight.
+   * @throws IllegalArgumentException If author is null, or if exercise is null or empty.
+   */
+  public PersonalRecord getPersonalRecord(Author author, String exercise) {
+    validateVolumeQuery(author, exercise);
+    return personalRecords.record(author.id(), exercise);
+  }
+
+  /**
+   * Returns the personal records of an author in every exercise with a weighted set, see
+   * {@link #getPersonalRecord}.
+   *
+   * @param author The author.
+   * @return The records, ordered by exercise name ignoring case.
+   * @throws IllegalArgumentException If author is null.
+   */
+  public List<PersonalRecord> getPersonalRecords(Author author) {
+    if (author == null) {
+      throw new IllegalArgumentException("Author cannot be null");
+    }
+    return personalRecords.records(author.id());
+  }
+
+  /**
+   * Returns the catches of all fishing trips with a bait, in a weather, at a location. The counts
+   * are kept up to date as fishing entries are created, edited and deleted, so no entries are
+   * scanned.
+   *
+   * @param bait     The bait, matched ignoring case.
+   * @param weather  The weather, matched ignoring case.
+   * @param location The location, matched ignoring case.
+   * @return The trips and catches, or {@link CatchStats#NONE} if there are no such trips.
+   * @throws IllegalArgumentException If bait, weather or location is null or empty.
+   */
+  public CatchStats getCatchStats(String bait, String weather, String location) {
+    validateCatchQuery(bait, weather, location);
+    return catchAnalytics.stats(bait, weather, location);
+  }
+
+  /**
+   * Returns the catches of one species on the fishing trips with a bait, in a weather, at a
+   * location, see {@link #getCatchStats(String, String, String)}. The trips count all trips
+   * with the conditions, so the catch rate is the fish of the species per trip.
+   *
+   * @param bait     The bait, matched ignoring case.
+   * @param weather  The weather, matched ignoring case.
+   * @param location The location, matched ignoring case.
+   * @param species  The species, matched ignoring case.
+   * @return The trips and catches, or {@link CatchStats#NONE} if there are no such trips.
+   * @throws IllegalArgumentException If bait, weather, location or species is null or empty.
+   */
+  public CatchStats getCatchStats(String bait, String weather, String location,
+      String species) {
+    validateCatchQuery(bait, weather, location);
+    if (species == null || species.trim().isEmpty()) {
+      throw new IllegalArgumentException("Species cannot be null or empty");
+    }
+    return catchAnalytics.stats(bait, weather, location, species);
+  }
+
+  /**
+   * Returns the bait with the most fish per trip at a location in a weather, for example the
+   * best bait at a lake in rain. The best bait of every location and weather is kept up to date
+   * as fishing entries change, so it is returned without scanning entries or ranking baits.
+   *
+   * @param location The location, matched ignoring case.
+   * @param weather  The weather, matched ignoring case.
+   * @return The bait, or null if there are no trips at the location in the weather.
+   * @throws IllegalArgumentException If location or weather is null or empty.
+   */
+  public String getBestBait(String location, String weather) {
+    if (location == null || location.trim().isEmpty()) {
+      throw new IllegalArgumentException("Location cannot be null or empty");
+    }
+    if (weather == null || weather.trim().isEmpty()) {
+      throw new IllegalArgumentException("Weather cannot be null or empty");
+    }
+    return catchAnalytics.bestBait(location, weather);
+  }
+
+  /**
+   * Finds the fishing spots within a distance of a point, such as the spots near the user. Only
+   * fishing entries with coordinates are found. The spots are kept in a grid that is updated as
+   * entries change, so only the cells around the point are searched.
+   *
+   * @param center   The point.
+   * @param radiusKm The distance in kilometres.
+   * @return The spots with their catch history, nearest first.
+   * @throws IllegalArgumentException If center is null, or if radiusKm is negative or not a
+   *                                  number.
+   */
+  public List<FishingSpot> findSpotsWithinRadius(GeoPoint center, double radiusKm) {
+    if (center == null) {
+      throw new IllegalArgumentException("Center cannot be null");
+    }
+    if (!(radiusKm >= 0)) {
+      throw new IllegalArgumentException("Radius cannot be negative");
+    }
+    return fishingSpots.withinRadius(center, radiusKm);
+  }
+
+  /**
+   * Finds the fishing spots in a bounding box, including its edges, see
+   * {@link #findSpotsWithinRadius}. A box whose south-west corner is east of its north-east
+   * corner crosses the 180th meridian.
+   *
+   * @param southWest The south-west corner.
+   * @param northEast The north-east corner.
+   * @return The spots with their catch history, ordered by latitude and then longitude.
+   * @throws IllegalArgumentException If a corner is null, or if the south-west corner is north
+   *                                  of the north-east corner.
+   */
+  public List<FishingSpot> findSpotsInBox(GeoPoint southWest, GeoPoint northEast) {
+    if (southWest == null || northEast == null) {
+      throw new IllegalArgumentException("Corner cannot be null");
+    }
+    if (southWest.latitude() > northEast.latitude()) {
+      throw new IllegalArgumentException(
+          "South-west corner cannot be north of the north-east corner");
+    }
+    return fishingSpots.withinBox(southWest, northEast);
+  }
+
+  /**
+   * Finds the fishing spots nearest to a point, see {@link #findSpotsWithinRadius}.
+   *
+   * @param point The point.
+   * @param count The maximum number of spots.
+   * @return The spots with their catch history, nearest first.
+   * @throws IllegalArgumentException If point is null, or if count is not positive.
+   */
+  public List<FishingSpot> findNearestSpots(GeoPoint point, int count) {
+    if (point == null) {
+      throw new IllegalArgumentException("Point cannot be null");
+    }
+    if (count <= 0) {
+      throw new IllegalArgumentException("Count must be a positive number");
+    }
+    return fishingSpots.nearest(point, count);
+  }
+
+  /**
+   * Validates the arguments of a catch query.
+   *
+   * @param bait     The bait.
+   * @param weather  The weather.
+   * @param location The location.
+   * @throws IllegalArgumentException If bait, weather or location is null or empty.
+   */
+  private static void validateCatchQuery(String bait, String weather, String location) {
+    if (bait == null || bait.trim().isEmpty()) {
+      throw new IllegalArgumentException("Bait cannot be null or empty");
+    }
+    if (weather == null || weather.trim().isEmpty()) {
+      throw new IllegalArgumentException("Weather cannot be null or empty");
+    }
+    if (location == null || location.trim().isEmpty()) {
+      throw new IllegalArgumentException("Location cannot be null or empty");
+    }
+  }
+
+  /**
+   * Validates the arguments of a training volume or personal record query.
+   *
+   * @param author   The author.
+   * @param exercise The exercise name.
+   * @throws IllegalArgumentException If author is null, or if exercise is null or empty.
+   */
+  private static void validateVolumeQuery(Author author, String exercise) {
+    if (author == null) {
+      throw new IllegalArgumentException("Author cannot be null");
+    }
+    if (exercise == null || exercise.trim().isEmpty()) {
+      throw new IllegalArgumentException("Exercise cannot be null or empty");
+    }
+  }
+
+  /**
+   * Records the creation of an entry and starts recording the changes made by its setters.
+   *
+   * @param entry The added entry.
+   */
+  private void trackChanges(DiaryEntry entry) {
+    indexBySyncId(entry);
+    entry.setChangeListener(changeListener);
+    changeLog.record(entry.getId(), false);
+    putInIndexes(entry);
+  }
+
+  /**
+   * Records the deletion of an entry and stops recording the changes made by its setters.
+   *
+   * @param entry The deleted entry.
+   */
+  private void untrackChanges(DiaryEntry entry) {
+    entry.setChangeListener(null);
+    entriesBySyncId.remove(entry.getSyncId());
+    storeTombstone(new EntryTombstone(entry.getSyncId(), entry.getRevision() + 1,
+        entry.getEpochSecond()));
+    changeLog.record(entry.getId(), true);
+    for (EntryIndex index : indexes) {
+      index.remove(entry);
+    }
+  }
+
+  /**
+   * Adds an entry to every entry index, or updates it there.
+   *
+   * @param entry The added or changed entry.
+   */
+  private void putInIndexes(DiaryEntry entry) {
+    for (EntryIndex index : indexes) {
+      index.put(entry);
+    }
+  }
+
+  /**
+   * Removes the dead rows from storage. Normally this runs by itself on a background thread once
+   * the dead ratio passes the threshold, but it can also be called directly.
+   *
+   * <p>The compacted copy is built while holding only the read lock. If a writer changed the
+   * registry in the meantime, the copy is rebuilt under the write lock before it is swapped
+   * in.</p>
+   */
+  public void compact() {
+    EntryColumns compacted;
+    long expectedModCount;
+    lock.readLock().lock();
+    try {
+      if (columns.liveCount() == columns.rowCount()) {
+        return;
+      }
+      expectedModCount = modCount;
+      compacted = columns.compactedCopy();
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (modCount != expectedModCount) {
+        compacted = columns.compactedCopy();
+      }
+      columns = compacted;
+      compactionCount++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the share of stored rows that belong to deleted entries and are waiting for
+   * compaction.
+   *
+   * @return The dead ratio, between 0 and 1.
+   */
+  public double getDeadRatio() {
+    lock.readLock().lock();
+    try {
+      return columns.deadRatio();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of compactions that have run.
+   *
+   * @return The number of compactions.
+   */
+  public long getCompactionCount() {
+    lock.readLock().lock();
+    try {
+      return compactionCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Schedules a background compaction if the dead ratio has passed the threshold and no
+   * compaction is already scheduled.
+   */
+  private void scheduleCompactionIfNeeded() {
+    lock.readLock().lock();
+    try {
+      if (columns.rowCount() < MIN_ROWS_FOR_COMPACTION
+          || columns.deadRatio() <= COMPACTION_THRESHOLD) {
+        return;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    if (compactionScheduled.compareAndSet(false, true)) {
+      COMPACTOR.execute(() -> {
+        compactionScheduled.set(false);
+        compact();
+      });
+    }
+  }
+
+  /**
+   * Returns a snapshot of all live entries.
+   *
+   * @return The live entries in insertion order.
+   */
+  private List<DiaryEntry> liveEntries() {
+    lock.readLock().lock();
+    try {
+      return columns.liveEntries();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds an entry to the author index.
+   *
+   * @param entry The entry.
+   */
+  private void indexByAuthor(DiaryEntry entry) {
+    Map<Integer, DiaryEntry> authorEntries = entriesByAuthor.get(entry.getAuthor().id());
+    if (authorEntries == null) {
+      authorEntries = new LinkedHashMap<>();
+      entriesByAuthor.put(entry.getAuthor().id(), authorEntries);
+    }
+    authorEntries.put(entry.getId(), entry);
+  }
+
+  /**
+   * Removes an entry from the author index.
+   *
+   * @param entry The entry.
+   */
+  private void unindexByAuthor(DiaryEntry entry) {
+    Map<Integer, DiaryEntry> authorEntries = entriesByAuthor.get(entry.getAuthor().id());
+    authorEntries.remove(entry.getId());
+    if (authorEntries.isEmpty()) {
+      entriesByAuthor.remove(entry.getAuthor().id());
+    }
+  }
+
+  /**
+   * Adds an entry to the sync ID index. An entry without a sync ID gets its default one, see
+   * {@link EntryHashes#identity}, and a sync ID that is taken is moved to the next free one. An
+   * entry that comes back after being deleted replaces its tombstone, with a higher revision.
+   *
+   * @param entry The entry.
+   */
+  private void indexBySyncId(DiaryEntry entry) {
+    long syncId = entry.getSyncId() == 0 ? EntryHashes.identity(entry) : entry.getSyncId();
+    while (syncId == 0 || entriesBySyncId.containsKey(syncId)) {
+      syncId++;
+    }
+    int revision = entry.getRevision();
+    Map<Long, EntryTombstone> tombstones =
+        tombstonesByBucket.get(MerkleTree.bucketOf(entry.getEpochSecond()));
+    EntryTombstone tombstone = tombstones == null ? null : tombstones.remove(syncId);
+    if (tombstone != null) {
+      revision = Math.max(revision, tombstone.revision() + 1);
+    }
+    entry.setSyncIdentity(syncId, revision);
+    entriesBySyncId.put(syncId, entry);
+  }
+
+  /**
+   * Finds the tombstone of a deleted entry.
+   *
+   * @param syncId      The sync ID of the entry.
+   * @param epochSecond The timestamp of the entry.
+   * @return The tombstone, or null if there is none.
+   */
+  private EntryTombstone findTombstone(long syncId, long epochSecond) {
+    Map<Long, EntryTombstone> tombstones =
+        tombstonesByBucket.get(MerkleTree.bucketOf(epochSecond));
+    return tombstones == null ? null : tombstones.get(syncId);
+  }
+
+  /**
+   * Stores a tombstone, unless a tombstone of the same entry with a higher revision is stored
+   * already.
+   *
+   * @param tombstone The tombstone.
+   */
+  private void storeTombstone(EntryTombstone tombstone) {
+    int bucket = MerkleTree.bucketOf(tombstone.epochSecond());
+    Map<Long, EntryTombstone> tombstones = tombstonesByBucket.get(bucket);
+    if (tombstones == null) {
+      tombstones = new HashMap<>();
+      tombstonesByBucket.put(bucket, tombstones);
+    }
+    tombstones.merge(tombstone.syncId(), tombstone,
+        (stored, added) -> added.revision() > stored.revision() ? added : stored);
+  }
+
+  /**
+   * Replaces the content of a local entry with the version of another replica, if that version
+   * wins. Only the values that differ are set, through the setters, so the indexes are updated.
+   *
+   * @param local    The local entry.
+   * @param received The version of the other replica, with its revision.
+   * @return True if the local entry was changed, false otherwise.
+   */
+  private boolean applyNewerRevision(DiaryEntry local, DiaryEntry received) {
+    long localHash = EntryHashes.hash(local);
+    long receivedHash = EntryHashes.hash(received);
+    if (localHash == receivedHash) {
+      if (received.getRevision() > local.getRevision()) {
+        local.setSyncIdentity(local.getSyncId(), received.getRevision());
+      }
+      return false;
+    }
+    if (received.getRevision() < local.getRevision()
+        || received.getRevision() == local.getRevision()
+        && Long.compareUnsigned(receivedHash, localHash) < 0) {
+      return false;
+    }
+
+    if (local.getAuthor().id() != received.getAuthor().id()) {
+      unindexByAuthor(local);
+      local.reassignAuthor(received.getAuthor());
+      indexByAuthor(local);
+      columns.refresh(columns.findRow(local.getId()));
+    }
+    if (!local.getContent().equals(received.getContent())) {
+      local.setContent(received.getContent());
+    }
+    if (!local.getCategory().equals(received.getCategory())) {
+      local.setCategory(received.getCategory());
+    }
+    for (int i = 0; i < local.getTemplateSchema().size(); i++) {
+      if (!local.getTemplateFieldValue(i).equals(received.getTemplateFieldValue(i))) {
+        local.applyTemplateField(i, received.getTemplateFieldValue(i));
+      }
+    }
+    if (local instanceof FishingEntry localFishing
+        && received instanceof FishingEntry receivedFishing
+        && !Objects.equals(localFishing.getCoordinates(), receivedFishing.getCoordinates())) {
+      localFishing.setCoordinates(receivedFishing.getCoordinates());
+    }
+    local.setSyncIdentity(local.getSyncId(), received.getRevision());
+    changeLog.record(local.getId(), false);
+    putInIndexes(local);
+    return true;
   }
 
   /**
@@ -262,8 +1561,8 @@ public class DiaryRegistry {
    * @return A sorted list of all diary entries.
    */
   public List<DiaryEntry> getAllEntriesSortedDescending() {
-    return entries.stream()
-        .sorted(Comparator.comparing(DiaryEntry::getTimestamp).reversed())
+    return liveEntries().stream()
+        .sorted(Comparator.comparingLong(DiaryEntry::getEpochSecond).reversed())
         .collect(Collectors.toList());
   }
 
@@ -273,8 +1572,8 @@ public class DiaryRegistry {
    * @return A sorted list of all diary entries (ascending order).
    */
   public List<DiaryEntry> getAllEntriesSortedAscending() {
-    return entries.stream()
-        .sorted(Comparator.comparing(DiaryEntry::getTimestamp))
+    return liveEntries().stream()
+        .sorted(Comparator.comparingLong(DiaryEntry::getEpochSecond))
         .collect(Collectors.toList());
   }
 
@@ -284,7 +1583,12 @@ public class DiaryRegistry {
    * @return The number of entries.
    */
   public int getNumberOfEntries() {
-    return entries.size();
+    lock.readLock().lock();
+    try {
+      return columns.liveCount();
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
@@ -293,6 +1597,6 @@ public class DiaryRegistry {
    * @return True if the registry contains no entries, false otherwise.
    */
   public boolean isEmpty() {
-    return entries.isEmpty();
+    return getNumberOfEntries() == 0;
   }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package edu.ntnu.idi.bidata.diary;
+
+/**
+ * <h1>Entry Change Listener.</h1>
+ *
+ * <p>Notified by a {@link DiaryEntry} before and after one of its setters changes it. The
+ * registry that holds the entry uses this to refuse changes it cannot record, and to record the
+ * others.</p>
+ */
+@FunctionalInterface
+interface EntryChangeListener {
+
+  /**
+   * Called before a setter changes an entry. The listener may refuse the change by throwing an
+   * exception, which leaves the entry unchanged.
+   *
+   * @param entry The entry about to change.
+   */
+  default void beforeChange(DiaryEntry entry) {
+  }
+
+  /**
+   * Called after an entry has changed.
+   *
+   * @param entry The changed entry.
+   */
+  void entryChanged(DiaryEntry entry);
+}
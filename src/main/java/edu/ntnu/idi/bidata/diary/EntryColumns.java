@@ -0,0 +1,443 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntIntMap;
+import edu.ntnu.idi.bidata.util.SymbolTable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * <h1>Entry Columns.</h1>
+ *
+ * <p>Columnar copy of the entry metadata that filters and statistics need: ID, author ID,
+ * timestamp, entry type and category. Each attribute is kept in its own array, with one row per
+ * entry in insertion order, so scans run as tight loops over contiguous memory instead of
+ * following references to entry objects. The category column holds the canonical instance of
+ * the lower-case category from the symbol table, so it is compared by identity.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Append a row when an entry is added</li>
+ *   <li>Mark rows as deleted (tombstones) instead of shifting the arrays</li>
+ *   <li>Scan the columns for matching rows, skipping deleted rows</li>
+ *   <li>Refresh the metadata of a row after its entry has changed</li>
+ *   <li>Map entry IDs to rows and rows back to their entries</li>
+ *   <li>Create a compacted copy without the deleted rows</li>
+ * </ul>
+ *
+ * <p>The columns are not thread-safe; {@link DiaryRegistry} guards them with a lock.</p>
+ */
+final class EntryColumns {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final List<String> typeNames;
+  private final IntIntMap rowById;
+  private int[] ids;
+  private int[] authorIds;
+  private long[] timestamps;
+  private short[] types;
+  private String[] categories;
+  private boolean[] deleted;
+  private DiaryEntry[] rows;
+  private int rowCount;
+  private int deletedCount;
+
+  /**
+   * Constructs empty columns.
+   */
+  EntryColumns() {
+    this(new ArrayList<>(), INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructs empty columns with the given type names and capacity.
+   *
+   * @param typeNames The known entry type names, indexed by type code.
+   * @param capacity  The initial number of rows.
+   */
+  private EntryColumns(List<String> typeNames, int capacity) {
+    this.typeNames = typeNames;
+    this.rowById = new IntIntMap(capacity);
+    this.ids = new int[capacity];
+    this.authorIds = new int[capacity];
+    this.timestamps = new long[capacity];
+    this.types = new short[capacity];
+    this.categories = new String[capacity];
+    this.deleted = new boolean[capacity];
+    this.rows = new DiaryEntry[capacity];
+    this.rowCount = 0;
+    this.deletedCount = 0;
+  }
+
+  /**
+   * Appends a row for an entry.
+   *
+   * @param entry The entry.
+   * @return The row of the entry.
+   */
+  int append(DiaryEntry entry) {
+    if (rowCount == ids.length) {
+      grow(rowCount * 2);
+    }
+    int row = rowCount++;
+    ids[row] = entry.getId();
+    authorIds[row] = entry.getAuthor().id();
+    timestamps[row] = entry.getEpochSecond();
+    types[row] = typeCode(entry.getEntryType().toLowerCase(Locale.ROOT), true);
+    categories[row] = foldedCategory(entry);
+    rows[row] = entry;
+    rowById.put(entry.getId(), row);
+    return row;
+  }
+
+  /**
+   * Makes room for more rows, so appending them does not grow the columns step by step.
+   *
+   * @param additionalRows The number of rows about to be appended.
+   */
+  void ensureCapacity(int additionalRows) {
+    int required = rowCount + additionalRows;
+    if (required > ids.length) {
+      grow(Math.max(required, ids.length * 2));
+    }
+  }
+
+  /**
+   * Marks a row as deleted.
+   *
+   * @param row The row to delete.
+   */
+  void delete(int row) {
+    if (!deleted[row]) {
+      if (rowById.get(ids[row]) == row) {
+        rowById.remove(ids[row]);
+      }
+      deleted[row] = true;
+      rows[row] = null;
+      deletedCount++;
+    }
+  }
+
+  /**
+   * Finds the live row of an entry.
+   *
+   * @param id The ID of the entry.
+   * @return The row, or -1 if no live row has that ID.
+   */
+  int findRow(int id) {
+    return rowById.get(id);
+  }
+
+  /**
+   * Returns the entry stored in a row.
+   *
+   * @param row The row.
+   * @return The entry, or null if the row is deleted.
+   */
+  DiaryEntry entryAt(int row) {
+    return rows[row];
+  }
+
+  /**
+   * Finds all live entries with a timestamp in the half-open range [start, end).
+   *
+   * @param start The first epoch second to include.
+   * @param end   The first epoch second to exclude.
+   * @return The matching entries in insertion order.
+   */
+  List<DiaryEntry> findByTimestampRange(long start, long end) {
+    List<DiaryEntry> result = new ArrayList<>();
+    for (int row = 0; row < rowCount; row++) {
+      long timestamp = timestamps[row];
+      if (timestamp >= start && timestamp < end && !deleted[row]) {
+        result.add(rows[row]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds all live entries with the given folded category.
+   *
+   * @param foldedCategory The canonical instance of the lower-case category.
+   * @return The matching entries in insertion order.
+   */
+  List<DiaryEntry> findByCategory(String foldedCategory) {
+    List<DiaryEntry> result = new ArrayList<>();
+    for (int row = 0; row < rowCount; row++) {
+      if (categories[row] == foldedCategory && !deleted[row]) {
+        result.add(rows[row]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds all live entries of an entry type.
+   *
+   * @param foldedType The lower-case entry type.
+   * @return The matching entries in insertion order.
+   */
+  List<DiaryEntry> findByType(String foldedType) {
+    List<DiaryEntry> result = new ArrayList<>();
+    short type = typeCode(foldedType, false);
+    if (type < 0) {
+      return result;
+    }
+    for (int row = 0; row < rowCount; row++) {
+      if (types[row] == type && !deleted[row]) {
+        result.add(rows[row]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Counts the live entries of an entry type.
+   *
+   * @param foldedType The lower-case entry type.
+   * @return The number of entries.
+   */
+  int countByType(String foldedType) {
+    short type = typeCode(foldedType, false);
+    if (type < 0) {
+      return 0;
+    }
+    int count = 0;
+    for (int row = 0; row < rowCount; row++) {
+      if (types[row] == type && !deleted[row]) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Finds the live rows that match a query in a single pass over the columns. The template field
+   * condition is only checked for rows that meet all column conditions.
+   *
+   * @param query The query.
+   * @return The matching rows in insertion order.
+   */
+  int[] selectRows(EntryQuery query) {
+    RowFilter filter = new RowFilter(query);
+    int[] selected = new int[INITIAL_CAPACITY];
+    int count = 0;
+    for (int row = 0; row < rowCount && !filter.empty; row++) {
+      if (filter.matches(row)) {
+        if (count == selected.length) {
+          selected = Arrays.copyOf(selected, count * 2);
+        }
+        selected[count++] = row;
+      }
+    }
+    return Arrays.copyOf(selected, count);
+  }
+
+  /**
+   * Selects the rows among some candidate rows that hold live entries matching a query.
+   *
+   * @param query      The query.
+   * @param candidates The candidate rows, in ascending order.
+   * @return The matching rows in ascending order.
+   */
+  int[] selectRows(EntryQuery query, int[] candidates) {
+    RowFilter filter = new RowFilter(query);
+    int[] selected = new int[candidates.length];
+    int count = 0;
+    for (int i = 0; i < candidates.length && !filter.empty; i++) {
+      if (filter.matches(candidates[i])) {
+        selected[count++] = candidates[i];
+      }
+    }
+    return Arrays.copyOf(selected, count);
+  }
+
+  /**
+   * Passes every live entry that matches a query to an action, in insertion order, without
+   * collecting the entries first.
+   *
+   * @param query  The query.
+   * @param action The action to run for each matching entry.
+   */
+  void forEachMatching(EntryQuery query, Consumer<DiaryEntry> action) {
+    RowFilter filter = new RowFilter(query);
+    for (int row = 0; row < rowCount && !filter.empty; row++) {
+      if (filter.matches(row)) {
+        action.accept(rows[row]);
+      }
+    }
+  }
+
+  /**
+   * Reads the mutable metadata of a row again from its entry, after the entry has changed or
+   * has been moved to another author.
+   *
+   * @param row The row.
+   */
+  void refresh(int row) {
+    if (!deleted[row]) {
+      authorIds[row] = rows[row].getAuthor().id();
+      categories[row] = foldedCategory(rows[row]);
+    }
+  }
+
+  /**
+   * Returns all live entries.
+   *
+   * @return The live entries in insertion order.
+   */
+  List<DiaryEntry> liveEntries() {
+    List<DiaryEntry> result = new ArrayList<>(liveCount());
+    for (int row = 0; row < rowCount; row++) {
+      if (!deleted[row]) {
+        result.add(rows[row]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of live rows.
+   *
+   * @return The number of live rows.
+   */
+  int liveCount() {
+    return rowCount - deletedCount;
+  }
+
+  /**
+   * Returns the number of rows, including deleted rows.
+   *
+   * @return The number of rows.
+   */
+  int rowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Returns the share of rows that are deleted.
+   *
+   * @return The dead ratio, between 0 and 1.
+   */
+  double deadRatio() {
+    return rowCount == 0 ? 0.0 : (double) deletedCount / rowCount;
+  }
+
+  /**
+   * Creates a copy of these columns without the deleted rows. The live rows keep their order.
+   *
+   * @return The compacted copy.
+   */
+  EntryColumns compactedCopy() {
+    EntryColumns copy = new EntryColumns(new ArrayList<>(typeNames),
+        Math.max(INITIAL_CAPACITY, liveCount()));
+    for (int row = 0; row < rowCount; row++) {
+      if (!deleted[row]) {
+        int target = copy.rowCount++;
+        copy.ids[target] = ids[row];
+        copy.authorIds[target] = authorIds[row];
+        copy.timestamps[target] = timestamps[row];
+        copy.types[target] = types[row];
+        copy.categories[target] = categories[row];
+        copy.rows[target] = rows[row];
+        copy.rowById.put(ids[row], target);
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * Returns the canonical instance of the lower-case category of an entry.
+   *
+   * @param entry The entry.
+   * @return The folded category.
+   */
+  private static String foldedCategory(DiaryEntry entry) {
+    return SymbolTable.global().canonical(entry.getCategory().toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Returns the code of an entry type.
+   *
+   * @param foldedType The lower-case entry type.
+   * @param add        Whether to add the type if it is unknown.
+   * @return The type code, or -1 if the type is unknown and add is false.
+   */
+  private short typeCode(String foldedType, boolean add) {
+    int code = typeNames.indexOf(foldedType);
+    if (code < 0 && add) {
+      typeNames.add(foldedType);
+      code = typeNames.size() - 1;
+    }
+    return (short) code;
+  }
+
+  /**
+   * Grows all columns to the given capacity.
+   *
+   * @param capacity The new capacity.
+   */
+  private void grow(int capacity) {
+    ids = Arrays.copyOf(ids, capacity);
+    authorIds = Arrays.copyOf(authorIds, capacity);
+    timestamps = Arrays.copyOf(timestamps, capacity);
+    types = Arrays.copyOf(types, capacity);
+    categories = Arrays.copyOf(categories, capacity);
+    deleted = Arrays.copyOf(deleted, capacity);
+    rows = Arrays.copyOf(rows, capacity);
+  }
+
+  /**
+   * A query resolved against the codes of these columns, so matching a row only compares
+   * primitives and canonical instances.
+   */
+  private final class RowFilter {
+
+    private final EntryQuery query;
+    private final String category;
+    private final short type;
+    private final boolean anyAuthor;
+    private final int authorId;
+    private final long start;
+    private final long end;
+    private final boolean empty;
+
+    /**
+     * Resolves a query.
+     *
+     * @param query The query.
+     */
+    RowFilter(EntryQuery query) {
+      this.query = query;
+      this.category = query.getCategory() == null
+          ? null : SymbolTable.global().find(query.getCategory());
+      this.type = query.getEntryType() == null ? -1 : typeCode(query.getEntryType(), false);
+      this.anyAuthor = query.getAuthor() == null;
+      this.authorId = anyAuthor ? 0 : query.getAuthor().id();
+      this.start = query.getStartEpochSecond();
+      this.end = query.getEndEpochSecond();
+      this.empty = (query.getCategory() != null && category == null)
+          || (query.getEntryType() != null && type < 0);
+    }
+
+    /**
+     * Checks whether a row matches the query. The template field condition is only checked
+     * for rows that meet all column conditions.
+     *
+     * @param row The row.
+     * @return True if the row is live and matches, false otherwise.
+     */
+    boolean matches(int row) {
+      return !deleted[row]
+          && timestamps[row] >= start && timestamps[row] < end
+          && (category == null || categories[row] == category)
+          && (type < 0 || types[row] == type)
+          && (anyAuthor || authorIds[row] == authorId)
+          && query.matchesTemplateField(rows[row]);
+    }
+  }
+}
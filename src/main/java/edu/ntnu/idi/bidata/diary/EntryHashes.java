@@ -0,0 +1,112 @@
+package edu.ntnu.idi.bidata.diary;
+
+/**
+ * <h1>Entry Hashes.</h1>
+ *
+ * <p>Computes 64-bit content hashes of diary entries for comparing replicas of a diary. The hash
+ * covers the entry type, author name, timestamp, title, content, category, template fields and
+ * the coordinates of a fishing entry, but not the entry ID, since each replica assigns its own
+ * IDs, nor the sync ID and revision. Two entries with the same content therefore have the same
+ * hash on every machine.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Hash the content of an entry</li>
+ *   <li>Derive the default sync ID of an entry</li>
+ *   <li>Combine two hashes into the hash of a tree node</li>
+ * </ul>
+ *
+ * <p>The hash is FNV-1a over the characters of the values, each value followed by a separator,
+ * with a final bit mix. It is not a cryptographic hash.</p>
+ */
+public final class EntryHashes {
+
+  private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+  private static final long FNV_PRIME = 0x100000001B3L;
+  private static final char SEPARATOR = '\u001F';
+
+  private EntryHashes() {
+  }
+
+  /**
+   * Computes the content hash of an entry.
+   *
+   * @param entry The entry.
+   * @return The hash.
+   */
+  public static long hash(DiaryEntry entry) {
+    long hash = FNV_OFFSET;
+    hash = append(hash, entry.getEntryType());
+    hash = append(hash, entry.getAuthor().name());
+    hash = append(hash, Long.toString(entry.getEpochSecond()));
+    hash = append(hash, entry.getTitle());
+    hash = append(hash, entry.getContent());
+    hash = append(hash, entry.getCategory());
+    TemplateSchema schema = entry.getTemplateSchema();
+    for (int i = 0; i < schema.size(); i++) {
+      hash = append(hash, entry.getTemplateFieldValue(i));
+    }
+    if (entry instanceof FishingEntry fishingEntry && fishingEntry.getCoordinates() != null) {
+      hash = append(hash, Double.toString(fishingEntry.getCoordinates().latitude()));
+      hash = append(hash, Double.toString(fishingEntry.getCoordinates().longitude()));
+    }
+    return finish(hash);
+  }
+
+  /**
+   * Computes the default sync ID of an entry from the values that never change: the entry type,
+   * the name of its first author, the timestamp and the title. An entry created with the same
+   * values on two replicas therefore has the same sync ID on both.
+   *
+   * @param entry The entry.
+   * @return The sync ID, never 0.
+   */
+  public static long identity(DiaryEntry entry) {
+    long hash = FNV_OFFSET;
+    hash = append(hash, entry.getEntryType());
+    hash = append(hash, entry.getAuthor().name());
+    hash = append(hash, Long.toString(entry.getEpochSecond()));
+    hash = append(hash, entry.getTitle());
+    hash = finish(hash);
+    return hash == 0 ? 1 : hash;
+  }
+
+  /**
+   * Combines the hashes of two child nodes into the hash of their parent.
+   *
+   * @param left  The hash of the left child.
+   * @param right The hash of the right child.
+   * @return The hash of the parent.
+   */
+  public static long combine(long left, long right) {
+    return finish(left * 31 + Long.rotateLeft(right, 17) + FNV_PRIME);
+  }
+
+  /**
+   * Adds a value and a separator to a running FNV-1a hash.
+   *
+   * @param hash  The running hash.
+   * @param value The value.
+   * @return The updated hash.
+   */
+  private static long append(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+    }
+    return (hash ^ SEPARATOR) * FNV_PRIME;
+  }
+
+  /**
+   * Mixes the bits of a hash, so similar inputs give unrelated results.
+   *
+   * @param hash The hash.
+   * @return The mixed hash.
+   */
+  private static long finish(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    return hash ^ (hash >>> 33);
+  }
+}
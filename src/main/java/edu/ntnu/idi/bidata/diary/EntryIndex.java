@@ -0,0 +1,29 @@
+package edu.ntnu.idi.bidata.diary;
+
+/**
+ * <h1>Entry Index.</h1>
+ *
+ * <p>Data derived from the entries of a {@link DiaryRegistry} that is kept up to date one entry
+ * at a time, as entries are added, changed through their setters, moved to another author or
+ * deleted. An index remembers what each entry contributed, so a changed entry replaces its old
+ * contribution without visiting the other entries.</p>
+ *
+ * <p>Entries report changes from their setters on any thread, so every index has its own
+ * lock.</p>
+ */
+interface EntryIndex {
+
+  /**
+   * Adds an entry, or updates it if it is in the index already.
+   *
+   * @param entry The entry.
+   */
+  void put(DiaryEntry entry);
+
+  /**
+   * Removes an entry. Does nothing if the entry is not in the index.
+   *
+   * @param entry The entry.
+   */
+  void remove(DiaryEntry entry);
+}
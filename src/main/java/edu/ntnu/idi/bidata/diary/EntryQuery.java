@@ -0,0 +1,298 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.author.Author;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * <h1>Entry Query.</h1>
+ *
+ * <p>Describes which entries a bulk operation in {@link DiaryRegistry} applies to. Every
+ * condition is optional, and an entry matches when it meets all conditions that are set. A new
+ * query without conditions matches every entry.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Collect conditions on category, entry type, author, date range and template field</li>
+ *   <li>Validate each condition when it is set</li>
+ *   <li>Check the template field conditions against an entry</li>
+ * </ul>
+ *
+ * <p>The other conditions are checked against the entry columns by the registry, so they are
+ * evaluated without touching the entry objects. An indexed field condition is answered from the
+ * {@link TemplateFieldIndex}, so only the entries it finds are checked against the rest of the
+ * query.</p>
+ */
+public final class EntryQuery {
+
+  private String category;
+  private String entryType;
+  private Author author;
+  private long startEpochSecond;
+  private long endEpochSecond;
+  private String fieldName;
+  private String fieldValue;
+  private String indexedFieldName;
+  private String indexedFieldTerm;
+  private boolean indexedFieldPrefix;
+
+  /**
+   * Constructs a new query that matches every entry.
+   */
+  public EntryQuery() {
+    this.startEpochSecond = Long.MIN_VALUE;
+    this.endEpochSecond = Long.MAX_VALUE;
+  }
+
+  /**
+   * Limits the query to entries in a category. Matching ignores case.
+   *
+   * @param category The category.
+   * @return This query.
+   * @throws IllegalArgumentException If category is null or empty.
+   */
+  public EntryQuery withCategory(String category) {
+    if (category == null || category.trim().isEmpty()) {
+      throw new IllegalArgumentException("Category cannot be null or empty");
+    }
+    this.category = category.trim().toLowerCase(Locale.ROOT);
+    return this;
+  }
+
+  /**
+   * Limits the query to entries of an entry type. Matching ignores case.
+   *
+   * @param entryType The entry type.
+   * @return This query.
+   * @throws IllegalArgumentException If entryType is null or empty.
+   */
+  public EntryQuery withEntryType(String entryType) {
+    if (entryType == null || entryType.trim().isEmpty()) {
+      throw new IllegalArgumentException("Entry type cannot be null or empty");
+    }
+    this.entryType = entryType.trim().toLowerCase(Locale.ROOT);
+    return this;
+  }
+
+  /**
+   * Limits the query to entries written by an author.
+   *
+   * @param author The author.
+   * @return This query.
+   * @throws IllegalArgumentException If author is null.
+   */
+  public EntryQuery withAuthor(Author author) {
+    if (author == null) {
+      throw new IllegalArgumentException("Author cannot be null");
+    }
+    this.author = author;
+    return this;
+  }
+
+  /**
+   * Limits the query to entries on or after a date.
+   *
+   * @param startDate The first date to include.
+   * @return This query.
+   * @throws IllegalArgumentException If startDate is null.
+   */
+  public EntryQuery from(LocalDate startDate) {
+    if (startDate == null) {
+      throw new IllegalArgumentException("Start date cannot be null");
+    }
+    this.startEpochSecond = Timestamps.startOfDay(startDate);
+    return this;
+  }
+
+  /**
+   * Limits the query to entries before a date.
+   *
+   * @param endDate The first date to exclude.
+   * @return This query.
+   * @throws IllegalArgumentException If endDate is null.
+   */
+  public EntryQuery before(LocalDate endDate) {
+    if (endDate == null) {
+      throw new IllegalArgumentException("End date cannot be null");
+    }
+    this.endEpochSecond = Timestamps.startOfDay(endDate);
+    return this;
+  }
+
+  /**
+   * Limits the query to entries with a template field set to a value, for example a fishing
+   * location. Matching ignores case.
+   *
+   * @param fieldName The name of the template field.
+   * @param value     The value of the field.
+   * @return This query.
+   * @throws IllegalArgumentException If fieldName or value is null or empty.
+   */
+  public EntryQuery withTemplateField(String fieldName, String value) {
+    if (fieldName == null || fieldName.trim().isEmpty()) {
+      throw new IllegalArgumentException("Field name cannot be null or empty");
+    }
+    if (value == null || value.trim().isEmpty()) {
+      throw new IllegalArgumentException("Field value cannot be null or empty");
+    }
+    this.fieldName = fieldName.trim();
+    this.fieldValue = value.trim();
+    return this;
+  }
+
+  /**
+   * Limits the query to entries where an indexed template field has a value, for example all
+   * fishing entries where the bait used is worm. Values are compared trimmed, ignoring case and
+   * with runs of whitespace as single spaces. A list field, such as the exercises of a gym
+   * entry, matches when any of its items has the value. Replaces any other indexed field
+   * condition.
+   *
+   * @param fieldName The name of an indexed template field.
+   * @param value     The value.
+   * @return This query.
+   * @throws IllegalArgumentException If fieldName or value is null or empty.
+   */
+  public EntryQuery withIndexedField(String fieldName, String value) {
+    setIndexedField(fieldName, value, false);
+    return this;
+  }
+
+  /**
+   * Limits the query to entries where an indexed template field has a value that starts with a
+   * prefix, compared as in {@link #withIndexedField}. Replaces any other indexed field condition.
+   *
+   * @param fieldName The name of an indexed template field.
+   * @param prefix    The prefix.
+   * @return This query.
+   * @throws IllegalArgumentException If fieldName or prefix is null or empty.
+   */
+  public EntryQuery withIndexedFieldPrefix(String fieldName, String prefix) {
+    setIndexedField(fieldName, prefix, true);
+    return this;
+  }
+
+  /**
+   * Validates and sets the indexed field condition.
+   *
+   * @param fieldName The name of the field.
+   * @param value     The value or prefix.
+   * @param prefix    True to match values that start with the value.
+   * @throws IllegalArgumentException If fieldName or value is null or empty.
+   */
+  private void setIndexedField(String fieldName, String value, boolean prefix) {
+    if (fieldName == null || fieldName.trim().isEmpty()) {
+      throw new IllegalArgumentException("Field name cannot be null or empty");
+    }
+    if (value == null || value.trim().isEmpty()) {
+      throw new IllegalArgumentException("Field value cannot be null or empty");
+    }
+    this.indexedFieldName = fieldName.trim();
+    this.indexedFieldTerm = TemplateFieldIndex.normalize(value);
+    this.indexedFieldPrefix = prefix;
+  }
+
+  /**
+   * Returns the lower-case category condition.
+   *
+   * @return The category, or null if the query does not limit the category.
+   */
+  String getCategory() {
+    return category;
+  }
+
+  /**
+   * Returns the lower-case entry type condition.
+   *
+   * @return The entry type, or null if the query does not limit the entry type.
+   */
+  String getEntryType() {
+    return entryType;
+  }
+
+  /**
+   * Returns the author condition.
+   *
+   * @return The author, or null if the query does not limit the author.
+   */
+  Author getAuthor() {
+    return author;
+  }
+
+  /**
+   * Returns the first epoch second the query includes.
+   *
+   * @return The start of the time range.
+   */
+  long getStartEpochSecond() {
+    return startEpochSecond;
+  }
+
+  /**
+   * Returns the first epoch second the query excludes.
+   *
+   * @return The end of the time range.
+   */
+  long getEndEpochSecond() {
+    return endEpochSecond;
+  }
+
+  /**
+   * Returns the name of the field of the indexed field condition.
+   *
+   * @return The field name, or null if the query has no indexed field condition.
+   */
+  String getIndexedFieldName() {
+    return indexedFieldName;
+  }
+
+  /**
+   * Returns the normalised value or prefix of the indexed field condition.
+   *
+   * @return The term, or null if the query has no indexed field condition.
+   */
+  String getIndexedFieldTerm() {
+    return indexedFieldTerm;
+  }
+
+  /**
+   * Checks whether the indexed field condition matches values by prefix.
+   *
+   * @return True for a prefix condition, false for an equality condition.
+   */
+  boolean isIndexedFieldPrefix() {
+    return indexedFieldPrefix;
+  }
+
+  /**
+   * Checks whether an entry meets the template field conditions.
+   *
+   * @param entry The entry.
+   * @return True if the entry meets every template field condition the query has.
+   */
+  boolean matchesTemplateField(DiaryEntry entry) {
+    TemplateSchema schema = entry.getTemplateSchema();
+    if (fieldName != null) {
+      int index = schema.indexOf(fieldName);
+      if (index < 0 || !fieldValue.equalsIgnoreCase(entry.getTemplateFieldValue(index))) {
+        return false;
+      }
+    }
+    if (indexedFieldName != null) {
+      int index = schema.indexOf(indexedFieldName);
+      if (index < 0) {
+        return false;
+      }
+      for (String term : TemplateFieldIndex.terms(schema.getIndexing(index),
+          entry.getTemplateFieldValue(index))) {
+        boolean matches = indexedFieldPrefix
+            ? term.startsWith(indexedFieldTerm)
+            : term.equals(indexedFieldTerm);
+        if (matches) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return true;
+  }
+}
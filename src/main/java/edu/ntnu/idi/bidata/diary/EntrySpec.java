@@ -0,0 +1,211 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.author.Author;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h1>Entry Spec.</h1>
+ *
+ * <p>Describes an entry to be created by {@link DiaryRegistry#createEntries}. A spec is not
+ * validated when it is made; the registry validates all specs of a batch together and reports
+ * the invalid ones without creating them.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Hold the values of a standard, fishing or gym entry before it has an ID</li>
+ *   <li>Hold the coordinates of a fishing entry</li>
+ *   <li>Carry the sync ID and revision of an entry from another replica</li>
+ *   <li>Create the entry once the registry has assigned an ID</li>
+ * </ul>
+ *
+ * @param entryType      The entry type, "Standard", "Fishing" or "Gym".
+ * @param author         The author of the entry.
+ * @param timestamp      The timestamp of the entry.
+ * @param title          The title of the entry.
+ * @param content        The content of the entry.
+ * @param category       The category of the entry.
+ * @param templateValues The template field values, in the schema order of the entry type.
+ * @param coordinates    The coordinates of a fishing entry, or null to read them from the
+ *                       location.
+ * @param syncId         The sync ID of the entry, or 0 to let the registry assign one.
+ * @param revision       The revision of the entry, see {@link DiaryEntry#getRevision()}.
+ */
+public record EntrySpec(String entryType, Author author, LocalDateTime timestamp, String title,
+    String content, String category, List<String> templateValues, GeoPoint coordinates,
+    long syncId, int revision) {
+
+  /**
+   * Describes a new entry, which gets its sync ID from the registry.
+   *
+   * @param entryType      The entry type, "Standard", "Fishing" or "Gym".
+   * @param author         The author of the entry.
+   * @param timestamp      The timestamp of the entry.
+   * @param title          The title of the entry.
+   * @param content        The content of the entry.
+   * @param category       The category of the entry.
+   * @param templateValues The template field values, in the schema order of the entry type.
+   */
+  public EntrySpec(String entryType, Author author, LocalDateTime timestamp, String title,
+      String content, String category, List<String> templateValues) {
+    this(entryType, author, timestamp, title, content, category, templateValues, null, 0, 0);
+  }
+
+  /**
+   * Describes a standard entry.
+   *
+   * @param author    The author of the entry.
+   * @param timestamp The timestamp of the entry.
+   * @param title     The title of the entry.
+   * @param content   The content of the entry.
+   * @param category  The category of the entry.
+   * @return The spec.
+   */
+  public static EntrySpec standard(Author author, LocalDateTime timestamp, String title,
+      String content, String category) {
+    return new EntrySpec("Standard", author, timestamp, title, content, category, List.of());
+  }
+
+  /**
+   * Describes a fishing entry.
+   *
+   * @param author     The author of the entry.
+   * @param timestamp  The timestamp of the entry.
+   * @param title      The title of the entry.
+   * @param content    The content of the entry.
+   * @param category   The category of the entry.
+   * @param weather    Weather conditions.
+   * @param fishCaught Fish caught.
+   * @param location   Fishing location.
+   * @param baitUsed   Bait used.
+   * @return The spec.
+   */
+  public static EntrySpec fishing(Author author, LocalDateTime timestamp, String title,
+      String content, String category, String weather, String fishCaught, String location,
+      String baitUsed) {
+    return new EntrySpec("Fishing", author, timestamp, title, content, category,
+        Arrays.asList(weather, fishCaught, location, baitUsed));
+  }
+
+  /**
+   * Describes a gym entry.
+   *
+   * @param author    The author of the entry.
+   * @param timestamp The timestamp of the entry.
+   * @param title     The title of the entry.
+   * @param content   The content of the entry.
+   * @param category  The category of the entry.
+   * @param exercises Exercises performed.
+   * @param sets      Number of sets.
+   * @param reps      Number of repetitions.
+   * @return The spec.
+   */
+  public static EntrySpec gym(Author author, LocalDateTime timestamp, String title,
+      String content, String category, String exercises, String sets, String reps) {
+    return new EntrySpec("Gym", author, timestamp, title, content, category,
+        Arrays.asList(exercises, sets, reps));
+  }
+
+  /**
+   * Describes an existing entry, for example to create a copy of it in another registry. The
+   * spec keeps the coordinates, sync ID and revision of the entry.
+   *
+   * @param entry The entry.
+   * @return The spec.
+   * @throws IllegalArgumentException If entry is null.
+   */
+  public static EntrySpec of(DiaryEntry entry) {
+    if (entry == null) {
+      throw new IllegalArgumentException("Diary entry cannot be null");
+    }
+    TemplateSchema schema = entry.getTemplateSchema();
+    String[] values = new String[schema.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = entry.getTemplateFieldValue(i);
+    }
+    GeoPoint coordinates = entry instanceof FishingEntry fishingEntry
+        ? fishingEntry.getCoordinates()
+        : null;
+    return new EntrySpec(entry.getEntryType(), entry.getAuthor(), entry.getTimestamp(),
+        entry.getTitle(), entry.getContent(), entry.getCategory(), Arrays.asList(values),
+        coordinates, entry.getSyncId(), entry.getRevision());
+  }
+
+  /**
+   * Returns a copy of this spec with another author, for example the local author with the
+   * same name as the author on another replica.
+   *
+   * @param author The author.
+   * @return The copy.
+   */
+  public EntrySpec withAuthor(Author author) {
+    return new EntrySpec(entryType, author, timestamp, title, content, category, templateValues,
+        coordinates, syncId, revision);
+  }
+
+  /**
+   * Checks that the spec describes a valid entry, without creating it in a registry.
+   *
+   * @throws IllegalArgumentException If the entry type is unknown, if a value is invalid, or if
+   *                                  an entry other than a fishing entry has coordinates.
+   */
+  public void validate() {
+    toEntry(1);
+  }
+
+  /**
+   * Validates the spec and creates the entry it describes, with the coordinates, sync ID and
+   * revision of the spec.
+   *
+   * @param id The ID assigned to the entry.
+   * @return The created entry.
+   * @throws IllegalArgumentException If the entry type is unknown, if a value is invalid, or if
+   *                                  an entry other than a fishing entry has coordinates.
+   */
+  DiaryEntry toEntry(int id) {
+    if (entryType == null) {
+      throw new IllegalArgumentException("Entry type cannot be null or empty");
+    }
+    if (revision < 0) {
+      throw new IllegalArgumentException("Revision cannot be negative");
+    }
+    DiaryEntry entry = switch (entryType) {
+      case "Standard" -> new StandardEntry(id, author, timestamp, title, content, category);
+      case "Fishing" -> {
+        requireTemplateValues(FishingEntry.SCHEMA);
+        FishingEntry fishingEntry = new FishingEntry(id, author, timestamp, title, content,
+            category, templateValues.get(0), templateValues.get(1), templateValues.get(2),
+            templateValues.get(3));
+        if (coordinates != null) {
+          fishingEntry.setCoordinates(coordinates);
+        }
+        yield fishingEntry;
+      }
+      case "Gym" -> {
+        requireTemplateValues(GymEntry.SCHEMA);
+        yield new GymEntry(id, author, timestamp, title, content, category,
+            templateValues.get(0), templateValues.get(1), templateValues.get(2));
+      }
+      default -> throw new IllegalArgumentException("Unknown entry type: " + entryType);
+    };
+    if (coordinates != null && !(entry instanceof FishingEntry)) {
+      throw new IllegalArgumentException("Only fishing entries can have coordinates");
+    }
+    entry.setSyncIdentity(syncId, revision);
+    return entry;
+  }
+
+  /**
+   * Checks that the spec has one template value for each field of a schema.
+   *
+   * @param schema The schema of the entry type.
+   * @throws IllegalArgumentException If the number of template values does not match.
+   */
+  private void requireTemplateValues(TemplateSchema schema) {
+    if (templateValues == null || templateValues.size() != schema.size()) {
+      throw new IllegalArgumentException(
+          String.format("%s entries need %d template values", entryType, schema.size()));
+    }
+  }
+}
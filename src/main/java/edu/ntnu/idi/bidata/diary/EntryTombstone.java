@@ -0,0 +1,17 @@
+package edu.ntnu.idi.bidata.diary;
+
+/**
+ * <h1>Entry Tombstone.</h1>
+ *
+ * <p>Marks an entry as deleted on a replica of the diary, so the deletion can be carried over
+ * to the other replicas instead of the entry coming back from them. See
+ * {@link DiaryRegistry#findTombstonesInSyncBuckets}.</p>
+ *
+ * @param syncId      The sync ID of the deleted entry.
+ * @param revision    The revision of the deletion: one more than the revision of the entry when
+ *                    it was deleted.
+ * @param epochSecond The timestamp of the deleted entry in epoch seconds, which gives its sync
+ *                    bucket.
+ */
+public record EntryTombstone(long syncId, int revision, long epochSecond) {
+}
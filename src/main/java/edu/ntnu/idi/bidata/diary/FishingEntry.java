@@ -14,17 +14,34 @@ import java.time.LocalDateTime;
  *   <li>Track fishing-specific details beyond basic diary information</li>
  *   <li>Store and validate weather conditions during the fishing session</li>
  *   <li>Record species and quantity of fish caught</li>
- *   <li>Document the fishing location</li>
+ *   <li>Document the fishing location, optionally with coordinates</li>
  *   <li>Track bait or lure used for future reference</li>
  *   <li>Allow modification of fishing-specific fields after creation</li>
  * </ul>
+ *
+ * <p>Coordinates are read from the location when it contains them, for example
+ * {@code Mjøsa 60.75, 10.68}, or set explicitly with {@link #setCoordinates}. They are not a
+ * template field, but are hashed, synced and exported along with the template fields.</p>
  */
 public class FishingEntry extends DiaryEntry {
 
-  private String weather;
-  private String fishCaught;
-  private String location;
-  private String baitUsed;
+  /**
+   * Template schema shared by all fishing entries. Weather and bait repeat across entries and
+   * are stored in the symbol table; the fish caught and the location are free text. Every field
+   * is indexed, the fish caught item by item.
+   */
+  public static final TemplateSchema SCHEMA = new TemplateSchema(
+      new String[] {"Weather", "Fish caught", "Location", "Bait used"},
+      new boolean[] {true, false, false, true},
+      new TemplateSchema.Indexing[] {TemplateSchema.Indexing.VALUE, TemplateSchema.Indexing.LIST,
+          TemplateSchema.Indexing.VALUE, TemplateSchema.Indexing.VALUE});
+
+  private static final int WEATHER = 0;
+  private static final int FISH_CAUGHT = 1;
+  private static final int LOCATION = 2;
+  private static final int BAIT_USED = 3;
+
+  private GeoPoint coordinates;
 
   /**
    * Constructs a new fishing diary entry.
@@ -43,32 +60,49 @@ public class FishingEntry extends DiaryEntry {
   public FishingEntry(int id, Author author, LocalDateTime timestamp,
       String title, String content, String category,
       String weather, String fishCaught, String location, String baitUsed) {
-    super(id, author, timestamp, title, content, category);
+    super(id, author, timestamp, title, content, category, SCHEMA);
 
-    this.weather = validateTemplateField(weather, "Weather");
-    this.fishCaught = validateTemplateField(fishCaught, "Fish caught");
-    this.location = validateTemplateField(location, "Location");
-    this.baitUsed = validateTemplateField(baitUsed, "Bait used");
+    setTemplateField(WEATHER, weather);
+    setTemplateField(FISH_CAUGHT, fishCaught);
+    coordinates = GeoPoint.find(location);
+    setTemplateField(LOCATION, location);
+    setTemplateField(BAIT_USED, baitUsed);
+  }
 
-    templateFields.put("Weather", this.weather);
-    templateFields.put("Fish caught", this.fishCaught);
-    templateFields.put("Location", this.location);
-    templateFields.put("Bait used", this.baitUsed);
+  /**
+   * Returns the weather of this fishing entry.
+   *
+   * @return The weather.
+   */
+  public String getWeather() {
+    return getTemplateFieldValue(WEATHER);
   }
 
   /**
-   * Validates a template field.
+   * Returns the fish caught on this fishing entry.
    *
-   * @param value     The value to validate.
-   * @param fieldName The name of the field.
-   * @return The trimmed value.
-   * @throws IllegalArgumentException If value is null or empty.
+   * @return The fish caught.
    */
-  private String validateTemplateField(String value, String fieldName) {
-    if (value == null || value.trim().isEmpty()) {
-      throw new IllegalArgumentException(fieldName + " cannot be null or empty");
-    }
-    return value.trim();
+  public String getFishCaught() {
+    return getTemplateFieldValue(FISH_CAUGHT);
+  }
+
+  /**
+   * Returns the location of this fishing entry.
+   *
+   * @return The location.
+   */
+  public String getLocation() {
+    return getTemplateFieldValue(LOCATION);
+  }
+
+  /**
+   * Returns the bait used on this fishing entry.
+   *
+   * @return The bait used.
+   */
+  public String getBaitUsed() {
+    return getTemplateFieldValue(BAIT_USED);
   }
 
   /**
@@ -77,8 +111,7 @@ public class FishingEntry extends DiaryEntry {
    * @param weather The weather to set.
    */
   public void setWeather(String weather) {
-    this.weather = validateTemplateField(weather, "Weather");
-    templateFields.put("Weather", this.weather);
+    setTemplateField(WEATHER, weather);
   }
 
   /**
@@ -87,18 +120,41 @@ public class FishingEntry extends DiaryEntry {
    * @param fishCaught The fish caught.
    */
   public void setFishCaught(String fishCaught) {
-    this.fishCaught = validateTemplateField(fishCaught, "Fish caught");
-    templateFields.put("Fish caught", this.fishCaught);
+    setTemplateField(FISH_CAUGHT, fishCaught);
+  }
+
+  /**
+   * Returns the coordinates of this fishing entry.
+   *
+   * @return The coordinates, or null if the entry has none.
+   */
+  public GeoPoint getCoordinates() {
+    return coordinates;
   }
 
   /**
-   * Updates the location for this fishing entry.
+   * Updates the location for this fishing entry. The coordinates are replaced by the ones in the
+   * new location, or removed if it has none.
    *
    * @param location The location to set.
    */
   public void setLocation(String location) {
-    this.location = validateTemplateField(location, "Location");
-    templateFields.put("Location", this.location);
+    checkChangeAllowed();
+    if (location != null && !location.trim().isEmpty()) {
+      coordinates = GeoPoint.find(location);
+    }
+    setTemplateField(LOCATION, location);
+  }
+
+  /**
+   * Updates the coordinates for this fishing entry, for a location without coordinates in it.
+   *
+   * @param coordinates The coordinates to set, or null to remove them.
+   */
+  public void setCoordinates(GeoPoint coordinates) {
+    checkChangeAllowed();
+    this.coordinates = coordinates;
+    notifyChanged();
   }
 
   /**
@@ -107,8 +163,23 @@ public class FishingEntry extends DiaryEntry {
    * @param baitUsed The bait used.
    */
   public void setBaitUsed(String baitUsed) {
-    this.baitUsed = validateTemplateField(baitUsed, "Bait used");
-    templateFields.put("Bait used", this.baitUsed);
+    setTemplateField(BAIT_USED, baitUsed);
+  }
+
+  /**
+   * Sets a template field through its setter, so the coordinates are read again from a new
+   * location.
+   *
+   * @param index The position of the field in the schema.
+   * @param value The value to set.
+   */
+  @Override
+  void applyTemplateField(int index, String value) {
+    if (index == LOCATION) {
+      setLocation(value);
+    } else {
+      super.applyTemplateField(index, value);
+    }
   }
 
   /**
@@ -120,4 +191,4 @@ public class FishingEntry extends DiaryEntry {
   public String getEntryType() {
     return "Fishing";
   }
-}
\ No newline at end of file
+}
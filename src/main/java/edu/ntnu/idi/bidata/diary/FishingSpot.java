@@ -0,0 +1,16 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.util.List;
+
+/**
+ * <h1>Fishing Spot.</h1>
+ *
+ * <p>The fishing entries at one pair of coordinates, as returned by the spatial queries of
+ * {@link DiaryRegistry}, such as {@link DiaryRegistry#findNearestSpots}.</p>
+ *
+ * @param coordinates The coordinates of the spot.
+ * @param location    The location of the latest trip to the spot, as written in the entry.
+ * @param trips       The catch history: the fishing entries at the spot, oldest first.
+ */
+public record FishingSpot(GeoPoint coordinates, String location, List<FishingEntry> trips) {
+}
@@ -0,0 +1,330 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>Fishing Spot Index.</h1>
+ *
+ * <p>Spatial index over the coordinates of the fishing entries in a {@link DiaryRegistry}. The
+ * earth is divided into a grid of cells of {@value #CELL_DEGREES} degrees, and every cell with
+ * spots keeps a list of them, so a query only visits the cells its area covers instead of every
+ * entry. Entries at the same coordinates are kept together as one spot with its catch
+ * history.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Add a fishing entry with coordinates to the spot and cell of its coordinates</li>
+ *   <li>Move an entry when its coordinates change, and take it out when it is removed</li>
+ *   <li>Find the spots in a bounding box or within a radius</li>
+ *   <li>Find the spots nearest to a point</li>
+ * </ul>
+ *
+ * <p>A query visits every occupied cell instead when its area covers more cells than are
+ * occupied. Bounding boxes and radii that cross the 180th meridian are split in two, and a
+ * radius that reaches a pole covers all longitudes. Nearest spots are found by searching rings
+ * of cells outwards until enough spots are found, and then searching the radius of the farthest
+ * of them, since a spot in a later ring may still be closer. That radius is widened a
+ * little so rounding cannot leave the farthest of them out.</p>
+ */
+final class FishingSpotIndex implements EntryIndex {
+
+  /**
+   * Size of a grid cell in degrees of latitude and longitude.
+   */
+  static final double CELL_DEGREES = 0.1;
+
+  private static final int ROWS = 1800;
+  private static final int COLUMNS = 3600;
+  private static final Comparator<FishingEntry> OLDEST_FIRST = Comparator
+      .comparingLong(FishingEntry::getEpochSecond)
+      .thenComparingInt(FishingEntry::getId);
+
+  private final IntObjectMap<GeoPoint> pointsById;
+  private final Map<GeoPoint, List<FishingEntry>> entriesByPoint;
+  private final Map<Long, List<GeoPoint>> cells;
+
+  /**
+   * Constructs an empty index.
+   */
+  FishingSpotIndex() {
+    this.pointsById = new IntObjectMap<>();
+    this.entriesByPoint = new HashMap<>();
+    this.cells = new HashMap<>();
+  }
+
+  @Override
+  public synchronized void put(DiaryEntry entry) {
+    remove(entry);
+    if (!(entry instanceof FishingEntry fishingEntry) || fishingEntry.getCoordinates() == null) {
+      return;
+    }
+
+    GeoPoint point = fishingEntry.getCoordinates();
+    pointsById.put(entry.getId(), point);
+    entriesByPoint.computeIfAbsent(point, unused -> {
+      cells.computeIfAbsent(cellKey(point), key -> new ArrayList<>()).add(point);
+      return new ArrayList<>();
+    }).add(fishingEntry);
+  }
+
+  @Override
+  public synchronized void remove(DiaryEntry entry) {
+    GeoPoint point = pointsById.remove(entry.getId());
+    if (point == null) {
+      return;
+    }
+    List<FishingEntry> entries = entriesByPoint.get(point);
+    entries.removeIf(other -> other.getId() == entry.getId());
+    if (entries.isEmpty()) {
+      entriesByPoint.remove(point);
+      long key = cellKey(point);
+      List<GeoPoint> cell = cells.get(key);
+      cell.remove(point);
+      if (cell.isEmpty()) {
+        cells.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Returns the spots in a bounding box, including its edges. If the west edge is east of the
+   * east edge, the box crosses the 180th meridian.
+   *
+   * @param southWest The south-west corner.
+   * @param northEast The north-east corner.
+   * @return The spots, ordered by latitude and then longitude.
+   */
+  synchronized List<FishingSpot> withinBox(GeoPoint southWest, GeoPoint northEast) {
+    List<GeoPoint> points = new ArrayList<>();
+    double south = southWest.latitude();
+    double north = northEast.latitude();
+    if (southWest.longitude() <= northEast.longitude()) {
+      collect(south, north, southWest.longitude(), northEast.longitude(), points);
+    } else {
+      collect(south, north, southWest.longitude(), 180, points);
+      collect(south, north, -180, northEast.longitude(), points);
+    }
+    points.sort(Comparator.comparingDouble(GeoPoint::latitude)
+        .thenComparingDouble(GeoPoint::longitude));
+    return spots(points);
+  }
+
+  /**
+   * Returns the spots within a distance of a point.
+   *
+   * @param center   The point.
+   * @param radiusKm The distance in kilometres.
+   * @return The spots, nearest first.
+   */
+  synchronized List<FishingSpot> withinRadius(GeoPoint center, double radiusKm) {
+    List<GeoPoint> points = new ArrayList<>();
+    collectWithinRadius(center, radiusKm, points);
+    points.sort(Comparator.comparingDouble(center::distanceKm));
+    return spots(points);
+  }
+
+  /**
+   * Returns the spots nearest to a point.
+   *
+   * @param center The point.
+   * @param count  The maximum number of spots.
+   * @return The spots, nearest first.
+   */
+  synchronized List<FishingSpot> nearest(GeoPoint center, int count) {
+    List<GeoPoint> points = new ArrayList<>();
+    if (entriesByPoint.size() <= count) {
+      points.addAll(entriesByPoint.keySet());
+    } else {
+      int row = row(center.latitude());
+      int column = column(center.longitude());
+      for (int ring = 0; points.size() < count; ring++) {
+        if (8L * ring > cells.size() || ring >= COLUMNS / 2) {
+          points.clear();
+          points.addAll(entriesByPoint.keySet());
+          break;
+        }
+        collectRing(row, column, ring, points);
+      }
+      if (points.size() < entriesByPoint.size()) {
+        points.sort(Comparator.comparingDouble(center::distanceKm));
+        double bound = center.distanceKm(points.get(count - 1)) * (1 + 1e-9) + 1e-9;
+        points.clear();
+        collectWithinRadius(center, bound, points);
+      }
+    }
+    points.sort(Comparator.comparingDouble(center::distanceKm));
+    return spots(points.subList(0, Math.min(count, points.size())));
+  }
+
+  /**
+   * Adds the points within a distance of a point. The cells of a bounding box around the circle
+   * are searched, and the points outside the circle are left out.
+   *
+   * @param center   The point.
+   * @param radiusKm The distance in kilometres.
+   * @param out      The list to add the points to.
+   */
+  private void collectWithinRadius(GeoPoint center, double radiusKm, List<GeoPoint> out) {
+    int start = out.size();
+    double angle = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+    double south = center.latitude() - Math.toDegrees(angle);
+    double north = center.latitude() + Math.toDegrees(angle);
+    double ratio = Math.sin(angle) / Math.cos(Math.toRadians(center.latitude()));
+    if (south <= -90 || north >= 90 || ratio >= 1) {
+      collect(Math.max(-90, south), Math.min(90, north), -180, 180, out);
+    } else {
+      double delta = Math.toDegrees(Math.asin(ratio));
+      double west = center.longitude() - delta;
+      double east = center.longitude() + delta;
+      if (west < -180) {
+        collect(south, north, west + 360, 180, out);
+        collect(south, north, -180, east, out);
+      } else if (east > 180) {
+        collect(south, north, west, 180, out);
+        collect(south, north, -180, east - 360, out);
+      } else {
+        collect(south, north, west, east, out);
+      }
+    }
+    out.subList(start, out.size()).removeIf(point -> center.distanceKm(point) > radiusKm);
+  }
+
+  /**
+   * Adds the points in a bounding box that does not cross the 180th meridian.
+   *
+   * @param south The southern latitude.
+   * @param north The northern latitude.
+   * @param west  The western longitude.
+   * @param east  The eastern longitude.
+   * @param out   The list to add the points to.
+   */
+  private void collect(double south, double north, double west, double east,
+      List<GeoPoint> out) {
+    int firstRow = row(south);
+    int lastRow = row(north);
+    int firstColumn = column(west);
+    int lastColumn = column(east);
+    long cellCount = (long) (lastRow - firstRow + 1) * (lastColumn - firstColumn + 1);
+    if (cellCount > cells.size()) {
+      for (List<GeoPoint> cell : cells.values()) {
+        addInside(cell, south, north, west, east, out);
+      }
+      return;
+    }
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        List<GeoPoint> cell = cells.get(cellKey(row, column));
+        if (cell != null) {
+          addInside(cell, south, north, west, east, out);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the points of the cells on a square ring around a cell. Ring 0 is the cell itself.
+   *
+   * @param centerRow    The row of the cell.
+   * @param centerColumn The column of the cell.
+   * @param ring         The distance of the ring in cells.
+   * @param out          The list to add the points to.
+   */
+  private void collectRing(int centerRow, int centerColumn, int ring, List<GeoPoint> out) {
+    for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+      if (row < 0 || row >= ROWS) {
+        continue;
+      }
+      boolean edge = row == centerRow - ring || row == centerRow + ring;
+      int step = edge ? 1 : Math.max(1, 2 * ring);
+      for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+        List<GeoPoint> cell = cells.get(cellKey(row, Math.floorMod(column, COLUMNS)));
+        if (cell != null) {
+          out.addAll(cell);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the points of a cell that are in a bounding box.
+   *
+   * @param cell  The points of the cell.
+   * @param south The southern latitude.
+   * @param north The northern latitude.
+   * @param west  The western longitude.
+   * @param east  The eastern longitude.
+   * @param out   The list to add the points to.
+   */
+  private static void addInside(List<GeoPoint> cell, double south, double north, double west,
+      double east, List<GeoPoint> out) {
+    for (GeoPoint point : cell) {
+      if (point.latitude() >= south && point.latitude() <= north
+          && point.longitude() >= west && point.longitude() <= east) {
+        out.add(point);
+      }
+    }
+  }
+
+  /**
+   * Converts points to spots with their catch history.
+   *
+   * @param points The points.
+   * @return The spots, in the order of the points.
+   */
+  private List<FishingSpot> spots(List<GeoPoint> points) {
+    List<FishingSpot> spots = new ArrayList<>(points.size());
+    for (GeoPoint point : points) {
+      List<FishingEntry> trips = new ArrayList<>(entriesByPoint.get(point));
+      trips.sort(OLDEST_FIRST);
+      spots.add(new FishingSpot(point, trips.get(trips.size() - 1).getLocation(),
+          List.copyOf(trips)));
+    }
+    return spots;
+  }
+
+  /**
+   * Returns the key of the cell of a point.
+   *
+   * @param point The point.
+   * @return The cell key.
+   */
+  private static long cellKey(GeoPoint point) {
+    return cellKey(row(point.latitude()), column(point.longitude()));
+  }
+
+  /**
+   * Returns the key of a cell.
+   *
+   * @param row    The row of the cell.
+   * @param column The column of the cell.
+   * @return The cell key.
+   */
+  private static long cellKey(int row, int column) {
+    return (long) row * COLUMNS + column;
+  }
+
+  /**
+   * Returns the grid row of a latitude.
+   *
+   * @param latitude The latitude.
+   * @return The row, from 0 at the south pole.
+   */
+  private static int row(double latitude) {
+    return Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+  }
+
+  /**
+   * Returns the grid column of a longitude.
+   *
+   * @param longitude The longitude.
+   * @return The column, from 0 at the 180th meridian.
+   */
+  private static int column(double longitude) {
+    return Math.min(COLUMNS - 1, (int) Math.floor((longitude + 180) / CELL_DEGREES));
+  }
+}
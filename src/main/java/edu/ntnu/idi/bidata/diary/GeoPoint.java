@@ -0,0 +1,96 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>Geo Point.</h1>
+ *
+ * <p>A position on the earth in decimal degrees, such as the coordinates of a fishing spot.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Validate latitude and longitude</li>
+ *   <li>Find coordinates written in a free text location</li>
+ *   <li>Compute the great-circle distance to another point</li>
+ * </ul>
+ *
+ * @param latitude  The latitude, from -90 (south) to 90 (north).
+ * @param longitude The longitude, from -180 (west) to 180 (east).
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+  /**
+   * Mean radius of the earth in kilometres.
+   */
+  public static final double EARTH_RADIUS_KM = 6371.0088;
+
+  private static final Pattern COORDINATES = Pattern.compile(
+      "(?<![\\w.])([-+]?\\d{1,2}\\.\\d+)°?\\s*([NnSs])?\\s*[,;]?\\s*"
+          + "([-+]?\\d{1,3}\\.\\d+)°?\\s*([EeWw])?(?![\\w.])");
+
+  /**
+   * Constructs a new point.
+   *
+   * @param latitude  The latitude.
+   * @param longitude The longitude.
+   * @throws IllegalArgumentException If latitude is not between -90 and 90, or if longitude is
+   *                                  not between -180 and 180.
+   */
+  public GeoPoint {
+    if (!(latitude >= -90 && latitude <= 90)) {
+      throw new IllegalArgumentException("Latitude must be between -90 and 90");
+    }
+    if (!(longitude >= -180 && longitude <= 180)) {
+      throw new IllegalArgumentException("Longitude must be between -180 and 180");
+    }
+    latitude += 0.0;
+    longitude += 0.0;
+  }
+
+  /**
+   * Finds coordinates in a text, such as {@code Mjøsa 60.75, 10.68} or
+   * {@code Hook Bay (41.36 N, 70.05 W)}. The latitude comes first, and both numbers need
+   * decimals so counts and years are not mistaken for coordinates. A letter after a number
+   * gives its hemisphere.
+   *
+   * @param text The text.
+   * @return The first valid coordinates in the text, or null if there are none.
+   */
+  public static GeoPoint find(String text) {
+    if (text == null) {
+      return null;
+    }
+    Matcher matcher = COORDINATES.matcher(text);
+    while (matcher.find()) {
+      double latitude = Double.parseDouble(matcher.group(1));
+      double longitude = Double.parseDouble(matcher.group(3));
+      if (matcher.group(2) != null && Character.toUpperCase(matcher.group(2).charAt(0)) == 'S') {
+        latitude = -latitude;
+      }
+      if (matcher.group(4) != null && Character.toUpperCase(matcher.group(4).charAt(0)) == 'W') {
+        longitude = -longitude;
+      }
+      if (Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180) {
+        return new GeoPoint(latitude, longitude);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the great-circle distance to another point, by the haversine formula.
+   *
+   * @param other The other point.
+   * @return The distance in kilometres.
+   */
+  public double distanceKm(GeoPoint other) {
+    double latitude1 = Math.toRadians(latitude);
+    double latitude2 = Math.toRadians(other.latitude);
+    double sinLatitude = Math.sin((latitude2 - latitude1) / 2);
+    double sinLongitude = Math.sin(Math.toRadians(other.longitude - longitude) / 2);
+    double a = sinLatitude * sinLatitude
+        + Math.cos(latitude1) * Math.cos(latitude2) * sinLongitude * sinLongitude;
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+}
@@ -17,12 +17,28 @@ import java.time.LocalDateTime;
  *   <li>Document repetitions and weight for each set</li>
  *   <li>Structures workout data for progress tracking</li>
  * </ul>
+ *
+ * <p>The exercises, sets and repetitions are parsed into a {@link Workout} when they are set,
+ * and text that cannot be parsed is rejected then, see {@link Workout} for the format.</p>
  */
 public class GymEntry extends DiaryEntry {
 
-  private String exercises;
-  private String sets;
-  private String reps;
+  /**
+   * Template schema shared by all gym entries. The fields are combinations of exercises and
+   * numbers that rarely repeat, so none is stored in the symbol table; the parsed exercise names
+   * are. The exercises are indexed one by one.
+   */
+  public static final TemplateSchema SCHEMA = new TemplateSchema(
+      new String[] {"Exercises", "Sets", "Reps"},
+      new boolean[] {false, false, false},
+      new TemplateSchema.Indexing[] {TemplateSchema.Indexing.LIST, TemplateSchema.Indexing.NONE,
+          TemplateSchema.Indexing.NONE});
+
+  private static final int EXERCISES = 0;
+  private static final int SETS = 1;
+  private static final int REPS = 2;
+
+  private Workout workout;
 
   /**
    * Constructs a new gym diary entry.
@@ -36,34 +52,18 @@ public class GymEntry extends DiaryEntry {
    * @param exercises The exercises performed (e.g., "Bench press, Squats").
    * @param sets      Number of sets performed.
    * @param reps      Number of repetitions per set.
+   * @throws IllegalArgumentException If exercises, sets or reps is null or empty, or cannot be
+   *                                  parsed.
    */
   public GymEntry(int id, Author author, LocalDateTime timestamp,
       String title, String content, String category,
       String exercises, String sets, String reps) {
-    super(id, author, timestamp, title, content, category);
-
-    this.exercises = validateTemplateField(exercises, "Exercises");
-    this.sets = validateTemplateField(sets, "Sets");
-    this.reps = validateTemplateField(reps, "Reps");
+    super(id, author, timestamp, title, content, category, SCHEMA);
 
-    templateFields.put("Exercises", this.exercises);
-    templateFields.put("Sets", this.sets);
-    templateFields.put("Reps", this.reps);
-  }
-
-  /**
-   * Validates a template field.
-   *
-   * @param value     The value to validate.
-   * @param fieldName The name of the field (for error messages).
-   * @return The trimmed value.
-   * @throws IllegalArgumentException If value is null or empty.
-   */
-  private String validateTemplateField(String value, String fieldName) {
-    if (value == null || value.trim().isEmpty()) {
-      throw new IllegalArgumentException(fieldName + " cannot be null or empty");
-    }
-    return value.trim();
+    workout = Workout.parse(exercises, sets, reps);
+    setTemplateField(EXERCISES, exercises);
+    setTemplateField(SETS, sets);
+    setTemplateField(REPS, reps);
   }
 
   /**
@@ -72,27 +72,41 @@ public class GymEntry extends DiaryEntry {
    * @return The exercise to get.
    */
   public String getExercises() {
-    return exercises;
+    return getTemplateFieldValue(EXERCISES);
   }
 
   /**
    * Updates the exercises for this gym entry.
    *
    * @param exercises The exercise to set.
+   * @throws IllegalArgumentException If exercises is null or empty, or contains an empty name.
    */
   public void setExercises(String exercises) {
-    this.exercises = validateTemplateField(exercises, "Exercises");
-    templateFields.put("Exercises", this.exercises);
+    checkChangeAllowed();
+    workout = Workout.parse(exercises, getSets(), getReps());
+    setTemplateField(EXERCISES, exercises);
+  }
+
+  /**
+   * Returns the planned sets for this gym entry.
+   *
+   * @return The sets.
+   */
+  public String getSets() {
+    return getTemplateFieldValue(SETS);
   }
 
   /**
    * Updates the sets for this gym entry.
    *
    * @param sets The sets to set.
+   * @throws IllegalArgumentException If sets is null or empty, or is not a list of positive
+   *                                  whole numbers.
    */
   public void setSets(String sets) {
-    this.sets = validateTemplateField(sets, "Sets");
-    templateFields.put("Sets", this.sets);
+    checkChangeAllowed();
+    workout = Workout.parse(getExercises(), sets, getReps());
+    setTemplateField(SETS, sets);
   }
 
   /**
@@ -101,17 +115,44 @@ public class GymEntry extends DiaryEntry {
    * @return The repetitions to get.
    */
   public String getReps() {
-    return reps;
+    return getTemplateFieldValue(REPS);
   }
 
   /**
    * Updates the repetitions for this gym entry.
    *
    * @param reps The repetitions to set.
+   * @throws IllegalArgumentException If reps is null or empty, or contains a set that cannot be
+   *                                  parsed.
    */
   public void setReps(String reps) {
-    this.reps = validateTemplateField(reps, "Reps");
-    templateFields.put("Reps", this.reps);
+    checkChangeAllowed();
+    workout = Workout.parse(getExercises(), getSets(), reps);
+    setTemplateField(REPS, reps);
+  }
+
+  /**
+   * Returns the parsed exercises, sets and repetitions of this gym entry.
+   *
+   * @return The workout.
+   */
+  public Workout getWorkout() {
+    return workout;
+  }
+
+  /**
+   * Sets a template field through its setter, so the parsed workout is updated as well.
+   *
+   * @param index The position of the field in the schema.
+   * @param value The value to set.
+   */
+  @Override
+  void applyTemplateField(int index, String value) {
+    switch (index) {
+      case EXERCISES -> setExercises(value);
+      case SETS -> setSets(value);
+      default -> setReps(value);
+    }
   }
 
   /**
@@ -123,4 +164,4 @@ public class GymEntry extends DiaryEntry {
   public String getEntryType() {
     return "Gym";
   }
-}
\ No newline at end of file
+}
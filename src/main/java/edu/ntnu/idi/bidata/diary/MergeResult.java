@@ -0,0 +1,16 @@
+package edu.ntnu.idi.bidata.diary;
+
+/**
+ * <h1>Merge Result.</h1>
+ *
+ * <p>Outcome of merging the entries and tombstones of another replica into a registry with
+ * {@link DiaryRegistry#mergeReplica}.</p>
+ *
+ * @param entriesAdded    The number of entries that were missing locally and were added.
+ * @param entriesUpdated  The number of local entries replaced by a newer revision.
+ * @param entriesDeleted  The number of local entries deleted by a newer tombstone.
+ * @param entriesRejected The number of received entries that were invalid.
+ */
+public record MergeResult(int entriesAdded, int entriesUpdated, int entriesDeleted,
+    int entriesRejected) {
+}
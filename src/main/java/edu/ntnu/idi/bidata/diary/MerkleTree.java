@@ -0,0 +1,115 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntLongMap;
+
+/**
+ * <h1>Merkle Tree.</h1>
+ *
+ * <p>Hash tree over the entries of a {@link DiaryRegistry}, used to find where two replicas of
+ * a diary differ. Entries are placed in a fixed number of time buckets by the day of their
+ * timestamp. The hash of a bucket is the sum of the content hashes of its entries (see
+ * {@link EntryHashes}), and each inner node hashes its two children, up to a single root.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Map timestamps to buckets</li>
+ *   <li>Update the bucket and the path to the root when an entry is added, changed or removed,
+ *   in time logarithmic in the number of buckets</li>
+ *   <li>Return node hashes for comparing with another tree</li>
+ * </ul>
+ *
+ * <p>The nodes are stored in a heap-ordered array: node 1 is the root, the children of node n
+ * are 2n and 2n + 1, and the buckets are the nodes from {@link #BUCKET_COUNT} to twice that.
+ * Summing the entry hashes, rather than combining them in order, makes the bucket hash
+ * independent of insertion order and lets a single entry be added or removed without visiting
+ * the others. The tree is an {@link EntryIndex}, so it has its own lock.</p>
+ */
+final class MerkleTree implements EntryIndex {
+
+  /**
+   * Number of time buckets. Days are spread over the buckets modulo this count.
+   */
+  static final int BUCKET_COUNT = 1024;
+
+  private final long[] nodes;
+  private final IntLongMap entryHashes;
+
+  /**
+   * Constructs an empty tree.
+   */
+  MerkleTree() {
+    this.nodes = new long[BUCKET_COUNT * 2];
+    this.entryHashes = new IntLongMap();
+    for (int node = BUCKET_COUNT - 1; node >= 1; node--) {
+      nodes[node] = EntryHashes.combine(nodes[2 * node], nodes[2 * node + 1]);
+    }
+  }
+
+  /**
+   * Returns the bucket of a timestamp.
+   *
+   * @param epochSecond The timestamp in epoch seconds.
+   * @return The bucket, from 0 to {@link #BUCKET_COUNT} - 1.
+   */
+  static int bucketOf(long epochSecond) {
+    long day = Math.floorDiv(epochSecond, Timestamps.SECONDS_PER_DAY);
+    return (int) Math.floorMod(day, (long) BUCKET_COUNT);
+  }
+
+  /**
+   * Adds an entry, or updates it if it is in the tree already.
+   *
+   * @param entry The entry.
+   */
+  @Override
+  public synchronized void put(DiaryEntry entry) {
+    long hash = EntryHashes.hash(entry);
+    long previous = entryHashes.get(entry.getId(), 0L);
+    entryHashes.put(entry.getId(), hash);
+    addToBucket(bucketOf(entry.getEpochSecond()), hash - previous);
+  }
+
+  /**
+   * Removes an entry.
+   *
+   * @param entry The entry.
+   */
+  @Override
+  public synchronized void remove(DiaryEntry entry) {
+    long previous = entryHashes.get(entry.getId(), 0L);
+    if (entryHashes.remove(entry.getId())) {
+      addToBucket(bucketOf(entry.getEpochSecond()), -previous);
+    }
+  }
+
+  /**
+   * Returns the hash of a node.
+   *
+   * @param node The node, from 1 (the root) to 2 * {@link #BUCKET_COUNT} - 1.
+   * @return The hash.
+   * @throws IllegalArgumentException If the node does not exist.
+   */
+  synchronized long nodeHash(int node) {
+    if (node < 1 || node >= nodes.length) {
+      throw new IllegalArgumentException("Node " + node + " does not exist");
+    }
+    return nodes[node];
+  }
+
+  /**
+   * Adds a difference to the hash of a bucket and recomputes the path to the root.
+   *
+   * @param bucket The bucket.
+   * @param delta  The difference to add.
+   */
+  private void addToBucket(int bucket, long delta) {
+    if (delta == 0) {
+      return;
+    }
+    int node = BUCKET_COUNT + bucket;
+    nodes[node] += delta;
+    for (node >>>= 1; node >= 1; node >>>= 1) {
+      nodes[node] = EntryHashes.combine(nodes[2 * node], nodes[2 * node + 1]);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.time.LocalDateTime;
+
+/**
+ * <h1>Personal Record.</h1>
+ *
+ * <p>The best set of an exercise by an author, as returned by
+ * {@link DiaryRegistry#getPersonalRecord}. The best set is the one with the highest estimated
+ * one-rep max by the Epley formula; the Brzycki estimate of the same set is given as well.</p>
+ *
+ * @param exercise         The exercise name, as written in the entry with the set.
+ * @param weight           The weight of the set in kilograms.
+ * @param reps             The repetitions of the set.
+ * @param epleyOneRepMax   The one-rep max estimated with the Epley formula.
+ * @param brzyckiOneRepMax The one-rep max estimated with the Brzycki formula, or NaN if the
+ *                         set has too many repetitions for it.
+ * @param timestamp        The timestamp of the entry with the set.
+ * @param entryId          The ID of the entry with the set.
+ */
+public record PersonalRecord(String exercise, double weight, int reps, double epleyOneRepMax,
+    double brzyckiOneRepMax, LocalDateTime timestamp, int entryId) {
+
+  /**
+   * Estimates the one-rep max of a set with the Epley formula, weight × (1 + reps / 30). A
+   * single repetition is its own one-rep max.
+   *
+   * @param weight The weight.
+   * @param reps   The repetitions.
+   * @return The estimated one-rep max, or 0 for a set without repetitions.
+   */
+  public static double epley(double weight, int reps) {
+    if (reps <= 1) {
+      return reps == 1 ? weight : 0;
+    }
+    return weight * (1 + reps / 30.0);
+  }
+
+  /**
+   * Estimates the one-rep max of a set with the Brzycki formula, weight × 36 / (37 − reps). A
+   * single repetition is its own one-rep max.
+   *
+   * @param weight The weight.
+   * @param reps   The repetitions.
+   * @return The estimated one-rep max, 0 for a set without repetitions, or NaN for 37 or more
+   *         repetitions, where the formula does not apply.
+   */
+  public static double brzycki(double weight, int reps) {
+    if (reps <= 1) {
+      return reps == 1 ? weight : 0;
+    }
+    if (reps >= 37) {
+      return Double.NaN;
+    }
+    return weight * 36 / (37 - reps);
+  }
+}
@@ -0,0 +1,187 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <h1>Personal Record Index.</h1>
+ *
+ * <p>The weighted sets of every author and exercise, ordered from best to worst, kept up to date
+ * from the parsed {@link Workout} of every gym entry in a {@link DiaryRegistry}. The best set of
+ * an (author, exercise) pair is the first element of its ordered multiset, so a record is read
+ * without visiting any entry, and an edited or deleted entry only takes its own sets out.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Add the weighted sets of a gym entry to the multisets of its author and exercises</li>
+ *   <li>Replace the sets of an entry when it is changed or moved to another author, and take
+ *   them out when it is removed</li>
+ *   <li>Return the personal record of an author and exercise, or of all exercises of an
+ *   author</li>
+ * </ul>
+ *
+ * <p>Sets are ranked by their Epley one-rep max estimate, then by weight, and then the earlier
+ * set first, so when an author reaches the same level again, their earliest set at that level
+ * stays the record. Records are kept per author, so authors never compete. Body weight sets and
+ * sets without weight have no one-rep max and are not indexed. Exercises are matched ignoring case
+ * and surrounding whitespace.</p>
+ */
+final class PersonalRecordIndex implements EntryIndex {
+
+  private static final Comparator<Lift> BEST_FIRST = Comparator
+      .comparingDouble(Lift::oneRepMax).reversed()
+      .thenComparing(Comparator.comparingDouble(Lift::weight).reversed())
+      .thenComparingLong(Lift::epochSecond)
+      .thenComparingInt(Lift::entryId)
+      .thenComparingInt(Lift::reps)
+      .thenComparing(Lift::exercise);
+
+  private final IntObjectMap<Contribution> contributions;
+  private final IntObjectMap<Map<String, TreeMap<Lift, Integer>>> liftsByAuthor;
+
+  /**
+   * Constructs an empty index.
+   */
+  PersonalRecordIndex() {
+    this.contributions = new IntObjectMap<>();
+    this.liftsByAuthor = new IntObjectMap<>();
+  }
+
+  @Override
+  public synchronized void put(DiaryEntry entry) {
+    remove(entry);
+    if (!(entry instanceof GymEntry gymEntry)) {
+      return;
+    }
+
+    Workout workout = gymEntry.getWorkout();
+    List<String> exercises = new ArrayList<>();
+    List<Lift> lifts = new ArrayList<>();
+    for (int i = 0; i < workout.getExerciseCount(); i++) {
+      String exercise = workout.getExerciseName(i);
+      String exerciseKey = TrainingVolumeIndex.exerciseKey(exercise);
+      for (int set = 0; set < workout.getSetCount(i); set++) {
+        double weight = workout.getWeight(i, set);
+        int reps = workout.getReps(i, set);
+        if (weight > 0 && reps > 0) {
+          exercises.add(exerciseKey);
+          lifts.add(new Lift(PersonalRecord.epley(weight, reps), weight, reps,
+              entry.getEpochSecond(), entry.getId(), exercise));
+        }
+      }
+    }
+    if (lifts.isEmpty()) {
+      return;
+    }
+
+    Contribution contribution = new Contribution(entry.getAuthor().id(),
+        exercises.toArray(new String[0]), lifts.toArray(new Lift[0]));
+    contributions.put(entry.getId(), contribution);
+    Map<String, TreeMap<Lift, Integer>> byExercise = liftsByAuthor.get(contribution.authorId());
+    if (byExercise == null) {
+      byExercise = new HashMap<>();
+      liftsByAuthor.put(contribution.authorId(), byExercise);
+    }
+    for (int i = 0; i < contribution.lifts().length; i++) {
+      byExercise.computeIfAbsent(contribution.exercises()[i], unused -> new TreeMap<>(BEST_FIRST))
+          .merge(contribution.lifts()[i], 1, Integer::sum);
+    }
+  }
+
+  @Override
+  public synchronized void remove(DiaryEntry entry) {
+    Contribution contribution = contributions.remove(entry.getId());
+    if (contribution == null) {
+      return;
+    }
+    Map<String, TreeMap<Lift, Integer>> byExercise = liftsByAuthor.get(contribution.authorId());
+    for (int i = 0; i < contribution.lifts().length; i++) {
+      String exerciseKey = contribution.exercises()[i];
+      TreeMap<Lift, Integer> lifts = byExercise.get(exerciseKey);
+      lifts.computeIfPresent(contribution.lifts()[i],
+          (lift, count) -> count == 1 ? null : count - 1);
+      if (lifts.isEmpty()) {
+        byExercise.remove(exerciseKey);
+      }
+    }
+    if (byExercise.isEmpty()) {
+      liftsByAuthor.remove(contribution.authorId());
+    }
+  }
+
+  /**
+   * Returns the personal record of an author in an exercise.
+   *
+   * @param authorId The ID of the author.
+   * @param exercise The exercise name.
+   * @return The record, or null if the author has no weighted sets of the exercise.
+   */
+  synchronized PersonalRecord record(int authorId, String exercise) {
+    Map<String, TreeMap<Lift, Integer>> byExercise = liftsByAuthor.get(authorId);
+    if (byExercise == null) {
+      return null;
+    }
+    TreeMap<Lift, Integer> lifts = byExercise.get(TrainingVolumeIndex.exerciseKey(exercise));
+    return lifts == null ? null : toRecord(lifts.firstKey());
+  }
+
+  /**
+   * Returns the personal records of an author in every exercise.
+   *
+   * @param authorId The ID of the author.
+   * @return The records, ordered by exercise name ignoring case.
+   */
+  synchronized List<PersonalRecord> records(int authorId) {
+    Map<String, TreeMap<Lift, Integer>> byExercise = liftsByAuthor.get(authorId);
+    if (byExercise == null) {
+      return List.of();
+    }
+    List<PersonalRecord> records = new ArrayList<>(byExercise.size());
+    for (TreeMap<Lift, Integer> lifts : byExercise.values()) {
+      records.add(toRecord(lifts.firstKey()));
+    }
+    records.sort(Comparator.comparing(PersonalRecord::exercise, String.CASE_INSENSITIVE_ORDER));
+    return records;
+  }
+
+  /**
+   * Converts a lift to a personal record.
+   *
+   * @param lift The lift.
+   * @return The record.
+   */
+  private static PersonalRecord toRecord(Lift lift) {
+    return new PersonalRecord(lift.exercise(), lift.weight(), lift.reps(), lift.oneRepMax(),
+        PersonalRecord.brzycki(lift.weight(), lift.reps()),
+        Timestamps.toLocalDateTime(lift.epochSecond()), lift.entryId());
+  }
+
+  /**
+   * One weighted set.
+   *
+   * @param oneRepMax   The Epley one-rep max estimate.
+   * @param weight      The weight in kilograms.
+   * @param reps        The repetitions.
+   * @param epochSecond The timestamp of the entry.
+   * @param entryId     The ID of the entry.
+   * @param exercise    The exercise name as written in the entry.
+   */
+  private record Lift(double oneRepMax, double weight, int reps, long epochSecond, int entryId,
+      String exercise) {
+  }
+
+  /**
+   * The sets a gym entry added to the index, kept for taking them back out.
+   *
+   * @param authorId  The ID of the author.
+   * @param exercises The exercise key of each set.
+   * @param lifts     The sets.
+   */
+  private record Contribution(int authorId, String[] exercises, Lift[] lifts) {
+  }
+}
@@ -0,0 +1,178 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>Template Field Index.</h1>
+ *
+ * <p>Secondary indexes on the template fields that the schemas declare as indexed, kept up to
+ * date from every entry in a {@link DiaryRegistry}. Each indexed field has a sorted map from
+ * normalised value to the IDs of the entries with it, so an equality lookup is one map lookup and
+ * a prefix lookup walks only the values with the prefix, without reading the fields of any
+ * entry.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Normalise field values into the terms they are indexed under</li>
+ *   <li>Add the terms of an entry to the indexes of its fields</li>
+ *   <li>Replace the terms of an entry when it is changed, and take them out when it is
+ *   removed</li>
+ *   <li>Return the IDs of the entries with a term, or with a term that starts with a
+ *   prefix</li>
+ * </ul>
+ *
+ * <p>A value is normalised by trimming it, converting it to lower case and replacing every run
+ * of whitespace with a single space. A field indexed by value has its whole value as its term,
+ * and a list field has one term per item. Fields with the same name in different schemas share
+ * an index.</p>
+ */
+final class TemplateFieldIndex implements EntryIndex {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final Map<String, TreeMap<String, Set<Integer>>> idsByField;
+  private final IntObjectMap<Posting[]> contributions;
+
+  /**
+   * Constructs an empty index of the indexed fields of the given schemas.
+   *
+   * @param schemas The schemas of the entry types.
+   */
+  TemplateFieldIndex(List<TemplateSchema> schemas) {
+    this.idsByField = new HashMap<>();
+    this.contributions = new IntObjectMap<>();
+    for (TemplateSchema schema : schemas) {
+      for (int i = 0; i < schema.size(); i++) {
+        if (schema.getIndexing(i) != TemplateSchema.Indexing.NONE) {
+          idsByField.putIfAbsent(schema.getFieldName(i), new TreeMap<>());
+        }
+      }
+    }
+  }
+
+  @Override
+  public synchronized void put(DiaryEntry entry) {
+    remove(entry);
+    TemplateSchema schema = entry.getTemplateSchema();
+    List<Posting> postings = new ArrayList<>();
+    for (int i = 0; i < schema.size(); i++) {
+      TreeMap<String, Set<Integer>> ids = idsByField.get(schema.getFieldName(i));
+      if (ids == null || schema.getIndexing(i) == TemplateSchema.Indexing.NONE) {
+        continue;
+      }
+      for (String term : terms(schema.getIndexing(i), entry.getTemplateFieldValue(i))) {
+        ids.computeIfAbsent(term, unused -> new HashSet<>()).add(entry.getId());
+        postings.add(new Posting(schema.getFieldName(i), term));
+      }
+    }
+    if (!postings.isEmpty()) {
+      contributions.put(entry.getId(), postings.toArray(new Posting[0]));
+    }
+  }
+
+  @Override
+  public synchronized void remove(DiaryEntry entry) {
+    Posting[] postings = contributions.remove(entry.getId());
+    if (postings == null) {
+      return;
+    }
+    for (Posting posting : postings) {
+      TreeMap<String, Set<Integer>> ids = idsByField.get(posting.field());
+      Set<Integer> entryIds = ids.get(posting.term());
+      entryIds.remove(entry.getId());
+      if (entryIds.isEmpty()) {
+        ids.remove(posting.term());
+      }
+    }
+  }
+
+  /**
+   * Checks whether a field is indexed in any schema.
+   *
+   * @param fieldName The name of the field.
+   * @return True if the field is indexed, false otherwise.
+   */
+  boolean isIndexed(String fieldName) {
+    return idsByField.containsKey(fieldName);
+  }
+
+  /**
+   * Returns the IDs of the entries with a term in a field.
+   *
+   * @param fieldName The name of an indexed field.
+   * @param term      The normalised term.
+   * @return The entry IDs, in no particular order.
+   */
+  synchronized int[] withTerm(String fieldName, String term) {
+    Set<Integer> ids = idsByField.get(fieldName).get(term);
+    return ids == null ? new int[0] : ids.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Returns the IDs of the entries with a term that starts with a prefix in a field.
+   *
+   * @param fieldName The name of an indexed field.
+   * @param prefix    The normalised prefix.
+   * @return The entry IDs, in no particular order and without duplicates.
+   */
+  synchronized int[] withPrefix(String fieldName, String prefix) {
+    Set<Integer> ids = new HashSet<>();
+    for (Map.Entry<String, Set<Integer>> term
+        : idsByField.get(fieldName).tailMap(prefix, true).entrySet()) {
+      if (!term.getKey().startsWith(prefix)) {
+        break;
+      }
+      ids.addAll(term.getValue());
+    }
+    return ids.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Returns the terms a field value is indexed under.
+   *
+   * @param indexing The indexing of the field.
+   * @param value    The field value.
+   * @return The distinct non-empty terms, in the order they appear in the value.
+   */
+  static Set<String> terms(TemplateSchema.Indexing indexing, String value) {
+    Set<String> terms = new LinkedHashSet<>();
+    if (indexing == TemplateSchema.Indexing.VALUE) {
+      terms.add(normalize(value));
+    } else if (indexing == TemplateSchema.Indexing.LIST) {
+      for (String item : value.split(",")) {
+        terms.add(normalize(item));
+      }
+    }
+    terms.remove("");
+    return terms;
+  }
+
+  /**
+   * Normalises a value for indexing and lookups.
+   *
+   * @param value The value.
+   * @return The trimmed, lower-case value with single spaces.
+   */
+  static String normalize(String value) {
+    return WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * One term of one field of an entry, kept for taking the entry back out.
+   *
+   * @param field The name of the field.
+   * @param term  The term.
+   */
+  private record Posting(String field, String term) {
+  }
+}
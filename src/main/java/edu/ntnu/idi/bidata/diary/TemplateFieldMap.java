@@ -0,0 +1,84 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <h1>Template Field Map.</h1>
+ *
+ * <p>Read-only map view of the template fields of one entry. Reads straight from the schema and
+ * the value array of the entry, so creating the view does not copy any values. Iterates in
+ * schema order.</p>
+ */
+final class TemplateFieldMap extends AbstractMap<String, String> {
+
+  private final TemplateSchema schema;
+  private final String[] values;
+
+  /**
+   * Constructs a view over the given schema and values.
+   *
+   * @param schema The schema of the entry.
+   * @param values The field values of the entry, in schema order.
+   */
+  TemplateFieldMap(TemplateSchema schema, String[] values) {
+    this.schema = schema;
+    this.values = values;
+  }
+
+  @Override
+  public int size() {
+    return schema.size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String name && schema.indexOf(name) >= 0;
+  }
+
+  @Override
+  public String get(Object key) {
+    if (!(key instanceof String name)) {
+      return null;
+    }
+    int index = schema.indexOf(name);
+    return index < 0 ? null : values[index];
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public int size() {
+        return schema.size();
+      }
+
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator() {
+        return new Iterator<>() {
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < schema.size();
+          }
+
+          @Override
+          public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Map.Entry<String, String> field =
+                new SimpleImmutableEntry<>(schema.getFieldName(index), values[index]);
+            index++;
+            return field;
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,153 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <h1>Template Schema.</h1>
+ *
+ * <p>Describes the template fields of one entry type. A single schema instance is shared by all
+ * entries of the type, while each entry only stores a flat array of field values in schema
+ * order.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Define the names and order of the template fields of an entry type</li>
+ *   <li>Look up the position of a field by its name</li>
+ *   <li>Tell whether a field holds repeating values that are deduplicated in the symbol
+ *   table</li>
+ *   <li>Declare which fields are kept in a secondary index for lookups by value</li>
+ * </ul>
+ */
+public final class TemplateSchema {
+
+  /**
+   * How the values of a field are indexed for lookups by value.
+   */
+  public enum Indexing {
+    /**
+     * The field is not indexed.
+     */
+    NONE,
+
+    /**
+     * The whole value of the field is indexed.
+     */
+    VALUE,
+
+    /**
+     * Every item of the field is indexed on its own, where the items are separated by commas.
+     */
+    LIST
+  }
+
+  /**
+   * Schema for entry types without template fields.
+   */
+  public static final TemplateSchema EMPTY = new TemplateSchema(new String[0], new boolean[0]);
+
+  private final String[] fieldNames;
+  private final boolean[] symbolFields;
+  private final Indexing[] indexing;
+  private final Map<String, Integer> indexByName;
+
+  /**
+   * Constructs a new schema without indexed fields.
+   *
+   * @param fieldNames   The field names, in display order.
+   * @param symbolFields For each field, whether its values are stored in the symbol table.
+   * @throws IllegalArgumentException If the arrays differ in length or a name is repeated.
+   */
+  TemplateSchema(String[] fieldNames, boolean[] symbolFields) {
+    this(fieldNames, symbolFields, noIndexing(fieldNames.length));
+  }
+
+  /**
+   * Constructs a new schema.
+   *
+   * @param fieldNames   The field names, in display order.
+   * @param symbolFields For each field, whether its values are stored in the symbol table.
+   * @param indexing     For each field, how its values are indexed.
+   * @throws IllegalArgumentException If the arrays differ in length or a name is repeated.
+   */
+  TemplateSchema(String[] fieldNames, boolean[] symbolFields, Indexing[] indexing) {
+    if (fieldNames.length != symbolFields.length) {
+      throw new IllegalArgumentException("Every field must have a symbol flag");
+    }
+    if (fieldNames.length != indexing.length) {
+      throw new IllegalArgumentException("Every field must have an indexing");
+    }
+    this.fieldNames = fieldNames.clone();
+    this.symbolFields = symbolFields.clone();
+    this.indexing = indexing.clone();
+    this.indexByName = new HashMap<>();
+    for (int i = 0; i < fieldNames.length; i++) {
+      if (indexByName.put(fieldNames[i], i) != null) {
+        throw new IllegalArgumentException("Duplicate field name " + fieldNames[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of fields in this schema.
+   *
+   * @return The number of fields.
+   */
+  public int size() {
+    return fieldNames.length;
+  }
+
+  /**
+   * Returns the name of the field at the given position.
+   *
+   * @param index The position of the field.
+   * @return The field name.
+   */
+  public String getFieldName(int index) {
+    return fieldNames[index];
+  }
+
+  /**
+   * Finds the position of a field.
+   *
+   * @param fieldName The name of the field.
+   * @return The position, or -1 if the schema has no such field.
+   */
+  public int indexOf(String fieldName) {
+    Integer index = indexByName.get(fieldName);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Checks whether the values of a field are stored in the symbol table.
+   *
+   * @param index The position of the field.
+   * @return True if the values are deduplicated, false if they are free text.
+   */
+  public boolean isSymbolField(int index) {
+    return symbolFields[index];
+  }
+
+  /**
+   * Returns how the values of a field are indexed.
+   *
+   * @param index The position of the field.
+   * @return The indexing of the field.
+   */
+  public Indexing getIndexing(int index) {
+    return indexing[index];
+  }
+
+  /**
+   * Returns an indexing array where no field is indexed.
+   *
+   * @param size The number of fields.
+   * @return The indexing array.
+   */
+  private static Indexing[] noIndexing(int size) {
+    Indexing[] indexing = new Indexing[size];
+    Arrays.fill(indexing, Indexing.NONE);
+    return indexing;
+  }
+}
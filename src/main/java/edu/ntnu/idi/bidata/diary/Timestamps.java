@@ -0,0 +1,99 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * <h1>Timestamps.</h1>
+ *
+ * <p>Converts entry timestamps between {@link LocalDateTime} and the primitive representation
+ * used for storage and filtering, and formats them for display.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Convert date-times to and from epoch seconds of the local wall-clock time</li>
+ *   <li>Compute the epoch second where a date starts, for range filters</li>
+ *   <li>Format timestamps as "dd.MM.yyyy HH:mm" through a small per-minute cache</li>
+ * </ul>
+ *
+ * <p>Epoch seconds are counted as if the local date-time was in UTC, so no time zone is
+ * involved and two timestamps compare the same way as the date-times they were made from.</p>
+ */
+public final class Timestamps {
+
+  /**
+   * Number of seconds in one day.
+   */
+  public static final long SECONDS_PER_DAY = 86_400L;
+
+  private static final DateTimeFormatter DISPLAY_FORMATTER =
+      DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+  private static final int CACHE_SIZE = 1024;
+  private static final FormattedMinute[] FORMAT_CACHE = new FormattedMinute[CACHE_SIZE];
+
+  private Timestamps() {
+  }
+
+  /**
+   * Converts a date-time to epoch seconds. Fractions of a second are dropped.
+   *
+   * @param dateTime The date-time.
+   * @return The epoch second.
+   */
+  public static long toEpochSecond(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts epoch seconds back to a date-time.
+   *
+   * @param epochSecond The epoch second.
+   * @return The date-time.
+   */
+  public static LocalDateTime toLocalDateTime(long epochSecond) {
+    return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * Returns the epoch second at the start of a date.
+   *
+   * @param date The date.
+   * @return The epoch second at midnight.
+   */
+  public static long startOfDay(LocalDate date) {
+    return date.toEpochDay() * SECONDS_PER_DAY;
+  }
+
+  /**
+   * Formats a timestamp as "dd.MM.yyyy HH:mm". Recently formatted minutes are cached, so
+   * repeated calls for the same minute return the same string without allocating.
+   *
+   * @param epochSecond The epoch second.
+   * @return The formatted timestamp.
+   */
+  public static String format(long epochSecond) {
+    long minute = Math.floorDiv(epochSecond, 60L);
+    int slot = (int) Math.floorMod(minute, (long) CACHE_SIZE);
+
+    FormattedMinute cached = FORMAT_CACHE[slot];
+    if (cached != null && cached.minute == minute) {
+      return cached.text;
+    }
+
+    String text = DISPLAY_FORMATTER.format(toLocalDateTime(minute * 60L));
+    FORMAT_CACHE[slot] = new FormattedMinute(minute, text);
+    return text;
+  }
+
+  /**
+   * A formatted minute in the format cache. Immutable, so it can be shared between threads
+   * without locking.
+   *
+   * @param minute The epoch minute.
+   * @param text   The formatted text.
+   */
+  private record FormattedMinute(long minute, String text) {
+  }
+}
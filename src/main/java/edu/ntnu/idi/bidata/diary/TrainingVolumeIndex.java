@@ -0,0 +1,219 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <h1>Training Volume Index.</h1>
+ *
+ * <p>Weekly and monthly training volume per author and exercise, kept up to date from the
+ * parsed {@link Workout} of every gym entry in a {@link DiaryRegistry}. Each (author, exercise)
+ * pair has two time series of buckets ordered by the start of the period, so a rollup is read
+ * from the buckets without visiting any entry.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Add the volume, sets and repetitions of a gym entry to the buckets of its week and
+ *   month</li>
+ *   <li>Replace the contribution of an entry when it is changed or moved to another author, and
+ *   take it back out when it is removed</li>
+ *   <li>Return the weekly or monthly series of an author and exercise</li>
+ * </ul>
+ *
+ * <p>Exercises are matched ignoring case and surrounding whitespace. Weeks start on Monday.
+ * A bucket is dropped when the last entry in it is removed, so removed volume does not linger
+ * as floating-point rounding residue.</p>
+ */
+final class TrainingVolumeIndex implements EntryIndex {
+
+  private final IntObjectMap<Contribution> contributions;
+  private final Map<SeriesKey, Series> series;
+
+  /**
+   * Constructs an empty index.
+   */
+  TrainingVolumeIndex() {
+    this.contributions = new IntObjectMap<>();
+    this.series = new HashMap<>();
+  }
+
+  @Override
+  public synchronized void put(DiaryEntry entry) {
+    remove(entry);
+    if (!(entry instanceof GymEntry gymEntry)) {
+      return;
+    }
+
+    Workout workout = gymEntry.getWorkout();
+    int exerciseCount = workout.getExerciseCount();
+    String[] exercises = new String[exerciseCount];
+    double[] volumes = new double[exerciseCount];
+    int[] sets = new int[exerciseCount];
+    int[] reps = new int[exerciseCount];
+    for (int i = 0; i < exerciseCount; i++) {
+      exercises[i] = exerciseKey(workout.getExerciseName(i));
+      volumes[i] = workout.getVolume(i);
+      sets[i] = workout.getSetCount(i);
+      for (int set = 0; set < sets[i]; set++) {
+        reps[i] += workout.getReps(i, set);
+      }
+    }
+    Contribution contribution = new Contribution(entry.getAuthor().id(),
+        Math.floorDiv(entry.getEpochSecond(), Timestamps.SECONDS_PER_DAY),
+        exercises, volumes, sets, reps);
+    contributions.put(entry.getId(), contribution);
+    apply(contribution, 1);
+  }
+
+  @Override
+  public synchronized void remove(DiaryEntry entry) {
+    Contribution contribution = contributions.remove(entry.getId());
+    if (contribution != null) {
+      apply(contribution, -1);
+    }
+  }
+
+  /**
+   * Returns the weekly volume of an exercise by an author.
+   *
+   * @param authorId The ID of the author.
+   * @param exercise The exercise name.
+   * @return One point per week with training, oldest first.
+   */
+  synchronized List<VolumePoint> weekly(int authorId, String exercise) {
+    Series found = series.get(new SeriesKey(authorId, exerciseKey(exercise)));
+    return found == null ? List.of() : points(found.weeks);
+  }
+
+  /**
+   * Returns the monthly volume of an exercise by an author.
+   *
+   * @param authorId The ID of the author.
+   * @param exercise The exercise name.
+   * @return One point per month with training, oldest first.
+   */
+  synchronized List<VolumePoint> monthly(int authorId, String exercise) {
+    Series found = series.get(new SeriesKey(authorId, exerciseKey(exercise)));
+    return found == null ? List.of() : points(found.months);
+  }
+
+  /**
+   * Returns the key an exercise name is indexed under: the name trimmed and in lower case. The
+   * keys are plain strings rather than symbols, so they are freed with the last entry that
+   * uses them.
+   *
+   * @param exercise The exercise name.
+   * @return The exercise key.
+   */
+  static String exerciseKey(String exercise) {
+    return exercise.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Adds or subtracts a contribution to the buckets of its week and month.
+   *
+   * @param contribution The contribution.
+   * @param sign         1 to add, -1 to subtract.
+   */
+  private void apply(Contribution contribution, int sign) {
+    LocalDate date = LocalDate.ofEpochDay(contribution.epochDay());
+    long week = date.with(DayOfWeek.MONDAY).toEpochDay();
+    long month = date.withDayOfMonth(1).toEpochDay();
+    for (int i = 0; i < contribution.exercises().length; i++) {
+      SeriesKey key = new SeriesKey(contribution.authorId(), contribution.exercises()[i]);
+      Series target = series.computeIfAbsent(key, unused -> new Series());
+      addToBucket(target.weeks, week, contribution, i, sign);
+      addToBucket(target.months, month, contribution, i, sign);
+      if (target.weeks.isEmpty()) {
+        series.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Adds or subtracts one exercise of a contribution to a bucket, dropping the bucket when its
+   * last contribution is subtracted.
+   *
+   * @param buckets      The buckets of a series.
+   * @param periodStart  The first day of the period, as an epoch day.
+   * @param contribution The contribution.
+   * @param exercise     The position of the exercise in the contribution.
+   * @param sign         1 to add, -1 to subtract.
+   */
+  private static void addToBucket(TreeMap<Long, Bucket> buckets, long periodStart,
+      Contribution contribution, int exercise, int sign) {
+    Bucket bucket = buckets.computeIfAbsent(periodStart, unused -> new Bucket());
+    bucket.count += sign;
+    if (bucket.count == 0) {
+      buckets.remove(periodStart);
+      return;
+    }
+    bucket.volume += sign * contribution.volumes()[exercise];
+    bucket.sets += sign * contribution.sets()[exercise];
+    bucket.reps += sign * contribution.reps()[exercise];
+  }
+
+  /**
+   * Converts the buckets of a series to points.
+   *
+   * @param buckets The buckets.
+   * @return The points, oldest first.
+   */
+  private static List<VolumePoint> points(TreeMap<Long, Bucket> buckets) {
+    List<VolumePoint> points = new ArrayList<>(buckets.size());
+    for (Map.Entry<Long, Bucket> bucket : buckets.entrySet()) {
+      Bucket value = bucket.getValue();
+      points.add(new VolumePoint(LocalDate.ofEpochDay(bucket.getKey()), value.volume,
+          value.sets, value.reps));
+    }
+    return points;
+  }
+
+  /**
+   * What a gym entry added to the index, kept for taking it back out.
+   *
+   * @param authorId  The ID of the author.
+   * @param epochDay  The day of the entry.
+   * @param exercises The exercise keys.
+   * @param volumes   The volume of each exercise.
+   * @param sets      The number of sets of each exercise.
+   * @param reps      The number of repetitions of each exercise.
+   */
+  private record Contribution(int authorId, long epochDay, String[] exercises, double[] volumes,
+      int[] sets, int[] reps) {
+  }
+
+  /**
+   * An author and exercise.
+   *
+   * @param authorId The ID of the author.
+   * @param exercise The exercise key.
+   */
+  private record SeriesKey(int authorId, String exercise) {
+  }
+
+  /**
+   * The weekly and monthly buckets of one author and exercise.
+   */
+  private static final class Series {
+    private final TreeMap<Long, Bucket> weeks = new TreeMap<>();
+    private final TreeMap<Long, Bucket> months = new TreeMap<>();
+  }
+
+  /**
+   * Totals of one period.
+   */
+  private static final class Bucket {
+    private int count;
+    private double volume;
+    private int sets;
+    private int reps;
+  }
+}
@@ -0,0 +1,19 @@
+package edu.ntnu.idi.bidata.diary;
+
+import java.time.LocalDate;
+
+/**
+ * <h1>Volume Point.</h1>
+ *
+ * <p>Training volume of one exercise by one author in one week or month, as returned by
+ * {@link DiaryRegistry#getWeeklyVolume} and {@link DiaryRegistry#getMonthlyVolume}. Volume is
+ * the sum of repetitions times weight over the sets; body weight sets count their sets and
+ * repetitions but add no volume.</p>
+ *
+ * @param periodStart The first day of the week (a Monday) or month.
+ * @param volume      The volume in kilograms.
+ * @param sets        The number of sets.
+ * @param reps        The number of repetitions.
+ */
+public record VolumePoint(LocalDate periodStart, double volume, int sets, int reps) {
+}
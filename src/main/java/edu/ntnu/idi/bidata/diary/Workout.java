@@ -0,0 +1,325 @@
+package edu.ntnu.idi.bidata.diary;
+
+import edu.ntnu.idi.bidata.util.SymbolTable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>Workout.</h1>
+ *
+ * <p>Parsed form of the exercises, sets and repetitions of a {@link GymEntry}. The text fields
+ * are parsed once when they are written, and the performed sets are stored in flat primitive
+ * arrays, so rendering and analytics read numbers instead of splitting strings.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Parse and validate the exercises, planned sets and repetitions of a gym entry</li>
+ *   <li>Give the repetitions and weight of every performed set by exercise</li>
+ *   <li>Compute the training volume of an exercise</li>
+ *   <li>Write a performed set back in the form it is entered in</li>
+ * </ul>
+ *
+ * <p>The fields use the format the application asks for: exercises are separated by commas,
+ * for example {@code Bench Press, Squats}; the planned sets are whole numbers separated by
+ * commas, for example {@code 3, 4}; and the repetitions are one group per exercise separated by
+ * commas, with the sets of a group separated by semicolons, for example
+ * {@code 8x60kg;7x60kg, 10x100kg}. A set is a number of repetitions, optionally followed by
+ * {@code x} and a weight in kilograms or {@code Bodyweight}. Bodyweight sets count as weight 0.
+ * The number of groups does not have to match the number of exercises, since the fields are
+ * edited one at a time; an exercise without a group has no performed sets.</p>
+ */
+public final class Workout {
+
+  /**
+   * Load type of a set with only a number of repetitions.
+   */
+  private static final byte NO_WEIGHT = 0;
+
+  /**
+   * Load type of a set with a weight in kilograms.
+   */
+  private static final byte KILOGRAMS = 1;
+
+  /**
+   * Load type of a set with body weight.
+   */
+  private static final byte BODYWEIGHT = 2;
+
+  private static final Pattern SET = Pattern.compile(
+      "(\\d{1,6})(?:\\s*x\\s*(?:(\\d{1,6}(?:\\.\\d{1,3})?)\\s*(?:kg)?|(bodyweight)))?",
+      Pattern.CASE_INSENSITIVE);
+
+  private final String[] exerciseNames;
+  private final int[] plannedSets;
+  private final int[] setOffsets;
+  private final int[] reps;
+  private final double[] weights;
+  private final byte[] loadTypes;
+
+  /**
+   * Constructs a parsed workout.
+   *
+   * @param exerciseNames The exercise names.
+   * @param plannedSets   The planned number of sets per exercise.
+   * @param setOffsets    The index of the first set of each group, and the total number of sets.
+   * @param reps          The repetitions of every set.
+   * @param weights       The weight of every set.
+   * @param loadTypes     The load type of every set.
+   */
+  private Workout(String[] exerciseNames, int[] plannedSets, int[] setOffsets, int[] reps,
+      double[] weights, byte[] loadTypes) {
+    this.exerciseNames = exerciseNames;
+    this.plannedSets = plannedSets;
+    this.setOffsets = setOffsets;
+    this.reps = reps;
+    this.weights = weights;
+    this.loadTypes = loadTypes;
+  }
+
+  /**
+   * Parses the fields of a gym entry.
+   *
+   * @param exercises The exercises.
+   * @param sets      The planned sets.
+   * @param reps      The repetitions.
+   * @return The parsed workout.
+   * @throws IllegalArgumentException If a field is null or empty, or cannot be parsed.
+   */
+  static Workout parse(String exercises, String sets, String reps) {
+    String[] names = parseExercises(exercises);
+    int[] planned = parsePlannedSets(sets);
+    if (reps == null || reps.trim().isEmpty()) {
+      throw new IllegalArgumentException("Reps cannot be null or empty");
+    }
+
+    String[] groups = reps.split(",", -1);
+    int setCount = 0;
+    for (String group : groups) {
+      setCount += count(group, ';') + 1;
+    }
+
+    int[] offsets = new int[groups.length + 1];
+    int[] setReps = new int[setCount];
+    double[] setWeights = new double[setCount];
+    byte[] setLoads = new byte[setCount];
+    int set = 0;
+    for (int group = 0; group < groups.length; group++) {
+      offsets[group] = set;
+      for (String text : groups[group].split(";", -1)) {
+        Matcher matcher = SET.matcher(text.trim());
+        if (!matcher.matches()) {
+          throw new IllegalArgumentException("Invalid set \"" + text.trim()
+              + "\", expected repetitions like 8, 8x60kg or 8xBodyweight");
+        }
+        setReps[set] = Integer.parseInt(matcher.group(1));
+        if (matcher.group(2) != null) {
+          setWeights[set] = Double.parseDouble(matcher.group(2));
+          setLoads[set] = KILOGRAMS;
+        } else if (matcher.group(3) != null) {
+          setLoads[set] = BODYWEIGHT;
+        }
+        set++;
+      }
+    }
+    offsets[groups.length] = set;
+    return new Workout(names, planned, offsets, setReps, setWeights, setLoads);
+  }
+
+  /**
+   * Parses and validates the exercise names.
+   *
+   * @param exercises The exercises, separated by commas.
+   * @return The trimmed exercise names.
+   * @throws IllegalArgumentException If exercises is null or empty, or a name is empty.
+   */
+  private static String[] parseExercises(String exercises) {
+    if (exercises == null || exercises.trim().isEmpty()) {
+      throw new IllegalArgumentException("Exercises cannot be null or empty");
+    }
+    String[] names = exercises.trim().split(",", -1);
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i].trim();
+      if (name.isEmpty()) {
+        throw new IllegalArgumentException("Exercise names cannot be empty");
+      }
+      names[i] = SymbolTable.global().canonical(name);
+    }
+    return names;
+  }
+
+  /**
+   * Parses and validates the planned sets.
+   *
+   * @param sets The planned sets, separated by commas.
+   * @return The planned number of sets per exercise.
+   * @throws IllegalArgumentException If sets is null or empty, or a value is not a positive
+   *                                  whole number.
+   */
+  private static int[] parsePlannedSets(String sets) {
+    if (sets == null || sets.trim().isEmpty()) {
+      throw new IllegalArgumentException("Sets cannot be null or empty");
+    }
+    String[] values = sets.trim().split(",", -1);
+    int[] planned = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      String value = values[i].trim();
+      try {
+        planned[i] = Integer.parseInt(value);
+      } catch (NumberFormatException e) {
+        planned[i] = 0;
+      }
+      if (planned[i] <= 0) {
+        throw new IllegalArgumentException("Invalid number of sets \"" + value
+            + "\", expected a positive whole number");
+      }
+    }
+    return planned;
+  }
+
+  /**
+   * Counts the occurrences of a character in a string.
+   *
+   * @param text      The string.
+   * @param character The character.
+   * @return The number of occurrences.
+   */
+  private static int count(String text, char character) {
+    int count = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == character) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of exercises.
+   *
+   * @return The number of exercises.
+   */
+  public int getExerciseCount() {
+    return exerciseNames.length;
+  }
+
+  /**
+   * Returns the name of an exercise.
+   *
+   * @param exercise The position of the exercise.
+   * @return The exercise name.
+   */
+  public String getExerciseName(int exercise) {
+    return exerciseNames[exercise];
+  }
+
+  /**
+   * Returns the planned number of sets of an exercise.
+   *
+   * @param exercise The position of the exercise.
+   * @return The planned number of sets, or 0 if none is given for the exercise.
+   */
+  public int getPlannedSets(int exercise) {
+    return exercise < plannedSets.length ? plannedSets[exercise] : 0;
+  }
+
+  /**
+   * Returns the number of performed sets of an exercise.
+   *
+   * @param exercise The position of the exercise.
+   * @return The number of sets, or 0 if no repetitions are given for the exercise.
+   */
+  public int getSetCount(int exercise) {
+    return exercise < setOffsets.length - 1
+        ? setOffsets[exercise + 1] - setOffsets[exercise]
+        : 0;
+  }
+
+  /**
+   * Returns the repetitions of a set.
+   *
+   * @param exercise The position of the exercise.
+   * @param set      The position of the set within the exercise.
+   * @return The number of repetitions.
+   */
+  public int getReps(int exercise, int set) {
+    return reps[setIndex(exercise, set)];
+  }
+
+  /**
+   * Returns the weight of a set.
+   *
+   * @param exercise The position of the exercise.
+   * @param set      The position of the set within the exercise.
+   * @return The weight in kilograms, or 0 for a body weight set or a set without weight.
+   */
+  public double getWeight(int exercise, int set) {
+    return weights[setIndex(exercise, set)];
+  }
+
+  /**
+   * Checks whether a set was done with body weight.
+   *
+   * @param exercise The position of the exercise.
+   * @param set      The position of the set within the exercise.
+   * @return True if the set was done with body weight, false otherwise.
+   */
+  public boolean isBodyweight(int exercise, int set) {
+    return loadTypes[setIndex(exercise, set)] == BODYWEIGHT;
+  }
+
+  /**
+   * Returns the training volume of an exercise, the sum of repetitions times weight over its
+   * sets. Body weight sets add nothing.
+   *
+   * @param exercise The position of the exercise.
+   * @return The volume in kilograms.
+   */
+  public double getVolume(int exercise) {
+    double volume = 0;
+    int setCount = getSetCount(exercise);
+    for (int set = 0; set < setCount; set++) {
+      int index = setOffsets[exercise] + set;
+      volume += reps[index] * weights[index];
+    }
+    return volume;
+  }
+
+  /**
+   * Appends a set in the form it is entered in, for example {@code 8x60kg}.
+   *
+   * @param out      The builder to append to.
+   * @param exercise The position of the exercise.
+   * @param set      The position of the set within the exercise.
+   */
+  public void appendSet(StringBuilder out, int exercise, int set) {
+    int index = setIndex(exercise, set);
+    out.append(reps[index]);
+    if (loadTypes[index] == KILOGRAMS) {
+      double weight = weights[index];
+      out.append('x');
+      if (weight == Math.rint(weight)) {
+        out.append((long) weight);
+      } else {
+        out.append(weight);
+      }
+      out.append("kg");
+    } else if (loadTypes[index] == BODYWEIGHT) {
+      out.append("xBodyweight");
+    }
+  }
+
+  /**
+   * Returns the position of a set in the flat arrays.
+   *
+   * @param exercise The position of the exercise.
+   * @param set      The position of the set within the exercise.
+   * @return The position in the flat arrays.
+   * @throws IndexOutOfBoundsException If the exercise has no such set.
+   */
+  private int setIndex(int exercise, int set) {
+    if (set < 0 || set >= getSetCount(exercise)) {
+      throw new IndexOutOfBoundsException("Exercise " + exercise + " has no set " + set);
+    }
+    return setOffsets[exercise] + set;
+  }
+}
@@ -0,0 +1,175 @@
+package edu.ntnu.idi.bidata.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>CSV Reader.</h1>
+ *
+ * <p>Reads comma-separated records from a character stream through a fixed-size buffer. Fields
+ * may be quoted with double quotes, and quoted fields may contain commas, line breaks and
+ * doubled quotes. Only one record is held in memory at a time, and a field may be at most
+ * {@value #MAX_FIELD_LENGTH} characters long, so memory use does not depend on the size of the
+ * stream.</p>
+ *
+ * <p>A quoted field that is still open at the end of the stream, or that grows past the maximum
+ * length, makes only its own record invalid: the record ends at the line the quote was opened
+ * on, and the lines after it are read again as records of their own. Since only the text of the
+ * field is read again, each such record costs at most {@value #MAX_FIELD_LENGTH} characters of
+ * extra reading. An unquoted field that grows past the maximum length makes the rest of its line
+ * invalid.</p>
+ */
+final class CsvReader {
+
+  /**
+   * Maximum number of characters in a field.
+   */
+  static final int MAX_FIELD_LENGTH = 1 << 20;
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final Reader reader;
+  private final char[] buffer;
+  private final StringBuilder field;
+  private StringBuilder quotedText;
+  private StringBuilder pushedBack;
+  private int pushedBackPosition;
+  private boolean skipToLineEnd;
+  private int position;
+  private int limit;
+
+  /**
+   * Constructs a reader over a character stream.
+   *
+   * @param reader The character stream.
+   */
+  CsvReader(Reader reader) {
+    this.reader = reader;
+    this.buffer = new char[BUFFER_SIZE];
+    this.field = new StringBuilder();
+    this.quotedText = new StringBuilder();
+    this.pushedBack = new StringBuilder();
+    this.pushedBackPosition = 0;
+    this.skipToLineEnd = false;
+    this.position = 0;
+    this.limit = 0;
+  }
+
+  /**
+   * Reads the next record. Blank lines are skipped.
+   *
+   * @return The fields of the record, or null at the end of the stream.
+   * @throws IOException              If reading fails.
+   * @throws IllegalArgumentException If a quoted field is not closed, or if a field is longer
+   *                                  than {@value #MAX_FIELD_LENGTH} characters. The next call
+   *                                  reads on from the line after the one the field started
+   *                                  on.
+   */
+  List<String> readRecord() throws IOException {
+    int next = read();
+    if (skipToLineEnd) {
+      skipToLineEnd = false;
+      while (next >= 0 && next != '\n' && next != '\r') {
+        next = read();
+      }
+    }
+    while (next == '\r' || next == '\n') {
+      next = read();
+    }
+    if (next < 0) {
+      return null;
+    }
+
+    List<String> record = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (next < 0) {
+          pushBackAfterFirstLine();
+          throw new IllegalArgumentException("Quoted field is not closed");
+        }
+        quotedText.append((char) next);
+        if (quotedText.length() > MAX_FIELD_LENGTH) {
+          pushBackAfterFirstLine();
+          throw new IllegalArgumentException(
+              "Field is longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        if (next == '"') {
+          next = read();
+          if (next != '"') {
+            quoted = false;
+            continue;
+          }
+          quotedText.append('"');
+        }
+        field.append((char) next);
+      } else if (next == '"' && field.length() == 0) {
+        quoted = true;
+        quotedText.setLength(0);
+      } else if (next == ',') {
+        record.add(field.toString());
+        field.setLength(0);
+      } else if (next < 0 || next == '\n' || next == '\r') {
+        record.add(field.toString());
+        return record;
+      } else if (field.length() == MAX_FIELD_LENGTH) {
+        skipToLineEnd = true;
+        throw new IllegalArgumentException(
+            "Field is longer than " + MAX_FIELD_LENGTH + " characters");
+      } else {
+        field.append((char) next);
+      }
+      next = read();
+    }
+  }
+
+  /**
+   * Makes the text after the first line break of a rejected quoted field the next text to read,
+   * followed by any pushed back text that was not read yet. If the field has no line break, the
+   * rest of its line is skipped instead. The text is moved rather than copied into a new string.
+   */
+  private void pushBackAfterFirstLine() {
+    int lineBreak = 0;
+    while (lineBreak < quotedText.length() && quotedText.charAt(lineBreak) != '\n'
+        && quotedText.charAt(lineBreak) != '\r') {
+      lineBreak++;
+    }
+    skipToLineEnd = lineBreak == quotedText.length();
+    quotedText.delete(0, lineBreak);
+    quotedText.append(pushedBack, pushedBackPosition, pushedBack.length());
+    StringBuilder read = pushedBack;
+    pushedBack = quotedText;
+    pushedBackPosition = 0;
+    quotedText = read;
+    quotedText.setLength(0);
+  }
+
+  /**
+   * Reads the next character, from the pushed back text first and then from the buffer,
+   * refilling the buffer when it is used up.
+   *
+   * @return The character, or -1 at the end of the stream.
+   * @throws IOException If reading fails.
+   */
+  private int read() throws IOException {
+    if (pushedBackPosition < pushedBack.length()) {
+      return pushedBack.charAt(pushedBackPosition++);
+    }
+    if (pushedBackPosition > 0) {
+      pushedBack.setLength(0);
+      pushedBackPosition = 0;
+    }
+    if (position == limit) {
+      limit = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position++];
+  }
+}
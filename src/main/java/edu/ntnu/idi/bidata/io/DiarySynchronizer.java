@@ -0,0 +1,135 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.author.AuthorRegistry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.diary.EntryTombstone;
+import edu.ntnu.idi.bidata.diary.MergeResult;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <h1>Diary Synchronizer.</h1>
+ *
+ * <p>Brings entries from another replica of the diary into a local {@link DiaryRegistry}. The
+ * two hash trees are compared from the root down, one level at a time, following only the nodes
+ * whose hashes differ. Only the entries and tombstones in the differing time buckets are then
+ * fetched and merged into the local registry, see {@link DiaryRegistry#mergeReplica}.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Find the differing buckets with a number of comparisons that grows with the logarithm of
+ *   the bucket count</li>
+ *   <li>Validate the fetched entries, and resolve their authors by name</li>
+ *   <li>Report entries that cannot be read or are invalid without stopping the pull</li>
+ *   <li>Merge the entries and tombstones by sync ID, so edits replace the local version and
+ *   deletions are carried over</li>
+ * </ul>
+ *
+ * <p>A pull only changes the local replica, so running it in both directions makes the
+ * replicas equal.</p>
+ */
+public final class DiarySynchronizer {
+
+  private static final int MAX_REPORTED_ERRORS = 100;
+
+  private final DiaryRegistry diaryRegistry;
+  private final AuthorRegistry authorRegistry;
+
+  /**
+   * Constructs a synchronizer for a local replica.
+   *
+   * @param diaryRegistry  The local diary registry.
+   * @param authorRegistry The local author registry, used to resolve authors by name.
+   * @throws IllegalArgumentException If a registry is null.
+   */
+  public DiarySynchronizer(DiaryRegistry diaryRegistry, AuthorRegistry authorRegistry) {
+    if (diaryRegistry == null) {
+      throw new IllegalArgumentException("Diary registry cannot be null");
+    }
+    if (authorRegistry == null) {
+      throw new IllegalArgumentException("Author registry cannot be null");
+    }
+    this.diaryRegistry = diaryRegistry;
+    this.authorRegistry = authorRegistry;
+  }
+
+  /**
+   * Brings the entries, edits and deletions of the peer into the local replica.
+   *
+   * @param peer The other replica.
+   * @return The result of the sync.
+   * @throws IOException              If the peer cannot be reached.
+   * @throws IllegalArgumentException If peer is null, or if the replicas use different bucket
+   *                                  counts.
+   */
+  public SyncResult pull(SyncPeer peer) throws IOException {
+    if (peer == null) {
+      throw new IllegalArgumentException("Peer cannot be null");
+    }
+    int bucketCount = diaryRegistry.getSyncBucketCount();
+    if (peer.bucketCount() != bucketCount) {
+      throw new IllegalArgumentException("Replicas use different bucket counts");
+    }
+
+    int comparisons = 0;
+    int[] differing = new int[bucketCount];
+    int differingCount = 0;
+    int[] level = {1};
+    while (level.length > 0) {
+      long[] local = diaryRegistry.getSyncHashes(level);
+      long[] remote = peer.hashes(level);
+      comparisons += level.length;
+      int[] next = new int[level.length * 2];
+      int nextCount = 0;
+      for (int i = 0; i < level.length; i++) {
+        if (local[i] == remote[i]) {
+          continue;
+        }
+        int node = level[i];
+        if (node >= bucketCount) {
+          differing[differingCount++] = node - bucketCount;
+        } else {
+          next[nextCount++] = 2 * node;
+          next[nextCount++] = 2 * node + 1;
+        }
+      }
+      level = Arrays.copyOf(next, nextCount);
+    }
+    if (differingCount == 0) {
+      return new SyncResult(comparisons, 0, 0, 0, 0, 0, 0, 0, List.of());
+    }
+    int[] differingBuckets = Arrays.copyOf(differing, differingCount);
+
+    List<String> errors = new ArrayList<>();
+    int[] rejected = {0};
+    Consumer<String> reject = message -> {
+      rejected[0]++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(message);
+      }
+    };
+    List<EntrySpec> received = peer.entries(differingBuckets, reject);
+    int unreadable = rejected[0];
+    List<EntryTombstone> tombstones = peer.tombstones(differingBuckets);
+    List<EntrySpec> valid = new ArrayList<>(received.size());
+    for (EntrySpec spec : received) {
+      try {
+        if (spec == null) {
+          throw new IllegalArgumentException("Entry spec cannot be null");
+        }
+        spec.validate();
+        valid.add(spec.withAuthor(authorRegistry.findOrCreateAuthor(spec.author().name())));
+      } catch (IllegalArgumentException e) {
+        reject.accept("Invalid entry from peer: " + e.getMessage());
+      }
+    }
+    MergeResult merge = diaryRegistry.mergeReplica(valid, tombstones);
+    return new SyncResult(comparisons, differingBuckets.length, received.size() + unreadable,
+        tombstones.size(), merge.entriesAdded(), merge.entriesUpdated(), merge.entriesDeleted(),
+        rejected[0] + merge.entriesRejected(), errors);
+  }
+}
@@ -0,0 +1,445 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.diary.ChangeSet;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntryQuery;
+import edu.ntnu.idi.bidata.diary.GeoPoint;
+import edu.ntnu.idi.bidata.diary.TemplateSchema;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1>Entry Exporter.</h1>
+ *
+ * <p>Writes diary entries from a {@link DiaryRegistry} to CSV, JSON Lines or Markdown. Entries
+ * are streamed from the registry and written one at a time through a buffered writer, so the
+ * whole output is never held in memory.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Export the entries that match a query, or all entries</li>
+ *   <li>Write CSV and JSON Lines in the format that {@link EntryImporter} reads, including
+ *   the coordinates of fishing entries</li>
+ *   <li>Write Markdown for reading the diary outside the application</li>
+ *   <li>Write the changes since a sequence number, with tombstones for deleted entries</li>
+ *   <li>Write to a character stream or a byte channel</li>
+ * </ul>
+ *
+ * <p>The registry is read-locked while an export runs, see
+ * {@link DiaryRegistry#forEachEntry}.</p>
+ */
+public final class EntryExporter {
+
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private final DiaryRegistry registry;
+
+  /**
+   * Constructs an exporter for a registry.
+   *
+   * @param registry The registry to export from.
+   * @throws IllegalArgumentException If registry is null.
+   */
+  public EntryExporter(DiaryRegistry registry) {
+    if (registry == null) {
+      throw new IllegalArgumentException("Diary registry cannot be null");
+    }
+    this.registry = registry;
+  }
+
+  /**
+   * Creates a buffered UTF-8 writer over a byte channel, for exporting to a file channel or
+   * socket.
+   *
+   * @param channel The channel.
+   * @return The writer. Closing it closes the channel.
+   * @throws IllegalArgumentException If channel is null.
+   */
+  public static Writer channelWriter(WritableByteChannel channel) {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel cannot be null");
+    }
+    return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8),
+        WRITE_BUFFER_SIZE);
+  }
+
+  /**
+   * Exports the entries that match a query as CSV with a header row.
+   *
+   * @param writer The writer. It is flushed but not closed.
+   * @param query  The query selecting the entries.
+   * @return The number of entries written.
+   * @throws IOException              If writing fails.
+   * @throws IllegalArgumentException If writer or query is null.
+   */
+  public long exportCsv(Writer writer, EntryQuery query) throws IOException {
+    return export(writer, query, out -> {
+      for (int i = 0; i < EntryFormat.CSV_COLUMNS.size(); i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        writeCsvField(out, EntryFormat.CSV_COLUMNS.get(i));
+      }
+      out.write('\n');
+    }, (out, entry) -> {
+      writeCsvField(out, entry.getEntryType());
+      out.write(',');
+      writeCsvField(out, entry.getAuthor().name());
+      out.write(',');
+      out.write(entry.getTimestamp().toString());
+      out.write(',');
+      writeCsvField(out, entry.getTitle());
+      out.write(',');
+      writeCsvField(out, entry.getContent());
+      out.write(',');
+      writeCsvField(out, entry.getCategory());
+      TemplateSchema schema = entry.getTemplateSchema();
+      for (int i = EntryFormat.COMMON_FIELD_COUNT; i < EntryFormat.CSV_COLUMNS.size() - 2; i++) {
+        out.write(',');
+        int index = schema.indexOf(EntryFormat.CSV_COLUMNS.get(i));
+        if (index >= 0) {
+          writeCsvField(out, entry.getTemplateFieldValue(index));
+        }
+      }
+      out.write(',');
+      GeoPoint coordinates = EntryFormat.coordinatesOf(entry);
+      if (coordinates != null) {
+        out.write(Double.toString(coordinates.latitude()));
+        out.write(',');
+        out.write(Double.toString(coordinates.longitude()));
+      } else {
+        out.write(',');
+      }
+      out.write('\n');
+    });
+  }
+
+  /**
+   * Exports the entries that match a query as JSON Lines, one object per entry.
+   *
+   * @param writer The writer. It is flushed but not closed.
+   * @param query  The query selecting the entries.
+   * @return The number of entries written.
+   * @throws IOException              If writing fails.
+   * @throws IllegalArgumentException If writer or query is null.
+   */
+  public long exportJsonLines(Writer writer, EntryQuery query) throws IOException {
+    return export(writer, query, out -> { }, EntryExporter::writeJsonRecord);
+  }
+
+  /**
+   * Exports the changes since a sequence number as JSON Lines, for incremental backups. Created
+   * and updated entries are written as in {@link #exportJsonLines}, and each deleted entry as a
+   * tombstone of the form {@code {"id":7,"deleted":true}}.
+   *
+   * @param writer   The writer. It is flushed but not closed.
+   * @param sequence The sequence number returned by the previous incremental export, or 0 for
+   *                 the first one.
+   * @return The sequence number to pass to the next incremental export.
+   * @throws IOException              If writing fails.
+   * @throws IllegalArgumentException If writer is null, or if sequence is not valid, see
+   *                                  {@link DiaryRegistry#exportChangesSince}.
+   */
+  public long exportChangesSince(Writer writer, long sequence) throws IOException {
+    if (writer == null) {
+      throw new IllegalArgumentException("Writer cannot be null");
+    }
+    ChangeSet changes = registry.exportChangesSince(sequence);
+    Writer out = buffered(writer);
+    for (DiaryEntry entry : changes.getChangedEntries()) {
+      writeJsonRecord(out, entry);
+    }
+    for (int id : changes.getDeletedIds()) {
+      out.write("{\"id\":");
+      out.write(Integer.toString(id));
+      out.write(",\"" + EntryFormat.DELETED + "\":true}\n");
+    }
+    out.flush();
+    return changes.getSequence();
+  }
+
+  /**
+   * Exports the entries that match a query as a Markdown document, with one section per entry.
+   *
+   * @param writer The writer. It is flushed but not closed.
+   * @param query  The query selecting the entries.
+   * @return The number of entries written.
+   * @throws IOException              If writing fails.
+   * @throws IllegalArgumentException If writer or query is null.
+   */
+  public long exportMarkdown(Writer writer, EntryQuery query) throws IOException {
+    return export(writer, query, out -> out.write("# Diary\n"), (out, entry) -> {
+      out.write("\n## ");
+      out.write(escapeMarkdown(entry.getTitle()));
+      out.write("\n\n*");
+      out.write(entry.getFormattedTimestamp());
+      out.write(" · ");
+      out.write(escapeMarkdown(entry.getAuthor().name()));
+      out.write(" · ");
+      out.write(entry.getEntryType());
+      out.write(" · ");
+      out.write(escapeMarkdown(entry.getCategory()));
+      out.write("*\n\n");
+      TemplateSchema schema = entry.getTemplateSchema();
+      for (int i = 0; i < schema.size(); i++) {
+        out.write("- **");
+        out.write(schema.getFieldName(i));
+        out.write(":** ");
+        out.write(escapeMarkdown(entry.getTemplateFieldValue(i)));
+        out.write('\n');
+      }
+      GeoPoint coordinates = EntryFormat.coordinatesOf(entry);
+      if (coordinates != null) {
+        out.write("- **Coordinates:** ");
+        out.write(Double.toString(coordinates.latitude()));
+        out.write(", ");
+        out.write(Double.toString(coordinates.longitude()));
+        out.write('\n');
+      }
+      if (schema.size() > 0) {
+        out.write('\n');
+      }
+      out.write(entry.getContent());
+      out.write('\n');
+    });
+  }
+
+  /**
+   * Streams the matching entries from the registry to a writer.
+   *
+   * @param writer The writer.
+   * @param query  The query selecting the entries.
+   * @param header Writes the text before the first entry.
+   * @param record Writes one entry.
+   * @return The number of entries written.
+   * @throws IOException If writing fails.
+   */
+  private long export(Writer writer, EntryQuery query, HeaderWriter header,
+      RecordWriter record) throws IOException {
+    if (writer == null) {
+      throw new IllegalArgumentException("Writer cannot be null");
+    }
+    if (query == null) {
+      throw new IllegalArgumentException("Query cannot be null");
+    }
+    Writer out = buffered(writer);
+    header.write(out);
+    long[] count = new long[1];
+    try {
+      registry.forEachEntry(query, entry -> {
+        try {
+          record.write(out, entry);
+          count[0]++;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    out.flush();
+    return count[0];
+  }
+
+  /**
+   * Wraps a writer in a buffer, unless it is buffered already.
+   *
+   * @param writer The writer.
+   * @return The buffered writer.
+   */
+  private static Writer buffered(Writer writer) {
+    return writer instanceof BufferedWriter
+        ? writer
+        : new BufferedWriter(writer, WRITE_BUFFER_SIZE);
+  }
+
+  /**
+   * Writes an entry as one JSON Lines record.
+   *
+   * @param out   The writer.
+   * @param entry The entry.
+   * @throws IOException If writing fails.
+   */
+  static void writeJsonRecord(Writer out, DiaryEntry entry) throws IOException {
+    writeJsonRecord(out, entry, false);
+  }
+
+  /**
+   * Writes an entry as one JSON Lines record for another replica, with its sync ID and
+   * revision.
+   *
+   * @param out   The writer.
+   * @param entry The entry.
+   * @throws IOException If writing fails.
+   */
+  static void writeSyncRecord(Writer out, DiaryEntry entry) throws IOException {
+    writeJsonRecord(out, entry, true);
+  }
+
+  /**
+   * Writes an entry as one JSON Lines record.
+   *
+   * @param out          The writer.
+   * @param entry        The entry.
+   * @param syncIdentity Whether to write the sync ID and revision.
+   * @throws IOException If writing fails.
+   */
+  private static void writeJsonRecord(Writer out, DiaryEntry entry, boolean syncIdentity)
+      throws IOException {
+    out.write("{\"id\":");
+    out.write(Integer.toString(entry.getId()));
+    if (syncIdentity) {
+      out.write(",\"" + EntryFormat.SYNC_ID + "\":");
+      out.write(Long.toString(entry.getSyncId()));
+      out.write(",\"" + EntryFormat.REVISION + "\":");
+      out.write(Integer.toString(entry.getRevision()));
+    }
+    writeJsonMember(out, EntryFormat.TYPE, entry.getEntryType());
+    writeJsonMember(out, EntryFormat.AUTHOR, entry.getAuthor().name());
+    writeJsonMember(out, EntryFormat.TIMESTAMP, entry.getTimestamp().toString());
+    writeJsonMember(out, EntryFormat.TITLE, entry.getTitle());
+    writeJsonMember(out, EntryFormat.CONTENT, entry.getContent());
+    writeJsonMember(out, EntryFormat.CATEGORY, entry.getCategory());
+    TemplateSchema schema = entry.getTemplateSchema();
+    if (schema.size() > 0) {
+      out.write(",\"" + EntryFormat.FIELDS + "\":{");
+      for (int i = 0; i < schema.size(); i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        writeJsonString(out, schema.getFieldName(i));
+        out.write(':');
+        writeJsonString(out, entry.getTemplateFieldValue(i));
+      }
+      out.write('}');
+    }
+    GeoPoint coordinates = EntryFormat.coordinatesOf(entry);
+    if (coordinates != null) {
+      out.write(",\"" + EntryFormat.LATITUDE + "\":");
+      out.write(Double.toString(coordinates.latitude()));
+      out.write(",\"" + EntryFormat.LONGITUDE + "\":");
+      out.write(Double.toString(coordinates.longitude()));
+    }
+    out.write("}\n");
+  }
+
+  /**
+   * Writes a CSV field, quoting it if it contains a comma, quote or line break.
+   *
+   * @param out   The writer.
+   * @param value The value.
+   * @throws IOException If writing fails.
+   */
+  private static void writeCsvField(Writer out, String value) throws IOException {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      out.write(value);
+      return;
+    }
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        out.write('"');
+      }
+      out.write(c);
+    }
+    out.write('"');
+  }
+
+  /**
+   * Writes a JSON member with a string value, preceded by a comma.
+   *
+   * @param out   The writer.
+   * @param name  The member name.
+   * @param value The value.
+   * @throws IOException If writing fails.
+   */
+  private static void writeJsonMember(Writer out, String name, String value)
+      throws IOException {
+    out.write(',');
+    writeJsonString(out, name);
+    out.write(':');
+    writeJsonString(out, value);
+  }
+
+  /**
+   * Writes a JSON string literal.
+   *
+   * @param out   The writer.
+   * @param value The value.
+   * @throws IOException If writing fails.
+   */
+  private static void writeJsonString(Writer out, String value) throws IOException {
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> out.write("\\\"");
+        case '\\' -> out.write("\\\\");
+        case '\n' -> out.write("\\n");
+        case '\r' -> out.write("\\r");
+        case '\t' -> out.write("\\t");
+        default -> {
+          if (c < 0x20) {
+            out.write(String.format("\\u%04x", (int) c));
+          } else {
+            out.write(c);
+          }
+        }
+      }
+    }
+    out.write('"');
+  }
+
+  /**
+   * Escapes the characters that Markdown would treat as formatting in a single-line value.
+   *
+   * @param value The value.
+   * @return The escaped value.
+   */
+  private static String escapeMarkdown(String value) {
+    return value.replaceAll("([\\\\`*_\\[\\]#|])", "\\\\$1");
+  }
+
+  /**
+   * Writes the text before the first entry.
+   */
+  @FunctionalInterface
+  private interface HeaderWriter {
+
+    /**
+     * Writes the header.
+     *
+     * @param out The writer.
+     * @throws IOException If writing fails.
+     */
+    void write(Writer out) throws IOException;
+  }
+
+  /**
+   * Writes one entry.
+   */
+  @FunctionalInterface
+  private interface RecordWriter {
+
+    /**
+     * Writes the entry.
+     *
+     * @param out   The writer.
+     * @param entry The entry.
+     * @throws IOException If writing fails.
+     */
+    void write(Writer out, DiaryEntry entry) throws IOException;
+  }
+}
@@ -0,0 +1,259 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GeoPoint;
+import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.TemplateSchema;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <h1>Entry Format.</h1>
+ *
+ * <p>Field names and entry types shared by the importers and exporters, so a file written by an
+ * exporter can be read back by the importer.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Name the common fields of an entry record</li>
+ *   <li>List the CSV columns: the {@value #COMMON_FIELD_COUNT} common fields followed by all
+ *   template fields and the coordinates</li>
+ *   <li>Map entry type names to their template schemas</li>
+ *   <li>Turn the values of a record into an entry spec</li>
+ *   <li>Stand in for the author of a record until the record is known to be valid</li>
+ * </ul>
+ *
+ * <p>Coordinates are written as a latitude and a longitude in decimal degrees, and only for
+ * fishing entries that have them.</p>
+ */
+final class EntryFormat {
+
+  static final String TYPE = "type";
+  static final String AUTHOR = "author";
+  static final String TIMESTAMP = "timestamp";
+  static final String TITLE = "title";
+  static final String CONTENT = "content";
+  static final String CATEGORY = "category";
+  static final String FIELDS = "fields";
+  static final String DELETED = "deleted";
+  static final String SYNC_ID = "syncId";
+  static final String REVISION = "revision";
+  static final String LATITUDE = "latitude";
+  static final String LONGITUDE = "longitude";
+
+  static final String STANDARD = "Standard";
+  static final String FISHING = "Fishing";
+  static final String GYM = "Gym";
+
+  static final int COMMON_FIELD_COUNT = 6;
+
+  /**
+   * ID of the authors made by {@link #unresolvedAuthor}. They are never added to an author
+   * registry, nor to a diary registry.
+   */
+  static final int UNRESOLVED_AUTHOR_ID = Integer.MAX_VALUE;
+  static final List<String> CSV_COLUMNS = csvColumns();
+
+  private EntryFormat() {
+  }
+
+  /**
+   * Returns the canonical name of an entry type, ignoring case.
+   *
+   * @param type The entry type as written in a file.
+   * @return The canonical entry type.
+   * @throws IllegalArgumentException If the type is missing or unknown.
+   */
+  static String canonicalType(String type) {
+    if (type == null || type.trim().isEmpty()) {
+      throw new IllegalArgumentException("Entry type cannot be null or empty");
+    }
+    return switch (type.trim().toLowerCase(Locale.ROOT)) {
+      case "standard" -> STANDARD;
+      case "fishing" -> FISHING;
+      case "gym" -> GYM;
+      default -> throw new IllegalArgumentException("Unknown entry type: " + type.trim());
+    };
+  }
+
+  /**
+   * Returns the template schema of an entry type.
+   *
+   * @param canonicalType The canonical entry type.
+   * @return The template schema.
+   */
+  static TemplateSchema schemaOf(String canonicalType) {
+    return switch (canonicalType) {
+      case FISHING -> FishingEntry.SCHEMA;
+      case GYM -> GymEntry.SCHEMA;
+      default -> TemplateSchema.EMPTY;
+    };
+  }
+
+  /**
+   * Returns an author that holds only a name from a record, for parsing the record before it is
+   * validated. Once the record is valid, the author is replaced with the author of that name in
+   * the author registry, so rejected records do not create authors.
+   *
+   * @param name The name of the author.
+   * @return The unresolved author.
+   * @throws IllegalArgumentException If name is null, empty or too long.
+   */
+  static Author unresolvedAuthor(String name) {
+    return new Author(UNRESOLVED_AUTHOR_ID, name);
+  }
+
+  /**
+   * Returns the coordinates of an entry.
+   *
+   * @param entry The entry.
+   * @return The coordinates of a fishing entry, or null if the entry has none.
+   */
+  static GeoPoint coordinatesOf(DiaryEntry entry) {
+    return entry instanceof FishingEntry fishingEntry ? fishingEntry.getCoordinates() : null;
+  }
+
+  /**
+   * Builds an entry spec from the values of a record.
+   *
+   * @param type           The canonical entry type.
+   * @param authorName     The name of the author.
+   * @param timestamp      The timestamp as an ISO-8601 local date-time.
+   * @param title          The title.
+   * @param content        The content.
+   * @param category       The category.
+   * @param templateValues The template field values in schema order.
+   * @param latitude       The latitude, or null or empty if the entry has no coordinates.
+   * @param longitude      The longitude, or null or empty if the entry has no coordinates.
+   * @param authors        Resolves an author name to an author.
+   * @return The entry spec.
+   * @throws IllegalArgumentException If the author name, timestamp or coordinates are invalid.
+   */
+  static EntrySpec spec(String type, String authorName, String timestamp, String title,
+      String content, String category, List<String> templateValues, String latitude,
+      String longitude, Function<String, Author> authors) {
+    if (timestamp == null || timestamp.trim().isEmpty()) {
+      throw new IllegalArgumentException("Timestamp cannot be null");
+    }
+    LocalDateTime parsedTimestamp;
+    try {
+      parsedTimestamp = LocalDateTime.parse(timestamp.trim());
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid timestamp: " + timestamp.trim());
+    }
+    GeoPoint coordinates = coordinates(latitude, longitude);
+    Author author = authors.apply(authorName);
+    return new EntrySpec(type, author, parsedTimestamp, title, content, category,
+        templateValues, coordinates, 0, 0);
+  }
+
+  /**
+   * Builds an entry spec from a parsed JSON Lines record. The coordinates, sync ID and revision
+   * are read if the record has them.
+   *
+   * @param object  The members of the record.
+   * @param authors Resolves an author name to an author.
+   * @return The entry spec.
+   * @throws IllegalArgumentException If the record is not a valid entry.
+   */
+  static EntrySpec specFromJson(Map<String, Object> object, Function<String, Author> authors) {
+    String type = canonicalType(member(object, TYPE));
+    TemplateSchema schema = schemaOf(type);
+    Object fields = object.get(FIELDS);
+    List<String> templateValues = new ArrayList<>(schema.size());
+    for (int i = 0; i < schema.size(); i++) {
+      templateValues.add(fields instanceof Map<?, ?> map
+          ? stringOrNull(map.get(schema.getFieldName(i)))
+          : null);
+    }
+    EntrySpec spec = spec(type, member(object, AUTHOR), member(object, TIMESTAMP),
+        member(object, TITLE), member(object, CONTENT), member(object, CATEGORY), templateValues,
+        member(object, LATITUDE), member(object, LONGITUDE), authors);
+    String syncId = member(object, SYNC_ID);
+    if (syncId == null) {
+      return spec;
+    }
+    try {
+      return new EntrySpec(spec.entryType(), spec.author(), spec.timestamp(), spec.title(),
+          spec.content(), spec.category(), spec.templateValues(), spec.coordinates(),
+          Long.parseLong(syncId), Integer.parseInt(member(object, REVISION)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid sync ID or revision");
+    }
+  }
+
+  /**
+   * Parses the coordinates of a record.
+   *
+   * @param latitude  The latitude, or null or empty.
+   * @param longitude The longitude, or null or empty.
+   * @return The coordinates, or null if both are null or empty.
+   * @throws IllegalArgumentException If only one is given, or if they are not valid
+   *                                  coordinates.
+   */
+  private static GeoPoint coordinates(String latitude, String longitude) {
+    boolean hasLatitude = latitude != null && !latitude.trim().isEmpty();
+    boolean hasLongitude = longitude != null && !longitude.trim().isEmpty();
+    if (!hasLatitude && !hasLongitude) {
+      return null;
+    }
+    if (!hasLatitude || !hasLongitude) {
+      throw new IllegalArgumentException("Latitude and longitude must be given together");
+    }
+    try {
+      return new GeoPoint(Double.parseDouble(latitude.trim()),
+          Double.parseDouble(longitude.trim()));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid coordinates: " + latitude.trim() + ", "
+          + longitude.trim());
+    }
+  }
+
+  /**
+   * Returns a member of a JSON object as a string.
+   *
+   * @param object The object.
+   * @param name   The member name.
+   * @return The value, or null if the member is missing or null.
+   */
+  private static String member(Map<String, Object> object, String name) {
+    return stringOrNull(object.get(name));
+  }
+
+  /**
+   * Returns a parsed JSON value as a string.
+   *
+   * @param value The value.
+   * @return The string, or null if the value is null or a nested object.
+   */
+  private static String stringOrNull(Object value) {
+    return value instanceof String text ? text : null;
+  }
+
+  /**
+   * Builds the list of CSV columns.
+   *
+   * @return The column names.
+   */
+  private static List<String> csvColumns() {
+    List<String> columns = new ArrayList<>(List.of(TYPE, AUTHOR, TIMESTAMP, TITLE, CONTENT,
+        CATEGORY));
+    for (TemplateSchema schema : List.of(FishingEntry.SCHEMA, GymEntry.SCHEMA)) {
+      for (int i = 0; i < schema.size(); i++) {
+        columns.add(schema.getFieldName(i));
+      }
+    }
+    columns.add(LATITUDE);
+    columns.add(LONGITUDE);
+    return Collections.unmodifiableList(columns);
+  }
+}
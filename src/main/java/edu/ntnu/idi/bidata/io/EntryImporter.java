@@ -0,0 +1,291 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.author.AuthorRegistry;
+import edu.ntnu.idi.bidata.diary.BatchResult;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.diary.TemplateSchema;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <h1>Entry Importer.</h1>
+ *
+ * <p>Loads diary entries from CSV and JSON Lines files into a {@link DiaryRegistry}. Records
+ * are parsed one at a time and handed to the registry in batches, so the memory used by an
+ * import depends on the batch size and not on the size of the file.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Parse CSV records with a header row, and JSON Lines objects</li>
+ *   <li>Resolve authors by exact name once a record is valid, creating authors that do not
+ *   exist yet</li>
+ *   <li>Create the entries in batches through {@link DiaryRegistry#createEntries}</li>
+ *   <li>Report rejected records without stopping the import</li>
+ *   <li>Report progress and throughput after each batch</li>
+ * </ul>
+ *
+ * <p>A CSV file starts with a header row naming its columns, see {@link EntryFormat}. Column
+ * names are matched ignoring case, and columns may appear in any order. A JSON Lines file has
+ * one object per line with the same members, and the template fields in a nested
+ * {@code "fields"} object. Timestamps are ISO-8601 local date-times, for example
+ * {@code 2024-05-17T08:30}.</p>
+ */
+public final class EntryImporter {
+
+  private static final int DEFAULT_BATCH_SIZE = 10_000;
+  private static final int MAX_REPORTED_ERRORS = 100;
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  private final DiaryRegistry diaryRegistry;
+  private final AuthorRegistry authorRegistry;
+  private final int batchSize;
+  private final Consumer<ImportProgress> progressListener;
+
+  /**
+   * Constructs an importer with the default batch size and no progress listener.
+   *
+   * @param diaryRegistry  The registry to add the entries to.
+   * @param authorRegistry The registry to resolve and create authors in.
+   */
+  public EntryImporter(DiaryRegistry diaryRegistry, AuthorRegistry authorRegistry) {
+    this(diaryRegistry, authorRegistry, DEFAULT_BATCH_SIZE, progress -> { });
+  }
+
+  /**
+   * Constructs an importer.
+   *
+   * @param diaryRegistry    The registry to add the entries to.
+   * @param authorRegistry   The registry to resolve and create authors in.
+   * @param batchSize        The number of records per batch.
+   * @param progressListener Called after each batch with the progress so far.
+   * @throws IllegalArgumentException If a registry or the listener is null, or if batchSize is
+   *                                  not positive.
+   */
+  public EntryImporter(DiaryRegistry diaryRegistry, AuthorRegistry authorRegistry,
+      int batchSize, Consumer<ImportProgress> progressListener) {
+    if (diaryRegistry == null) {
+      throw new IllegalArgumentException("Diary registry cannot be null");
+    }
+    if (authorRegistry == null) {
+      throw new IllegalArgumentException("Author registry cannot be null");
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be a positive number");
+    }
+    if (progressListener == null) {
+      throw new IllegalArgumentException("Progress listener cannot be null");
+    }
+    this.diaryRegistry = diaryRegistry;
+    this.authorRegistry = authorRegistry;
+    this.batchSize = batchSize;
+    this.progressListener = progressListener;
+  }
+
+  /**
+   * Imports entries from a CSV file with a header row.
+   *
+   * @param reader The CSV data. The caller closes it.
+   * @return The result of the import.
+   * @throws IOException              If reading fails.
+   * @throws IllegalArgumentException If reader is null, or if the header row is missing or
+   *                                  lacks a required column.
+   */
+  public ImportResult importCsv(Reader reader) throws IOException {
+    if (reader == null) {
+      throw new IllegalArgumentException("Reader cannot be null");
+    }
+    CsvReader csv = new CsvReader(reader);
+    List<String> header = csv.readRecord();
+    if (header == null) {
+      throw new IllegalArgumentException("CSV header row is missing");
+    }
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    for (String required : List.of(EntryFormat.TYPE, EntryFormat.AUTHOR, EntryFormat.TIMESTAMP,
+        EntryFormat.TITLE, EntryFormat.CONTENT, EntryFormat.CATEGORY)) {
+      if (!columns.containsKey(required)) {
+        throw new IllegalArgumentException("CSV header is missing the column " + required);
+      }
+    }
+
+    Run run = new Run();
+    while (true) {
+      List<String> values;
+      try {
+        values = csv.readRecord();
+      } catch (IllegalArgumentException e) {
+        run.accept(() -> {
+          throw e;
+        });
+        continue;
+      }
+      if (values == null) {
+        break;
+      }
+      run.accept(() -> {
+        String type = EntryFormat.canonicalType(column(values, columns, EntryFormat.TYPE));
+        TemplateSchema schema = EntryFormat.schemaOf(type);
+        List<String> templateValues = new ArrayList<>(schema.size());
+        for (int i = 0; i < schema.size(); i++) {
+          templateValues.add(column(values, columns,
+              schema.getFieldName(i).toLowerCase(Locale.ROOT)));
+        }
+        return EntryFormat.spec(type, column(values, columns, EntryFormat.AUTHOR),
+            column(values, columns, EntryFormat.TIMESTAMP),
+            column(values, columns, EntryFormat.TITLE),
+            column(values, columns, EntryFormat.CONTENT),
+            column(values, columns, EntryFormat.CATEGORY), templateValues,
+            column(values, columns, EntryFormat.LATITUDE),
+            column(values, columns, EntryFormat.LONGITUDE), EntryFormat::unresolvedAuthor);
+      });
+    }
+    return run.finish();
+  }
+
+  /**
+   * Imports entries from a JSON Lines file. Blank lines are skipped.
+   *
+   * @param reader The JSON Lines data. The caller closes it.
+   * @return The result of the import.
+   * @throws IOException              If reading fails.
+   * @throws IllegalArgumentException If reader is null.
+   */
+  public ImportResult importJsonLines(Reader reader) throws IOException {
+    if (reader == null) {
+      throw new IllegalArgumentException("Reader cannot be null");
+    }
+    BufferedReader lines = new BufferedReader(reader, READ_BUFFER_SIZE);
+    Run run = new Run();
+    String line;
+    while ((line = lines.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      String text = line;
+      run.accept(() -> EntryFormat.specFromJson(JsonObjectParser.parse(text),
+          EntryFormat::unresolvedAuthor));
+    }
+    return run.finish();
+  }
+
+  /**
+   * Returns the value of a CSV column.
+   *
+   * @param record  The values of the record.
+   * @param columns The column positions by lower-case name.
+   * @param name    The lower-case column name.
+   * @return The value, or null if the column is missing or the record is too short.
+   */
+  private static String column(List<String> record, Map<String, Integer> columns, String name) {
+    Integer index = columns.get(name);
+    return index == null || index >= record.size() ? null : record.get(index);
+  }
+
+  /**
+   * Parses one record into an entry spec.
+   */
+  @FunctionalInterface
+  private interface RecordParser {
+
+    /**
+     * Parses the record.
+     *
+     * @return The entry spec.
+     * @throws IllegalArgumentException If the record is invalid.
+     */
+    EntrySpec parse();
+  }
+
+  /**
+   * The state of one import: the current batch and the running totals.
+   */
+  private final class Run {
+
+    private final long startNanos;
+    private final List<EntrySpec> batch;
+    private final long[] recordNumbers;
+    private final List<String> errors;
+    private long recordsRead;
+    private long entriesCreated;
+    private long errorCount;
+
+    /**
+     * Starts a new import run.
+     */
+    Run() {
+      this.startNanos = System.nanoTime();
+      this.batch = new ArrayList<>(batchSize);
+      this.recordNumbers = new long[batchSize];
+      this.errors = new ArrayList<>();
+    }
+
+    /**
+     * Parses the next record and adds it to the batch, creating the batch when it is full.
+     *
+     * @param parser The parser of the record.
+     */
+    void accept(RecordParser parser) {
+      recordsRead++;
+      try {
+        EntrySpec spec = parser.parse();
+        recordNumbers[batch.size()] = recordsRead;
+        batch.add(spec);
+      } catch (IllegalArgumentException e) {
+        reject(recordsRead, e.getMessage());
+      }
+      if (batch.size() == batchSize) {
+        flush();
+      }
+    }
+
+    /**
+     * Creates the last batch and returns the result of the import.
+     *
+     * @return The result.
+     */
+    ImportResult finish() {
+      if (!batch.isEmpty()) {
+        flush();
+      }
+      return new ImportResult(recordsRead, entriesCreated, errorCount, errors);
+    }
+
+    /**
+     * Creates the entries of the current batch, with the authors of the valid records resolved
+     * by name, and reports the progress.
+     */
+    private void flush() {
+      BatchResult result = diaryRegistry.createEntries(batch,
+          author -> authorRegistry.findOrCreateAuthor(author.name()));
+      entriesCreated += result.getCreatedCount();
+      result.getErrors().forEach((position, message) ->
+          reject(recordNumbers[position], message));
+      batch.clear();
+      progressListener.accept(new ImportProgress(recordsRead, entriesCreated, errorCount,
+          System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Records a rejected record.
+     *
+     * @param recordNumber The number of the record, starting at 1.
+     * @param message      The reason.
+     */
+    private void reject(long recordNumber, String message) {
+      errorCount++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add("Record " + recordNumber + ": " + message);
+      }
+    }
+  }
+}
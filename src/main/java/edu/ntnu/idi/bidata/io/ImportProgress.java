@@ -0,0 +1,25 @@
+package edu.ntnu.idi.bidata.io;
+
+/**
+ * <h1>Import Progress.</h1>
+ *
+ * <p>Snapshot of a running import, passed to the progress listener of an {@link EntryImporter}
+ * after each batch.</p>
+ *
+ * @param recordsRead    The number of records read so far.
+ * @param entriesCreated The number of entries created so far.
+ * @param errorCount     The number of records rejected so far.
+ * @param elapsedNanos   The time since the import started, in nanoseconds.
+ */
+public record ImportProgress(long recordsRead, long entriesCreated, long errorCount,
+    long elapsedNanos) {
+
+  /**
+   * Returns the average number of records read per second since the import started.
+   *
+   * @return The throughput in records per second.
+   */
+  public double recordsPerSecond() {
+    return elapsedNanos == 0 ? 0.0 : recordsRead * 1_000_000_000.0 / elapsedNanos;
+  }
+}
@@ -0,0 +1,70 @@
+package edu.ntnu.idi.bidata.io;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>Import Result.</h1>
+ *
+ * <p>Outcome of an import with {@link EntryImporter}. Counts the records read, the entries
+ * created and the records rejected. Only the messages of the first rejected records are kept,
+ * so a large file full of errors does not fill the memory.</p>
+ */
+public final class ImportResult {
+
+  private final long recordsRead;
+  private final long entriesCreated;
+  private final long errorCount;
+  private final List<String> errors;
+
+  /**
+   * Constructs an import result.
+   *
+   * @param recordsRead    The number of records read.
+   * @param entriesCreated The number of entries created.
+   * @param errorCount     The number of records rejected.
+   * @param errors         The messages of the first rejected records.
+   */
+  ImportResult(long recordsRead, long entriesCreated, long errorCount, List<String> errors) {
+    this.recordsRead = recordsRead;
+    this.entriesCreated = entriesCreated;
+    this.errorCount = errorCount;
+    this.errors = Collections.unmodifiableList(errors);
+  }
+
+  /**
+   * Returns the number of records read.
+   *
+   * @return The number of records.
+   */
+  public long getRecordsRead() {
+    return recordsRead;
+  }
+
+  /**
+   * Returns the number of entries created.
+   *
+   * @return The number of entries.
+   */
+  public long getEntriesCreated() {
+    return entriesCreated;
+  }
+
+  /**
+   * Returns the number of records that were rejected.
+   *
+   * @return The number of rejected records.
+   */
+  public long getErrorCount() {
+    return errorCount;
+  }
+
+  /**
+   * Returns the messages of the first rejected records, each starting with the record number.
+   *
+   * @return The error messages.
+   */
+  public List<String> getErrors() {
+    return errors;
+  }
+}
@@ -0,0 +1,208 @@
+package edu.ntnu.idi.bidata.io;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>JSON Object Parser.</h1>
+ *
+ * <p>Minimal parser for the JSON objects of a JSON Lines file. Supports objects whose values are
+ * strings, numbers, booleans, null or nested objects; arrays are not needed by the entry format
+ * and are rejected. Numbers and booleans are returned as their text.</p>
+ */
+final class JsonObjectParser {
+
+  private final String text;
+  private int position;
+
+  /**
+   * Constructs a parser for one JSON text.
+   *
+   * @param text The JSON text.
+   */
+  private JsonObjectParser(String text) {
+    this.text = text;
+    this.position = 0;
+  }
+
+  /**
+   * Parses a JSON object.
+   *
+   * @param text The JSON text.
+   * @return The members of the object in file order. Nested objects are maps, other values are
+   *         strings or null.
+   * @throws IllegalArgumentException If the text is not a valid JSON object.
+   */
+  static Map<String, Object> parse(String text) {
+    JsonObjectParser parser = new JsonObjectParser(text);
+    Map<String, Object> object = parser.parseObject();
+    parser.skipWhitespace();
+    if (parser.position != text.length()) {
+      throw parser.error("Unexpected text after object");
+    }
+    return object;
+  }
+
+  /**
+   * Parses an object starting at the current position.
+   *
+   * @return The members of the object.
+   */
+  private Map<String, Object> parseObject() {
+    expect('{');
+    Map<String, Object> object = new LinkedHashMap<>();
+    skipWhitespace();
+    if (peek() == '}') {
+      position++;
+      return object;
+    }
+    while (true) {
+      skipWhitespace();
+      String name = parseString();
+      skipWhitespace();
+      expect(':');
+      skipWhitespace();
+      object.put(name, parseValue());
+      skipWhitespace();
+      char next = next();
+      if (next == '}') {
+        return object;
+      }
+      if (next != ',') {
+        throw error("Expected ',' or '}'");
+      }
+    }
+  }
+
+  /**
+   * Parses a value starting at the current position.
+   *
+   * @return The value.
+   */
+  private Object parseValue() {
+    char first = peek();
+    if (first == '"') {
+      return parseString();
+    }
+    if (first == '{') {
+      return parseObject();
+    }
+    int start = position;
+    while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+      position++;
+    }
+    String literal = text.substring(start, position);
+    if (literal.equals("null")) {
+      return null;
+    }
+    if (literal.equals("true") || literal.equals("false") || isNumber(literal)) {
+      return literal;
+    }
+    throw error("Unexpected value '" + literal + "'");
+  }
+
+  /**
+   * Parses a string starting at the current position.
+   *
+   * @return The unescaped string.
+   */
+  private String parseString() {
+    expect('"');
+    StringBuilder value = new StringBuilder();
+    while (true) {
+      char next = next();
+      if (next == '"') {
+        return value.toString();
+      }
+      if (next != '\\') {
+        value.append(next);
+        continue;
+      }
+      char escaped = next();
+      switch (escaped) {
+        case '"', '\\', '/' -> value.append(escaped);
+        case 'b' -> value.append('\b');
+        case 'f' -> value.append('\f');
+        case 'n' -> value.append('\n');
+        case 'r' -> value.append('\r');
+        case 't' -> value.append('\t');
+        case 'u' -> {
+          if (position + 4 > text.length()) {
+            throw error("Incomplete unicode escape");
+          }
+          try {
+            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+          } catch (NumberFormatException e) {
+            throw error("Invalid unicode escape");
+          }
+          position += 4;
+        }
+        default -> throw error("Invalid escape '\\" + escaped + "'");
+      }
+    }
+  }
+
+  /**
+   * Checks whether a literal is a JSON number.
+   *
+   * @param literal The literal.
+   * @return True if the literal is a number, false otherwise.
+   */
+  private static boolean isNumber(String literal) {
+    return literal.matches("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?");
+  }
+
+  /**
+   * Skips spaces, tabs and line breaks.
+   */
+  private void skipWhitespace() {
+    while (position < text.length() && " \t\r\n".indexOf(text.charAt(position)) >= 0) {
+      position++;
+    }
+  }
+
+  /**
+   * Consumes an expected character.
+   *
+   * @param expected The expected character.
+   */
+  private void expect(char expected) {
+    if (next() != expected) {
+      position--;
+      throw error("Expected '" + expected + "'");
+    }
+  }
+
+  /**
+   * Returns the current character without consuming it.
+   *
+   * @return The character.
+   */
+  private char peek() {
+    if (position >= text.length()) {
+      throw error("Unexpected end of line");
+    }
+    return text.charAt(position);
+  }
+
+  /**
+   * Consumes and returns the current character.
+   *
+   * @return The character.
+   */
+  private char next() {
+    char next = peek();
+    position++;
+    return next;
+  }
+
+  /**
+   * Creates an exception for a syntax error at the current position.
+   *
+   * @param message The description of the error.
+   * @return The exception.
+   */
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException("Invalid JSON at position " + position + ": " + message);
+  }
+}
@@ -0,0 +1,58 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.diary.EntryTombstone;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <h1>Local Sync Peer.</h1>
+ *
+ * <p>A replica held in another {@link DiaryRegistry} in the same process, for example one
+ * loaded from a second file with {@link EntryImporter}.</p>
+ */
+public final class LocalSyncPeer implements SyncPeer {
+
+  private final DiaryRegistry registry;
+
+  /**
+   * Constructs a peer for a registry.
+   *
+   * @param registry The registry of the other replica.
+   * @throws IllegalArgumentException If registry is null.
+   */
+  public LocalSyncPeer(DiaryRegistry registry) {
+    if (registry == null) {
+      throw new IllegalArgumentException("Diary registry cannot be null");
+    }
+    this.registry = registry;
+  }
+
+  @Override
+  public int bucketCount() {
+    return registry.getSyncBucketCount();
+  }
+
+  @Override
+  public long[] hashes(int[] nodes) {
+    return registry.getSyncHashes(nodes);
+  }
+
+  @Override
+  public List<EntrySpec> entries(int[] buckets, Consumer<String> unreadable) {
+    List<DiaryEntry> entries = registry.findEntriesInSyncBuckets(buckets);
+    List<EntrySpec> specs = new ArrayList<>(entries.size());
+    for (DiaryEntry entry : entries) {
+      specs.add(EntrySpec.of(entry));
+    }
+    return specs;
+  }
+
+  @Override
+  public List<EntryTombstone> tombstones(int[] buckets) {
+    return registry.findTombstonesInSyncBuckets(buckets);
+  }
+}
@@ -0,0 +1,162 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.diary.EntryTombstone;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <h1>Socket Sync Peer.</h1>
+ *
+ * <p>A replica in another process, reached over a socket connected to its {@link SyncServer}.
+ * Received entries are parsed from JSON Lines with unresolved authors, see
+ * {@link EntryFormat#unresolvedAuthor}; the {@link DiarySynchronizer} resolves them by name in
+ * the local author registry once an entry is known to be valid. An entry that cannot be parsed
+ * is reported and skipped, and the rest of the response is still read.</p>
+ */
+public final class SocketSyncPeer implements SyncPeer, Closeable {
+
+  private final Socket socket;
+  private final BufferedReader in;
+  private final Writer out;
+
+  /**
+   * Constructs a peer over a connected socket.
+   *
+   * @param socket The socket, connected to a sync server.
+   * @throws IOException              If the socket streams cannot be opened.
+   * @throws IllegalArgumentException If socket is null.
+   */
+  public SocketSyncPeer(Socket socket) throws IOException {
+    if (socket == null) {
+      throw new IllegalArgumentException("Socket cannot be null");
+    }
+    this.socket = socket;
+    this.in = new BufferedReader(
+        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    this.out = new BufferedWriter(
+        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public int bucketCount() throws IOException {
+    String response = request(SyncServer.BUCKETS, new int[0]);
+    try {
+      return Integer.parseInt(response);
+    } catch (NumberFormatException e) {
+      throw new IOException("Invalid response: " + response);
+    }
+  }
+
+  @Override
+  public long[] hashes(int[] nodes) throws IOException {
+    String response = request(SyncServer.HASHES, nodes);
+    String[] parts = response.isEmpty() ? new String[0] : response.split(" ");
+    if (parts.length != nodes.length) {
+      throw new IOException("Expected " + nodes.length + " hashes, got " + parts.length);
+    }
+    long[] hashes = new long[parts.length];
+    try {
+      for (int i = 0; i < parts.length; i++) {
+        hashes[i] = Long.parseLong(parts[i]);
+      }
+    } catch (NumberFormatException e) {
+      throw new IOException("Invalid response: " + response);
+    }
+    return hashes;
+  }
+
+  @Override
+  public List<EntrySpec> entries(int[] buckets, Consumer<String> unreadable)
+      throws IOException {
+    List<EntrySpec> specs = new ArrayList<>();
+    String line = request(SyncServer.ENTRIES, buckets);
+    while (!line.equals(SyncServer.END)) {
+      try {
+        specs.add(EntryFormat.specFromJson(JsonObjectParser.parse(line),
+            EntryFormat::unresolvedAuthor));
+      } catch (IllegalArgumentException e) {
+        unreadable.accept("Invalid entry from peer: " + e.getMessage());
+      }
+      line = readLine();
+    }
+    return specs;
+  }
+
+  @Override
+  public List<EntryTombstone> tombstones(int[] buckets) throws IOException {
+    List<EntryTombstone> tombstones = new ArrayList<>();
+    String line = request(SyncServer.TOMBSTONES, buckets);
+    while (!line.equals(SyncServer.END)) {
+      String[] parts = line.split(" ");
+      if (parts.length != 3) {
+        throw new IOException("Invalid tombstone from peer: " + line);
+      }
+      try {
+        tombstones.add(new EntryTombstone(Long.parseLong(parts[0]), Integer.parseInt(parts[1]),
+            Long.parseLong(parts[2])));
+      } catch (NumberFormatException e) {
+        throw new IOException("Invalid tombstone from peer: " + line);
+      }
+      line = readLine();
+    }
+    return tombstones;
+  }
+
+  /**
+   * Closes the connection.
+   *
+   * @throws IOException If closing fails.
+   */
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+
+  /**
+   * Sends a request and reads the first line of the response.
+   *
+   * @param name    The request name.
+   * @param numbers The numbers of the request.
+   * @return The first line of the response.
+   * @throws IOException If the connection fails, or if the server reports an error.
+   */
+  private String request(String name, int[] numbers) throws IOException {
+    StringBuilder request = new StringBuilder(name);
+    for (int number : numbers) {
+      request.append(' ').append(number);
+    }
+    out.write(request.append('\n').toString());
+    out.flush();
+    String response = readLine();
+    if (response.startsWith(SyncServer.ERROR)) {
+      throw new IOException("Peer reported: " + response.substring(SyncServer.ERROR.length())
+          .trim());
+    }
+    return response;
+  }
+
+  /**
+   * Reads a line of the response.
+   *
+   * @return The line.
+   * @throws IOException If the connection fails or was closed.
+   */
+  private String readLine() throws IOException {
+    String line = in.readLine();
+    if (line == null) {
+      throw new IOException("Connection closed by peer");
+    }
+    return line;
+  }
+}
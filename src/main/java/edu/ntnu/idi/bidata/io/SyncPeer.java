@@ -0,0 +1,54 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.diary.EntryTombstone;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <h1>Sync Peer.</h1>
+ *
+ * <p>Another replica of a diary, as seen by a {@link DiarySynchronizer}. Gives access to the
+ * hash tree of the replica and to its entries and tombstones by time bucket, see
+ * {@link edu.ntnu.idi.bidata.diary.DiaryRegistry#getSyncHashes}.</p>
+ */
+public interface SyncPeer {
+
+  /**
+   * Returns the number of time buckets in the hash tree of the peer.
+   *
+   * @return The number of buckets.
+   * @throws IOException If the peer cannot be reached.
+   */
+  int bucketCount() throws IOException;
+
+  /**
+   * Returns the hashes of nodes in the hash tree of the peer.
+   *
+   * @param nodes The nodes.
+   * @return The hashes, in the same order as the nodes.
+   * @throws IOException If the peer cannot be reached.
+   */
+  long[] hashes(int[] nodes) throws IOException;
+
+  /**
+   * Returns the entries of the peer in the given time buckets. An entry that the peer sent but
+   * that cannot be read is left out and reported, and the other entries are still returned.
+   *
+   * @param buckets    The buckets.
+   * @param unreadable Receives the reason for each entry that could not be read.
+   * @return The entries that could be read.
+   * @throws IOException If the peer cannot be reached.
+   */
+  List<EntrySpec> entries(int[] buckets, Consumer<String> unreadable) throws IOException;
+
+  /**
+   * Returns the tombstones of the entries the peer has deleted in the given time buckets.
+   *
+   * @param buckets The buckets.
+   * @return The tombstones.
+   * @throws IOException If the peer cannot be reached.
+   */
+  List<EntryTombstone> tombstones(int[] buckets) throws IOException;
+}
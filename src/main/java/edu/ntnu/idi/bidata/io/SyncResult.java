@@ -0,0 +1,34 @@
+package edu.ntnu.idi.bidata.io;
+
+import java.util.List;
+
+/**
+ * <h1>Sync Result.</h1>
+ *
+ * <p>Outcome of pulling changes from another replica with {@link DiarySynchronizer}. Only the
+ * messages of the first rejected entries are kept, so a peer that sends many invalid entries does
+ * not fill the memory.</p>
+ *
+ * @param hashComparisons    The number of tree node hashes compared.
+ * @param differingBuckets   The number of time buckets whose hashes differed.
+ * @param entriesReceived    The number of entries received from the peer, including those that
+ *                           could not be read.
+ * @param tombstonesReceived The number of tombstones received from the peer.
+ * @param entriesAdded       The number of entries that were missing locally and were added.
+ * @param entriesUpdated     The number of local entries replaced by a newer revision.
+ * @param entriesDeleted     The number of local entries deleted by a newer tombstone.
+ * @param entriesRejected    The number of received entries that could not be read or were
+ *                           invalid.
+ * @param errors             The messages of the first rejected entries.
+ */
+public record SyncResult(int hashComparisons, int differingBuckets, int entriesReceived,
+    int tombstonesReceived, int entriesAdded, int entriesUpdated, int entriesDeleted,
+    int entriesRejected, List<String> errors) {
+
+  /**
+   * Constructs a sync result, keeping an unmodifiable copy of the error messages.
+   */
+  public SyncResult {
+    errors = List.copyOf(errors);
+  }
+}
@@ -0,0 +1,169 @@
+package edu.ntnu.idi.bidata.io;
+
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntryTombstone;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1>Sync Server.</h1>
+ *
+ * <p>Serves the hash tree and entries of a {@link DiaryRegistry} over a socket, so a replica in
+ * another process can pull from it with a {@link SocketSyncPeer}. Connections are served one at
+ * a time on a background thread.</p>
+ *
+ * <p>The protocol is line based and UTF-8 encoded. Each request is one line, and the server
+ * answers as follows:</p>
+ * <ul>
+ *   <li>{@code BUCKETS}: one line with the number of buckets</li>
+ *   <li>{@code HASHES n1 n2 ...}: one line with the hashes of the nodes, separated by
+ *   spaces</li>
+ *   <li>{@code ENTRIES b1 b2 ...}: the entries in the buckets as JSON Lines records with their
+ *   sync IDs and revisions, followed by a line with {@code END}</li>
+ *   <li>{@code TOMBSTONES b1 b2 ...}: one line per tombstone in the buckets with its sync ID,
+ *   revision and timestamp in epoch seconds, separated by spaces, followed by a line with
+ *   {@code END}</li>
+ * </ul>
+ *
+ * <p>Invalid requests are answered with a line starting with {@code ERROR}.</p>
+ */
+public final class SyncServer implements Closeable {
+
+  static final String BUCKETS = "BUCKETS";
+  static final String HASHES = "HASHES";
+  static final String ENTRIES = "ENTRIES";
+  static final String TOMBSTONES = "TOMBSTONES";
+  static final String END = "END";
+  static final String ERROR = "ERROR";
+
+  private final DiaryRegistry registry;
+  private final ServerSocket serverSocket;
+
+  /**
+   * Constructs a server for a registry on a bound server socket.
+   *
+   * @param registry     The registry to serve.
+   * @param serverSocket The server socket, bound to the address to listen on.
+   * @throws IllegalArgumentException If registry or serverSocket is null.
+   */
+  public SyncServer(DiaryRegistry registry, ServerSocket serverSocket) {
+    if (registry == null) {
+      throw new IllegalArgumentException("Diary registry cannot be null");
+    }
+    if (serverSocket == null) {
+      throw new IllegalArgumentException("Server socket cannot be null");
+    }
+    this.registry = registry;
+    this.serverSocket = serverSocket;
+  }
+
+  /**
+   * Starts accepting connections on a daemon thread. The thread stops when the server is
+   * closed.
+   */
+  public void start() {
+    Thread thread = new Thread(() -> {
+      while (!serverSocket.isClosed()) {
+        try (Socket socket = serverSocket.accept()) {
+          serve(socket);
+        } catch (SocketException e) {
+          // The server socket was closed, or the client went away.
+        } catch (IOException e) {
+          // Drop the connection and wait for the next one.
+        }
+      }
+    }, "diary-sync-server");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stops the server by closing the server socket.
+   *
+   * @throws IOException If closing the socket fails.
+   */
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+
+  /**
+   * Answers the requests of one connection until the client closes it.
+   *
+   * @param socket The connection.
+   * @throws IOException If reading or writing fails.
+   */
+  private void serve(Socket socket) throws IOException {
+    BufferedReader in = new BufferedReader(
+        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    Writer out = new BufferedWriter(
+        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    String request;
+    while ((request = in.readLine()) != null) {
+      String[] parts = request.trim().split(" ");
+      try {
+        switch (parts[0]) {
+          case BUCKETS -> out.write(registry.getSyncBucketCount() + "\n");
+          case HASHES -> {
+            long[] hashes = registry.getSyncHashes(parseNumbers(parts));
+            StringBuilder line = new StringBuilder();
+            for (long hash : hashes) {
+              if (!line.isEmpty()) {
+                line.append(' ');
+              }
+              line.append(hash);
+            }
+            out.write(line.append('\n').toString());
+          }
+          case ENTRIES -> {
+            for (DiaryEntry entry : registry.findEntriesInSyncBuckets(parseNumbers(parts))) {
+              EntryExporter.writeSyncRecord(out, entry);
+            }
+            out.write(END + "\n");
+          }
+          case TOMBSTONES -> {
+            for (EntryTombstone tombstone
+                : registry.findTombstonesInSyncBuckets(parseNumbers(parts))) {
+              out.write(tombstone.syncId() + " " + tombstone.revision() + " "
+                  + tombstone.epochSecond() + "\n");
+            }
+            out.write(END + "\n");
+          }
+          default -> out.write(ERROR + " Unknown request: " + parts[0] + "\n");
+        }
+      } catch (IllegalArgumentException e) {
+        out.write(ERROR + " " + e.getMessage() + "\n");
+      }
+      out.flush();
+    }
+  }
+
+  /**
+   * Parses the numbers after the request name.
+   *
+   * @param parts The request split on spaces.
+   * @return The numbers.
+   * @throws IllegalArgumentException If a part is not a number.
+   */
+  private static int[] parseNumbers(String[] parts) {
+    int[] numbers = new int[parts.length - 1];
+    for (int i = 1; i < parts.length; i++) {
+      try {
+        numbers[i - 1] = Integer.parseInt(parts[i]);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid number: " + parts[i]);
+      }
+    }
+    return numbers;
+  }
+}
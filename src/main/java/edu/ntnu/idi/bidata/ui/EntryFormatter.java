@@ -2,7 +2,9 @@ package edu.ntnu.idi.bidata.ui;
 
 import edu.ntnu.idi.bidata.diary.DiaryEntry;
 import edu.ntnu.idi.bidata.diary.GymEntry;
-import java.util.Map;
+import edu.ntnu.idi.bidata.diary.TemplateSchema;
+import edu.ntnu.idi.bidata.diary.Workout;
+import java.util.List;
 
 /**
  * <h1>Entry Formatter.</h1>
@@ -17,269 +19,338 @@ import java.util.Map;
  *   <li>Format and display gym entries with workout tables</li>
  *   <li>Handle text wrapping and alignment within bordered boxes</li>
  * </ul>
+ *
+ * <p>Entries are rendered into a {@link StringBuilder} and written to the console with a single
+ * call per entry, or per page of entries when printing a list. Borders and fixed table rows are
+ * built once, and text is wrapped by index with a {@link WordWrapper}. Rendered text is kept
+ * in a {@link RenderCache}, so showing an unchanged entry again does not render it again.</p>
  */
 public class EntryFormatter {
 
+  /**
+   * Number of entries rendered before the output is written when printing a list.
+   */
+  static final int PAGE_SIZE = 64;
+
+  private static final String NEWLINE = System.lineSeparator();
+  private static final int INNER_WIDTH = 70;
+  private static final int MAX_LINE_LENGTH = 68;
+  private static final int FIRST_NOTE_LINE_LENGTH = 61;
+  private static final int EXERCISE_WIDTH = 30;
+  private static final int REPS_WIDTH = 39;
+
+  private static final String SPACES = " ".repeat(INNER_WIDTH + 1);
+  private static final String TOP_BORDER = "┌" + "─".repeat(INNER_WIDTH) + "┐" + NEWLINE;
+  private static final String DIVIDER = "├" + "─".repeat(INNER_WIDTH) + "┤" + NEWLINE;
+  private static final String BOTTOM_BORDER = "└" + "─".repeat(INNER_WIDTH) + "┘" + NEWLINE;
+  private static final String EMPTY_CONTENT_LINE = "│ " + " ".repeat(MAX_LINE_LENGTH) + " │"
+      + NEWLINE;
+  private static final String TABLE_DIVIDER = "├" + "─".repeat(EXERCISE_WIDTH) + "┼"
+      + "─".repeat(REPS_WIDTH) + "┤" + NEWLINE;
+  private static final String TABLE_BOTTOM = "└" + "─".repeat(EXERCISE_WIDTH) + "┴"
+      + "─".repeat(REPS_WIDTH) + "┘" + NEWLINE;
+  private static final String TABLE_TITLE = "│" + padCenter("WORKOUT SUMMARY", INNER_WIDTH) + "│"
+      + NEWLINE + DIVIDER;
+  private static final String TABLE_HEADER = "│" + padCenter("Exercise", EXERCISE_WIDTH) + "│"
+      + padCenter("Repetitions and Weight", REPS_WIDTH) + "│" + NEWLINE + TABLE_DIVIDER;
+  private static final WordWrapper CONTENT_WRAPPER = new WordWrapper(MAX_LINE_LENGTH);
+  private static final WordWrapper NOTES_WRAPPER = new WordWrapper(MAX_LINE_LENGTH,
+      FIRST_NOTE_LINE_LENGTH);
+
+  private final RenderCache renderCache;
+
+  /**
+   * Constructs a new entry formatter with a render cache of the default capacity.
+   */
+  public EntryFormatter() {
+    this(new RenderCache());
+  }
+
+  /**
+   * Constructs a new entry formatter that keeps rendered text in the given cache.
+   *
+   * @param renderCache The render cache.
+   * @throws IllegalArgumentException If renderCache is null.
+   */
+  public EntryFormatter(RenderCache renderCache) {
+    if (renderCache == null) {
+      throw new IllegalArgumentException("Render cache cannot be null");
+    }
+    this.renderCache = renderCache;
+  }
+
   /**
    * Prints a diary entry with appropriate formatting.
    *
    * @param entry The entry to print.
    */
   public void printEntry(DiaryEntry entry) {
+    System.out.print(format(entry));
+  }
+
+  /**
+   * Prints a list of entries, each followed by an empty line. The output is written once per
+   * page of entries instead of once per line.
+   *
+   * @param entries The entries to print.
+   */
+  public void printEntries(List<DiaryEntry> entries) {
+    StringBuilder page = new StringBuilder();
+    int rendered = 0;
+    for (DiaryEntry entry : entries) {
+      page.append(format(entry)).append(NEWLINE);
+      rendered++;
+      if (rendered % PAGE_SIZE == 0) {
+        System.out.print(page);
+        page.setLength(0);
+      }
+    }
+    if (!page.isEmpty()) {
+      System.out.print(page);
+    }
+  }
+
+  /**
+   * Formats a diary entry as text, with a line separator after every line. Returns the cached
+   * text if the entry has not changed since it was last formatted.
+   *
+   * @param entry The entry to format.
+   * @return The formatted entry.
+   */
+  public String format(DiaryEntry entry) {
+    return renderCache.get(entry, this::renderText);
+  }
+
+  /**
+   * Renders a diary entry as text, without using the cache.
+   *
+   * @param entry The entry to render.
+   * @return The rendered entry.
+   */
+  private String renderText(DiaryEntry entry) {
+    StringBuilder out = new StringBuilder(1024);
+    render(entry, out);
+    return out.toString();
+  }
+
+  /**
+   * Renders a diary entry into a builder, with a line separator after every line. The render
+   * cache is not used.
+   *
+   * @param entry The entry to render.
+   * @param out   The builder to append to.
+   */
+  public void render(DiaryEntry entry, StringBuilder out) {
     if (entry instanceof GymEntry) {
-      printGymEntry((GymEntry) entry);
+      renderGymEntry((GymEntry) entry, out);
     } else {
-      printStandardEntry(entry);
+      renderStandardEntry(entry, out);
     }
   }
 
   /**
-   * Prints a standard or fishing entry with basic formatting.
+   * Renders a standard or fishing entry with basic formatting.
    *
-   * @param entry The entry to print.
+   * @param entry The entry to render.
+   * @param out   The builder to append to.
    */
-  private void printStandardEntry(DiaryEntry entry) {
-    printHeader(entry);
-
-    Map<String, String> templateFields = entry.getTemplateFields();
-    if (!templateFields.isEmpty()) {
-      System.out.println("├" + "─".repeat(70) + "┤");
-      for (Map.Entry<String, String> field : templateFields.entrySet()) {
-        String fieldLine = "│ " + field.getKey() + ": " + field.getValue();
-        System.out.println(fieldLine + " ".repeat(71 - fieldLine.length()) + "│");
+  private void renderStandardEntry(DiaryEntry entry, StringBuilder out) {
+    renderHeader(entry, out);
+
+    TemplateSchema schema = entry.getTemplateSchema();
+    if (schema.size() > 0) {
+      out.append(DIVIDER);
+      for (int i = 0; i < schema.size(); i++) {
+        int start = out.length();
+        out.append("│ ").append(schema.getFieldName(i)).append(": ")
+            .append(entry.getTemplateFieldValue(i));
+        endBoxLine(out, start);
       }
     }
 
-    System.out.println("├" + "─".repeat(70) + "┤");
-    printWrappedContent(entry.getContent());
-    System.out.println("└" + "─".repeat(70) + "┘");
+    out.append(DIVIDER);
+    renderWrappedContent(entry.getContent(), out);
+    out.append(BOTTOM_BORDER);
   }
 
   /**
-   * Prints the header section of an entry.
+   * Renders the header section of an entry.
    *
    * @param entry The entry.
+   * @param out   The builder to append to.
    */
-  private void printHeader(DiaryEntry entry) {
-    System.out.println("┌" + "─".repeat(70) + "┐");
-
-    String line1 = "│ ID: " + entry.getId()
-        + " │ Type: " + entry.getEntryType()
-        + " │ Category: " + entry.getCategory();
-    System.out.println(line1 + " ".repeat(71 - line1.length()) + "│");
-
-    String line2 = "│ Title: " + entry.getTitle();
-    System.out.println(line2 + " ".repeat(71 - line2.length()) + "│");
+  private void renderHeader(DiaryEntry entry, StringBuilder out) {
+    out.append(TOP_BORDER);
+
+    int start = out.length();
+    out.append("│ ID: ").append(entry.getId())
+        .append(" │ Type: ").append(entry.getEntryType())
+        .append(" │ Category: ").append(entry.getCategory());
+    endBoxLine(out, start);
+
+    start = out.length();
+    out.append("│ Title: ").append(entry.getTitle());
+    endBoxLine(out, start);
+
+    start = out.length();
+    out.append("│ Author: ").append(entry.getAuthor().name())
+        .append(" │ Date: ").append(entry.getFormattedTimestamp());
+    endBoxLine(out, start);
+  }
 
-    String line3 = "│ Author: " + entry.getAuthor().name()
-        + " │ Date: " + entry.getFormattedTimestamp();
-    System.out.println(line3 + " ".repeat(71 - line3.length()) + "│");
+  /**
+   * Pads the line that starts at the given position to the inner width and closes it with the
+   * right border.
+   *
+   * @param out   The builder holding the line.
+   * @param start The position where the line starts.
+   */
+  private static void endBoxLine(StringBuilder out, int start) {
+    appendSpaces(out, INNER_WIDTH + 1 - (out.length() - start));
+    out.append("│").append(NEWLINE);
   }
 
   /**
-   * Prints content with word wrapping.
+   * Renders content with word wrapping.
    *
-   * @param content The content to print.
+   * @param content The content to render.
+   * @param out     The builder to append to.
    */
-  private void printWrappedContent(String content) {
+  private void renderWrappedContent(String content, StringBuilder out) {
     if (content == null || content.trim().isEmpty()) {
-      String line = "│ " + " ".repeat(68) + " │";
-      System.out.println(line);
+      out.append(EMPTY_CONTENT_LINE);
       return;
     }
 
-    String[] words = content.split(" ");
-    StringBuilder line = new StringBuilder("│ ");
-    int maxLineLength = 68;
-
-    for (String word : words) {
-      while (word.length() > maxLineLength) {
-        if (line.length() > 2) {
-          while (line.length() < maxLineLength + 2) {
-            line.append(" ");
-          }
-          line.append(" │");
-          System.out.println(line);
-          line = new StringBuilder("│ ");
-        }
-
-        String part = word.substring(0, maxLineLength);
-        line.append(part);
-        while (line.length() < maxLineLength + 2) {
-          line.append(" ");
-        }
-        line.append(" │");
-        System.out.println(line);
-        line = new StringBuilder("│ ");
-
-        word = word.substring(maxLineLength);
-      }
-
-      if (line.length() + word.length() + 1 > maxLineLength + 2) {
-        while (line.length() < maxLineLength + 2) {
-          line.append(" ");
-        }
-        line.append(" │");
-        System.out.println(line);
-        line = new StringBuilder("│ " + word + " ");
-      } else {
-        line.append(word).append(" ");
-      }
-    }
-
-    if (line.length() > 2) {
-      while (line.length() < maxLineLength + 2) {
-        line.append(" ");
-      }
-      line.append(" │");
-      System.out.println(line);
-    }
+    CONTENT_WRAPPER.wrapKeepingSpaces(content, (line, start, end) -> {
+      int textEnd = Math.min(end, content.length());
+      out.append("│ ").append(content, start, textEnd);
+      appendSpaces(out, Math.max(MAX_LINE_LENGTH, end - start) - (textEnd - start));
+      out.append(" │").append(NEWLINE);
+    });
   }
 
   /**
-   * Prints a gym entry with table formatting.
+   * Renders a gym entry with table formatting.
    *
-   * @param entry The gym entry to print.
+   * @param entry The gym entry to render.
+   * @param out   The builder to append to.
    */
-  private void printGymEntry(GymEntry entry) {
-    printHeader(entry);
-    System.out.println("├" + "─".repeat(70) + "┤");
+  private void renderGymEntry(GymEntry entry, StringBuilder out) {
+    renderHeader(entry, out);
+    out.append(DIVIDER);
 
     String content = entry.getContent();
     if (!content.isEmpty()) {
-      printGymNotes(content);
+      renderGymNotes(content, out);
     }
 
-    printWorkoutTable(entry);
+    renderWorkoutTable(entry, out);
   }
 
   /**
-   * Prints the notes section of a gym entry. Based on code generated by AI, adapted to work with
+   * Renders the notes section of a gym entry. Based on code generated by AI, adapted to work with
    * the application.
    *
    * @param content The notes content.
+   * @param out     The builder to append to.
    */
-  private void printGymNotes(String content) {
+  private void renderGymNotes(String content, StringBuilder out) {
     if (content == null || content.trim().isEmpty()) {
       return;
     }
 
-    int maxLineLength = 68;
-    int firstLineMaxContent = 61;
-    String[] words = content.split(" ");
-    StringBuilder line = new StringBuilder();
-    boolean isFirstLine = true;
-
-    for (String word : words) {
-      int currentMaxContent = isFirstLine ? firstLineMaxContent : maxLineLength;
-
-      while (word.length() > currentMaxContent) {
-        if (!line.isEmpty()) {
-          printNoteLine(line.toString(), isFirstLine, maxLineLength, firstLineMaxContent);
-          line = new StringBuilder();
-          isFirstLine = false;
-          currentMaxContent = maxLineLength;
-        }
-
-        String part = word.substring(0, currentMaxContent);
-        printNoteLine(part, isFirstLine, maxLineLength, firstLineMaxContent);
-        isFirstLine = false;
-        word = word.substring(currentMaxContent);
-        currentMaxContent = maxLineLength;
+    NOTES_WRAPPER.wrap(content, (line, start, end) -> {
+      if (line == 0) {
+        out.append("│ Notes: ").append(content, start, end);
+        appendSpaces(out, FIRST_NOTE_LINE_LENGTH - (end - start));
+      } else {
+        out.append("│ ").append(content, start, end);
+        appendSpaces(out, MAX_LINE_LENGTH - (end - start));
       }
+      out.append(" │").append(NEWLINE);
+    });
+  }
 
-      int neededSpace = !line.isEmpty() ? line.length() + 1 + word.length() : word.length();
+  /**
+   * Renders the workout table for a gym entry. Based on code generated by AI, adapted to work
+   * with the application.
+   *
+   * @param entry The gym entry.
+   * @param out   The builder to append to.
+   */
+  private void renderWorkoutTable(GymEntry entry, StringBuilder out) {
+    out.append(TABLE_TITLE).append(TABLE_HEADER);
+
+    Workout workout = entry.getWorkout();
+    int exerciseCount = workout.getExerciseCount();
+    for (int i = 0; i < exerciseCount; i++) {
+      int setCount = workout.getSetCount(i);
+      if (setCount == 0) {
+        appendExerciseCell(workout.getExerciseName(i), out);
+        appendPadded("N/A", REPS_WIDTH - 2, out);
+        out.append(" │").append(NEWLINE);
+      }
 
-      if (neededSpace > currentMaxContent) {
-        printNoteLine(line.toString(), isFirstLine, maxLineLength, firstLineMaxContent);
-        line = new StringBuilder(word);
-        isFirstLine = false;
-      } else {
-        if (!line.isEmpty()) {
-          line.append(" ");
+      for (int j = 0; j < setCount; j++) {
+        appendExerciseCell(j == 0 ? workout.getExerciseName(i) : "", out);
+        int start = out.length();
+        workout.appendSet(out, i, j);
+        int length = out.length() - start;
+        if (length > REPS_WIDTH - 2) {
+          out.setLength(start + REPS_WIDTH - 2);
+        } else {
+          appendSpaces(out, REPS_WIDTH - 2 - length);
         }
-        line.append(word);
+        out.append(" │").append(NEWLINE);
       }
-    }
 
-    if (!line.isEmpty()) {
-      printNoteLine(line.toString(), isFirstLine, maxLineLength, firstLineMaxContent);
+      if (i < exerciseCount - 1) {
+        out.append(TABLE_DIVIDER);
+      }
     }
+
+    out.append(TABLE_BOTTOM);
   }
 
   /**
-   * Helper method to print a single line of notes with proper formatting.
+   * Renders the start of a row of the workout table, up to the repetitions column.
    *
-   * @param text                The text to print on this line.
-   * @param isFirstLine         Whether this is the first line (with "Notes: " prefix).
-   * @param maxLineLength       Maximum content length for non-first lines.
-   * @param firstLineMaxContent Maximum content length for first line.
+   * @param exercise The text of the exercise column.
+   * @param out      The builder to append to.
    */
-  private void printNoteLine(String text, boolean isFirstLine, int maxLineLength,
-      int firstLineMaxContent) {
-    if (isFirstLine) {
-      System.out.print("│ Notes: ");
-      int padding = firstLineMaxContent - text.length();
-      System.out.println(text + " ".repeat(Math.max(0, padding)) + " │");
-    } else {
-      System.out.print("│ ");
-      int padding = maxLineLength - text.length();
-      System.out.println(text + " ".repeat(Math.max(0, padding)) + " │");
-    }
+  private static void appendExerciseCell(String exercise, StringBuilder out) {
+    out.append("│ ");
+    appendPadded(exercise, EXERCISE_WIDTH - 2, out);
+    out.append(" │ ");
   }
 
   /**
-   * Prints the workout table for a gym entry. Based on code generated by AI, adapted to work with
-   * the application.
+   * Appends a string padded on the right with spaces, or cut off at the given length.
    *
-   * @param entry The gym entry.
+   * @param str    The string to append.
+   * @param length The total length.
+   * @param out    The builder to append to.
    */
-  private void printWorkoutTable(GymEntry entry) {
-    System.out.println("│" + padCenter("WORKOUT SUMMARY", 70) + "│");
-    System.out.println("├" + "─".repeat(70) + "┤");
-    System.out.println(
-        "│" + padCenter("Exercise", 30) + "│"
-            + padCenter("Repetitions and Weight", 39) + "│");
-
-    System.out.println("├" + "─".repeat(30) + "┼" + "─".repeat(39) + "┤");
-
-    String[] exercises = entry.getExercises().split(",");
-    String[] repsData = entry.getReps().split(",");
-
-    for (int i = 0; i < exercises.length; i++) {
-      String exercise = exercises[i].trim();
-      String repsInfo = i < repsData.length ? repsData[i].trim() : "N/A";
-
-      String[] sets = repsInfo.split(";");
-
-      System.out.println("│ " + padRight(exercise, 28)
-          + " │ " + padRight(sets[0], 37) + " │");
-
-      for (int j = 1; j < sets.length; j++) {
-        System.out.println("│ " + padRight("", 28) + " │ "
-            + padRight(sets[j].trim(), 37) + " │");
-      }
-
-      if (i < exercises.length - 1) {
-        System.out.println("├" + "─".repeat(30) + "┼" + "─".repeat(39) + "┤");
-      }
+  private static void appendPadded(String str, int length, StringBuilder out) {
+    if (str.length() >= length) {
+      out.append(str, 0, length);
+    } else {
+      out.append(str);
+      appendSpaces(out, length - str.length());
     }
-
-    System.out.println("└" + "─".repeat(30) + "┴" + "─".repeat(39) + "┘");
   }
 
   /**
-   * Pads a string to the right with spaces.
+   * Appends spaces. Does nothing if the count is not positive.
    *
-   * @param str    The string to pad.
-   * @param length The total length.
-   * @return The padded string.
+   * @param out   The builder to append to.
+   * @param count The number of spaces.
    */
-  private String padRight(String str, int length) {
-    if (str.length() >= length) {
-      return str.substring(0, length);
+  private static void appendSpaces(StringBuilder out, int count) {
+    if (count > 0) {
+      out.append(SPACES, 0, count);
     }
-    return str + " ".repeat(length - str.length());
   }
 
   /**
@@ -289,7 +360,7 @@ public class EntryFormatter {
    * @param length The total length.
    * @return The centered string.
    */
-  private String padCenter(String str, int length) {
+  private static String padCenter(String str, int length) {
     if (str.length() >= length) {
       return str.substring(0, length);
     }
@@ -297,4 +368,4 @@ public class EntryFormatter {
     int rightPad = length - str.length() - leftPad;
     return " ".repeat(leftPad) + str + " ".repeat(rightPad);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+package edu.ntnu.idi.bidata.ui;
+
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h1>Parallel Renderer.</h1>
+ *
+ * <p>Renders large lists of diary entries with an {@link EntryFormatter} on several threads.
+ * Entries are split into chunks, each chunk is rendered into its own buffer on a shared pool of
+ * renderer threads, and the buffers are written out in the original order. At most a fixed
+ * number of chunks is rendered ahead of the writer, so the memory used does not grow with the
+ * size of the result set.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Render chunks of entries in parallel</li>
+ *   <li>Write the rendered chunks in the order of the entries</li>
+ *   <li>Bound the number of rendered chunks waiting to be written</li>
+ *   <li>Print small lists directly, where parallel rendering does not pay off</li>
+ * </ul>
+ *
+ * <p>Each entry is followed by an empty line, as in {@link EntryFormatter#printEntries}. Chunks
+ * are rendered without the render cache, so the threads do not contend for it.</p>
+ */
+public final class ParallelRenderer {
+
+  /**
+   * Number of entries rendered together by one task when no chunk size is given.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 256;
+
+  private static final String NEWLINE = System.lineSeparator();
+  private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+  private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+  private static final ExecutorService RENDERERS = Executors.newFixedThreadPool(THREAD_COUNT,
+      task -> {
+        Thread thread = new Thread(task, "entry-renderer-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private final EntryFormatter formatter;
+  private final int chunkSize;
+  private final int maxChunksInFlight;
+
+  /**
+   * Constructs a new renderer with the default chunk size, keeping up to two chunks per thread
+   * in flight.
+   *
+   * @param formatter The formatter that renders each entry.
+   * @throws IllegalArgumentException If formatter is null.
+   */
+  public ParallelRenderer(EntryFormatter formatter) {
+    this(formatter, DEFAULT_CHUNK_SIZE, 2 * THREAD_COUNT);
+  }
+
+  /**
+   * Constructs a new renderer.
+   *
+   * @param formatter         The formatter that renders each entry.
+   * @param chunkSize         The number of entries rendered together by one task.
+   * @param maxChunksInFlight The maximum number of chunks rendered ahead of the writer.
+   * @throws IllegalArgumentException If formatter is null, or if chunkSize or maxChunksInFlight
+   *                                  is not positive.
+   */
+  public ParallelRenderer(EntryFormatter formatter, int chunkSize, int maxChunksInFlight) {
+    if (formatter == null) {
+      throw new IllegalArgumentException("Entry formatter cannot be null");
+    }
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be a positive number");
+    }
+    if (maxChunksInFlight <= 0) {
+      throw new IllegalArgumentException("Chunks in flight must be a positive number");
+    }
+    this.formatter = formatter;
+    this.chunkSize = chunkSize;
+    this.maxChunksInFlight = maxChunksInFlight;
+  }
+
+  /**
+   * Prints a list of entries to the console, each followed by an empty line. Lists that fit in
+   * one chunk are printed by the formatter directly.
+   *
+   * @param entries The entries to print.
+   */
+  public void print(List<DiaryEntry> entries) {
+    if (entries.size() <= chunkSize) {
+      formatter.printEntries(entries);
+      return;
+    }
+    try {
+      render(entries, System.out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Renders entries in parallel and writes them in order, each followed by an empty line.
+   *
+   * @param entries The entries to render.
+   * @param out     Where to write the rendered entries. Only the calling thread writes to it.
+   * @return The number of entries written.
+   * @throws IOException              If writing fails, or if the calling thread is interrupted.
+   * @throws IllegalArgumentException If entries or out is null.
+   */
+  public long render(Iterable<? extends DiaryEntry> entries, Appendable out) throws IOException {
+    if (entries == null) {
+      throw new IllegalArgumentException("Entries cannot be null");
+    }
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+
+    ArrayDeque<Future<RenderedChunk>> pending = new ArrayDeque<>(maxChunksInFlight);
+    long written = 0;
+    try {
+      List<DiaryEntry> chunk = new ArrayList<>(chunkSize);
+      for (DiaryEntry entry : entries) {
+        chunk.add(entry);
+        if (chunk.size() == chunkSize) {
+          written += submit(chunk, pending, out);
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+      if (!chunk.isEmpty()) {
+        written += submit(chunk, pending, out);
+      }
+      while (!pending.isEmpty()) {
+        written += writeNext(pending, out);
+      }
+      return written;
+    } finally {
+      for (Future<RenderedChunk> future : pending) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Submits a chunk for rendering, first writing the oldest chunk if the maximum number of
+   * chunks is already in flight.
+   *
+   * @param chunk   The entries of the chunk.
+   * @param pending The chunks in flight, oldest first.
+   * @param out     Where to write rendered chunks.
+   * @return The number of entries written.
+   * @throws IOException If writing fails, or if the calling thread is interrupted.
+   */
+  private long submit(List<DiaryEntry> chunk, ArrayDeque<Future<RenderedChunk>> pending,
+      Appendable out) throws IOException {
+    long written = 0;
+    if (pending.size() == maxChunksInFlight) {
+      written = writeNext(pending, out);
+    }
+    pending.addLast(RENDERERS.submit(() -> renderChunk(chunk)));
+    return written;
+  }
+
+  /**
+   * Waits for the oldest chunk in flight to be rendered and writes it.
+   *
+   * @param pending The chunks in flight, oldest first.
+   * @param out     Where to write the chunk.
+   * @return The number of entries written.
+   * @throws IOException If writing fails, or if the calling thread is interrupted.
+   */
+  private long writeNext(ArrayDeque<Future<RenderedChunk>> pending, Appendable out)
+      throws IOException {
+    RenderedChunk chunk;
+    try {
+      chunk = pending.removeFirst().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while rendering entries");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Rendering entries failed", e.getCause());
+    }
+    out.append(chunk.text());
+    return chunk.entryCount();
+  }
+
+  /**
+   * Renders the entries of a chunk into one buffer.
+   *
+   * @param chunk The entries.
+   * @return The rendered chunk.
+   */
+  private RenderedChunk renderChunk(List<DiaryEntry> chunk) {
+    StringBuilder text = new StringBuilder(chunk.size() * 1024);
+    for (DiaryEntry entry : chunk) {
+      formatter.render(entry, text);
+      text.append(NEWLINE);
+    }
+    return new RenderedChunk(chunk.size(), text);
+  }
+
+  /**
+   * Rendered text of a chunk of entries.
+   *
+   * @param entryCount The number of entries in the chunk.
+   * @param text       The rendered text.
+   */
+  private record RenderedChunk(int entryCount, StringBuilder text) {
+  }
+}
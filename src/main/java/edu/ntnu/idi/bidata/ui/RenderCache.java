@@ -0,0 +1,130 @@
+package edu.ntnu.idi.bidata.ui;
+
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <h1>Render Cache.</h1>
+ *
+ * <p>Bounded cache of the rendered text of diary entries. Each cached text is stored with the
+ * entry it was rendered from and the modification version of the entry at that time, see
+ * {@link DiaryEntry#getVersion()}. A cached text is only returned for the same entry at the same
+ * version, so an edited entry is rendered again the next time it is shown.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Return the cached text of an unchanged entry without rendering it again</li>
+ *   <li>Render and cache entries that are new or have changed</li>
+ *   <li>Evict the least recently shown entries when the cache is full</li>
+ * </ul>
+ *
+ * <p>The cache is thread-safe.</p>
+ */
+public final class RenderCache {
+
+  /**
+   * Number of entries kept when no capacity is given.
+   */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final Map<Integer, Rendered> texts;
+  private long hits;
+  private long misses;
+
+  /**
+   * Constructs a new cache with the default capacity.
+   */
+  public RenderCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a new cache.
+   *
+   * @param capacity The maximum number of entries to keep.
+   * @throws IllegalArgumentException If capacity is not positive.
+   */
+  public RenderCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be a positive number");
+    }
+    this.texts = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Rendered> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Returns the rendered text of an entry, rendering and caching it if the cache has no text for
+   * the current version of the entry.
+   *
+   * @param entry    The entry.
+   * @param renderer The function that renders an entry.
+   * @return The rendered text.
+   */
+  public String get(DiaryEntry entry, Function<DiaryEntry, String> renderer) {
+    int version = entry.getVersion();
+    synchronized (this) {
+      Rendered cached = texts.get(entry.getId());
+      if (cached != null && cached.entry() == entry && cached.version() == version) {
+        hits++;
+        return cached.text();
+      }
+      misses++;
+    }
+
+    String text = renderer.apply(entry);
+    synchronized (this) {
+      texts.put(entry.getId(), new Rendered(entry, version, text));
+    }
+    return text;
+  }
+
+  /**
+   * Removes all cached texts.
+   */
+  public synchronized void clear() {
+    texts.clear();
+  }
+
+  /**
+   * Returns the number of cached texts.
+   *
+   * @return The number of cached texts.
+   */
+  public synchronized int size() {
+    return texts.size();
+  }
+
+  /**
+   * Returns the number of lookups that found a cached text.
+   *
+   * @return The number of hits.
+   */
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that had to render the entry.
+   *
+   * @return The number of misses.
+   */
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+   * Text rendered from an entry at a given version.
+   *
+   * @param entry   The entry the text was rendered from.
+   * @param version The version of the entry when it was rendered.
+   * @param text    The rendered text.
+   */
+  private record Rendered(DiaryEntry entry, int version, String text) {
+  }
+}
@@ -8,6 +8,7 @@ import edu.ntnu.idi.bidata.diary.FishingEntry;
 import edu.ntnu.idi.bidata.diary.GymEntry;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
 
@@ -32,6 +33,7 @@ public class UserInterface {
   private AuthorRegistry authorRegistry;
   private InputReader inputReader;
   private EntryFormatter entryFormatter;
+  private ParallelRenderer entryRenderer;
   private boolean running;
 
   /**
@@ -42,6 +44,7 @@ public class UserInterface {
     authorRegistry = new AuthorRegistry();
     inputReader = new InputReader(new Scanner(System.in));
     entryFormatter = new EntryFormatter();
+    entryRenderer = new ParallelRenderer(entryFormatter);
     running = true;
 
     addSampleData();
@@ -277,7 +280,7 @@ public class UserInterface {
   private Author selectOrCreateAuthor() {
     System.out.println("\nSelect Author");
 
-    List<Author> authors = authorRegistry.getAllAuthors();
+    List<Author> authors = authorRegistry.getAuthorsSortedByName();
     if (!authors.isEmpty()) {
       System.out.println("Existing authors:");
       for (Author author : authors) {
@@ -337,11 +340,7 @@ public class UserInterface {
     }
 
     System.out.println();
-
-    for (DiaryEntry entry : entries) {
-      entryFormatter.printEntry(entry);
-      System.out.println();
-    }
+    entryRenderer.print(entries);
   }
 
   /**
@@ -460,10 +459,8 @@ public class UserInterface {
       return;
     }
 
-    List<DiaryEntry> entries = diaryRegistry.getAllEntriesSortedDescending()
-        .stream()
-        .filter(entry -> entry.getAuthor().id() == author.id())
-        .toList();
+    List<DiaryEntry> entries = diaryRegistry.findEntriesByAuthor(author);
+    entries.sort(Comparator.comparingLong(DiaryEntry::getEpochSecond).reversed());
 
     System.out.println("\nEntries by " + author.name() + ":");
     displaySearchResults(entries);
@@ -511,10 +508,7 @@ public class UserInterface {
     if (entries.isEmpty()) {
       System.out.println("No entries found.");
     } else {
-      for (DiaryEntry entry : entries) {
-        entryFormatter.printEntry(entry);
-        System.out.println();
-      }
+      entryRenderer.print(entries);
     }
   }
 
@@ -743,7 +737,7 @@ public class UserInterface {
    * Displays all authors.
    */
   private void viewAllAuthors() {
-    List<Author> authors = authorRegistry.getAllAuthors();
+    List<Author> authors = authorRegistry.getAuthorsSortedByName();
 
     if (authors.isEmpty()) {
       System.out.println("No authors found.");
@@ -789,7 +783,36 @@ public class UserInterface {
 
     System.out.println("Delete author: " + author);
 
+    int entryCount = diaryRegistry.countEntriesByAuthor(author);
+    Author newAuthor = null;
+    if (entryCount > 0) {
+      System.out.println("The author has " + entryCount + " entries.");
+      System.out.println("1. Delete the entries");
+      System.out.println("2. Move the entries to another author");
+      System.out.println("0. Cancel");
+
+      int choice = inputReader.readInt("\nEnter your choice: ");
+      if (choice == 2) {
+        newAuthor = authorRegistry.findAuthorById(
+            inputReader.readInt("Enter ID of the author to move the entries to: "));
+        if (newAuthor == null || newAuthor.id() == author.id()) {
+          System.out.println("Invalid author. Deletion cancelled.");
+          return;
+        }
+      } else if (choice != 1) {
+        System.out.println("Deletion cancelled.");
+        return;
+      }
+    }
+
     if (inputReader.readConfirmation("Confirm deletion (y/n): ")) {
+      if (newAuthor != null) {
+        int moved = diaryRegistry.reassignEntriesByAuthor(author, newAuthor);
+        System.out.println(moved + " entries moved to " + newAuthor.name());
+      } else if (entryCount > 0) {
+        int deleted = diaryRegistry.deleteEntriesByAuthor(author);
+        System.out.println(deleted + " entries deleted");
+      }
       if (authorRegistry.deleteAuthorById(id)) {
         System.out.println("Author deleted");
       } else {
@@ -831,17 +854,15 @@ public class UserInterface {
     System.out.println("Total authors: " + authorRegistry.getAllAuthors().size());
 
     System.out.println("\nEntries per Author:");
-    for (Author author : authorRegistry.getAllAuthors()) {
-      long count = diaryRegistry.getAllEntriesSortedDescending().stream()
-          .filter(entry -> entry.getAuthor().id() == author.id())
-          .count();
+    for (Author author : authorRegistry.getAuthorsSortedByName()) {
+      int count = diaryRegistry.countEntriesByAuthor(author);
       System.out.println(author.name() + ": " + count + " entries");
     }
 
     System.out.println("\nEntries per Type:");
-    long standardCount = diaryRegistry.findEntriesByType("Standard").size();
-    long fishingCount = diaryRegistry.findEntriesByType("Fishing").size();
-    long gymCount = diaryRegistry.findEntriesByType("Gym").size();
+    int standardCount = diaryRegistry.countEntriesByType("Standard");
+    int fishingCount = diaryRegistry.countEntriesByType("Fishing");
+    int gymCount = diaryRegistry.countEntriesByType("Gym");
 
     System.out.println("Standard entries: " + standardCount);
     System.out.println("Fishing entries: " + fishingCount);
@@ -0,0 +1,213 @@
+package edu.ntnu.idi.bidata.ui;
+
+/**
+ * <h1>Word Wrapper.</h1>
+ *
+ * <p>Breaks text into lines of at most a given width, on spaces. The text is scanned by index and
+ * each line is reported as a range of the text, so no substrings or line buffers are created.
+ * Words longer than a line are cut into pieces of the line width, starting on a new line. The
+ * first line may have its own width, for text that follows a label on the same line.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Report the lines of a text as index ranges, in order</li>
+ *   <li>Cut words that do not fit on a line</li>
+ *   <li>Use a separate width for the first line</li>
+ * </ul>
+ *
+ * <p>Words are separated by single spaces. Two spaces in a row enclose an empty word, and spaces
+ * at the end of the text are ignored. A wrapper has no state between calls and may be shared
+ * between threads.</p>
+ */
+public final class WordWrapper {
+
+  /**
+   * Receives the lines of a wrapped text.
+   */
+  @FunctionalInterface
+  public interface LineSink {
+
+    /**
+     * Receives one line.
+     *
+     * @param line  The number of the line, starting at 0.
+     * @param start The index of the first character of the line.
+     * @param end   The index after the last character of the line.
+     */
+    void line(int line, int start, int end);
+  }
+
+  private final int width;
+  private final int firstLineWidth;
+
+  /**
+   * Constructs a new word wrapper where all lines have the same width.
+   *
+   * @param width The maximum width of a line.
+   * @throws IllegalArgumentException If width is not positive.
+   */
+  public WordWrapper(int width) {
+    this(width, width);
+  }
+
+  /**
+   * Constructs a new word wrapper.
+   *
+   * @param width          The maximum width of every line after the first.
+   * @param firstLineWidth The maximum width of the first line.
+   * @throws IllegalArgumentException If width or firstLineWidth is not positive.
+   */
+  public WordWrapper(int width, int firstLineWidth) {
+    if (width <= 0 || firstLineWidth <= 0) {
+      throw new IllegalArgumentException("Line width must be a positive number");
+    }
+    this.width = width;
+    this.firstLineWidth = firstLineWidth;
+  }
+
+  /**
+   * Wraps a text into lines of words joined by single spaces.
+   *
+   * @param text The text to wrap.
+   * @param sink The receiver of the lines.
+   * @return The number of lines.
+   */
+  public int wrap(CharSequence text, LineSink sink) {
+    int textEnd = trimmedEnd(text);
+    int lines = 0;
+    int lineStart = 0;
+    int lineEnd = 0;
+    int position = 0;
+
+    while (position <= textEnd) {
+      int wordStart = position;
+      int wordEnd = nextSpace(text, position, textEnd);
+      position = wordEnd + 1;
+      int limit = lineWidth(lines);
+
+      while (wordEnd - wordStart > limit) {
+        if (lineEnd > lineStart) {
+          sink.line(lines++, lineStart, lineEnd);
+          lineEnd = lineStart;
+          limit = lineWidth(lines);
+          continue;
+        }
+        sink.line(lines++, wordStart, wordStart + limit);
+        wordStart += limit;
+        limit = lineWidth(lines);
+      }
+
+      int needed = lineEnd > lineStart
+          ? lineEnd - lineStart + 1 + wordEnd - wordStart
+          : wordEnd - wordStart;
+      if (needed > limit) {
+        sink.line(lines++, lineStart, lineEnd);
+        lineStart = wordStart;
+      } else if (lineEnd == lineStart) {
+        lineStart = wordStart;
+      }
+      lineEnd = wordEnd;
+    }
+
+    if (lineEnd > lineStart) {
+      sink.line(lines++, lineStart, lineEnd);
+    }
+    return lines;
+  }
+
+  /**
+   * Wraps a text into lines where every word keeps the space that follows it, so a line ends
+   * with a space. The text is treated as followed by a space, so the last line may end one
+   * index past the end of the text. A word that exactly fills a line is put on a line of its own
+   * that is one longer than the width, after an empty line if the current line was empty.
+   *
+   * <p>This is how the content of an entry has always been wrapped, and the rendering depends
+   * on it.</p>
+   *
+   * @param text The text to wrap.
+   * @param sink The receiver of the lines.
+   * @return The number of lines.
+   */
+  public int wrapKeepingSpaces(CharSequence text, LineSink sink) {
+    int textEnd = trimmedEnd(text);
+    int lines = 0;
+    int lineStart = 0;
+    int lineLength = 0;
+    int position = 0;
+
+    while (position <= textEnd) {
+      int wordStart = position;
+      int wordEnd = nextSpace(text, position, textEnd);
+      position = wordEnd + 1;
+      int limit = lineWidth(lines);
+
+      while (wordEnd - wordStart > limit) {
+        if (lineLength > 0) {
+          sink.line(lines++, lineStart, lineStart + lineLength);
+          lineLength = 0;
+          limit = lineWidth(lines);
+          continue;
+        }
+        sink.line(lines++, wordStart, wordStart + limit);
+        wordStart += limit;
+        limit = lineWidth(lines);
+      }
+
+      if (lineLength + wordEnd - wordStart + 1 > limit) {
+        sink.line(lines++, lineStart, lineStart + lineLength);
+        lineStart = wordStart;
+        lineLength = wordEnd - wordStart + 1;
+      } else {
+        if (lineLength == 0) {
+          lineStart = wordStart;
+        }
+        lineLength += wordEnd - wordStart + 1;
+      }
+    }
+
+    if (lineLength > 0) {
+      sink.line(lines++, lineStart, lineStart + lineLength);
+    }
+    return lines;
+  }
+
+  /**
+   * Returns the width of a line.
+   *
+   * @param line The number of the line, starting at 0.
+   * @return The maximum width of the line.
+   */
+  private int lineWidth(int line) {
+    return line == 0 ? firstLineWidth : width;
+  }
+
+  /**
+   * Returns the end of a text without its trailing spaces.
+   *
+   * @param text The text.
+   * @return The index after the last character that is not a space.
+   */
+  private static int trimmedEnd(CharSequence text) {
+    int end = text.length();
+    while (end > 0 && text.charAt(end - 1) == ' ') {
+      end--;
+    }
+    return end;
+  }
+
+  /**
+   * Finds the next space in a text.
+   *
+   * @param text  The text.
+   * @param from  The index to start searching at.
+   * @param limit The index to stop searching at.
+   * @return The index of the next space, or limit if there is none before it.
+   */
+  private static int nextSpace(CharSequence text, int from, int limit) {
+    int index = from;
+    while (index < limit && text.charAt(index) != ' ') {
+      index++;
+    }
+    return index;
+  }
+}
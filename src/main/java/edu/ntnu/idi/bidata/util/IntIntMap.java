@@ -0,0 +1,165 @@
+package edu.ntnu.idi.bidata.util;
+
+/**
+ * <h1>Int Int Map.</h1>
+ *
+ * <p>Map from primitive int keys to non-negative int values, without boxing. Uses an
+ * open-addressing hash table with linear probing.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Store, look up and remove values by int key in constant expected time</li>
+ * </ul>
+ *
+ * <p>The map is not thread-safe.</p>
+ */
+public final class IntIntMap {
+
+  /**
+   * Value returned by {@link #get(int)} when the key is not in the map.
+   */
+  public static final int MISSING = -1;
+
+  private static final int INITIAL_CAPACITY = 32;
+
+  private int[] keys;
+  private int[] values;
+  private int size;
+
+  /**
+   * Constructs a new empty map.
+   */
+  public IntIntMap() {
+    this(INITIAL_CAPACITY / 2);
+  }
+
+  /**
+   * Constructs a new empty map with room for the given number of keys before it grows.
+   *
+   * @param expectedSize The expected number of keys.
+   */
+  public IntIntMap(int expectedSize) {
+    int capacity = INITIAL_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity *= 2;
+    }
+    this.keys = new int[capacity];
+    this.values = new int[capacity];
+    this.size = 0;
+  }
+
+  /**
+   * Returns the value for a key.
+   *
+   * @param key The key.
+   * @return The value, or {@link #MISSING} if the key is not in the map.
+   */
+  public int get(int key) {
+    return values[findSlot(key)] - 1;
+  }
+
+  /**
+   * Stores a value for a key, replacing any previous value.
+   *
+   * @param key   The key.
+   * @param value The value.
+   * @throws IllegalArgumentException If value is negative.
+   */
+  public void put(int key, int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Value cannot be negative");
+    }
+    int slot = findSlot(key);
+    if (values[slot] == 0) {
+      if ((size + 1) * 2 > keys.length) {
+        grow();
+        slot = findSlot(key);
+      }
+      keys[slot] = key;
+      size++;
+    }
+    values[slot] = value + 1;
+  }
+
+  /**
+   * Removes a key from the map.
+   *
+   * @param key The key.
+   * @return The removed value, or {@link #MISSING} if the key was not in the map.
+   */
+  public int remove(int key) {
+    int slot = findSlot(key);
+    int removed = values[slot] - 1;
+    if (removed == MISSING) {
+      return MISSING;
+    }
+
+    int mask = keys.length - 1;
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (values[next] != 0) {
+      int home = mix(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    values[gap] = 0;
+    size--;
+    return removed;
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   *
+   * @return The number of keys.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Finds the slot that holds a key, or the empty slot where it would be inserted.
+   *
+   * @param key The key.
+   * @return The slot.
+   */
+  private int findSlot(int key) {
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (values[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Doubles the capacity and reinserts all keys.
+   */
+  private void grow() {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new int[oldKeys.length * 2];
+    values = new int[oldValues.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != 0) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Spreads the bits of a key, so sequential IDs do not fill neighbouring slots.
+   *
+   * @param key The key.
+   * @return The mixed hash.
+   */
+  private static int mix(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
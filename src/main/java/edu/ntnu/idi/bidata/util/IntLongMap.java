@@ -0,0 +1,160 @@
+package edu.ntnu.idi.bidata.util;
+
+/**
+ * <h1>Int Long Map.</h1>
+ *
+ * <p>Map from primitive int keys to primitive long values, without boxing. Uses an
+ * open-addressing hash table with linear probing.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Store, look up and remove values by int key in constant expected time</li>
+ * </ul>
+ *
+ * <p>The map is not thread-safe.</p>
+ */
+public final class IntLongMap {
+
+  private static final int INITIAL_CAPACITY = 32;
+
+  private int[] keys;
+  private long[] values;
+  private boolean[] used;
+  private int size;
+
+  /**
+   * Constructs a new empty map.
+   */
+  public IntLongMap() {
+    this.keys = new int[INITIAL_CAPACITY];
+    this.values = new long[INITIAL_CAPACITY];
+    this.used = new boolean[INITIAL_CAPACITY];
+    this.size = 0;
+  }
+
+  /**
+   * Checks whether the map contains a key.
+   *
+   * @param key The key.
+   * @return True if the key is in the map, false otherwise.
+   */
+  public boolean containsKey(int key) {
+    return used[findSlot(key)];
+  }
+
+  /**
+   * Returns the value for a key.
+   *
+   * @param key          The key.
+   * @param defaultValue The value to return if the key is not in the map.
+   * @return The value, or defaultValue if the key is not in the map.
+   */
+  public long get(int key, long defaultValue) {
+    int slot = findSlot(key);
+    return used[slot] ? values[slot] : defaultValue;
+  }
+
+  /**
+   * Stores a value for a key, replacing any previous value.
+   *
+   * @param key   The key.
+   * @param value The value.
+   */
+  public void put(int key, long value) {
+    int slot = findSlot(key);
+    if (!used[slot]) {
+      if ((size + 1) * 2 > keys.length) {
+        grow();
+        slot = findSlot(key);
+      }
+      keys[slot] = key;
+      used[slot] = true;
+      size++;
+    }
+    values[slot] = value;
+  }
+
+  /**
+   * Removes a key from the map.
+   *
+   * @param key The key.
+   * @return True if the key was in the map, false otherwise.
+   */
+  public boolean remove(int key) {
+    int slot = findSlot(key);
+    if (!used[slot]) {
+      return false;
+    }
+
+    int mask = keys.length - 1;
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (used[next]) {
+      int home = mix(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    used[gap] = false;
+    size--;
+    return true;
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   *
+   * @return The number of keys.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Finds the slot that holds a key, or the empty slot where it would be inserted.
+   *
+   * @param key The key.
+   * @return The slot.
+   */
+  private int findSlot(int key) {
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (used[slot] && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Doubles the capacity and reinserts all keys.
+   */
+  private void grow() {
+    int[] oldKeys = keys;
+    long[] oldValues = values;
+    boolean[] oldUsed = used;
+    keys = new int[oldKeys.length * 2];
+    values = new long[oldValues.length * 2];
+    used = new boolean[oldUsed.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+        used[slot] = true;
+      }
+    }
+  }
+
+  /**
+   * Spreads the bits of a key, so sequential IDs do not fill neighbouring slots.
+   *
+   * @param key The key.
+   * @return The mixed hash.
+   */
+  private static int mix(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,232 @@
+package edu.ntnu.idi.bidata.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h1>Int Object Map.</h1>
+ *
+ * <p>Map from primitive int keys to objects, without boxing the keys. Keys and values are kept
+ * in dense arrays, and an open-addressing hash table with linear probing maps each key to its
+ * position in the dense arrays.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Store, look up and remove values by int key in constant expected time</li>
+ *   <li>Provide a read-only list view of the values that does not copy them</li>
+ * </ul>
+ *
+ * <p>Removing a key moves the last value into the freed position, so the order of the values
+ * changes on removal. The map is not thread-safe.</p>
+ *
+ * @param <V> The type of the values.
+ */
+public final class IntObjectMap<V> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] keys;
+  private Object[] values;
+  private int[] slots;
+  private int size;
+
+  /**
+   * Constructs a new empty map.
+   */
+  public IntObjectMap() {
+    this.keys = new int[INITIAL_CAPACITY];
+    this.values = new Object[INITIAL_CAPACITY];
+    this.slots = new int[INITIAL_CAPACITY * 2];
+    this.size = 0;
+  }
+
+  /**
+   * Returns the value for a key.
+   *
+   * @param key The key.
+   * @return The value, or null if the key is not in the map.
+   */
+  public V get(int key) {
+    int slot = findSlot(key);
+    return slots[slot] == 0 ? null : valueAt(slots[slot] - 1);
+  }
+
+  /**
+   * Checks whether the map contains a key.
+   *
+   * @param key The key.
+   * @return True if the key is in the map, false otherwise.
+   */
+  public boolean containsKey(int key) {
+    return slots[findSlot(key)] != 0;
+  }
+
+  /**
+   * Stores a value for a key, replacing any previous value.
+   *
+   * @param key   The key.
+   * @param value The value.
+   * @return The previous value, or null if the key was not in the map.
+   * @throws IllegalArgumentException If value is null.
+   */
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Value cannot be null");
+    }
+    int slot = findSlot(key);
+    if (slots[slot] != 0) {
+      int position = slots[slot] - 1;
+      V previous = valueAt(position);
+      values[position] = value;
+      return previous;
+    }
+
+    if (size == keys.length) {
+      grow();
+      slot = findSlot(key);
+    }
+    keys[size] = key;
+    values[size] = value;
+    size++;
+    slots[slot] = size;
+    return null;
+  }
+
+  /**
+   * Removes a key from the map.
+   *
+   * @param key The key.
+   * @return The removed value, or null if the key was not in the map.
+   */
+  public V remove(int key) {
+    int slot = findSlot(key);
+    if (slots[slot] == 0) {
+      return null;
+    }
+    int position = slots[slot] - 1;
+    V removed = valueAt(position);
+    deleteSlot(slot);
+
+    int last = size - 1;
+    if (position != last) {
+      keys[position] = keys[last];
+      values[position] = values[last];
+      slots[findSlot(keys[position])] = position + 1;
+    }
+    values[last] = null;
+    size--;
+    return removed;
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   *
+   * @return The number of keys.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether the map is empty.
+   *
+   * @return True if the map has no keys, false otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns a read-only view of the values. The view follows later changes to the map.
+   *
+   * @return The values.
+   */
+  public List<V> values() {
+    return new AbstractList<>() {
+      @Override
+      public V get(int index) {
+        if (index < 0 || index >= size) {
+          throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size);
+        }
+        return valueAt(index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Returns the value at a position in the dense arrays.
+   *
+   * @param position The position.
+   * @return The value.
+   */
+  @SuppressWarnings("unchecked")
+  private V valueAt(int position) {
+    return (V) values[position];
+  }
+
+  /**
+   * Finds the slot that holds a key, or the empty slot where it would be inserted.
+   *
+   * @param key The key.
+   * @return The slot.
+   */
+  private int findSlot(int key) {
+    int mask = slots.length - 1;
+    int slot = mix(key) & mask;
+    while (slots[slot] != 0 && keys[slots[slot] - 1] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Empties a slot and shifts back later entries of the same probe chain, so lookups never stop
+   * early at the freed slot.
+   *
+   * @param slot The slot to empty.
+   */
+  private void deleteSlot(int slot) {
+    int mask = slots.length - 1;
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (slots[next] != 0) {
+      int home = mix(keys[slots[next] - 1]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        slots[gap] = slots[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    slots[gap] = 0;
+  }
+
+  /**
+   * Doubles the capacity and rebuilds the hash table.
+   */
+  private void grow() {
+    int capacity = keys.length * 2;
+    keys = Arrays.copyOf(keys, capacity);
+    values = Arrays.copyOf(values, capacity);
+    slots = new int[capacity * 2];
+    for (int position = 0; position < size; position++) {
+      slots[findSlot(keys[position])] = position + 1;
+    }
+  }
+
+  /**
+   * Spreads the bits of a key, so sequential IDs do not fill neighbouring slots.
+   *
+   * @param key The key.
+   * @return The mixed hash.
+   */
+  private static int mix(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
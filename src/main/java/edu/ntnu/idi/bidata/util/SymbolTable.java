@@ -0,0 +1,88 @@
+package edu.ntnu.idi.bidata.util;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * <h1>Symbol Table.</h1>
+ *
+ * <p>Deduplicating table for short strings that repeat across many entries, such as categories,
+ * author names and template values. Every distinct string is stored once, so two symbols from
+ * the table can be compared by identity.</p>
+ *
+ * <p>Responsibilities:</p>
+ * <ul>
+ *   <li>Return the canonical string instance that is equal to a string</li>
+ *   <li>Find the canonical instance of a string without adding it</li>
+ *   <li>Drop a string once nothing else refers to its canonical instance</li>
+ * </ul>
+ *
+ * <p>The table holds its strings weakly, so a string stays in it only while an entry, author or
+ * index still refers to the canonical instance. Values typed by users, imported from a file or
+ * received from another replica can therefore be added without the table growing for the life
+ * of the process. Two canonical instances that are both still referred to are the same object
+ * exactly when the strings are equal. All methods are thread-safe.</p>
+ */
+public final class SymbolTable {
+
+  private static final SymbolTable GLOBAL = new SymbolTable();
+
+  private final WeakHashMap<String, WeakReference<String>> symbols;
+
+  /**
+   * Constructs a new empty symbol table.
+   */
+  public SymbolTable() {
+    this.symbols = new WeakHashMap<>();
+  }
+
+  /**
+   * Returns the symbol table shared by the whole application.
+   *
+   * @return The global symbol table.
+   */
+  public static SymbolTable global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Returns the canonical instance of a string, adding it to the table if necessary.
+   *
+   * @param value The string.
+   * @return The canonical instance that is equal to value.
+   * @throws IllegalArgumentException If value is null.
+   */
+  public synchronized String canonical(String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Symbol cannot be null");
+    }
+    WeakReference<String> existing = symbols.get(value);
+    String symbol = existing == null ? null : existing.get();
+    if (symbol == null) {
+      symbol = value;
+      symbols.put(symbol, new WeakReference<>(symbol));
+    }
+    return symbol;
+  }
+
+  /**
+   * Finds the canonical instance of a string without adding it.
+   *
+   * @param value The string to look up.
+   * @return The canonical instance, or null if the string is not in the table.
+   */
+  public synchronized String find(String value) {
+    WeakReference<String> existing = symbols.get(value);
+    return existing == null ? null : existing.get();
+  }
+
+  /**
+   * Returns the number of distinct strings in the table. Strings that are no longer referred to
+   * are counted until the garbage collector has cleared them.
+   *
+   * @return The number of symbols.
+   */
+  public synchronized int size() {
+    return symbols.size();
+  }
+}
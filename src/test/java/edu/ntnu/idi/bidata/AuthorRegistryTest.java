@@ -234,4 +234,105 @@ class AuthorRegistryTest {
         () -> registry.createAndAddAuthor(name)
     );
   }
-}
\ No newline at end of file
+
+  @Test
+  void testFindAuthorByNameMatchesStartOfAnyWord() {
+    registry.createAndAddAuthor("Ola Nordmann");
+    registry.createAndAddAuthor("Kari  NORDMANN");
+    registry.createAndAddAuthor("Nora Hansen");
+
+    List<Author> lastName = registry.findAuthorByName("nordm");
+    List<Author> firstLetters = registry.findAuthorByName("No");
+    List<Author> middleOfWord = registry.findAuthorByName("ordmann");
+
+    assertEquals(2, lastName.size());
+    assertEquals(3, firstLetters.size());
+    assertTrue(middleOfWord.isEmpty());
+  }
+
+  @Test
+  void testDeletedAuthorIsNotFoundByName() {
+    Author author = registry.createAndAddAuthor("Ola Nordmann");
+    registry.createAndAddAuthor("Kari Nordmann");
+
+    registry.deleteAuthorById(author.id());
+
+    List<Author> results = registry.findAuthorByName("Nordmann");
+    assertEquals(1, results.size());
+    assertEquals("Kari Nordmann", results.get(0).name());
+  }
+
+  @Test
+  void testGetAuthorsSortedByNameUsesNorwegianOrder() {
+    registry.createAndAddAuthor("Åse Hansen");
+    registry.createAndAddAuthor("Øyvind Berg");
+    registry.createAndAddAuthor("Zara Lie");
+    registry.createAndAddAuthor("Ærlig Olsen");
+    registry.createAndAddAuthor("anne Dahl");
+
+    List<String> names = registry.getAuthorsSortedByName().stream().map(Author::name).toList();
+
+    assertEquals(List.of("anne Dahl", "Zara Lie", "Ærlig Olsen", "Øyvind Berg", "Åse Hansen"),
+        names);
+  }
+
+  @Test
+  void testGetAuthorsSortedByNameAfterDelete() {
+    registry.createAndAddAuthor("Bente");
+    Author removed = registry.createAndAddAuthor("Anne");
+    registry.createAndAddAuthor("Anne");
+
+    registry.deleteAuthorById(removed.id());
+
+    List<Author> sorted = registry.getAuthorsSortedByName();
+    assertEquals(2, sorted.size());
+    assertEquals(3, sorted.get(0).id());
+    assertEquals("Bente", sorted.get(1).name());
+  }
+
+  @Test
+  void testGetAuthorsSortedByNamePage() {
+    for (String name : List.of("Eva", "Dina", "Cato", "Bjørn", "Anders")) {
+      registry.createAndAddAuthor(name);
+    }
+
+    List<Author> page = registry.getAuthorsSortedByName(1, 2);
+    List<Author> lastPage = registry.getAuthorsSortedByName(4, 2);
+    List<Author> pastEnd = registry.getAuthorsSortedByName(10, 2);
+
+    assertEquals(List.of("Bjørn", "Cato"), page.stream().map(Author::name).toList());
+    assertEquals(1, lastPage.size());
+    assertTrue(pastEnd.isEmpty());
+  }
+
+  @Test
+  void testGetAuthorsSortedByNameInvalidPage() {
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.getAuthorsSortedByName(-1, 10));
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.getAuthorsSortedByName(0, 0));
+  }
+
+  @Test
+  void testFindAuthorByExactName() {
+    registry.createAndAddAuthor("Ola Nordmann");
+    Author kari = registry.createAndAddAuthor("Kari Nordmann");
+
+    Author found = registry.findAuthorByExactName("  kari   nordmann ");
+
+    assertEquals(kari, found);
+    assertNull(registry.findAuthorByExactName("Nordmann"));
+  }
+
+  @Test
+  void testFindOrCreateAuthor() {
+    Author existing = registry.createAndAddAuthor("Ola Nordmann");
+
+    Author found = registry.findOrCreateAuthor("ola nordmann");
+    Author created = registry.findOrCreateAuthor("Kari Nordmann");
+
+    assertEquals(existing, found);
+    assertEquals("Kari Nordmann", created.name());
+    assertEquals(2, registry.getAllAuthors().size());
+  }
+}
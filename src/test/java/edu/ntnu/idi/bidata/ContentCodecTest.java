@@ -0,0 +1,78 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.ContentCodec;
+import edu.ntnu.idi.bidata.diary.StandardEntry;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ContentCodec.
+ */
+class ContentCodecTest {
+
+  private static final String LONG_CONTENT = ("Today I went fishing at the lake with my friends. "
+      + "The weather was good and we caught some trout before lunch. ").repeat(10).trim();
+
+  @Test
+  void testShortContentIsNotCompressed() {
+    byte[] compressed = ContentCodec.compress("Short entry");
+
+    assertNull(compressed);
+  }
+
+  @Test
+  void testCompressAndDecompressLongContent() {
+    byte[] compressed = ContentCodec.compress(LONG_CONTENT);
+
+    assertNotNull(compressed);
+    assertTrue(compressed.length < LONG_CONTENT.getBytes(StandardCharsets.UTF_8).length);
+    assertEquals(LONG_CONTENT, ContentCodec.decompress(compressed));
+  }
+
+  @Test
+  void testCompressAndDecompressNonAsciiContent() {
+    String content = "Fin tur på Storås i dag, fikk ørret og laks. ".repeat(20).trim();
+
+    byte[] compressed = ContentCodec.compress(content);
+
+    assertNotNull(compressed);
+    assertEquals(content, ContentCodec.decompress(compressed));
+  }
+
+  @Test
+  void testDecompressCorruptData() {
+    byte[] corrupt = {(byte) 0xff, (byte) 0xff, (byte) 0xff};
+
+    assertThrows(IllegalArgumentException.class, () -> ContentCodec.decompress(corrupt));
+  }
+
+  @Test
+  void testEntryStoresLongContentCompressed() {
+    StandardEntry entry = new StandardEntry(1, new Author(1, "Test Author"),
+        LocalDateTime.now(), "Title", LONG_CONTENT, "Category");
+
+    assertTrue(entry.isContentCompressed());
+    assertEquals(LONG_CONTENT, entry.getContent());
+  }
+
+  @Test
+  void testSetContentSwitchesBetweenRepresentations() {
+    StandardEntry entry = new StandardEntry(1, new Author(1, "Test Author"),
+        LocalDateTime.now(), "Title", LONG_CONTENT, "Category");
+
+    entry.setContent("Short content");
+
+    assertFalse(entry.isContentCompressed());
+    assertNull(entry.getCompressedContent());
+    assertEquals("Short content", entry.getContent());
+  }
+}
@@ -8,14 +8,25 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.BatchResult;
+import edu.ntnu.idi.bidata.diary.CatchStats;
+import edu.ntnu.idi.bidata.diary.ChangeSet;
 import edu.ntnu.idi.bidata.diary.DiaryEntry;
 import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntryQuery;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
 import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.FishingSpot;
+import edu.ntnu.idi.bidata.diary.GeoPoint;
 import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.PersonalRecord;
 import edu.ntnu.idi.bidata.diary.StandardEntry;
+import edu.ntnu.idi.bidata.diary.VolumePoint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -164,6 +175,17 @@ class DiaryRegistryTest {
     assertEquals(1, entries.size());
   }
 
+  @Test
+  void testFindEntriesByCategoryAfterSetCategory() {
+    DiaryEntry entry = registry.createStandardEntry(author, LocalDateTime.now(), "Title",
+        "Content", "Work");
+
+    entry.setCategory("Home");
+
+    assertEquals(List.of(entry), registry.findEntriesByCategory("Home"));
+    assertTrue(registry.findEntriesByCategory("Work").isEmpty());
+  }
+
   @Test
   void testFindEntriesByType() {
     registry.createStandardEntry(author, LocalDateTime.now(), "Title 1", "Content 1", "Category");
@@ -479,4 +501,717 @@ class DiaryRegistryTest {
     assertNotNull(entries);
     assertTrue(entries.isEmpty());
   }
-}
\ No newline at end of file
+
+  @Test
+  void testFindEntriesByAuthor() {
+    Author other = new Author(2, "Other Author");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 1", "Content", "Category");
+    registry.createStandardEntry(other, LocalDateTime.now(), "Title 2", "Content", "Category");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 3", "Content", "Category");
+
+    List<DiaryEntry> entries = registry.findEntriesByAuthor(author);
+
+    assertEquals(2, entries.size());
+    assertEquals("Title 1", entries.get(0).getTitle());
+    assertEquals("Title 3", entries.get(1).getTitle());
+  }
+
+  @Test
+  void testCountEntriesByAuthorAndType() {
+    Author other = new Author(2, "Other Author");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 1", "Content", "Category");
+    registry.createGymEntry(other, LocalDateTime.now(), "Title 2", "Content", "Fitness",
+        "Squats", "4", "10x100kg");
+    registry.createGymEntry(author, LocalDateTime.now(), "Title 3", "Content", "Fitness",
+        "Squats", "4", "10x100kg");
+
+    assertEquals(2, registry.countEntriesByAuthor(author));
+    assertEquals(2, registry.countEntriesByType("gym"));
+    assertEquals(0, registry.countEntriesByType("Fishing"));
+  }
+
+  @Test
+  void testDeletedEntryIsSkippedBySearches() {
+    LocalDateTime timestamp = LocalDateTime.of(2025, 12, 4, 10, 0);
+    StandardEntry entry = registry.createStandardEntry(author, timestamp,
+        "Title", "Content", "Personal");
+    registry.createStandardEntry(author, timestamp, "Other", "Content", "Personal");
+
+    registry.deleteEntryById(entry.getId());
+
+    assertEquals(1, registry.findEntriesByCategory("Personal").size());
+    assertEquals(1, registry.findEntriesByDate(timestamp.toLocalDate()).size());
+    assertEquals(1, registry.countEntriesByAuthor(author));
+    assertFalse(registry.deleteEntryById(entry.getId()));
+  }
+
+  @Test
+  void testDeleteEntriesByAuthor() {
+    Author other = new Author(2, "Other Author");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 1", "Content", "Category");
+    StandardEntry kept = registry.createStandardEntry(other, LocalDateTime.now(),
+        "Title 2", "Content", "Category");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 3", "Content", "Category");
+
+    int deleted = registry.deleteEntriesByAuthor(author);
+
+    assertEquals(2, deleted);
+    assertEquals(1, registry.getNumberOfEntries());
+    assertEquals(0, registry.countEntriesByAuthor(author));
+    assertEquals(1, registry.findEntriesByCategory("Category").size());
+    assertEquals(kept, registry.getAllEntriesSortedAscending().get(0));
+  }
+
+  @Test
+  void testDeleteEntriesByAuthorWithoutEntries() {
+    int deleted = registry.deleteEntriesByAuthor(author);
+
+    assertEquals(0, deleted);
+  }
+
+  @Test
+  void testReassignEntriesByAuthor() {
+    Author other = new Author(2, "Other Author");
+    StandardEntry entry = registry.createStandardEntry(author, LocalDateTime.now(),
+        "Title 1", "Content", "Category");
+    registry.createStandardEntry(other, LocalDateTime.now(), "Title 2", "Content", "Category");
+
+    int moved = registry.reassignEntriesByAuthor(author, other);
+
+    assertEquals(1, moved);
+    assertEquals(other, entry.getAuthor());
+    assertEquals(2, registry.countEntriesByAuthor(other));
+    assertEquals(0, registry.countEntriesByAuthor(author));
+    assertEquals(2, registry.getNumberOfEntries());
+  }
+
+  @Test
+  void testReassignEntriesToSameAuthor() {
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> registry.reassignEntriesByAuthor(author, author)
+    );
+    assertEquals("Cannot reassign entries to the same author", exception.getMessage());
+  }
+
+  @Test
+  void testDeleteLeavesDeadRowUntilCompaction() {
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 1", "Content", "Category");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 2", "Content", "Category");
+
+    registry.deleteEntryById(1);
+
+    assertEquals(0.5, registry.getDeadRatio());
+    assertEquals(1, registry.getNumberOfEntries());
+  }
+
+  @Test
+  void testCompactRemovesDeadRows() {
+    for (int i = 0; i < 10; i++) {
+      registry.createStandardEntry(author, LocalDateTime.now(), "Title " + i, "Content",
+          "Category");
+    }
+    registry.deleteEntryById(2);
+    registry.deleteEntryById(5);
+
+    registry.compact();
+
+    assertEquals(0.0, registry.getDeadRatio());
+    assertEquals(1, registry.getCompactionCount());
+    assertEquals(8, registry.getNumberOfEntries());
+    assertNull(registry.findEntryById(5));
+    assertEquals("Title 9", registry.findEntryById(10).getTitle());
+    assertEquals(8, registry.findEntriesByCategory("Category").size());
+  }
+
+  @Test
+  void testCompactWithoutDeadRows() {
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title", "Content", "Category");
+
+    registry.compact();
+
+    assertEquals(0, registry.getCompactionCount());
+  }
+
+  @Test
+  void testMassDeleteTriggersBackgroundCompaction() throws InterruptedException {
+    for (int i = 0; i < 200; i++) {
+      registry.createStandardEntry(author, LocalDateTime.now(), "Title " + i, "Content",
+          "Category");
+    }
+
+    for (int id = 1; id <= 150; id++) {
+      registry.deleteEntryById(id);
+    }
+    for (int attempt = 0; attempt < 200 && registry.getDeadRatio() > 0.25; attempt++) {
+      Thread.sleep(10);
+    }
+
+    assertTrue(registry.getCompactionCount() > 0);
+    assertTrue(registry.getDeadRatio() <= 0.25);
+    assertEquals(50, registry.getNumberOfEntries());
+    assertEquals("Title 199", registry.findEntryById(200).getTitle());
+  }
+
+  @Test
+  void testFindEntriesByQuery() {
+    registry.createStandardEntry(author, LocalDateTime.of(2019, 5, 1, 12, 0),
+        "Old", "Content", "Work");
+    registry.createStandardEntry(author, LocalDateTime.of(2021, 5, 1, 12, 0),
+        "New", "Content", "Work");
+    registry.createStandardEntry(author, LocalDateTime.of(2019, 6, 1, 12, 0),
+        "Other", "Content", "Personal");
+
+    List<DiaryEntry> found = registry.findEntries(
+        new EntryQuery().withCategory("work").before(LocalDate.of(2020, 1, 1)));
+
+    assertEquals(1, found.size());
+    assertEquals("Old", found.get(0).getTitle());
+  }
+
+  @Test
+  void testFindEntriesByTemplateField() {
+    registry.createFishingEntry(author, LocalDateTime.now(), "Trip 1", "Content", "Fishing",
+        "Sunny", "Trout", "Lake Mjøsa", "Worm");
+    registry.createFishingEntry(author, LocalDateTime.now(), "Trip 2", "Content", "Fishing",
+        "Rainy", "Cod", "Oslofjord", "Lure");
+
+    List<DiaryEntry> found = registry.findEntries(
+        new EntryQuery().withEntryType("fishing").withTemplateField("Location", "lake mjøsa"));
+
+    assertEquals(1, found.size());
+    assertEquals("Trip 1", found.get(0).getTitle());
+  }
+
+  @Test
+  void testDeleteWhere() {
+    Author other = new Author(2, "Other Author");
+    registry.createStandardEntry(author, LocalDateTime.of(2019, 5, 1, 12, 0),
+        "Old 1", "Content", "Work");
+    registry.createStandardEntry(other, LocalDateTime.of(2019, 7, 1, 12, 0),
+        "Old 2", "Content", "Work");
+    registry.createStandardEntry(author, LocalDateTime.of(2021, 5, 1, 12, 0),
+        "New", "Content", "Work");
+
+    int deleted = registry.deleteWhere(
+        new EntryQuery().withCategory("Work").before(LocalDate.of(2020, 1, 1)));
+
+    assertEquals(2, deleted);
+    assertEquals(1, registry.getNumberOfEntries());
+    assertEquals(1, registry.countEntriesByAuthor(author));
+    assertEquals(0, registry.countEntriesByAuthor(other));
+    assertNull(registry.findEntryById(1));
+  }
+
+  @Test
+  void testDeleteWhereWithoutMatches() {
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title", "Content", "Work");
+
+    int deleted = registry.deleteWhere(new EntryQuery().withCategory("Unknown"));
+
+    assertEquals(0, deleted);
+    assertEquals(1, registry.getNumberOfEntries());
+  }
+
+  @Test
+  void testUpdateWhereChangesCategory() {
+    registry.createFishingEntry(author, LocalDateTime.now(), "Trip 1", "Content", "Fishing",
+        "Sunny", "Trout", "Lake", "Worm");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title", "Content", "Fishing");
+
+    int updated = registry.updateWhere(new EntryQuery().withEntryType("Fishing"),
+        entry -> entry.setCategory("Trips"));
+
+    assertEquals(1, updated);
+    assertEquals(1, registry.findEntriesByCategory("Trips").size());
+    assertEquals(1, registry.findEntriesByCategory("Fishing").size());
+  }
+
+  @Test
+  void testUpdateWhereRecordsOneChangePerEntry() {
+    FishingEntry entry = registry.createFishingEntry(author, LocalDateTime.now(), "Trip",
+        "Content", "Fishing", "Sunny", "Trout", "Lake", "Worm");
+    long sequence = registry.getCurrentSequence();
+    int revision = entry.getRevision();
+
+    registry.updateWhere(new EntryQuery().withEntryType("Fishing"), each -> {
+      FishingEntry fishingEntry = (FishingEntry) each;
+      fishingEntry.setCategory("Trips");
+      fishingEntry.setBaitUsed("Spinner");
+      fishingEntry.setLocation("River");
+    });
+
+    assertEquals(sequence + 1, registry.getCurrentSequence());
+    assertEquals(revision + 1, entry.getRevision());
+    assertEquals(List.of(entry), registry.findEntriesByTemplateField("Bait used", "spinner"));
+    assertEquals(List.of(entry), registry.findEntriesByCategory("Trips"));
+  }
+
+  @Test
+  void testDeleteWhereNullQuery() {
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> registry.deleteWhere(null)
+    );
+    assertEquals("Query cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void testCreateEntriesInBatch() {
+    LocalDateTime timestamp = LocalDateTime.now();
+    List<EntrySpec> specs = List.of(
+        EntrySpec.standard(author, timestamp, "Title", "Content", "Category"),
+        EntrySpec.fishing(author, timestamp, "Trip", "Content", "Fishing",
+            "Sunny", "Trout", "Lake", "Worm"),
+        EntrySpec.gym(author, timestamp, "Workout", "Content", "Gym", "Squats", "3", "10"));
+
+    BatchResult result = registry.createEntries(specs);
+
+    assertFalse(result.hasErrors());
+    assertEquals(3, result.getCreatedCount());
+    assertEquals(3, registry.getNumberOfEntries());
+    assertTrue(registry.findEntryById(2) instanceof FishingEntry);
+    assertEquals("Workout", registry.findEntryById(3).getTitle());
+    assertEquals(3, registry.countEntriesByAuthor(author));
+  }
+
+  @Test
+  void testCreateEntriesReportsErrorsWithoutAbortingBatch() {
+    LocalDateTime timestamp = LocalDateTime.now();
+    List<EntrySpec> specs = List.of(
+        EntrySpec.standard(author, timestamp, "Title 1", "Content", "Category"),
+        EntrySpec.standard(author, timestamp, " ", "Content", "Category"),
+        EntrySpec.fishing(author, timestamp, "Trip", "Content", "Fishing",
+            "Sunny", null, "Lake", "Worm"),
+        EntrySpec.standard(author, timestamp, "Title 4", "Content", "Category"));
+
+    BatchResult result = registry.createEntries(specs);
+
+    assertEquals(2, result.getCreatedCount());
+    assertEquals("Title cannot be null or empty", result.getErrors().get(1));
+    assertEquals("Fish caught cannot be null or empty", result.getErrors().get(2));
+    assertEquals(4, result.getCreatedEntries().get(1).getId());
+    assertNull(registry.findEntryById(2));
+  }
+
+  @Test
+  void testCreateEntriesContinuesIdSequence() {
+    registry.createStandardEntry(author, LocalDateTime.now(), "Before", "Content", "Category");
+    registry.createEntries(List.of(
+        EntrySpec.standard(author, LocalDateTime.now(), "Batch", "Content", "Category")));
+
+    StandardEntry after = registry.createStandardEntry(author, LocalDateTime.now(),
+        "After", "Content", "Category");
+
+    assertEquals("Batch", registry.findEntryById(2).getTitle());
+    assertEquals(3, after.getId());
+  }
+
+  @Test
+  void testSequenceIncreasesWithEveryChange() {
+    StandardEntry entry = registry.createStandardEntry(author, LocalDateTime.now(),
+        "Title", "Content", "Category");
+    long afterCreate = registry.getCurrentSequence();
+
+    entry.setContent("New content");
+    long afterUpdate = registry.getCurrentSequence();
+    registry.deleteEntryById(entry.getId());
+
+    assertTrue(afterCreate > 0);
+    assertTrue(afterUpdate > afterCreate);
+    assertTrue(registry.getCurrentSequence() > afterUpdate);
+  }
+
+  @Test
+  void testExportChangesSince() {
+    StandardEntry unchanged = registry.createStandardEntry(author, LocalDateTime.now(),
+        "Unchanged", "Content", "Category");
+    StandardEntry updated = registry.createStandardEntry(author, LocalDateTime.now(),
+        "Updated", "Content", "Category");
+    StandardEntry deleted = registry.createStandardEntry(author, LocalDateTime.now(),
+        "Deleted", "Content", "Category");
+    long backup = registry.getCurrentSequence();
+
+    updated.setContent("Changed");
+    updated.setContent("Changed again");
+    registry.deleteEntryById(deleted.getId());
+    StandardEntry created = registry.createStandardEntry(author, LocalDateTime.now(),
+        "Created", "Content", "Category");
+    ChangeSet changes = registry.exportChangesSince(backup);
+
+    assertEquals(List.of(updated, created), changes.getChangedEntries());
+    assertEquals(1, changes.getDeletedIds().length);
+    assertEquals(deleted.getId(), changes.getDeletedIds()[0]);
+    assertEquals(registry.getCurrentSequence(), changes.getSequence());
+    assertTrue(registry.exportChangesSince(changes.getSequence()).isEmpty());
+    assertFalse(changes.getChangedEntries().contains(unchanged));
+  }
+
+  @Test
+  void testTemplateSetterIsRecordedAsChange() {
+    FishingEntry entry = registry.createFishingEntry(author, LocalDateTime.now(), "Trip",
+        "Content", "Fishing", "Sunny", "Trout", "Lake", "Worm");
+    long backup = registry.getCurrentSequence();
+
+    entry.setLocation("River");
+
+    assertEquals(List.of(entry), registry.exportChangesSince(backup).getChangedEntries());
+  }
+
+  @Test
+  void testSetterInsideForEachEntryThrowsInsteadOfDeadlocking() {
+    DiaryEntry entry = registry.createStandardEntry(author, LocalDateTime.now(), "Title",
+        "Content", "Work");
+    long sequence = registry.getCurrentSequence();
+
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+        () -> registry.forEachEntry(new EntryQuery(), each -> each.setCategory("Home")));
+
+    assertEquals("Entries cannot be changed while the same thread is reading the registry",
+        exception.getMessage());
+    assertEquals("Work", entry.getCategory());
+    assertEquals(sequence, registry.getCurrentSequence());
+  }
+
+  @Test
+  void testSetterOnDeletedEntryIsNotRecorded() {
+    DiaryEntry entry = registry.createStandardEntry(author, LocalDateTime.now(), "Title",
+        "Content", "Work");
+    registry.deleteEntryById(entry.getId());
+    long sequence = registry.getCurrentSequence();
+
+    entry.setCategory("Home");
+
+    assertEquals(sequence, registry.getCurrentSequence());
+    assertTrue(registry.findEntriesByCategory("Home").isEmpty());
+  }
+
+  @Test
+  void testExportChangesSinceDiscardedSequence() {
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 1", "Content", "Category");
+    registry.createStandardEntry(author, LocalDateTime.now(), "Title 2", "Content", "Category");
+    registry.discardChangesThrough(2);
+
+    assertEquals(0, registry.exportChangesSince(2).getChangedEntries().size());
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> registry.exportChangesSince(1)
+    );
+    assertEquals("Changes up to sequence 2 have been discarded", exception.getMessage());
+  }
+
+  @Test
+  void testWeeklyVolumeSumsEntriesOfSameWeek() {
+    registry.createGymEntry(author, LocalDateTime.of(2025, 3, 3, 18, 0), "Monday", "Content",
+        "Gym", "Squats, Dips", "2, 1", "10x100kg;8x100kg, 12xBodyweight");
+    registry.createGymEntry(author, LocalDateTime.of(2025, 3, 9, 18, 0), "Sunday", "Content",
+        "Gym", "squats", "1", "5x120kg");
+    registry.createGymEntry(author, LocalDateTime.of(2025, 3, 10, 18, 0), "Next Monday",
+        "Content", "Gym", "Squats", "1", "5x130kg");
+
+    List<VolumePoint> weeks = registry.getWeeklyVolume(author, "SQUATS");
+
+    assertEquals(2, weeks.size());
+    assertEquals(new VolumePoint(LocalDate.of(2025, 3, 3), 1800 + 600, 3, 23), weeks.get(0));
+    assertEquals(new VolumePoint(LocalDate.of(2025, 3, 10), 650, 1, 5), weeks.get(1));
+    assertEquals(List.of(new VolumePoint(LocalDate.of(2025, 3, 3), 0, 1, 12)),
+        registry.getWeeklyVolume(author, "Dips"));
+  }
+
+  @Test
+  void testMonthlyVolumeFollowsEditsAndDeletes() {
+    GymEntry march = registry.createGymEntry(author, LocalDateTime.of(2025, 3, 31, 18, 0),
+        "March", "Content", "Gym", "Bench Press", "1", "10x50kg");
+    GymEntry april = registry.createGymEntry(author, LocalDateTime.of(2025, 4, 1, 18, 0),
+        "April", "Content", "Gym", "Bench Press", "1", "10x60kg");
+
+    march.setReps("10x55kg");
+    registry.deleteEntryById(april.getId());
+
+    assertEquals(List.of(new VolumePoint(LocalDate.of(2025, 3, 1), 550, 1, 10)),
+        registry.getMonthlyVolume(author, "Bench Press"));
+  }
+
+  @Test
+  void testVolumeMovesWithReassignedEntries() {
+    Author other = new Author(2, "Other Author");
+    registry.createGymEntry(author, LocalDateTime.of(2025, 3, 3, 18, 0), "Workout", "Content",
+        "Gym", "Deadlift", "1", "5x150kg");
+
+    registry.reassignEntriesByAuthor(author, other);
+
+    assertTrue(registry.getWeeklyVolume(author, "Deadlift").isEmpty());
+    assertEquals(750, registry.getWeeklyVolume(other, "Deadlift").get(0).volume());
+  }
+
+  @Test
+  void testVolumeOfUnknownExerciseIsEmpty() {
+    assertTrue(registry.getWeeklyVolume(author, "Unheard-of lift").isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> registry.getMonthlyVolume(author, " "));
+  }
+
+  @Test
+  void testPersonalRecordIsSetWithHighestEstimatedOneRepMax() {
+    GymEntry entry = registry.createGymEntry(author, LocalDateTime.of(2025, 3, 3, 18, 0),
+        "Bench", "Content", "Gym", "Bench Press, Dips", "3, 1",
+        "5x100kg;12x85kg;1x105kg, 12xBodyweight");
+
+    PersonalRecord record = registry.getPersonalRecord(author, "bench press");
+
+    assertEquals("Bench Press", record.exercise());
+    assertEquals(85, record.weight());
+    assertEquals(12, record.reps());
+    assertEquals(85 * (1 + 12 / 30.0), record.epleyOneRepMax(), 1e-9);
+    assertEquals(85 * 36 / 25.0, record.brzyckiOneRepMax(), 1e-9);
+    assertEquals(LocalDateTime.of(2025, 3, 3, 18, 0), record.timestamp());
+    assertEquals(entry.getId(), record.entryId());
+    assertNull(registry.getPersonalRecord(author, "Dips"));
+  }
+
+  @Test
+  void testPersonalRecordFallsBackAfterEditsAndDeletes() {
+    GymEntry first = registry.createGymEntry(author, LocalDateTime.of(2025, 3, 3, 18, 0),
+        "First", "Content", "Gym", "Squats", "1", "5x100kg");
+    GymEntry second = registry.createGymEntry(author, LocalDateTime.of(2025, 3, 10, 18, 0),
+        "Second", "Content", "Gym", "Squats", "1", "5x120kg");
+
+    assertEquals(second.getId(), registry.getPersonalRecord(author, "Squats").entryId());
+    second.setReps("5x90kg");
+    assertEquals(first.getId(), registry.getPersonalRecord(author, "Squats").entryId());
+    registry.deleteEntryById(first.getId());
+    assertEquals(90, registry.getPersonalRecord(author, "Squats").weight());
+    registry.deleteEntryById(second.getId());
+    assertNull(registry.getPersonalRecord(author, "Squats"));
+    assertTrue(registry.getPersonalRecords(author).isEmpty());
+  }
+
+  @Test
+  void testPersonalRecordTieIsKeptByEarlierSet() {
+    GymEntry first = registry.createGymEntry(author, LocalDateTime.of(2025, 3, 3, 18, 0),
+        "First", "Content", "Gym", "Deadlift", "1", "3x150kg");
+    registry.createGymEntry(author, LocalDateTime.of(2025, 3, 10, 18, 0),
+        "Second", "Content", "Gym", "deadlift", "1", "3x150kg");
+
+    assertEquals(first.getId(), registry.getPersonalRecord(author, "DEADLIFT").entryId());
+  }
+
+  @Test
+  void testPersonalRecordsListsEveryExerciseByName() {
+    Author other = new Author(2, "Other Author");
+    registry.createGymEntry(author, LocalDateTime.of(2025, 3, 3, 18, 0), "Workout", "Content",
+        "Gym", "squats, Bench Press", "1, 1", "5x100kg, 5x80kg");
+    registry.createGymEntry(other, LocalDateTime.of(2025, 3, 3, 18, 0), "Workout", "Content",
+        "Gym", "Curls", "1", "10x20kg");
+
+    List<PersonalRecord> records = registry.getPersonalRecords(author);
+
+    assertEquals(2, records.size());
+    assertEquals("Bench Press", records.get(0).exercise());
+    assertEquals("squats", records.get(1).exercise());
+    assertThrows(IllegalArgumentException.class, () -> registry.getPersonalRecords(null));
+  }
+
+  @Test
+  void testOneRepMaxFormulas() {
+    assertEquals(100, PersonalRecord.epley(100, 1));
+    assertEquals(100, PersonalRecord.brzycki(100, 1));
+    assertEquals(0, PersonalRecord.epley(100, 0));
+    assertEquals(120, PersonalRecord.brzycki(100, 7), 1e-9);
+    assertTrue(Double.isNaN(PersonalRecord.brzycki(100, 37)));
+  }
+
+  @Test
+  void testCatchStatsCountTripsAndSpecies() {
+    LocalDateTime time = LocalDateTime.of(2025, 6, 1, 8, 0);
+    registry.createFishingEntry(author, time, "Trip 1", "Content", "Fishing",
+        "Rain", "2 Trout, Perch", "Lake", "Worm");
+    registry.createFishingEntry(author, time, "Trip 2", "Content", "Fishing",
+        "rain", "None", "lake ", "worm");
+    registry.createFishingEntry(author, time, "Trip 3", "Content", "Fishing",
+        "Rain", "trout", "Lake", "Worm");
+
+    assertEquals(new CatchStats(3, 2, 4), registry.getCatchStats("WORM", "Rain", "Lake"));
+    assertEquals(new CatchStats(3, 2, 3),
+        registry.getCatchStats("Worm", "Rain", "Lake", "Trout"));
+    assertEquals(1.0, registry.getCatchStats("Worm", "Rain", "Lake", "Trout").catchRate());
+    assertEquals(new CatchStats(3, 0, 0), registry.getCatchStats("Worm", "Rain", "Lake", "Pike"));
+    assertEquals(CatchStats.NONE, registry.getCatchStats("Worm", "Sunny", "Lake"));
+  }
+
+  @Test
+  void testCatchStatsReadTrailingCounts() {
+    LocalDateTime time = LocalDateTime.of(2025, 11, 25, 7, 30);
+    registry.createFishingEntry(author, time, "River", "Content", "Outdoor",
+        "Sunny", "Trout (4), Cod (1)", "Orkla", "Fly fishing");
+    registry.createFishingEntry(author, time, "River again", "Content", "Outdoor",
+        "Sunny", "Trout x 2", "Orkla", "Fly fishing");
+
+    assertEquals(new CatchStats(2, 2, 7), registry.getCatchStats("Fly fishing", "Sunny", "Orkla"));
+    assertEquals(new CatchStats(2, 2, 6),
+        registry.getCatchStats("Fly fishing", "Sunny", "Orkla", "Trout"));
+    assertEquals(new CatchStats(2, 1, 1),
+        registry.getCatchStats("Fly fishing", "Sunny", "Orkla", "cod"));
+  }
+
+  @Test
+  void testBestBaitFollowsEditsAndDeletes() {
+    LocalDateTime time = LocalDateTime.of(2025, 6, 1, 8, 0);
+    FishingEntry worm = registry.createFishingEntry(author, time, "Trip 1", "Content",
+        "Fishing", "Rain", "3 Trout", "Lake", "Worm");
+    FishingEntry spinner = registry.createFishingEntry(author, time, "Trip 2", "Content",
+        "Fishing", "Rain", "1 Trout", "Lake", "Spinner");
+    registry.createFishingEntry(author, time, "Trip 3", "Content", "Fishing",
+        "Sunny", "5 Trout", "Lake", "Fly");
+
+    assertEquals("Worm", registry.getBestBait("lake", "RAIN"));
+    worm.setFishCaught("Nothing");
+    assertEquals("Spinner", registry.getBestBait("Lake", "Rain"));
+    spinner.setWeather("Sunny");
+    assertEquals("Worm", registry.getBestBait("Lake", "Rain"));
+    assertEquals("Fly", registry.getBestBait("Lake", "Sunny"));
+    registry.deleteEntryById(worm.getId());
+    assertNull(registry.getBestBait("Lake", "Rain"));
+    assertNull(registry.getBestBait("Unknown spot", "Rain"));
+    assertThrows(IllegalArgumentException.class, () -> registry.getBestBait("Lake", " "));
+  }
+
+  @Test
+  void testSpotsWithinRadiusKeepCatchHistory() {
+    FishingEntry first = registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 1, 8, 0),
+        "Trip 1", "Content", "Fishing", "Rain", "Trout", "Mjøsa 60.75, 10.68", "Worm");
+    FishingEntry second = registry.createFishingEntry(author,
+        LocalDateTime.of(2025, 5, 1, 8, 0), "Trip 2", "Content", "Fishing", "Sunny", "Perch",
+        "North end of Mjøsa 60.75, 10.68", "Spinner");
+    registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 2, 8, 0), "Trip 3",
+        "Content", "Fishing", "Sunny", "Cod", "Oslofjord 59.9, 10.7", "Jig");
+    registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 2, 8, 0), "Trip 4",
+        "Content", "Fishing", "Sunny", "Cod", "Somewhere", "Jig");
+
+    List<FishingSpot> spots = registry.findSpotsWithinRadius(new GeoPoint(60.7, 10.6), 20);
+
+    assertEquals(1, spots.size());
+    assertEquals(new GeoPoint(60.75, 10.68), spots.get(0).coordinates());
+    assertEquals(List.of(second, first), spots.get(0).trips());
+    assertEquals("Mjøsa 60.75, 10.68", spots.get(0).location());
+    assertEquals(2, registry.findSpotsWithinRadius(new GeoPoint(60.7, 10.6), 200).size());
+  }
+
+  @Test
+  void testSpotsFollowEditsAndDeletes() {
+    FishingEntry entry = registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 1, 8, 0),
+        "Trip", "Content", "Fishing", "Rain", "Trout", "Lake", "Worm");
+    GeoPoint lake = new GeoPoint(61.1, 10.4);
+
+    assertTrue(registry.findNearestSpots(lake, 1).isEmpty());
+    entry.setCoordinates(lake);
+    assertEquals(lake, registry.findNearestSpots(new GeoPoint(0, 0), 1).get(0).coordinates());
+    entry.setLocation("Other lake 62.0, 9.0");
+    assertTrue(registry.findSpotsWithinRadius(lake, 10).isEmpty());
+    registry.deleteEntryById(entry.getId());
+    assertTrue(registry.findSpotsWithinRadius(new GeoPoint(62.0, 9.0), 10).isEmpty());
+  }
+
+  @Test
+  void testSpotsInBoxAcrossDateLine() {
+    registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 1, 8, 0), "East", "Content",
+        "Fishing", "Rain", "Trout", "Fiji -17.8, 179.9", "Worm");
+    registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 1, 8, 0), "West", "Content",
+        "Fishing", "Rain", "Trout", "Samoa -13.8, -172.1", "Worm");
+    registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 1, 8, 0), "Far", "Content",
+        "Fishing", "Rain", "Trout", "Perth -31.9, 115.8", "Worm");
+
+    List<FishingSpot> spots = registry.findSpotsInBox(new GeoPoint(-20, 170),
+        new GeoPoint(-10, -170));
+
+    assertEquals(2, spots.size());
+    assertEquals(new GeoPoint(-17.8, 179.9), spots.get(0).coordinates());
+    assertEquals(1, registry.findSpotsWithinRadius(new GeoPoint(-17.8, -179.9), 50).size());
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.findSpotsInBox(new GeoPoint(10, 0), new GeoPoint(0, 10)));
+  }
+
+  @Test
+  void testNearestSpotsMatchFullScan() {
+    Random random = new Random(42);
+    for (int i = 0; i < 300; i++) {
+      FishingEntry entry = registry.createFishingEntry(author, LocalDateTime.of(2025, 6, 1, 8, 0),
+          "Trip " + i, "Content", "Fishing", "Rain", "Trout", "Spot " + i, "Worm");
+      entry.setCoordinates(new GeoPoint(58 + random.nextDouble() * 4,
+          5 + random.nextDouble() * 8));
+    }
+    GeoPoint here = new GeoPoint(60, 9);
+    List<GeoPoint> all = registry.findSpotsInBox(new GeoPoint(-90, -180), new GeoPoint(90, 180))
+        .stream().map(FishingSpot::coordinates)
+        .sorted(Comparator.comparingDouble(here::distanceKm)).toList();
+
+    List<GeoPoint> nearest = registry.findNearestSpots(here, 10).stream()
+        .map(FishingSpot::coordinates).toList();
+    List<GeoPoint> within = registry.findSpotsWithinRadius(here, 50).stream()
+        .map(FishingSpot::coordinates).toList();
+
+    assertEquals(300, all.size());
+    assertEquals(all.subList(0, 10), nearest);
+    assertEquals(all.stream().filter(point -> here.distanceKm(point) <= 50).toList(), within);
+  }
+
+  @Test
+  void testFindEntriesByIndexedFieldValue() {
+    LocalDateTime time = LocalDateTime.of(2025, 6, 1, 8, 0);
+    FishingEntry worm = registry.createFishingEntry(author, time, "Trip 1", "Content",
+        "Fishing", "Rain", "Trout", "Lake", "Worm");
+    registry.createFishingEntry(author, time, "Trip 2", "Content", "Fishing", "Rain", "Trout",
+        "Lake", "Worm and  maggot");
+    FishingEntry spinner = registry.createFishingEntry(author, time, "Trip 3", "Content",
+        "Fishing", "Rain", "Trout", "Lake", "Spinner");
+
+    assertEquals(List.of(worm), registry.findEntriesByTemplateField("Bait used", " WORM "));
+    assertEquals(1,
+        registry.findEntriesByTemplateField("Bait used", "worm and maggot").size());
+    assertEquals(2, registry.findEntriesByTemplateFieldPrefix("Bait used", "wo").size());
+
+    spinner.setBaitUsed("worm");
+    registry.deleteEntryById(worm.getId());
+
+    assertEquals(List.of(spinner), registry.findEntriesByTemplateField("Bait used", "Worm"));
+  }
+
+  @Test
+  void testFindEntriesByIndexedListFieldItem() {
+    LocalDateTime time = LocalDateTime.of(2025, 6, 1, 8, 0);
+    GymEntry legs = registry.createGymEntry(author, time, "Legs", "Content", "Gym",
+        "Squats, Deadlift", "1, 1", "5x100kg, 5x140kg");
+    GymEntry push = registry.createGymEntry(author, time, "Push", "Content", "Gym",
+        "Bench Press, Dips", "1, 1", "5x80kg, 10");
+    registry.createFishingEntry(author, time, "Trip", "Content", "Fishing", "Rain",
+        "2 Trout, Perch", "Lake", "Worm");
+
+    assertEquals(List.of(legs), registry.findEntriesByTemplateField("Exercises", "deadlift"));
+    assertTrue(registry.findEntriesByTemplateField("Exercises", "Squats, Deadlift").isEmpty());
+    assertEquals(List.of(legs, push),
+        registry.findEntriesByTemplateFieldPrefix("Exercises", "d"));
+    assertEquals(1, registry.findEntriesByTemplateField("Fish caught", "perch").size());
+
+    push.setExercises("Bench Press, Overhead Press");
+    assertEquals(List.of(legs), registry.findEntriesByTemplateFieldPrefix("Exercises", "d"));
+  }
+
+  @Test
+  void testIndexedFieldConditionCombinesWithQuery() {
+    Author other = new Author(2, "Other Author");
+    LocalDateTime time = LocalDateTime.of(2025, 6, 1, 8, 0);
+    registry.createFishingEntry(author, time, "Trip 1", "Content", "Fishing", "Rain", "Trout",
+        "Lake", "Worm");
+    FishingEntry theirs = registry.createFishingEntry(other, time, "Trip 2", "Content",
+        "Fishing", "Rain", "Trout", "Lake", "Worm");
+
+    EntryQuery query = new EntryQuery().withAuthor(other).withIndexedField("Bait used", "worm");
+
+    assertEquals(List.of(theirs), registry.findEntries(query));
+    assertEquals(1, registry.deleteWhere(query));
+    assertEquals(1, registry.findEntriesByTemplateField("Bait used", "worm").size());
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.findEntriesByTemplateField("Reps", "5"));
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.findEntriesByTemplateFieldPrefix("Bait used", " "));
+  }
+}
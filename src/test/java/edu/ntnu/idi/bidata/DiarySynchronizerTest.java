@@ -0,0 +1,294 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.author.AuthorRegistry;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.diary.EntryTombstone;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GeoPoint;
+import edu.ntnu.idi.bidata.io.DiarySynchronizer;
+import edu.ntnu.idi.bidata.io.LocalSyncPeer;
+import edu.ntnu.idi.bidata.io.SocketSyncPeer;
+import edu.ntnu.idi.bidata.io.SyncPeer;
+import edu.ntnu.idi.bidata.io.SyncResult;
+import edu.ntnu.idi.bidata.io.SyncServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for DiarySynchronizer and the sync hash tree of DiaryRegistry.
+ */
+class DiarySynchronizerTest {
+
+  private static final int[] ROOT = {1};
+
+  private DiaryRegistry localEntries;
+  private AuthorRegistry localAuthors;
+  private DiaryRegistry remoteEntries;
+  private AuthorRegistry remoteAuthors;
+
+  @BeforeEach
+  void setUp() {
+    localEntries = new DiaryRegistry();
+    localAuthors = new AuthorRegistry();
+    remoteEntries = new DiaryRegistry();
+    remoteAuthors = new AuthorRegistry();
+    for (int day = 0; day < 300; day++) {
+      LocalDateTime timestamp = LocalDateTime.of(2023, 1, 1, 12, 0).plusDays(day);
+      addStandard(localEntries, localAuthors, timestamp, "Day " + day);
+    }
+    for (int day = 299; day >= 0; day--) {
+      LocalDateTime timestamp = LocalDateTime.of(2023, 1, 1, 12, 0).plusDays(day);
+      addStandard(remoteEntries, remoteAuthors, timestamp, "Day " + day);
+    }
+  }
+
+  @Test
+  void testSameEntriesGiveSameRootHash() {
+    assertArrayEquals(localEntries.getSyncHashes(ROOT), remoteEntries.getSyncHashes(ROOT));
+  }
+
+  @Test
+  void testRootHashFollowsChanges() {
+    long before = localEntries.getSyncHashes(ROOT)[0];
+
+    DiaryEntry entry = localEntries.findEntryById(1);
+    entry.setContent("Changed");
+    long changed = localEntries.getSyncHashes(ROOT)[0];
+    entry.setContent("Content of Day 0");
+
+    assertNotEquals(before, changed);
+    assertEquals(before, localEntries.getSyncHashes(ROOT)[0]);
+  }
+
+  @Test
+  void testRootHashIsRestoredAfterDelete() {
+    long before = localEntries.getSyncHashes(ROOT)[0];
+    addStandard(localEntries, localAuthors, LocalDateTime.of(2024, 1, 1, 9, 0), "Extra");
+
+    localEntries.deleteEntryById(301);
+
+    assertEquals(before, localEntries.getSyncHashes(ROOT)[0]);
+  }
+
+  @Test
+  void testPullFromLocalPeerAddsOnlyMissingEntries() throws IOException {
+    addStandard(remoteEntries, remoteAuthors, LocalDateTime.of(2024, 2, 1, 9, 0), "Remote 1");
+    remoteEntries.createFishingEntry(remoteAuthors.findOrCreateAuthor("Kari Nordmann"),
+        LocalDateTime.of(2024, 3, 1, 6, 0), "Trip", "Calm", "Fishing",
+        "Sunny", "Trout", "Lake", "Worm");
+
+    SyncResult result = new DiarySynchronizer(localEntries, localAuthors)
+        .pull(new LocalSyncPeer(remoteEntries));
+
+    assertEquals(2, result.differingBuckets());
+    assertEquals(2, result.entriesAdded());
+    assertTrue(result.hashComparisons() < 100);
+    assertEquals(302, localEntries.getNumberOfEntries());
+    assertEquals("Kari Nordmann", localEntries.findEntryById(302).getAuthor().name());
+    assertArrayEquals(remoteEntries.getSyncHashes(ROOT), localEntries.getSyncHashes(ROOT));
+  }
+
+  @Test
+  void testPullWithoutDifferences() throws IOException {
+    SyncResult result = new DiarySynchronizer(localEntries, localAuthors)
+        .pull(new LocalSyncPeer(remoteEntries));
+
+    assertEquals(new SyncResult(1, 0, 0, 0, 0, 0, 0, 0, List.of()), result);
+  }
+
+  @Test
+  void testPullOverSocket() throws IOException {
+    remoteEntries.findEntryById(10).setContent("Edited remotely");
+    addStandard(remoteEntries, remoteAuthors, LocalDateTime.of(2024, 2, 1, 9, 0), "Remote");
+
+    ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    try (SyncServer server = new SyncServer(remoteEntries, serverSocket)) {
+      server.start();
+      try (SocketSyncPeer peer = new SocketSyncPeer(
+          new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()))) {
+        SyncResult result = new DiarySynchronizer(localEntries, localAuthors).pull(peer);
+
+        assertEquals(2, result.differingBuckets());
+        assertEquals(1, result.entriesAdded());
+        assertEquals(1, result.entriesUpdated());
+      }
+    }
+    assertEquals(301, localEntries.getNumberOfEntries());
+    assertEquals("Edited remotely", localEntries.findEntryById(291).getContent());
+    assertArrayEquals(remoteEntries.getSyncHashes(ROOT), localEntries.getSyncHashes(ROOT));
+  }
+
+  @Test
+  void testPullReplacesEditedEntry() throws IOException {
+    remoteEntries.findEntryById(291).setContent("Edited remotely");
+
+    SyncResult result = new DiarySynchronizer(localEntries, localAuthors)
+        .pull(new LocalSyncPeer(remoteEntries));
+
+    assertEquals(0, result.entriesAdded());
+    assertEquals(1, result.entriesUpdated());
+    assertEquals(300, localEntries.getNumberOfEntries());
+    assertEquals("Edited remotely", localEntries.findEntryById(10).getContent());
+    assertArrayEquals(remoteEntries.getSyncHashes(ROOT), localEntries.getSyncHashes(ROOT));
+  }
+
+  @Test
+  void testPullOverSocketCarriesCoordinates() throws IOException {
+    LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 6, 0);
+    for (DiaryRegistry entries : new DiaryRegistry[] {localEntries, remoteEntries}) {
+      AuthorRegistry authors = entries == localEntries ? localAuthors : remoteAuthors;
+      entries.createFishingEntry(authors.findOrCreateAuthor("Ola Nordmann"), timestamp, "Trip",
+          "Calm", "Fishing", "Sunny", "Trout", "Secret spot", "Worm");
+    }
+    ((FishingEntry) remoteEntries.findEntryById(301)).setCoordinates(new GeoPoint(60.75, 10.68));
+
+    ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    try (SyncServer server = new SyncServer(remoteEntries, serverSocket)) {
+      server.start();
+      try (SocketSyncPeer peer = new SocketSyncPeer(
+          new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()))) {
+        SyncResult result = new DiarySynchronizer(localEntries, localAuthors).pull(peer);
+
+        assertEquals(1, result.entriesUpdated());
+      }
+    }
+    assertEquals(new GeoPoint(60.75, 10.68),
+        ((FishingEntry) localEntries.findEntryById(301)).getCoordinates());
+    assertArrayEquals(remoteEntries.getSyncHashes(ROOT), localEntries.getSyncHashes(ROOT));
+  }
+
+  @Test
+  void testPullDoesNotReplaceNewerLocalEdit() throws IOException {
+    localEntries.findEntryById(10).setContent("First local edit");
+    localEntries.findEntryById(10).setContent("Second local edit");
+    remoteEntries.findEntryById(291).setContent("Edited remotely");
+
+    SyncResult result = new DiarySynchronizer(localEntries, localAuthors)
+        .pull(new LocalSyncPeer(remoteEntries));
+
+    assertEquals(0, result.entriesUpdated());
+    assertEquals("Second local edit", localEntries.findEntryById(10).getContent());
+  }
+
+  @Test
+  void testDeletionIsCarriedOverAndNotReAdded() throws IOException {
+    remoteEntries.deleteEntryById(291);
+
+    SyncResult pulled = new DiarySynchronizer(localEntries, localAuthors)
+        .pull(new LocalSyncPeer(remoteEntries));
+    SyncResult pushed = new DiarySynchronizer(remoteEntries, remoteAuthors)
+        .pull(new LocalSyncPeer(localEntries));
+
+    assertEquals(1, pulled.entriesDeleted());
+    assertEquals(new SyncResult(1, 0, 0, 0, 0, 0, 0, 0, List.of()), pushed);
+    assertEquals(299, localEntries.getNumberOfEntries());
+    assertEquals(299, remoteEntries.getNumberOfEntries());
+  }
+
+  @Test
+  void testInvalidEntriesFromPeerAreRejected() throws IOException {
+    addStandard(remoteEntries, remoteAuthors, LocalDateTime.of(2024, 2, 1, 9, 0), "Remote");
+    LocalSyncPeer remote = new LocalSyncPeer(remoteEntries);
+    SyncPeer peer = new SyncPeer() {
+      @Override
+      public int bucketCount() {
+        return remote.bucketCount();
+      }
+
+      @Override
+      public long[] hashes(int[] nodes) {
+        return remote.hashes(nodes);
+      }
+
+      @Override
+      public List<EntrySpec> entries(int[] buckets, Consumer<String> unreadable) {
+        EntrySpec spec = remote.entries(buckets, unreadable).get(0);
+        return List.of(new EntrySpec(spec.entryType(), null, spec.timestamp(), null,
+            spec.content(), spec.category(), spec.templateValues(), null, spec.syncId(), 1));
+      }
+
+      @Override
+      public List<EntryTombstone> tombstones(int[] buckets) {
+        return remote.tombstones(buckets);
+      }
+    };
+
+    SyncResult result = new DiarySynchronizer(localEntries, localAuthors).pull(peer);
+
+    assertEquals(1, result.entriesRejected());
+    assertEquals(List.of("Invalid entry from peer: Author must not be null"), result.errors());
+    assertEquals(0, result.entriesAdded());
+    assertEquals(300, localEntries.getNumberOfEntries());
+  }
+
+  @Test
+  void testUnreadableEntryOverSocketIsSkipped() throws Exception {
+    ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    Thread server = new Thread(() -> {
+      try (serverSocket; Socket socket = serverSocket.accept()) {
+        BufferedReader in = new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        in.readLine();
+        out.write("{\"syncId\":7,\"revision\":1,\"type\":\"Standard\",\"author\":\"Per\","
+            + "\"timestamp\":\"yesterday\",\"title\":\"Bad\",\"content\":\"Bad\","
+            + "\"category\":\"Personal\"}\n");
+        out.write("{\"syncId\":8,\"revision\":1,\"type\":\"Standard\",\"author\":\"Kari\","
+            + "\"timestamp\":\"2024-02-01T09:00\",\"title\":\"Good\",\"content\":\"Good\","
+            + "\"category\":\"Personal\"}\n");
+        out.write("END\n");
+        out.flush();
+        in.readLine();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    server.start();
+
+    List<String> unreadable = new ArrayList<>();
+    List<EntrySpec> specs;
+    try (SocketSyncPeer peer = new SocketSyncPeer(
+        new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()))) {
+      specs = peer.entries(new int[] {5}, unreadable::add);
+    }
+    server.join();
+
+    assertEquals(1, specs.size());
+    assertEquals("Good", specs.get(0).title());
+    assertEquals(1, unreadable.size());
+    assertTrue(unreadable.get(0).startsWith("Invalid entry from peer: "));
+    assertNull(localAuthors.findAuthorByExactName("Per"));
+    assertNull(localAuthors.findAuthorByExactName("Kari"));
+  }
+
+  /**
+   * Adds a standard entry with an author named "Ola Nordmann".
+   */
+  private static void addStandard(DiaryRegistry entries, AuthorRegistry authors,
+      LocalDateTime timestamp, String title) {
+    entries.createStandardEntry(authors.findOrCreateAuthor("Ola Nordmann"), timestamp, title,
+        "Content of " + title, "Personal");
+  }
+}
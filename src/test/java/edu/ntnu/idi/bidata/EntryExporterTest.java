@@ -0,0 +1,167 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.author.AuthorRegistry;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntryQuery;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GeoPoint;
+import edu.ntnu.idi.bidata.io.EntryExporter;
+import edu.ntnu.idi.bidata.io.EntryImporter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for EntryExporter.
+ */
+class EntryExporterTest {
+
+  private DiaryRegistry registry;
+  private EntryExporter exporter;
+
+  @BeforeEach
+  void setUp() {
+    registry = new DiaryRegistry();
+    exporter = new EntryExporter(registry);
+    Author author = new Author(1, "Ola Nordmann");
+    registry.createStandardEntry(author, LocalDateTime.of(2024, 5, 17, 8, 30),
+        "National day", "Parade, \"hurra\" and\nice cream", "Personal");
+    registry.createFishingEntry(author, LocalDateTime.of(2024, 6, 1, 6, 0),
+        "Trip", "Calm morning", "Fishing", "Sunny", "Trout", "Lake", "Worm");
+    registry.createGymEntry(author, LocalDateTime.of(2025, 1, 3, 18, 0),
+        "Workout", "Leg day", "Gym", "Squats", "3", "10");
+  }
+
+  @Test
+  void testExportCsv() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    long count = exporter.exportCsv(writer, new EntryQuery());
+
+    String[] lines = writer.toString().split("\n");
+    assertEquals(3, count);
+    assertEquals("type,author,timestamp,title,content,category,Weather,Fish caught,Location,"
+        + "Bait used,Exercises,Sets,Reps,latitude,longitude", lines[0]);
+    assertEquals("Standard,Ola Nordmann,2024-05-17T08:30,National day,"
+        + "\"Parade, \"\"hurra\"\" and", lines[1]);
+    assertEquals("Fishing,Ola Nordmann,2024-06-01T06:00,Trip,Calm morning,Fishing,"
+        + "Sunny,Trout,Lake,Worm,,,,,", lines[3]);
+  }
+
+  @Test
+  void testExportJsonLinesWithDateRange() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    long count = exporter.exportJsonLines(writer,
+        new EntryQuery().from(LocalDate.of(2024, 6, 1)).before(LocalDate.of(2025, 1, 1)));
+
+    assertEquals(1, count);
+    assertEquals("{\"id\":2,\"type\":\"Fishing\",\"author\":\"Ola Nordmann\","
+        + "\"timestamp\":\"2024-06-01T06:00\",\"title\":\"Trip\",\"content\":\"Calm morning\","
+        + "\"category\":\"Fishing\",\"fields\":{\"Weather\":\"Sunny\",\"Fish caught\":\"Trout\","
+        + "\"Location\":\"Lake\",\"Bait used\":\"Worm\"}}\n", writer.toString());
+  }
+
+  @Test
+  void testExportMarkdown() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    exporter.exportMarkdown(writer, new EntryQuery().withEntryType("Fishing"));
+
+    assertEquals("# Diary\n\n## Trip\n\n*01.06.2024 06:00 · Ola Nordmann · Fishing · Fishing*\n\n"
+        + "- **Weather:** Sunny\n- **Fish caught:** Trout\n- **Location:** Lake\n"
+        + "- **Bait used:** Worm\n\nCalm morning\n", writer.toString());
+  }
+
+  @Test
+  void testExportToChannel() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    try (Writer writer = EntryExporter.channelWriter(Channels.newChannel(bytes))) {
+      exporter.exportJsonLines(writer, new EntryQuery().withCategory("gym"));
+    }
+
+    assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("\"title\":\"Workout\""));
+  }
+
+  @Test
+  void testExportedCsvAndJsonLinesCanBeImported() throws IOException {
+    StringWriter csv = new StringWriter();
+    StringWriter jsonLines = new StringWriter();
+    exporter.exportCsv(csv, new EntryQuery());
+    exporter.exportJsonLines(jsonLines, new EntryQuery());
+    DiaryRegistry fromCsv = new DiaryRegistry();
+    DiaryRegistry fromJson = new DiaryRegistry();
+
+    new EntryImporter(fromCsv, new AuthorRegistry()).importCsv(new StringReader(csv.toString()));
+    new EntryImporter(fromJson, new AuthorRegistry())
+        .importJsonLines(new StringReader(jsonLines.toString()));
+
+    for (DiaryRegistry imported : new DiaryRegistry[] {fromCsv, fromJson}) {
+      assertEquals(3, imported.getNumberOfEntries());
+      for (int id = 1; id <= 3; id++) {
+        DiaryEntry original = registry.findEntryById(id);
+        DiaryEntry copy = imported.findEntryById(id);
+        assertEquals(original.getContent(), copy.getContent());
+        assertEquals(original.getTimestamp(), copy.getTimestamp());
+        assertEquals(original.getTemplateFields(), copy.getTemplateFields());
+      }
+    }
+  }
+
+  @Test
+  void testCoordinatesAreExportedAndImported() throws IOException {
+    ((FishingEntry) registry.findEntryById(2)).setCoordinates(new GeoPoint(60.75, 10.68));
+    StringWriter csv = new StringWriter();
+    StringWriter jsonLines = new StringWriter();
+    StringWriter markdown = new StringWriter();
+    exporter.exportCsv(csv, new EntryQuery());
+    exporter.exportJsonLines(jsonLines, new EntryQuery());
+    exporter.exportMarkdown(markdown, new EntryQuery());
+    DiaryRegistry fromCsv = new DiaryRegistry();
+    DiaryRegistry fromJson = new DiaryRegistry();
+
+    new EntryImporter(fromCsv, new AuthorRegistry()).importCsv(new StringReader(csv.toString()));
+    new EntryImporter(fromJson, new AuthorRegistry())
+        .importJsonLines(new StringReader(jsonLines.toString()));
+
+    assertTrue(csv.toString().contains("Sunny,Trout,Lake,Worm,,,,60.75,10.68\n"));
+    assertTrue(jsonLines.toString()
+        .contains("\"Worm\"},\"latitude\":60.75,\"longitude\":10.68}\n"));
+    assertTrue(markdown.toString().contains("- **Coordinates:** 60.75, 10.68\n"));
+    for (DiaryRegistry imported : new DiaryRegistry[] {fromCsv, fromJson}) {
+      assertEquals(new GeoPoint(60.75, 10.68),
+          ((FishingEntry) imported.findEntryById(2)).getCoordinates());
+    }
+  }
+
+  @Test
+  void testExportChangesSinceWritesUpsertsAndTombstones() throws IOException {
+    long backup = exporter.exportChangesSince(new StringWriter(), 0);
+    registry.findEntryById(1).setContent("Rainy parade");
+    registry.deleteEntryById(3);
+    StringWriter writer = new StringWriter();
+
+    long next = exporter.exportChangesSince(writer, backup);
+
+    String[] lines = writer.toString().split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].startsWith("{\"id\":1,"));
+    assertTrue(lines[0].contains("\"content\":\"Rainy parade\""));
+    assertEquals("{\"id\":3,\"deleted\":true}", lines[1]);
+    assertEquals(registry.getCurrentSequence(), next);
+  }
+}
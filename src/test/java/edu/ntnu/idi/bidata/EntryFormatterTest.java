@@ -0,0 +1,96 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.StandardEntry;
+import edu.ntnu.idi.bidata.ui.EntryFormatter;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for EntryFormatter.
+ */
+class EntryFormatterTest {
+
+  private EntryFormatter formatter;
+  private Author author;
+  private LocalDateTime timestamp;
+
+  @BeforeEach
+  void setUp() {
+    formatter = new EntryFormatter();
+    author = new Author(1, "Test Author");
+    timestamp = LocalDateTime.of(2025, 12, 4, 14, 30);
+  }
+
+  @Test
+  void testFormatStandardEntryHasFixedWidthLines() {
+    DiaryEntry entry = new StandardEntry(1, author, timestamp, "Title",
+        "A long day with many words that need to be wrapped onto more than one line of the box, "
+            + "and a word that is far too long to fit: " + "x".repeat(150), "Daily");
+
+    String[] lines = formatter.format(entry).split(System.lineSeparator());
+
+    assertTrue(lines[0].startsWith("┌"));
+    assertTrue(lines[lines.length - 1].startsWith("└"));
+    for (String line : lines) {
+      assertEquals(72, line.length(), line);
+    }
+  }
+
+  @Test
+  void testFormatFishingEntryShowsTemplateFields() {
+    DiaryEntry entry = new FishingEntry(2, author, timestamp, "Trip", "Calm water", "Fishing",
+        "Sunny", "Trout", "Lake", "Worm");
+
+    String text = formatter.format(entry);
+
+    assertTrue(text.contains("│ Weather: Sunny"));
+    assertTrue(text.contains("│ Bait used: Worm"));
+    assertTrue(text.contains("│ Calm water"));
+  }
+
+  @Test
+  void testFormatGymEntryShowsWorkoutTable() {
+    GymEntry entry = new GymEntry(3, author, timestamp, "Workout", "Felt strong", "Gym",
+        "Bench Press, Squats", "3, 2", "8x60kg;7x60kg;6x60kg, 10x100kg;9x100kg");
+
+    String[] lines = formatter.format(entry).split(System.lineSeparator());
+
+    assertEquals("│ Notes: Felt strong" + " ".repeat(50) + " │", lines[5]);
+    assertTrue(lines[10].startsWith("│ Bench Press" + " ".repeat(17) + " │ 8x60kg"));
+    assertTrue(lines[11].startsWith("│" + " ".repeat(30) + "│ 7x60kg"));
+    for (String line : lines) {
+      assertEquals(72, line.length(), line);
+    }
+  }
+
+  @Test
+  void testPrintEntriesWritesEachEntryFollowedByEmptyLine() {
+    DiaryEntry first = new StandardEntry(1, author, timestamp, "First", "One", "Daily");
+    DiaryEntry second = new StandardEntry(2, author, timestamp, "Second", "Two", "Daily");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream original = System.out;
+
+    System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+    try {
+      formatter.printEntries(List.of(first, second));
+    } finally {
+      System.setOut(original);
+    }
+
+    String expected = formatter.format(first) + System.lineSeparator()
+        + formatter.format(second) + System.lineSeparator();
+    assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,191 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.author.AuthorRegistry;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.io.EntryImporter;
+import edu.ntnu.idi.bidata.io.ImportProgress;
+import edu.ntnu.idi.bidata.io.ImportResult;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for EntryImporter.
+ */
+class EntryImporterTest {
+
+  private DiaryRegistry diaryRegistry;
+  private AuthorRegistry authorRegistry;
+  private EntryImporter importer;
+
+  @BeforeEach
+  void setUp() {
+    diaryRegistry = new DiaryRegistry();
+    authorRegistry = new AuthorRegistry();
+    importer = new EntryImporter(diaryRegistry, authorRegistry);
+  }
+
+  @Test
+  void testImportCsv() throws IOException {
+    String csv = "type,author,timestamp,title,content,category,Weather,Fish caught,Location,"
+        + "Bait used,Exercises,Sets,Reps\n"
+        + "Standard,Ola Nordmann,2024-05-17T08:30,Title,\"Content, with comma\",Personal,"
+        + ",,,,,,\n"
+        + "Fishing,Kari Nordmann,2024-05-18T06:00,Trip,\"Line 1\nLine 2\",Fishing,"
+        + "Sunny,Trout,Lake,Worm,,,\n"
+        + "Gym,ola nordmann,2024-05-19T18:00,Workout,\"She said \"\"go\"\"\",Gym,"
+        + ",,,,Squats,3,10\n";
+
+    ImportResult result = importer.importCsv(new StringReader(csv));
+
+    assertEquals(3, result.getRecordsRead());
+    assertEquals(3, result.getEntriesCreated());
+    assertEquals(0, result.getErrorCount());
+    assertEquals(2, authorRegistry.getAllAuthors().size());
+    assertEquals("Content, with comma", diaryRegistry.findEntryById(1).getContent());
+    assertEquals("Line 1\nLine 2", diaryRegistry.findEntryById(2).getContent());
+    assertEquals("Trout", diaryRegistry.findEntryById(2).getTemplateFields().get("Fish caught"));
+    assertEquals("She said \"go\"", diaryRegistry.findEntryById(3).getContent());
+    assertEquals(LocalDateTime.of(2024, 5, 19, 18, 0),
+        diaryRegistry.findEntryById(3).getTimestamp());
+  }
+
+  @Test
+  void testImportCsvColumnsInAnyOrder() throws IOException {
+    String csv = "Title,Category,Content,Timestamp,Author,Type\n"
+        + "Title,Work,Content,2024-01-01T12:00,Ola Nordmann,standard\n";
+
+    ImportResult result = importer.importCsv(new StringReader(csv));
+
+    assertEquals(1, result.getEntriesCreated());
+    assertEquals("Work", diaryRegistry.findEntryById(1).getCategory());
+  }
+
+  @Test
+  void testImportCsvMissingColumn() {
+    String csv = "type,author,timestamp,title,content\n";
+
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> importer.importCsv(new StringReader(csv))
+    );
+    assertEquals("CSV header is missing the column category", exception.getMessage());
+  }
+
+  @Test
+  void testImportCsvUnclosedQuoteRejectsOnlyItsRecord() throws IOException {
+    String csv = "type,author,timestamp,title,content,category\n"
+        + "Standard,Ola,2024-01-01T00:00,First,Content,X\n"
+        + "Standard,Ola,2024-01-02T00:00,Second,\"Unclosed,X\n"
+        + "Standard,Ola,2024-01-03T00:00,Third,Content,X\n"
+        + "Standard,Ola,2024-01-04T00:00,Fourth,Content,X\n";
+
+    ImportResult result = importer.importCsv(new StringReader(csv));
+
+    assertEquals(4, result.getRecordsRead());
+    assertEquals(3, result.getEntriesCreated());
+    assertEquals(List.of("Record 2: Quoted field is not closed"), result.getErrors());
+    assertEquals("Fourth", diaryRegistry.findEntriesByCategory("X").get(2).getTitle());
+  }
+
+  @Test
+  void testImportCsvOverlongQuotedFieldRejectsOnlyItsRecord() throws IOException {
+    StringBuilder csv = new StringBuilder("type,author,timestamp,title,content,category\n"
+        + "Standard,Ola,2024-01-01T00:00,Open,\"Unclosed,X\n");
+    for (int day = 0; day < 30_000; day++) {
+      csv.append("Standard,Ola,").append(LocalDateTime.of(2024, 2, 1, 0, 0).plusMinutes(day))
+          .append(",Line,Content,Y\n");
+    }
+    csv.append("Standard,Ola,2024-01-02T00:00,Late,\"Closed, \"\"late\"\"\",X\n");
+
+    ImportResult result = importer.importCsv(new StringReader(csv.toString()));
+
+    assertEquals(30_002, result.getRecordsRead());
+    assertEquals(30_001, result.getEntriesCreated());
+    assertEquals(List.of("Record 1: Field is longer than 1048576 characters"),
+        result.getErrors());
+    assertEquals("Closed, \"late\"", diaryRegistry.findEntriesByCategory("X").get(0)
+        .getContent());
+  }
+
+  @Test
+  void testImportJsonLines() throws IOException {
+    String jsonLines = "{\"type\":\"Fishing\",\"author\":\"Ola Nordmann\","
+        + "\"timestamp\":\"2024-05-18T06:00\",\"title\":\"Trip\",\"content\":\"Caught \\\"one\\\"\","
+        + "\"category\":\"Fishing\",\"fields\":{\"Weather\":\"Rainy\",\"Fish caught\":\"Cod\","
+        + "\"Location\":\"Fjord\",\"Bait used\":\"Lure\"}}\n"
+        + "\n"
+        + "{\"type\":\"Standard\",\"author\":\"Ola Nordmann\",\"timestamp\":\"2024-05-19T07:00\","
+        + "\"title\":\"Morning\",\"content\":\"Caf\\u00e9\",\"category\":\"Personal\"}\n";
+
+    ImportResult result = importer.importJsonLines(new StringReader(jsonLines));
+
+    assertEquals(2, result.getEntriesCreated());
+    assertEquals(1, authorRegistry.getAllAuthors().size());
+    DiaryEntry fishing = diaryRegistry.findEntryById(1);
+    assertEquals("Caught \"one\"", fishing.getContent());
+    assertEquals("Fjord", fishing.getTemplateFields().get("Location"));
+    assertEquals("Café", diaryRegistry.findEntryById(2).getContent());
+  }
+
+  @Test
+  void testImportReportsInvalidRecordsAndContinues() throws IOException {
+    String jsonLines = "{\"type\":\"Standard\",\"author\":\"Ola\",\"timestamp\":\"yesterday\","
+        + "\"title\":\"T\",\"content\":\"C\",\"category\":\"X\"}\n"
+        + "{not json}\n"
+        + "{\"type\":\"Standard\",\"author\":\"Ola\",\"timestamp\":\"2024-01-01T00:00\","
+        + "\"title\":\" \",\"content\":\"C\",\"category\":\"X\"}\n"
+        + "{\"type\":\"Standard\",\"author\":\"Ola\",\"timestamp\":\"2024-01-01T00:00\","
+        + "\"title\":\"T\",\"content\":\"C\",\"category\":\"X\"}\n";
+
+    ImportResult result = importer.importJsonLines(new StringReader(jsonLines));
+
+    assertEquals(4, result.getRecordsRead());
+    assertEquals(1, result.getEntriesCreated());
+    assertEquals(3, result.getErrorCount());
+    assertEquals("Record 1: Invalid timestamp: yesterday", result.getErrors().get(0));
+    assertTrue(result.getErrors().get(1).startsWith("Record 2: Invalid JSON"));
+    assertEquals("Record 3: Title cannot be null or empty", result.getErrors().get(2));
+  }
+
+  @Test
+  void testRejectedRecordsDoNotCreateAuthors() throws IOException {
+    String csv = "type,author,timestamp,title,content,category,exercises,sets,reps\n"
+        + "Gym,Kari,2024-01-01T18:00,Legs,Squats,Gym,Squats,3,ten\n"
+        + "Standard,Per,yesterday,Note,Content,X,,,\n"
+        + "Standard,Ola,2024-01-02T08:00,Note,Content,X,,,\n";
+
+    ImportResult result = importer.importCsv(new StringReader(csv));
+
+    assertEquals(1, result.getEntriesCreated());
+    assertEquals(2, result.getErrorCount());
+    assertEquals(1, authorRegistry.getAllAuthors().size());
+    assertEquals("Ola", authorRegistry.getAllAuthors().get(0).name());
+  }
+
+  @Test
+  void testProgressIsReportedAfterEachBatch() throws IOException {
+    List<ImportProgress> reports = new ArrayList<>();
+    EntryImporter batched = new EntryImporter(diaryRegistry, authorRegistry, 2, reports::add);
+    StringBuilder csv = new StringBuilder("type,author,timestamp,title,content,category\n");
+    for (int i = 0; i < 5; i++) {
+      csv.append("Standard,Ola,2024-01-01T00:00,Title ").append(i).append(",Content,X\n");
+    }
+
+    batched.importCsv(new StringReader(csv.toString()));
+
+    assertEquals(3, reports.size());
+    assertEquals(2, reports.get(0).entriesCreated());
+    assertEquals(5, reports.get(2).recordsRead());
+    assertEquals(5, diaryRegistry.getNumberOfEntries());
+  }
+}
@@ -1,11 +1,14 @@
 package edu.ntnu.idi.bidata;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import edu.ntnu.idi.bidata.author.Author;
 import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GeoPoint;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -258,4 +261,85 @@ class FishingEntryTest {
     );
     assertEquals("Bait used cannot be null or empty", exception.getMessage());
   }
-}
\ No newline at end of file
+
+  @Test
+  void testTemplateFieldsFollowSchemaOrder() {
+    FishingEntry entry = new FishingEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Sunny", "Salmon", "Lake Superior", "Worm");
+
+    List<String> names = List.copyOf(entry.getTemplateFields().keySet());
+
+    assertEquals(List.of("Weather", "Fish caught", "Location", "Bait used"), names);
+    assertEquals(2, FishingEntry.SCHEMA.indexOf("Location"));
+    assertEquals("Lake Superior", entry.getTemplateFieldValue(2));
+  }
+
+  @Test
+  void testTemplateFieldsAreReadOnly() {
+    FishingEntry entry = new FishingEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Sunny", "Salmon", "Lake Superior", "Worm");
+
+    Map<String, String> fields = entry.getTemplateFields();
+
+    assertThrows(UnsupportedOperationException.class, () -> fields.put("Weather", "Rain"));
+  }
+
+  @Test
+  void testTemplateFieldViewReflectsSetter() {
+    FishingEntry entry = new FishingEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Sunny", "Salmon", "Lake Superior", "Worm");
+    Map<String, String> fields = entry.getTemplateFields();
+
+    entry.setWeather("Rain");
+
+    assertEquals("Rain", fields.get("Weather"));
+  }
+
+  @Test
+  void testGettersReturnTemplateFields() {
+    FishingEntry entry = new FishingEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Sunny", "Salmon", "Lake Superior", "Worm");
+
+    entry.setBaitUsed(" Spinner ");
+
+    assertEquals("Sunny", entry.getWeather());
+    assertEquals("Salmon", entry.getFishCaught());
+    assertEquals("Lake Superior", entry.getLocation());
+    assertEquals("Spinner", entry.getBaitUsed());
+  }
+
+  @Test
+  void testCoordinatesAreReadFromLocation() {
+    FishingEntry entry = new FishingEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Sunny", "Salmon", "Mjøsa 60.75, 10.68", "Worm");
+
+    assertEquals(new GeoPoint(60.75, 10.68), entry.getCoordinates());
+    entry.setLocation("Hook Bay (41.36 N, 70.05 W)");
+    assertEquals(new GeoPoint(41.36, -70.05), entry.getCoordinates());
+    entry.setLocation("Pier 39, 2 hours out");
+    assertNull(entry.getCoordinates());
+  }
+
+  @Test
+  void testCoordinatesCanBeSetExplicitly() {
+    FishingEntry entry = new FishingEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Sunny", "Salmon", "Lake Superior", "Worm");
+    int version = entry.getVersion();
+
+    entry.setCoordinates(new GeoPoint(47.7, -87.5));
+
+    assertEquals(new GeoPoint(47.7, -87.5), entry.getCoordinates());
+    assertEquals(version + 1, entry.getVersion());
+    assertThrows(IllegalArgumentException.class, () -> entry.setLocation(" "));
+    assertEquals(new GeoPoint(47.7, -87.5), entry.getCoordinates());
+  }
+
+  @Test
+  void testGeoPointValidationAndDistance() {
+    assertThrows(IllegalArgumentException.class, () -> new GeoPoint(91, 0));
+    assertThrows(IllegalArgumentException.class, () -> new GeoPoint(0, Double.NaN));
+    assertNull(GeoPoint.find("95.5, 10.5"));
+    assertEquals(111.195, new GeoPoint(0, 0).distanceKm(new GeoPoint(1, 0)), 0.001);
+    assertEquals(0, new GeoPoint(10, 179.9).distanceKm(new GeoPoint(10, 179.9)));
+  }
+}
@@ -1,10 +1,13 @@
 package edu.ntnu.idi.bidata;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import edu.ntnu.idi.bidata.author.Author;
 import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.Workout;
 import java.time.LocalDateTime;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -295,4 +298,103 @@ class GymEntryTest {
     );
     assertEquals("Reps cannot be null or empty", exception.getMessage());
   }
-}
\ No newline at end of file
+
+  @Test
+  void testWorkoutIsParsedFromFields() {
+    GymEntry entry = new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Bench Press, Dips", "3, 2", "8x60kg;7x62.5kg;6x60kg, 12xBodyweight;10");
+
+    Workout workout = entry.getWorkout();
+
+    assertEquals(2, workout.getExerciseCount());
+    assertEquals("Dips", workout.getExerciseName(1));
+    assertEquals(3, workout.getPlannedSets(0));
+    assertEquals(3, workout.getSetCount(0));
+    assertEquals(7, workout.getReps(0, 1));
+    assertEquals(62.5, workout.getWeight(0, 1));
+    assertEquals(8 * 60 + 7 * 62.5 + 6 * 60, workout.getVolume(0));
+    assertTrue(workout.isBodyweight(1, 0));
+    assertEquals(0, workout.getWeight(1, 0));
+    assertFalse(workout.isBodyweight(1, 1));
+    assertEquals(0, workout.getVolume(1));
+  }
+
+  @Test
+  void testWorkoutWithoutRepsForExercise() {
+    GymEntry entry = new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Bench Press, Squats", "3", "8x60kg");
+
+    Workout workout = entry.getWorkout();
+
+    assertEquals(0, workout.getSetCount(1));
+    assertEquals(0, workout.getPlannedSets(1));
+  }
+
+  @Test
+  void testAppendSetWritesEnteredForm() {
+    GymEntry entry = new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Bench Press", "3", "8X60 kg;6x82.5kg;12xbodyweight;10");
+    Workout workout = entry.getWorkout();
+    StringBuilder out = new StringBuilder();
+
+    for (int set = 0; set < workout.getSetCount(0); set++) {
+      workout.appendSet(out, 0, set);
+      out.append(' ');
+    }
+
+    assertEquals("8x60kg 6x82.5kg 12xBodyweight 10 ", out.toString());
+  }
+
+  @Test
+  void testSetRepsUpdatesWorkout() {
+    GymEntry entry = new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Bench Press", "3", "8x60kg");
+
+    entry.setReps("10x70kg;9x70kg");
+
+    assertEquals(2, entry.getWorkout().getSetCount(0));
+    assertEquals(70, entry.getWorkout().getWeight(0, 1));
+  }
+
+  @Test
+  void testCreateGymEntryWithInvalidReps() {
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+            "Bench Press", "3", "eight times sixty")
+    );
+    assertEquals("Invalid set \"eight times sixty\", expected repetitions like 8, 8x60kg or "
+        + "8xBodyweight", exception.getMessage());
+  }
+
+  @Test
+  void testCreateGymEntryWithInvalidSets() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+            "Bench Press", "three", "8x60kg"));
+    assertThrows(IllegalArgumentException.class,
+        () -> new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+            "Bench Press", "0", "8x60kg"));
+  }
+
+  @Test
+  void testCreateGymEntryWithEmptyExerciseName() {
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+            "Bench Press, , Squats", "3", "8x60kg")
+    );
+    assertEquals("Exercise names cannot be empty", exception.getMessage());
+  }
+
+  @Test
+  void testInvalidSetRepsKeepsPreviousValue() {
+    GymEntry entry = new GymEntry(1, author, timestamp, "Title", "Content", "Category",
+        "Bench Press", "3", "8x60kg");
+
+    assertThrows(IllegalArgumentException.class, () -> entry.setReps("8x60kg;lots"));
+
+    assertEquals("8x60kg", entry.getReps());
+    assertEquals(1, entry.getWorkout().getSetCount(0));
+  }
+}
@@ -0,0 +1,88 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.ntnu.idi.bidata.util.IntIntMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IntIntMap.
+ */
+class IntIntMapTest {
+
+  private IntIntMap map;
+
+  @BeforeEach
+  void setUp() {
+    map = new IntIntMap();
+  }
+
+  @Test
+  void testPutAndGet() {
+    map.put(1, 10);
+    map.put(-7, 0);
+
+    assertEquals(10, map.get(1));
+    assertEquals(0, map.get(-7));
+    assertEquals(IntIntMap.MISSING, map.get(2));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  void testPutReplacesValue() {
+    map.put(1, 10);
+
+    map.put(1, 11);
+
+    assertEquals(11, map.get(1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void testPutNegativeValue() {
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> map.put(1, -1)
+    );
+    assertEquals("Value cannot be negative", exception.getMessage());
+  }
+
+  @Test
+  void testRemove() {
+    map.put(1, 10);
+
+    int removed = map.remove(1);
+
+    assertEquals(10, removed);
+    assertEquals(IntIntMap.MISSING, map.get(1));
+    assertEquals(IntIntMap.MISSING, map.remove(1));
+    assertEquals(0, map.size());
+  }
+
+  @Test
+  void testMatchesHashMapUnderRandomOperations() {
+    Map<Integer, Integer> expected = new HashMap<>();
+    Random random = new Random(42);
+
+    for (int i = 0; i < 20_000; i++) {
+      int key = random.nextInt(500);
+      if (random.nextBoolean()) {
+        map.put(key, i);
+        expected.put(key, i);
+      } else {
+        assertEquals(expected.containsKey(key) ? expected.remove(key) : IntIntMap.MISSING,
+            map.remove(key));
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (int key = 0; key < 500; key++) {
+      assertEquals(expected.getOrDefault(key, IntIntMap.MISSING), map.get(key));
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.util.IntObjectMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IntObjectMap.
+ */
+class IntObjectMapTest {
+
+  private IntObjectMap<String> map;
+
+  @BeforeEach
+  void setUp() {
+    map = new IntObjectMap<>();
+  }
+
+  @Test
+  void testPutAndGet() {
+    map.put(1, "one");
+    map.put(-7, "minus seven");
+
+    assertEquals("one", map.get(1));
+    assertEquals("minus seven", map.get(-7));
+    assertNull(map.get(2));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  void testPutReplacesValue() {
+    map.put(1, "one");
+
+    String previous = map.put(1, "uno");
+
+    assertEquals("one", previous);
+    assertEquals("uno", map.get(1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void testRemove() {
+    map.put(1, "one");
+    map.put(2, "two");
+
+    String removed = map.remove(1);
+
+    assertEquals("one", removed);
+    assertFalse(map.containsKey(1));
+    assertTrue(map.containsKey(2));
+    assertNull(map.remove(1));
+  }
+
+  @Test
+  void testValuesViewFollowsChanges() {
+    List<String> values = map.values();
+
+    map.put(1, "one");
+    map.put(2, "two");
+    map.remove(1);
+
+    assertEquals(List.of("two"), List.copyOf(values));
+    assertThrows(UnsupportedOperationException.class, () -> values.add("three"));
+  }
+
+  @Test
+  void testPutNullValue() {
+    assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+  }
+
+  @Test
+  void testMatchesHashMapUnderRandomOperations() {
+    Map<Integer, String> expected = new HashMap<>();
+    Random random = new Random(7);
+
+    for (int i = 0; i < 20_000; i++) {
+      int key = random.nextInt(500);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        String value = "v" + i;
+        assertEquals(expected.put(key, value), map.put(key, value));
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+}
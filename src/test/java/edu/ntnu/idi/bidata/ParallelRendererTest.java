@@ -0,0 +1,79 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.StandardEntry;
+import edu.ntnu.idi.bidata.ui.EntryFormatter;
+import edu.ntnu.idi.bidata.ui.ParallelRenderer;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ParallelRenderer.
+ */
+class ParallelRendererTest {
+
+  private EntryFormatter formatter;
+  private List<DiaryEntry> entries;
+
+  @BeforeEach
+  void setUp() {
+    formatter = new EntryFormatter();
+    Author author = new Author(1, "Test Author");
+    LocalDateTime start = LocalDateTime.of(2025, 12, 4, 14, 30);
+    entries = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      LocalDateTime timestamp = start.plusMinutes(i);
+      entries.add(switch (i % 3) {
+        case 0 -> new StandardEntry(i + 1, author, timestamp, "Day " + i, "Content " + i,
+            "Daily");
+        case 1 -> new FishingEntry(i + 1, author, timestamp, "Trip " + i, "Content " + i,
+            "Fishing", "Sunny", "Trout", "Lake", "Worm");
+        default -> new GymEntry(i + 1, author, timestamp, "Workout " + i, "Content " + i, "Gym",
+            "Squats, Bench Press", "3, 3", "10x100kg;9x100kg, 8x60kg");
+      });
+    }
+  }
+
+  @Test
+  void testRenderWritesEntriesInOriginalOrder() throws IOException {
+    ParallelRenderer renderer = new ParallelRenderer(formatter, 7, 2);
+    StringBuilder expected = new StringBuilder();
+    for (DiaryEntry entry : entries) {
+      expected.append(formatter.format(entry)).append(System.lineSeparator());
+    }
+
+    StringBuilder out = new StringBuilder();
+    long written = renderer.render(entries, out);
+
+    assertEquals(entries.size(), written);
+    assertEquals(expected.toString(), out.toString());
+  }
+
+  @Test
+  void testRenderEmptyListWritesNothing() throws IOException {
+    ParallelRenderer renderer = new ParallelRenderer(formatter);
+    StringBuilder out = new StringBuilder();
+
+    assertEquals(0, renderer.render(List.of(), out));
+    assertEquals("", out.toString());
+  }
+
+  @Test
+  void testInvalidArgumentsThrow() {
+    assertThrows(IllegalArgumentException.class, () -> new ParallelRenderer(null));
+    assertThrows(IllegalArgumentException.class, () -> new ParallelRenderer(formatter, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new ParallelRenderer(formatter, 1, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ParallelRenderer(formatter).render(entries, null));
+  }
+}
@@ -0,0 +1,109 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.StandardEntry;
+import edu.ntnu.idi.bidata.ui.EntryFormatter;
+import edu.ntnu.idi.bidata.ui.RenderCache;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RenderCache.
+ */
+class RenderCacheTest {
+
+  private RenderCache cache;
+  private EntryFormatter formatter;
+  private Author author;
+  private LocalDateTime timestamp;
+
+  @BeforeEach
+  void setUp() {
+    cache = new RenderCache(2);
+    formatter = new EntryFormatter(cache);
+    author = new Author(1, "Test Author");
+    timestamp = LocalDateTime.of(2025, 12, 4, 14, 30);
+  }
+
+  @Test
+  void testRepeatedFormatReturnsCachedText() {
+    StandardEntry entry = new StandardEntry(1, author, timestamp, "Title", "Content", "Daily");
+
+    String first = formatter.format(entry);
+    String second = formatter.format(entry);
+
+    assertSame(first, second);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  void testSetContentInvalidatesCachedText() {
+    StandardEntry entry = new StandardEntry(1, author, timestamp, "Title", "Old content", "Daily");
+    String before = formatter.format(entry);
+
+    entry.setContent("New content");
+    String after = formatter.format(entry);
+
+    assertNotEquals(before, after);
+    assertTrue(after.contains("New content"));
+  }
+
+  @Test
+  void testTemplateSettersInvalidateCachedText() {
+    FishingEntry fishing = new FishingEntry(1, author, timestamp, "Trip", "Calm", "Fishing",
+        "Sunny", "Trout", "Lake", "Worm");
+    GymEntry gym = new GymEntry(2, author, timestamp, "Workout", "Good", "Gym",
+        "Squats", "3", "10x100kg");
+    formatter.format(fishing);
+    formatter.format(gym);
+
+    fishing.setBaitUsed("Spinner");
+    gym.setExercises("Deadlift");
+
+    assertTrue(formatter.format(fishing).contains("Spinner"));
+    assertTrue(formatter.format(gym).contains("Deadlift"));
+    assertEquals(0, cache.getHitCount());
+  }
+
+  @Test
+  void testDifferentEntryWithSameIdIsNotServedFromCache() {
+    StandardEntry first = new StandardEntry(1, author, timestamp, "First", "Content", "Daily");
+    StandardEntry second = new StandardEntry(1, author, timestamp, "Second", "Content", "Daily");
+    formatter.format(first);
+
+    assertTrue(formatter.format(second).contains("Second"));
+  }
+
+  @Test
+  void testLeastRecentlyUsedEntryIsEvicted() {
+    StandardEntry first = new StandardEntry(1, author, timestamp, "First", "Content", "Daily");
+    StandardEntry second = new StandardEntry(2, author, timestamp, "Second", "Content", "Daily");
+    StandardEntry third = new StandardEntry(3, author, timestamp, "Third", "Content", "Daily");
+    formatter.format(first);
+    formatter.format(second);
+    formatter.format(first);
+
+    formatter.format(third);
+    formatter.format(first);
+    formatter.format(second);
+
+    assertEquals(2, cache.size());
+    assertEquals(2, cache.getHitCount());
+    assertEquals(4, cache.getMissCount());
+  }
+
+  @Test
+  void testInvalidCapacityThrows() {
+    assertThrows(IllegalArgumentException.class, () -> new RenderCache(0));
+  }
+}
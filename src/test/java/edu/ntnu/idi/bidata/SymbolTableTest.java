@@ -0,0 +1,69 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.util.SymbolTable;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SymbolTable.
+ */
+class SymbolTableTest {
+
+  private SymbolTable table;
+
+  @BeforeEach
+  void setUp() {
+    table = new SymbolTable();
+  }
+
+  @Test
+  void testCanonicalReturnsSameInstance() {
+    String first = table.canonical("Plastic worm");
+    String second = table.canonical(new String("Plastic worm"));
+
+    assertSame(first, second);
+  }
+
+  @Test
+  void testFindReturnsCanonicalInstance() {
+    String canonical = table.canonical("Outdoor");
+
+    assertSame(canonical, table.find(new String("Outdoor")));
+  }
+
+  @Test
+  void testFindDoesNotAddSymbol() {
+    assertNull(table.find("Missing"));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  void testCanonicalNull() {
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> table.canonical(null)
+    );
+    assertEquals("Symbol cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void testEntriesShareCategory() {
+    Author author = new Author(1, "Test Author");
+    FishingEntry first = new FishingEntry(1, author, LocalDateTime.now(), "Title", "Content",
+        new String("Outdoor"), new String("Sunny"), "Salmon", "Lake", "Worm");
+    FishingEntry second = new FishingEntry(2, author, LocalDateTime.now(), "Title", "Content",
+        new String("Outdoor"), new String("Sunny"), "Trout", "Lake", "Worm");
+
+    assertSame(first.getCategory(), second.getCategory());
+    assertSame(first.getTemplateFields().get("Weather"),
+        second.getTemplateFields().get("Weather"));
+  }
+}
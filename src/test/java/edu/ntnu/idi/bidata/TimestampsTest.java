@@ -0,0 +1,70 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.StandardEntry;
+import edu.ntnu.idi.bidata.diary.Timestamps;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for Timestamps.
+ */
+class TimestampsTest {
+
+  @Test
+  void testEpochSecondRoundTrip() {
+    LocalDateTime dateTime = LocalDateTime.of(2025, 12, 4, 14, 30, 15);
+
+    long epochSecond = Timestamps.toEpochSecond(dateTime);
+
+    assertEquals(dateTime, Timestamps.toLocalDateTime(epochSecond));
+  }
+
+  @Test
+  void testEpochSecondsKeepOrder() {
+    long earlier = Timestamps.toEpochSecond(LocalDateTime.of(1969, 12, 31, 23, 59));
+    long later = Timestamps.toEpochSecond(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+    assertTrue(earlier < later);
+  }
+
+  @Test
+  void testStartOfDay() {
+    LocalDate date = LocalDate.of(2025, 12, 4);
+
+    long start = Timestamps.startOfDay(date);
+
+    assertEquals(Timestamps.toEpochSecond(date.atStartOfDay()), start);
+  }
+
+  @Test
+  void testFormatUsesCache() {
+    long epochSecond = Timestamps.toEpochSecond(LocalDateTime.of(2025, 12, 4, 14, 30, 5));
+
+    String first = Timestamps.format(epochSecond);
+    String second = Timestamps.format(epochSecond + 20);
+
+    assertEquals("04.12.2025 14:30", first);
+    assertSame(first, second);
+  }
+
+  @Test
+  void testFormatBeforeEpoch() {
+    long epochSecond = Timestamps.toEpochSecond(LocalDateTime.of(1965, 5, 17, 8, 5, 59));
+
+    assertEquals("17.05.1965 08:05", Timestamps.format(epochSecond));
+  }
+
+  @Test
+  void testEntryFormattedTimestamp() {
+    StandardEntry entry = new StandardEntry(1, new Author(1, "Test Author"),
+        LocalDateTime.of(2025, 11, 15, 9, 30), "Title", "Content", "Category");
+
+    assertEquals("15.11.2025 09:30", entry.getFormattedTimestamp());
+  }
+}
@@ -0,0 +1,78 @@
+package edu.ntnu.idi.bidata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.ntnu.idi.bidata.ui.WordWrapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for WordWrapper.
+ */
+class WordWrapperTest {
+
+  @Test
+  void testWrapBreaksOnSpaces() {
+    List<String> lines = wrap(new WordWrapper(10), "the quick brown fox jumps");
+
+    assertEquals(List.of("the quick", "brown fox", "jumps"), lines);
+  }
+
+  @Test
+  void testWrapUsesFirstLineWidth() {
+    List<String> lines = wrap(new WordWrapper(10, 5), "abc def ghi jkl");
+
+    assertEquals(List.of("abc", "def ghi", "jkl"), lines);
+  }
+
+  @Test
+  void testWrapCutsLongWords() {
+    List<String> lines = wrap(new WordWrapper(4), "ab abcdefghij c");
+
+    assertEquals(List.of("ab", "abcd", "efgh", "ij c"), lines);
+  }
+
+  @Test
+  void testWrapMovesWordToNextLineWhenItFitsThere() {
+    List<String> lines = wrap(new WordWrapper(6, 3), "ab abcde");
+
+    assertEquals(List.of("ab", "abcde"), lines);
+  }
+
+  @Test
+  void testWrapIgnoresTrailingSpaces() {
+    List<String> lines = wrap(new WordWrapper(10), "one two   ");
+
+    assertEquals(List.of("one two"), lines);
+  }
+
+  @Test
+  void testWrapKeepingSpacesEndsLinesWithSpace() {
+    WordWrapper wrapper = new WordWrapper(10);
+    String text = "the quick brown fox";
+    List<String> lines = new ArrayList<>();
+
+    int count = wrapper.wrapKeepingSpaces(text, (line, start, end) ->
+        lines.add((text + " ").substring(start, end)));
+
+    assertEquals(2, count);
+    assertEquals(List.of("the quick ", "brown fox "), lines);
+  }
+
+  @Test
+  void testInvalidWidthThrows() {
+    assertThrows(IllegalArgumentException.class, () -> new WordWrapper(0));
+    assertThrows(IllegalArgumentException.class, () -> new WordWrapper(10, -1));
+  }
+
+  private List<String> wrap(WordWrapper wrapper, String text) {
+    List<String> lines = new ArrayList<>();
+    wrapper.wrap(text, (line, start, end) -> {
+      assertEquals(lines.size(), line);
+      lines.add(text.substring(start, end));
+    });
+    return lines;
+  }
+}
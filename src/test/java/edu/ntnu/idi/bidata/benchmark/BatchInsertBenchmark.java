@@ -0,0 +1,88 @@
+package edu.ntnu.idi.bidata.benchmark;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.BatchResult;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark comparing batch creation of entries with creating them one at a time, reported as
+ * entries per second.
+ *
+ * <p>Run the main method from the IDE or with {@code java -cp target/classes:target/test-classes
+ * edu.ntnu.idi.bidata.benchmark.BatchInsertBenchmark}.</p>
+ */
+public final class BatchInsertBenchmark {
+
+  private static final int ENTRY_COUNT = 1_000_000;
+  private static final int AUTHOR_COUNT = 50;
+  private static final String[] CATEGORIES = {"Personal", "Work", "Outdoor", "Fitness", "Travel"};
+  private static final int ROUNDS = 3;
+
+  private BatchInsertBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    List<EntrySpec> specs = createSpecs();
+
+    System.out.printf("%-12s %16s%n", "method", "entries/s");
+    for (int round = 0; round < ROUNDS; round++) {
+      DiaryRegistry single = new DiaryRegistry();
+      long start = System.nanoTime();
+      for (EntrySpec spec : specs) {
+        single.createStandardEntry(spec.author(), spec.timestamp(), spec.title(),
+            spec.content(), spec.category());
+      }
+      report("one by one", start);
+
+      DiaryRegistry batch = new DiaryRegistry();
+      start = System.nanoTime();
+      BatchResult result = batch.createEntries(specs);
+      report("batch", start);
+      if (result.getCreatedCount() != single.getNumberOfEntries()) {
+        throw new IllegalStateException("Implementations disagree");
+      }
+    }
+  }
+
+  /**
+   * Creates the specs of the standard entries to insert.
+   *
+   * @return The specs.
+   */
+  private static List<EntrySpec> createSpecs() {
+    Random random = new Random(42);
+    Author[] authors = new Author[AUTHOR_COUNT];
+    for (int i = 0; i < AUTHOR_COUNT; i++) {
+      authors[i] = new Author(i + 1, "Author " + (i + 1));
+    }
+    LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+    List<EntrySpec> specs = new ArrayList<>(ENTRY_COUNT);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      specs.add(EntrySpec.standard(authors[random.nextInt(AUTHOR_COUNT)],
+          start.plusMinutes(random.nextInt(10 * 365 * 24 * 60)), "Title " + i, "Content",
+          CATEGORIES[random.nextInt(CATEGORIES.length)]));
+    }
+    return specs;
+  }
+
+  /**
+   * Prints the throughput of an insert run.
+   *
+   * @param method The name of the insert method.
+   * @param start  The start time in nanoseconds.
+   */
+  private static void report(String method, long start) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%-12s %16.0f%n", method, ENTRY_COUNT / seconds);
+  }
+}
@@ -0,0 +1,121 @@
+package edu.ntnu.idi.bidata.benchmark;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark comparing the columnar scans in DiaryRegistry with the stream-based filters they
+ * replaced. The stream versions run over a plain list holding the same entries.
+ *
+ * <p>Run the main method from the IDE or with {@code java -cp target/classes:target/test-classes
+ * edu.ntnu.idi.bidata.benchmark.ColumnarScanBenchmark}.</p>
+ */
+public final class ColumnarScanBenchmark {
+
+  private static final int ENTRY_COUNT = 200_000;
+  private static final int AUTHOR_COUNT = 50;
+  private static final String[] CATEGORIES = {"Personal", "Work", "Outdoor", "Fitness", "Travel"};
+  private static final int ROUNDS = 20;
+
+  private ColumnarScanBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    DiaryRegistry registry = new DiaryRegistry();
+    Author[] authors = new Author[AUTHOR_COUNT];
+    for (int i = 0; i < AUTHOR_COUNT; i++) {
+      authors[i] = new Author(i + 1, "Author " + (i + 1));
+    }
+    LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      Author author = authors[random.nextInt(AUTHOR_COUNT)];
+      LocalDateTime timestamp = start.plusMinutes(random.nextInt(10 * 365 * 24 * 60));
+      String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+      if (i % 3 == 0) {
+        registry.createGymEntry(author, timestamp, "Title", "Content", category,
+            "Squats", "3", "10x100kg");
+      } else {
+        registry.createStandardEntry(author, timestamp, "Title", "Content", category);
+      }
+    }
+    List<DiaryEntry> entries = registry.getAllEntriesSortedAscending();
+    Author author = authors[7];
+    LocalDate from = LocalDate.of(2020, 1, 1);
+    LocalDate to = LocalDate.of(2020, 12, 31);
+
+    System.out.printf("%-22s %14s %14s%n", "operation", "stream us/op", "columnar us/op");
+    compare("category", () -> entries.stream()
+            .filter(entry -> entry.getCategory().equalsIgnoreCase("outdoor"))
+            .collect(Collectors.toList()).size(),
+        () -> registry.findEntriesByCategory("outdoor").size());
+    compare("type", () -> entries.stream()
+            .filter(entry -> entry.getEntryType().equalsIgnoreCase("gym"))
+            .collect(Collectors.toList()).size(),
+        () -> registry.findEntriesByType("gym").size());
+    compare("date range", () -> entries.stream()
+            .filter(entry -> {
+              LocalDate date = entry.getTimestamp().toLocalDate();
+              return !date.isBefore(from) && !date.isAfter(to);
+            })
+            .collect(Collectors.toList()).size(),
+        () -> registry.findEntriesByDateRange(from, to).size());
+    compare("count by author", () -> (int) entries.stream()
+            .filter(entry -> entry.getAuthor().id() == author.id())
+            .count(),
+        () -> registry.countEntriesByAuthor(author));
+    compare("find by id", () -> entries.stream()
+            .filter(entry -> entry.getId() == ENTRY_COUNT - 1)
+            .findFirst().map(DiaryEntry::getId).orElse(0),
+        () -> registry.findEntryById(ENTRY_COUNT - 1).getId());
+  }
+
+  /**
+   * Times a stream-based and a columnar implementation of the same operation and prints the
+   * average time per call.
+   *
+   * @param name     The name of the operation.
+   * @param stream   The stream-based implementation.
+   * @param columnar The columnar implementation.
+   */
+  private static void compare(String name, Supplier<Integer> stream, Supplier<Integer> columnar) {
+    if (!stream.get().equals(columnar.get())) {
+      throw new IllegalStateException("Implementations disagree for " + name);
+    }
+    System.out.printf("%-22s %14d %14d%n", name, measure(stream), measure(columnar));
+  }
+
+  /**
+   * Measures the average time of an operation after a warm-up round.
+   *
+   * @param operation The operation.
+   * @return The average time in microseconds.
+   */
+  private static long measure(Supplier<Integer> operation) {
+    long blackhole = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      blackhole += operation.get();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      blackhole += operation.get();
+    }
+    long elapsed = System.nanoTime() - start;
+    if (blackhole == 42) {
+      System.out.println();
+    }
+    return elapsed / ROUNDS / 1000;
+  }
+}
@@ -0,0 +1,108 @@
+package edu.ntnu.idi.bidata.benchmark;
+
+import edu.ntnu.idi.bidata.diary.ContentCodec;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Benchmark for content compression. Reports the stored bytes per entry with and without
+ * compression, and the average latency of decompressing an entry.
+ *
+ * <p>Run the main method from the IDE or with {@code java -cp target/classes:target/test-classes
+ * edu.ntnu.idi.bidata.benchmark.ContentCompressionBenchmark}.</p>
+ */
+public final class ContentCompressionBenchmark {
+
+  private static final String[] WORDS = {
+      "today", "I", "went", "to", "the", "lake", "with", "my", "friends", "and", "we", "caught",
+      "some", "trout", "weather", "was", "good", "felt", "tired", "after", "work", "morning",
+      "coffee", "walk", "really", "nice", "day", "family", "dinner", "workout", "bench", "squat",
+      "på", "tur", "i", "dag", "og", "det", "var", "fint", "vær"
+  };
+  private static final int[] CONTENT_LENGTHS = {100, 500, 1000, 2500, 5000};
+  private static final int ENTRIES_PER_LENGTH = 2000;
+
+  private ContentCompressionBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    System.out.printf("%8s %12s %12s %8s %14s%n",
+        "chars", "raw B/entry", "stored B/ent", "ratio", "decode ns/op");
+
+    for (int length : CONTENT_LENGTHS) {
+      String[] contents = new String[ENTRIES_PER_LENGTH];
+      byte[][] compressed = new byte[ENTRIES_PER_LENGTH][];
+      long rawBytes = 0;
+      long storedBytes = 0;
+
+      for (int i = 0; i < ENTRIES_PER_LENGTH; i++) {
+        contents[i] = randomContent(random, length);
+        compressed[i] = ContentCodec.compress(contents[i]);
+        int raw = contents[i].getBytes(StandardCharsets.UTF_8).length;
+        rawBytes += raw;
+        storedBytes += compressed[i] == null ? raw : compressed[i].length;
+      }
+
+      long decodeNanos = measureDecode(compressed);
+      System.out.printf("%8d %12d %12d %8.2f %14d%n", length,
+          rawBytes / ENTRIES_PER_LENGTH, storedBytes / ENTRIES_PER_LENGTH,
+          (double) rawBytes / storedBytes, decodeNanos);
+    }
+  }
+
+  /**
+   * Measures the average time spent decompressing one entry, after a warm-up round.
+   *
+   * @param compressed The compressed contents, null elements are skipped.
+   * @return The average decode time in nanoseconds, or 0 if nothing was compressed.
+   */
+  private static long measureDecode(byte[][] compressed) {
+    int blackhole = 0;
+    for (int round = 0; round < 5; round++) {
+      for (byte[] data : compressed) {
+        if (data != null) {
+          blackhole += ContentCodec.decompress(data).length();
+        }
+      }
+    }
+
+    int decoded = 0;
+    long start = System.nanoTime();
+    for (int round = 0; round < 10; round++) {
+      for (byte[] data : compressed) {
+        if (data != null) {
+          blackhole += ContentCodec.decompress(data).length();
+          decoded++;
+        }
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    if (blackhole == 42) {
+      System.out.println();
+    }
+    return decoded == 0 ? 0 : elapsed / decoded;
+  }
+
+  /**
+   * Creates random diary-like content of the given length.
+   *
+   * @param random The random source.
+   * @param length The number of characters.
+   * @return The generated content.
+   */
+  private static String randomContent(Random random, int length) {
+    StringBuilder builder = new StringBuilder(length + 16);
+    while (builder.length() < length) {
+      builder.append(WORDS[random.nextInt(WORDS.length)]);
+      builder.append(random.nextInt(12) == 0 ? ". " : " ");
+    }
+    builder.setLength(length);
+    return builder.toString().trim();
+  }
+}
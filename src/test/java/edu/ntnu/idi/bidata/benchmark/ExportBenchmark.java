@@ -0,0 +1,87 @@
+package edu.ntnu.idi.bidata.benchmark;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.DiaryRegistry;
+import edu.ntnu.idi.bidata.diary.EntryQuery;
+import edu.ntnu.idi.bidata.diary.EntrySpec;
+import edu.ntnu.idi.bidata.io.EntryExporter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark for the streaming exporters. Exports a million entries to a temporary file in each
+ * format and prints the throughput and the heap retained after the export.
+ *
+ * <p>Run the main method from the IDE or with {@code java -cp target/classes:target/test-classes
+ * edu.ntnu.idi.bidata.benchmark.ExportBenchmark}.</p>
+ */
+public final class ExportBenchmark {
+
+  private static final int ENTRY_COUNT = 1_000_000;
+
+  private ExportBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Not used.
+   * @throws IOException If writing the temporary file fails.
+   */
+  public static void main(String[] args) throws IOException {
+    DiaryRegistry registry = new DiaryRegistry();
+    Author author = new Author(1, "Ola Nordmann");
+    LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+    List<EntrySpec> specs = new ArrayList<>(ENTRY_COUNT);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      specs.add(EntrySpec.fishing(author, start.plusMinutes(i), "Trip " + i,
+          "Calm morning, a few bites", "Fishing", "Sunny", "Trout", "Lake", "Worm"));
+    }
+    registry.createEntries(specs);
+    specs = null;
+    EntryExporter exporter = new EntryExporter(registry);
+    Path file = Files.createTempFile("diary-export", ".out");
+
+    System.out.printf("%-12s %12s %12s %14s%n", "format", "MB", "MB/s", "retained MB");
+    try {
+      for (String format : List.of("csv", "jsonl", "markdown")) {
+        System.gc();
+        long heapBefore = usedHeap();
+        long begin = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+            Writer writer = EntryExporter.channelWriter(channel)) {
+          switch (format) {
+            case "csv" -> exporter.exportCsv(writer, new EntryQuery());
+            case "jsonl" -> exporter.exportJsonLines(writer, new EntryQuery());
+            default -> exporter.exportMarkdown(writer, new EntryQuery());
+          }
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        double megabytes = Files.size(file) / 1e6;
+        System.gc();
+        System.out.printf("%-12s %12.1f %12.1f %14.1f%n", format, megabytes,
+            megabytes / seconds, (usedHeap() - heapBefore) / 1e6);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Returns the heap currently in use.
+   *
+   * @return The used heap in bytes.
+   */
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,104 @@
+package edu.ntnu.idi.bidata.benchmark;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.DiaryEntry;
+import edu.ntnu.idi.bidata.diary.FishingEntry;
+import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.StandardEntry;
+import edu.ntnu.idi.bidata.ui.EntryFormatter;
+import edu.ntnu.idi.bidata.ui.ParallelRenderer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark for entry rendering. Renders a mix of standard, fishing and gym entries into a
+ * builder, to a discarding console stream, and in parallel chunks to a discarding writer, and
+ * prints the number of entries rendered per second.
+ *
+ * <p>Run the main method from the IDE or with {@code java -cp target/classes:target/test-classes
+ * edu.ntnu.idi.bidata.benchmark.RenderBenchmark}.</p>
+ */
+public final class RenderBenchmark {
+
+  private static final int ENTRY_COUNT = 30_000;
+  private static final int ROUNDS = 5;
+
+  private RenderBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Not used.
+   * @throws IOException If writing the rendered entries fails.
+   */
+  public static void main(String[] args) throws IOException {
+    List<DiaryEntry> entries = createEntries();
+    EntryFormatter formatter = new EntryFormatter();
+    ParallelRenderer renderer = new ParallelRenderer(formatter);
+    PrintStream console = System.out;
+    PrintStream discard = new PrintStream(OutputStream.nullOutputStream(), false,
+        StandardCharsets.UTF_8);
+
+    console.printf("%-6s %16s %16s %16s%n", "round", "format/s", "printEntries/s",
+        "parallel/s");
+    for (int round = 1; round <= ROUNDS; round++) {
+      long begin = System.nanoTime();
+      long characters = 0;
+      for (DiaryEntry entry : entries) {
+        characters += formatter.format(entry).length();
+      }
+      double formatSeconds = (System.nanoTime() - begin) / 1e9;
+
+      System.setOut(discard);
+      try {
+        begin = System.nanoTime();
+        formatter.printEntries(entries);
+      } finally {
+        System.setOut(console);
+      }
+      double printSeconds = (System.nanoTime() - begin) / 1e9;
+
+      begin = System.nanoTime();
+      renderer.render(entries, Writer.nullWriter());
+      double parallelSeconds = (System.nanoTime() - begin) / 1e9;
+
+      console.printf("%-6d %16.0f %16.0f %16.0f%n", round, ENTRY_COUNT / formatSeconds,
+          ENTRY_COUNT / printSeconds, ENTRY_COUNT / parallelSeconds);
+      if (characters == 0) {
+        console.println("nothing rendered");
+      }
+    }
+  }
+
+  /**
+   * Creates the entries to render.
+   *
+   * @return The entries.
+   */
+  private static List<DiaryEntry> createEntries() {
+    Author author = new Author(1, "Ola Nordmann");
+    LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+    String content = "Calm morning on the water with a light breeze from the west. The fish were "
+        + "biting well after sunrise, and we stayed until the tide turned in the afternoon.";
+    List<DiaryEntry> entries = new ArrayList<>(ENTRY_COUNT);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      LocalDateTime timestamp = start.plusMinutes(i);
+      entries.add(switch (i % 3) {
+        case 0 -> new StandardEntry(i + 1, author, timestamp, "Day " + i, content, "Daily");
+        case 1 -> new FishingEntry(i + 1, author, timestamp, "Trip " + i, content, "Fishing",
+            "Sunny", "Trout", "Lake", "Worm");
+        default -> new GymEntry(i + 1, author, timestamp, "Workout " + i, content, "Gym",
+            "Bench Press, Squats, Deadlift", "3, 3, 1",
+            "8x60kg;7x60kg;6x60kg, 10x100kg;9x100kg;8x100kg, 5x140kg");
+      });
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,149 @@
+package edu.ntnu.idi.bidata.benchmark;
+
+import edu.ntnu.idi.bidata.author.Author;
+import edu.ntnu.idi.bidata.diary.GymEntry;
+import edu.ntnu.idi.bidata.diary.StandardEntry;
+import edu.ntnu.idi.bidata.ui.EntryFormatter;
+import edu.ntnu.idi.bidata.ui.WordWrapper;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Benchmark for word wrapping of 5000-character texts. Compares the index-based
+ * {@link WordWrapper} with wrapping by splitting the text into words and building each line, as
+ * the formatter used to do, and measures rendering of entries with that much content.
+ *
+ * <p>Run the main method from the IDE or with {@code java -cp target/classes:target/test-classes
+ * edu.ntnu.idi.bidata.benchmark.WordWrapBenchmark}.</p>
+ */
+public final class WordWrapBenchmark {
+
+  private static final int TEXT_LENGTH = 5000;
+  private static final int TEXT_COUNT = 64;
+  private static final int ITERATIONS = 20_000;
+  private static final int ROUNDS = 5;
+  private static final int WIDTH = 68;
+
+  private WordWrapBenchmark() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    String[] texts = createTexts();
+    WordWrapper wrapper = new WordWrapper(WIDTH);
+    EntryFormatter formatter = new EntryFormatter();
+    Author author = new Author(1, "Ola Nordmann");
+    LocalDateTime timestamp = LocalDateTime.of(2015, 1, 1, 0, 0);
+    StandardEntry standard = new StandardEntry(1, author, timestamp, "Day", texts[0], "Daily");
+    GymEntry gym = new GymEntry(2, author, timestamp, "Workout", texts[1], "Gym",
+        "Squats", "3", "10x100kg;9x100kg;8x100kg");
+    long[] lineCount = new long[1];
+
+    System.out.printf("%-6s %14s %14s %14s%n", "round", "split/s", "index/s", "render/s");
+    for (int round = 1; round <= ROUNDS; round++) {
+      long begin = System.nanoTime();
+      long splitLines = 0;
+      for (int i = 0; i < ITERATIONS; i++) {
+        splitLines += wrapBySplitting(texts[i % TEXT_COUNT]);
+      }
+      double splitSeconds = (System.nanoTime() - begin) / 1e9;
+
+      begin = System.nanoTime();
+      lineCount[0] = 0;
+      for (int i = 0; i < ITERATIONS; i++) {
+        wrapper.wrapKeepingSpaces(texts[i % TEXT_COUNT], (line, start, end) -> lineCount[0]++);
+      }
+      double indexSeconds = (System.nanoTime() - begin) / 1e9;
+
+      begin = System.nanoTime();
+      StringBuilder out = new StringBuilder();
+      for (int i = 0; i < ITERATIONS / 10; i++) {
+        out.setLength(0);
+        formatter.render(i % 2 == 0 ? standard : gym, out);
+      }
+      double renderSeconds = (System.nanoTime() - begin) / 1e9;
+
+      System.out.printf("%-6d %14.0f %14.0f %14.0f%n", round, ITERATIONS / splitSeconds,
+          ITERATIONS / indexSeconds, ITERATIONS / 10 / renderSeconds);
+      if (splitLines != lineCount[0]) {
+        System.out.println("line counts differ: " + splitLines + " and " + lineCount[0]);
+      }
+    }
+  }
+
+  /**
+   * Wraps a text by splitting it into words and building each line, and counts the lines.
+   *
+   * @param text The text.
+   * @return The number of lines.
+   */
+  private static int wrapBySplitting(String text) {
+    int lines = 0;
+    StringBuilder line = new StringBuilder("│ ");
+    for (String word : text.split(" ")) {
+      while (word.length() > WIDTH) {
+        if (line.length() > 2) {
+          lines += emit(line);
+          line = new StringBuilder("│ ");
+        }
+        line.append(word, 0, WIDTH);
+        lines += emit(line);
+        line = new StringBuilder("│ ");
+        word = word.substring(WIDTH);
+      }
+      if (line.length() + word.length() + 1 > WIDTH + 2) {
+        lines += emit(line);
+        line = new StringBuilder("│ " + word + " ");
+      } else {
+        line.append(word).append(" ");
+      }
+    }
+    if (line.length() > 2) {
+      lines += emit(line);
+    }
+    return lines;
+  }
+
+  /**
+   * Pads and closes a line and converts it to a string, as printing it did.
+   *
+   * @param line The line.
+   * @return 1, the number of lines emitted.
+   */
+  private static int emit(StringBuilder line) {
+    while (line.length() < WIDTH + 2) {
+      line.append(" ");
+    }
+    line.append(" │");
+    return line.toString().isEmpty() ? 0 : 1;
+  }
+
+  /**
+   * Creates random texts of words of typical length, with an occasional long word.
+   *
+   * @return The texts.
+   */
+  private static String[] createTexts() {
+    Random random = new Random(42);
+    String[] texts = new String[TEXT_COUNT];
+    for (int i = 0; i < TEXT_COUNT; i++) {
+      StringBuilder text = new StringBuilder(TEXT_LENGTH);
+      while (text.length() < TEXT_LENGTH) {
+        if (!text.isEmpty()) {
+          text.append(' ');
+        }
+        int length = random.nextInt(50) == 0 ? 80 + random.nextInt(40) : 1 + random.nextInt(9);
+        for (int j = 0; j < length; j++) {
+          text.append((char) ('a' + random.nextInt(26)));
+        }
+      }
+      text.setLength(TEXT_LENGTH);
+      texts[i] = text.toString().trim();
+    }
+    return texts;
+  }
+}